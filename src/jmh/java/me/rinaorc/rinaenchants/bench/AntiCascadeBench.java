@@ -0,0 +1,134 @@
+package me.rinaorc.rinaenchants.bench;
+
+import me.rinaorc.rinaenchants.util.BlockKey;
+import me.rinaorc.rinaenchants.util.BreakingLocationIndex;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Anti-cascade: marquer les cultures cassées par nos entités, puis vérifier
+ * chaque proc reçu.
+ *
+ * Une invocation = un tick: "marks" cultures marquées puis autant de procs
+ * vérifiés (moitié sur des positions marquées, moitié ailleurs).
+ *
+ * - legacyStringKeys: ancienne map ConcurrentHashMap<String, Long>, clé
+ *   "monde:x:y:z" et expiration currentTimeMillis + 500, balayage removeIf
+ *   toutes les 100 invocations (la tâche async de nettoyage)
+ * - breakingIndex: index par monde (UUID -> BreakingLocationIndex), clés BlockKey
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AntiCascadeBench {
+
+    // Cultures cassées par des entités pendant un tick
+    @Param({"16", "256"})
+    public int marks;
+
+    private Location[] marked;
+    private Location[] probes;
+
+    // Ancienne version
+    private final ConcurrentHashMap<String, Long> legacyLocations = new ConcurrentHashMap<>();
+    private int legacyInvocations = 0;
+
+    // Version actuelle
+    private final Map<UUID, BreakingLocationIndex> indexes = new HashMap<>();
+    private int tick = 0;
+
+    @Setup
+    public void setup() {
+        BlockGrid grid = new BlockGrid(32, 4, 0.5, 42L);
+        World world = grid.getWorld();
+        int width = grid.getHalfWidth() * 2 + 1;
+
+        marked = new Location[marks];
+        probes = new Location[marks];
+        for (int i = 0; i < marks; i++) {
+            int x = i % width - grid.getHalfWidth();
+            int z = i / width % width - grid.getHalfWidth();
+            marked[i] = new Location(world, x, 1, z);
+            // Un proc sur deux tombe sur une culture marquée
+            probes[i] = i % 2 == 0 ? marked[i].clone() : new Location(world, x, 2, z);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // ANCIENNE VERSION (clés String)
+    // ═══════════════════════════════════════════════════════════════════════
+
+    private String getLocationKey(Location loc) {
+        return loc.getWorld().getName() + ":" + loc.getBlockX() + ":" + loc.getBlockY() + ":" + loc.getBlockZ();
+    }
+
+    private void legacyMark(Location loc) {
+        legacyLocations.put(getLocationKey(loc), System.currentTimeMillis() + 500);
+    }
+
+    private boolean legacyIsMarked(Location loc) {
+        String key = getLocationKey(loc);
+        Long expiry = legacyLocations.get(key);
+        if (expiry == null) return false;
+        if (expiry < System.currentTimeMillis()) {
+            legacyLocations.remove(key);
+            return false;
+        }
+        return true;
+    }
+
+    @Benchmark
+    public int legacyStringKeys() {
+        for (Location loc : marked) {
+            legacyMark(loc);
+        }
+        int blocked = 0;
+        for (Location loc : probes) {
+            if (legacyIsMarked(loc)) blocked++;
+        }
+        if (++legacyInvocations % 100 == 0) {
+            long now = System.currentTimeMillis();
+            legacyLocations.entrySet().removeIf(entry -> entry.getValue() < now);
+        }
+        return blocked;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // VERSION ACTUELLE (BreakingLocationIndex)
+    // ═══════════════════════════════════════════════════════════════════════
+
+    @Benchmark
+    public int breakingIndex() {
+        int currentTick = ++tick;
+        for (Location loc : marked) {
+            indexes.computeIfAbsent(loc.getWorld().getUID(), k -> new BreakingLocationIndex(10))
+                .mark(BlockKey.of(loc), currentTick);
+        }
+        int blocked = 0;
+        for (Location loc : probes) {
+            BreakingLocationIndex index = indexes.get(loc.getWorld().getUID());
+            if (index != null && index.isMarked(BlockKey.of(loc), currentTick)) blocked++;
+        }
+        return blocked;
+    }
+}
@@ -0,0 +1,205 @@
+package me.rinaorc.rinaenchants.bench;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.Ageable;
+import org.bukkit.block.data.BlockData;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Grille de blocs en mémoire qui remplace un monde Bukkit dans les benchmarks.
+ *
+ * World, Block et BlockData sont des proxys java.lang.reflect.Proxy
+ * qui ne répondent qu'aux méthodes utilisées par les chemins mesurés
+ * (getBlockAt, getType, getBlockData, getAge, getLocation...). Aucun
+ * serveur n'est nécessaire.
+ *
+ * Tous les blocs sont créés à la construction: getBlockAt() ne fait qu'une
+ * lecture de tableau. Comme sur un vrai serveur, getLocation() alloue une
+ * nouvelle Location à chaque appel.
+ *
+ * L'appel via proxy a un coût fixe: comparer les variantes entre elles,
+ * pas les temps absolus avec ceux d'un serveur.
+ *
+ * Coordonnées couvertes: x et z dans [-halfWidth, halfWidth], y dans
+ * [0, height). En dehors, getBlockAt() retourne un bloc d'air.
+ */
+public final class BlockGrid {
+
+    // Cultures posées dans la grille (matures ou non selon l'âge tiré)
+    private static final Material[] AGED_CROPS = {
+        Material.WHEAT, Material.CARROTS, Material.POTATOES, Material.BEETROOTS, Material.NETHER_WART
+    };
+    private static final Material[] NO_AGE_CROPS = {
+        Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE
+    };
+    private static final Material[] FILLER = {
+        Material.AIR, Material.DIRT, Material.FARMLAND, Material.STONE
+    };
+
+    private final int halfWidth;
+    private final int height;
+    private final int width;
+    private final Block[] blocks;
+    private final Block outside;
+    private final World world;
+    private final UUID worldId = new UUID(0x5249_4e41L, 0x4752_4944L);
+
+    /**
+     * @param halfWidth Demi-largeur en x et z
+     * @param height Hauteur (y de 0 à height - 1)
+     * @param cropRatio Part des blocs qui sont des cultures (0.0 à 1.0)
+     * @param seed Graine du tirage (grilles reproductibles)
+     */
+    public BlockGrid(int halfWidth, int height, double cropRatio, long seed) {
+        this.halfWidth = halfWidth;
+        this.height = height;
+        this.width = halfWidth * 2 + 1;
+        this.blocks = new Block[width * width * height];
+        this.world = (World) Proxy.newProxyInstance(
+            World.class.getClassLoader(), new Class<?>[]{World.class}, worldHandler());
+        this.outside = newBlock(0, -1, 0, Material.AIR, -1);
+
+        Random random = new Random(seed);
+        for (int x = -halfWidth; x <= halfWidth; x++) {
+            for (int y = 0; y < height; y++) {
+                for (int z = -halfWidth; z <= halfWidth; z++) {
+                    Material type;
+                    int age = -1;
+                    if (random.nextDouble() < cropRatio) {
+                        if (random.nextInt(4) == 0) {
+                            type = NO_AGE_CROPS[random.nextInt(NO_AGE_CROPS.length)];
+                        } else {
+                            type = AGED_CROPS[random.nextInt(AGED_CROPS.length)];
+                            age = random.nextInt(maxAge(type) + 1);
+                        }
+                    } else {
+                        type = FILLER[random.nextInt(FILLER.length)];
+                    }
+                    blocks[index(x, y, z)] = newBlock(x, y, z, type, age);
+                }
+            }
+        }
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public int getHalfWidth() {
+        return halfWidth;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public Block getBlockAt(int x, int y, int z) {
+        if (x < -halfWidth || x > halfWidth || z < -halfWidth || z > halfWidth || y < 0 || y >= height) {
+            return outside;
+        }
+        return blocks[index(x, y, z)];
+    }
+
+    /**
+     * Tous les blocs de la grille (ordre x, y, z)
+     */
+    public Block[] getBlocks() {
+        return blocks.clone();
+    }
+
+    /**
+     * Âge maximum des cultures vanilla, -1 si le matériau n'est pas Ageable.
+     * Remplace createBlockData() (qui demande un serveur) pour CropRegistry.load.
+     */
+    public static int maxAge(Material material) {
+        return switch (material) {
+            case WHEAT, CARROTS, POTATOES -> 7;
+            case BEETROOTS, NETHER_WART, SWEET_BERRY_BUSH -> 3;
+            case COCOA -> 2;
+            case TWISTING_VINES, WEEPING_VINES -> 25;
+            default -> -1;
+        };
+    }
+
+    private int index(int x, int y, int z) {
+        return ((x + halfWidth) * height + y) * width + (z + halfWidth);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // PROXYS
+    // ═══════════════════════════════════════════════════════════════════════
+
+    private InvocationHandler worldHandler() {
+        return (proxy, method, args) -> switch (method.getName()) {
+            case "getBlockAt" -> {
+                if (args.length == 3) {
+                    yield getBlockAt((Integer) args[0], (Integer) args[1], (Integer) args[2]);
+                }
+                Location loc = (Location) args[0];
+                yield getBlockAt(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+            }
+            case "getUID" -> worldId;
+            case "getName" -> "grid";
+            case "getMinHeight" -> 0;
+            case "getMaxHeight" -> height;
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> "BlockGrid";
+            default -> throw new UnsupportedOperationException("World." + method.getName());
+        };
+    }
+
+    private Block newBlock(int x, int y, int z, Material type, int age) {
+        BlockData data = age >= 0 ? newAgeable(type, age) : newData(type);
+        return (Block) Proxy.newProxyInstance(
+            Block.class.getClassLoader(), new Class<?>[]{Block.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "getType" -> type;
+                case "getBlockData" -> data;
+                case "getX" -> x;
+                case "getY" -> y;
+                case "getZ" -> z;
+                case "getWorld" -> world;
+                case "getLocation" -> new Location(world, x, y, z);
+                case "isEmpty" -> type == Material.AIR;
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> type + "@" + x + "," + y + "," + z;
+                default -> throw new UnsupportedOperationException("Block." + method.getName());
+            });
+    }
+
+    private static BlockData newData(Material type) {
+        return (BlockData) Proxy.newProxyInstance(
+            BlockData.class.getClassLoader(), new Class<?>[]{BlockData.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "getMaterial" -> type;
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> type.toString();
+                default -> throw new UnsupportedOperationException("BlockData." + method.getName());
+            });
+    }
+
+    private static Ageable newAgeable(Material type, int age) {
+        int maxAge = maxAge(type);
+        return (Ageable) Proxy.newProxyInstance(
+            Ageable.class.getClassLoader(), new Class<?>[]{Ageable.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "getMaterial" -> type;
+                case "getAge" -> age;
+                case "getMaximumAge" -> maxAge;
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> type + "[age=" + age + "]";
+                default -> throw new UnsupportedOperationException("Ageable." + method.getName());
+            });
+    }
+}
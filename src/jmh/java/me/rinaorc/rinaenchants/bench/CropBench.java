@@ -0,0 +1,131 @@
+package me.rinaorc.rinaenchants.bench;
+
+import me.rinaorc.rinaenchants.util.CropRegistry;
+import me.rinaorc.rinaenchants.util.CropScanner;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.Ageable;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Classification des cultures et recherche de cultures matures (Bee Collector).
+ *
+ * - legacyIsMatureCrop: ancien isMatureCrop dupliqué dans chaque enchantement
+ *   (deux HashSet<Material> + instanceof Ageable + getMaximumAge())
+ * - registryIsMature: CropRegistry.isMature (drapeaux par ordinal)
+ * - findMatureCrops: CropScanner.findMatureCrops, rayon et nombre max de Bee Collector
+ *
+ * density: "sparse" = 10% de cultures dans la grille, "dense" = 90%.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CropBench {
+
+    @Param({"sparse", "dense"})
+    public String density;
+
+    private BlockGrid grid;
+    private Block[] blocks;
+    private CropRegistry registry;
+    private Location center;
+
+    // Ancienne classification (HashSet par enchantement)
+    private final Set<Material> legacyCrops = new HashSet<>();
+    private final Set<Material> legacyNoAgeCrops = new HashSet<>();
+
+    @Setup
+    public void setup() {
+        grid = new BlockGrid(16, 6, "dense".equals(density) ? 0.9 : 0.1, 42L);
+        blocks = grid.getBlocks();
+        center = new Location(grid.getWorld(), 0, 2, 0);
+
+        registry = new CropRegistry(Logger.getLogger("CropBench"));
+        registry.load(new YamlConfiguration(), BlockGrid::maxAge);
+
+        // Mêmes cultures que le registre, dans les anciennes structures
+        for (Material material : Material.values()) {
+            if (registry.isCrop(material)) legacyCrops.add(material);
+            if (registry.isNoAge(material)) legacyNoAgeCrops.add(material);
+        }
+    }
+
+    private boolean isMatureCropLegacy(Block block) {
+        Material type = block.getType();
+        if (!legacyCrops.contains(type)) return false;
+        if (legacyNoAgeCrops.contains(type)) return true;
+        if (block.getBlockData() instanceof Ageable ageable) {
+            return ageable.getAge() >= ageable.getMaximumAge();
+        }
+        return true;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // CLASSIFICATION (tous les blocs de la grille)
+    // ═══════════════════════════════════════════════════════════════════════
+
+    @Benchmark
+    public int legacyIsMatureCrop() {
+        int mature = 0;
+        for (Block block : blocks) {
+            if (isMatureCropLegacy(block)) mature++;
+        }
+        return mature;
+    }
+
+    @Benchmark
+    public int registryIsMature() {
+        int mature = 0;
+        for (Block block : blocks) {
+            if (registry.isMature(block)) mature++;
+        }
+        return mature;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // RECHERCHE (un proc de Bee Collector)
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Paramètres de recherche (seulement pour findMatureCrops)
+     */
+    @State(Scope.Thread)
+    public static class Search {
+        // Rayon de Bee Collector (plafonné à 15 par findMatureCrops)
+        @Param({"5", "15"})
+        public int radius;
+
+        // Cultures demandées par proc (bee-collector.max-crops)
+        @Param({"10", "200"})
+        public int maxCount;
+
+        final Random random = new Random(7L);
+    }
+
+    @Benchmark
+    public List<Location> findMatureCrops(Search search) {
+        return CropScanner.findMatureCrops(registry, center, search.radius, search.maxCount, search.random);
+    }
+}
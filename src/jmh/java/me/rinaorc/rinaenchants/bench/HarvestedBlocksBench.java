@@ -0,0 +1,91 @@
+package me.rinaorc.rinaenchants.bench;
+
+import me.rinaorc.rinaenchants.util.BlockKey;
+import me.rinaorc.rinaenchants.util.BlockPosSet;
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cultures déjà récoltées par une animation (harvestedBlocks).
+ *
+ * Une invocation = une animation complète: chaque cible est testée puis
+ * ajoutée, avec une cible sur quatre déjà vue (les animations repassent
+ * sur les mêmes blocs).
+ *
+ * - legacyStringKeys: ancien HashSet<String>, clé "x:y:z" créée à chaque test
+ * - blockPosSet: BlockPosSet emprunté au pool, clés BlockKey
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HarvestedBlocksBench {
+
+    // Cibles testées pendant une animation
+    @Param({"64", "1024"})
+    public int targets;
+
+    private Location[] locations;
+
+    @Setup
+    public void setup() {
+        BlockGrid grid = new BlockGrid(16, 6, 0.5, 42L);
+        int half = grid.getHalfWidth();
+        int width = half * 2 + 1;
+        int distinct = Math.max(1, targets - targets / 4);
+
+        locations = new Location[targets];
+        for (int i = 0; i < targets; i++) {
+            int cell = i % distinct;
+            int x = cell % width - half;
+            int y = cell / width % grid.getHeight();
+            int z = cell / (width * grid.getHeight()) % width - half;
+            locations[i] = new Location(grid.getWorld(), x, y, z);
+        }
+    }
+
+    @Benchmark
+    public int legacyStringKeys() {
+        Set<String> harvestedBlocks = new HashSet<>();
+        int harvested = 0;
+        for (Location target : locations) {
+            String key = target.getBlockX() + ":" + target.getBlockY() + ":" + target.getBlockZ();
+            if (harvestedBlocks.contains(key)) continue;
+            harvestedBlocks.add(key);
+            harvested++;
+        }
+        return harvested;
+    }
+
+    @Benchmark
+    public int blockPosSet() {
+        BlockPosSet harvestedBlocks = BlockPosSet.acquire();
+        try {
+            int harvested = 0;
+            for (Location target : locations) {
+                if (harvestedBlocks.add(BlockKey.of(target))) {
+                    harvested++;
+                }
+            }
+            return harvested;
+        } finally {
+            BlockPosSet.release(harvestedBlocks);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package me.rinaorc.rinaenchants.bench;
+
+import me.rinaorc.rinaenchants.util.XpAccumulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * XP CyberLevel: une culture récoltée = un ajout d'XP, puis un flush groupé.
+ *
+ * Une invocation = une période de flush: "crops" ajouts répartis sur
+ * "players" joueurs, puis le flush qui somme l'XP par joueur.
+ *
+ * - legacyQueueMerge: ancien CyberLevelXPListener (une XPQueueEntry par
+ *   culture, poll + merge(Long::sum) dans une ConcurrentHashMap, copie en
+ *   HashMap puis clear())
+ * - xpAccumulator: XpAccumulator (LongAdder par joueur, drain en une passe)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XpPathBench {
+
+    // Joueurs qui récoltent pendant la période
+    @Param({"10", "500"})
+    public int players;
+
+    // Cultures récoltées pendant la période
+    @Param({"1000", "20000"})
+    public int crops;
+
+    private UUID[] harvesters;
+
+    // Ancienne version
+    private final ConcurrentLinkedQueue<XPQueueEntry> xpQueue = new ConcurrentLinkedQueue<>();
+    private final ConcurrentHashMap<UUID, Long> accumulatedXP = new ConcurrentHashMap<>();
+
+    // Version actuelle
+    private final XpAccumulator accumulator = new XpAccumulator();
+
+    @Setup
+    public void setup() {
+        UUID[] pool = new UUID[players];
+        for (int i = 0; i < players; i++) {
+            pool[i] = new UUID(0x5850L, i);
+        }
+        Random random = new Random(42L);
+        harvesters = new UUID[crops];
+        for (int i = 0; i < crops; i++) {
+            harvesters[i] = pool[random.nextInt(players)];
+        }
+    }
+
+    private static final class XPQueueEntry {
+        final UUID playerId;
+        final long xpAmount;
+
+        XPQueueEntry(UUID playerId, long xpAmount) {
+            this.playerId = playerId;
+            this.xpAmount = xpAmount;
+        }
+    }
+
+    @Benchmark
+    public long legacyQueueMerge() {
+        for (UUID playerId : harvesters) {
+            xpQueue.offer(new XPQueueEntry(playerId, 3L));
+        }
+
+        XPQueueEntry entry;
+        while ((entry = xpQueue.poll()) != null) {
+            accumulatedXP.merge(entry.playerId, entry.xpAmount, Long::sum);
+        }
+        if (accumulatedXP.isEmpty()) return 0L;
+
+        Map<UUID, Long> toProcess = new HashMap<>(accumulatedXP);
+        accumulatedXP.clear();
+
+        long total = 0L;
+        for (Map.Entry<UUID, Long> e : toProcess.entrySet()) {
+            total += e.getValue();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long xpAccumulator() {
+        for (UUID playerId : harvesters) {
+            accumulator.add(playerId, 3L);
+        }
+
+        long[] total = new long[1];
+        accumulator.drain((playerId, xp) -> total[0] += xp);
+        return total[0];
+    }
+}
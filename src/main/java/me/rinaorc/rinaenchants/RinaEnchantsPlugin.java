@@ -1,17 +1,38 @@
 package me.rinaorc.rinaenchants;
 
 import me.rinaorc.rinaenchants.command.ReloadCommand;
+import me.rinaorc.rinaenchants.enchant.AdmittedEnchant;
 import me.rinaorc.rinaenchants.enchant.AllayLaserEnchant;
 import me.rinaorc.rinaenchants.enchant.BeeCollectorEnchant;
 import me.rinaorc.rinaenchants.enchant.BlizzardEnchant;
 import me.rinaorc.rinaenchants.enchant.FrogTongueLashEnchant;
 import me.rinaorc.rinaenchants.enchant.GolemFactoryEnchant;
 import me.rinaorc.rinaenchants.enchant.PandaRollEnchant;
+import me.rinaorc.rinaenchants.enchant.ReloadableEnchant;
 import me.rinaorc.rinaenchants.enchant.RavagerStampedeEnchant;
 import me.rinaorc.rinaenchants.enchant.WardenPulseEnchant;
 import me.rinaorc.rinaenchants.enchant.AxolotlTsunamiEnchant;
 import me.rinaorc.rinaenchants.enchant.EnderDragonBreathEnchant;
 import me.rinaorc.rinaenchants.listener.CyberLevelXPListener;
+import me.rinaorc.rinaenchants.util.AdmissionController;
+import me.rinaorc.rinaenchants.util.AnimationEngine;
+import me.rinaorc.rinaenchants.util.AnimationEntityProvider;
+import me.rinaorc.rinaenchants.util.BlockKey;
+import me.rinaorc.rinaenchants.util.BreakingLocationIndex;
+import me.rinaorc.rinaenchants.util.CropBreakPipeline;
+import me.rinaorc.rinaenchants.util.CropRegistry;
+import me.rinaorc.rinaenchants.util.EnchantEntityRegistry;
+import me.rinaorc.rinaenchants.util.EnchantMetrics;
+import me.rinaorc.rinaenchants.util.EntityJournal;
+import me.rinaorc.rinaenchants.util.HellRainBridge;
+import me.rinaorc.rinaenchants.util.FlightEvents;
+import me.rinaorc.rinaenchants.util.FxDispatcher;
+import me.rinaorc.rinaenchants.util.LoadGovernor;
+import me.rinaorc.rinaenchants.util.MetricsEndpoint;
+import me.rinaorc.rinaenchants.util.PlayerLifecycleManager;
+import me.rinaorc.rinaenchants.util.PooledEntityProvider;
+import me.rinaorc.rinaenchants.util.ServerEntityProvider;
+import me.rinaorc.rinaenchants.util.TickProfiler;
 import me.rivaldev.harvesterhoes.api.events.HoeEnchant;
 import me.rivaldev.harvesterhoes.api.events.RivalBlockBreakEvent;
 import me.rivaldev.harvesterhoes.api.events.RivalHarvesterHoesAPI;
@@ -20,12 +41,13 @@ import org.bukkit.Location;
 import org.bukkit.NamespacedKey;
 import org.bukkit.World;
 import org.bukkit.entity.Entity;
-import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.event.server.PluginEnableEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.RegisteredServiceProvider;
@@ -41,6 +63,46 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
     private RivalHarvesterHoesAPI hoesAPI;
     private CyberLevelXPListener cyberLevelListener;
 
+    // Moteur partagé qui tick toutes les animations (une seule task Bukkit)
+    private AnimationEngine animationEngine;
+
+    // Couche de spawn/despawn des entités d'animation
+    private AnimationEntityProvider entityProvider;
+    private PooledEntityProvider entityPool;
+
+    // Registre central des cultures (partagé par tous les enchantements)
+    private CropRegistry cropRegistry;
+
+    // Pont vers HellRainAbility (cassage des cultures avec multiplicateurs)
+    private HellRainBridge hellRainBridge;
+
+    // Pipeline de cassage des cultures (files par joueur, budget par tick)
+    private CropBreakPipeline cropPipeline;
+
+    // Contrôle d'admission des animations (limites joueur/chunk/monde/serveur)
+    private AdmissionController admissionController;
+
+    // Niveau de détail des animations selon le MSPT
+    private LoadGovernor loadGovernor;
+
+    // Envoi groupé des particules et sons (plafond de paquets par joueur)
+    private FxDispatcher fxDispatcher;
+
+    // Nettoyage de l'état par joueur (déconnexion, changement de monde)
+    private PlayerLifecycleManager lifecycleManager;
+
+    // Métriques par enchantement (procs, cultures, chemin de cassage, coût des animations)
+    private EnchantMetrics metrics;
+
+    // Endpoint Prometheus optionnel (performance.metrics.http)
+    private MetricsEndpoint metricsEndpoint;
+
+    // Profiler en jeu (/rinaenchants profile)
+    private TickProfiler profiler;
+
+    // Mode debug (lu une fois au chargement, pas à chaque proc)
+    private volatile boolean debugEnabled;
+
     // Liste des enchantements enregistrés
     private final List<HoeEnchant> registeredEnchants = new ArrayList<>();
 
@@ -51,41 +113,26 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
     // Clé pour marquer les entités spawned par ce plugin (PersistentDataContainer)
     private NamespacedKey enchantEntityKey;
 
-    // Task de nettoyage périodique des entités
-    private int cleanupTaskId = -1;
+    // Registre des entités du plugin (durée de vie, orphelins au chargement des chunks)
+    private EnchantEntityRegistry entityRegistry;
+
+    // Journal sur disque des entités créées/supprimées (nettoyage après crash)
+    private EntityJournal entityJournal;
 
     // ═══════════════════════════════════════════════════════════════════════
     // SYSTÈME DE TRACKING POUR EMPÊCHER LES PROC EN CASCADE
     // ═══════════════════════════════════════════════════════════════════════
 
     // Locations actuellement cassées par les entités (abeilles, pandas, allays)
-    // Format: "world:x:y:z" -> timestamp d'expiration
-    private final ConcurrentHashMap<String, Long> entityBreakingLocations = new ConcurrentHashMap<>();
+    // Un index par monde: position packée en long -> tick d'expiration
+    private final Map<UUID, BreakingLocationIndex> entityBreakingLocations = new HashMap<>();
+
+    // Durée de la protection anti-cascade (10 ticks = 500ms)
+    private static final int BREAKING_MARK_TICKS = 10;
 
     // Cache pour les entités client-side par joueur (pour cleanup)
     private final ConcurrentHashMap<UUID, Set<Integer>> playerClientEntities = new ConcurrentHashMap<>();
 
-    // ═══════════════════════════════════════════════════════════════════════
-    // CULTURES SANS ÂGE (pas besoin de vérifier Ageable)
-    // ═══════════════════════════════════════════════════════════════════════
-    private static final Set<org.bukkit.Material> NO_AGE_CROPS = new HashSet<>(Arrays.asList(
-        org.bukkit.Material.MELON, org.bukkit.Material.PUMPKIN, org.bukkit.Material.SUGAR_CANE,
-        org.bukkit.Material.CACTUS, org.bukkit.Material.BAMBOO, org.bukkit.Material.KELP,
-        org.bukkit.Material.KELP_PLANT,
-        org.bukkit.Material.TUBE_CORAL, org.bukkit.Material.BUBBLE_CORAL, org.bukkit.Material.BRAIN_CORAL,
-        org.bukkit.Material.FIRE_CORAL, org.bukkit.Material.HORN_CORAL,
-        org.bukkit.Material.TUBE_CORAL_BLOCK, org.bukkit.Material.BUBBLE_CORAL_BLOCK,
-        org.bukkit.Material.BRAIN_CORAL_BLOCK, org.bukkit.Material.FIRE_CORAL_BLOCK,
-        org.bukkit.Material.HORN_CORAL_BLOCK,
-        org.bukkit.Material.WARPED_ROOTS, org.bukkit.Material.CRIMSON_ROOTS, org.bukkit.Material.NETHER_SPROUTS,
-        org.bukkit.Material.LILAC, org.bukkit.Material.ROSE_BUSH, org.bukkit.Material.PEONY,
-        org.bukkit.Material.SUNFLOWER,
-        org.bukkit.Material.OAK_SAPLING, org.bukkit.Material.BIRCH_SAPLING, org.bukkit.Material.JUNGLE_SAPLING,
-        org.bukkit.Material.SPRUCE_SAPLING, org.bukkit.Material.CHERRY_SAPLING, org.bukkit.Material.ACACIA_SAPLING,
-        org.bukkit.Material.DARK_OAK_SAPLING, org.bukkit.Material.MANGROVE_PROPAGULE,
-        org.bukkit.Material.CHORUS_FLOWER, org.bukkit.Material.CHORUS_PLANT, org.bukkit.Material.SEA_PICKLE
-    ));
-
     @Override
     public void onEnable() {
         instance = this;
@@ -95,11 +142,65 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
 
         // Sauvegarder la config par défaut
         saveDefaultConfig();
+        debugEnabled = getConfig().getBoolean("debug", false);
 
         // ═══════════════════════════════════════════════════════════════════════
         // NETTOYAGE DES ENTITÉS SURVIVANTES D'UN REBOOT/CRASH
+        // OPTIMISATION: Rejeu du journal (seules les entités enregistrées sont
+        // cherchées), scan complet des mondes uniquement s'il n'y a pas de journal
         // ═══════════════════════════════════════════════════════════════════════
-        cleanupEnchantEntities();
+        entityJournal = new EntityJournal(this);
+        Bukkit.getPluginManager().registerEvents(entityJournal, this);
+        if (!entityJournal.start()) {
+            cleanupEnchantEntities();
+        }
+
+        // Registre des entités: nettoyage par expiration et au chargement des chunks
+        entityRegistry = new EnchantEntityRegistry(this, entityJournal);
+        Bukkit.getPluginManager().registerEvents(entityRegistry, this);
+        entityRegistry.start();
+
+        // Charger le registre des cultures (section "crops")
+        cropRegistry = new CropRegistry(getLogger());
+        cropRegistry.load(getConfig());
+
+        // Niveau de détail des animations (échantillonne la durée des ticks)
+        loadGovernor = new LoadGovernor(this);
+        Bukkit.getPluginManager().registerEvents(loadGovernor, this);
+
+        // Particules et sons des animations, envoyés en fin de tick
+        fxDispatcher = new FxDispatcher(this);
+        Bukkit.getPluginManager().registerEvents(fxDispatcher, this);
+
+        // Métriques par enchantement (avant le moteur: chaque type d'animation y a son histogramme)
+        metrics = new EnchantMetrics(this);
+        metrics.start();
+
+        // Profiler en jeu (testé par le moteur à chaque tick)
+        profiler = new TickProfiler(this);
+
+        // Démarrer le moteur d'animation partagé
+        animationEngine = new AnimationEngine(this);
+        animationEngine.start();
+
+        // Backend des entités d'animation
+        // OPTIMISATION: Les mobs d'animation sont garés et réutilisés au lieu d'être supprimés
+        entityPool = new PooledEntityProvider(this, new ServerEntityProvider(this));
+        Bukkit.getPluginManager().registerEvents(entityPool, this);
+        entityPool.start();
+        entityProvider = entityPool;
+
+        // Lier HellRainAbility (RivalHarvesterHoes est une dépendance, déjà activé)
+        hellRainBridge = new HellRainBridge(this);
+        hellRainBridge.bind();
+
+        // Pipeline de cassage (task démarrée après le moteur: vidée en fin de tick)
+        cropPipeline = new CropBreakPipeline(this);
+        cropPipeline.start();
+
+        // Contrôle d'admission (les procs en attente démarrent au tick suivant)
+        admissionController = new AdmissionController(this);
+        admissionController.start();
 
         // Enregistrer les listeners
         Bukkit.getPluginManager().registerEvents(this, this);
@@ -108,35 +209,24 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
         cyberLevelListener = new CyberLevelXPListener(this);
         Bukkit.getPluginManager().registerEvents(cyberLevelListener, this);
 
+        // Nettoyage de l'état par joueur (après tous les systèmes qu'il purge)
+        lifecycleManager = new PlayerLifecycleManager(this);
+        Bukkit.getPluginManager().registerEvents(lifecycleManager, this);
+
+        // Endpoint Prometheus (désactivé par défaut), servi depuis un snapshot
+        metricsEndpoint = new MetricsEndpoint(this);
+        metricsEndpoint.start();
+
         // Enregistrer la commande reload
         getCommand("rinaenchants").setExecutor(new ReloadCommand(this));
         getCommand("rinaenchants").setTabCompleter(new ReloadCommand(this));
 
-        // Task de nettoyage des locations expirées (toutes les 5 secondes)
-        Bukkit.getScheduler().runTaskTimerAsynchronously(this, this::cleanupExpiredLocations, 100L, 100L);
-
-        // ═══════════════════════════════════════════════════════════════════════
-        // TASK DE NETTOYAGE PÉRIODIQUE DES ENTITÉS ORPHELINES (toutes les 2 minutes)
-        // Sécurité supplémentaire pour nettoyer les entités qui auraient pu
-        // échapper au cleanup normal (crash d'animation, bug, etc.)
-        // OPTIMISATION: Scan async + suppression sync pour éviter les lags
-        // ═══════════════════════════════════════════════════════════════════════
-        cleanupTaskId = Bukkit.getScheduler().runTaskTimerAsynchronously(this, this::periodicEntityCleanupAsync, 2400L, 2400L).getTaskId();
-
         // Attendre que RivalHarvesterHoes soit chargé
         Bukkit.getScheduler().runTaskLater(this, this::initializeEnchants, 20L);
 
         getLogger().info("§6RinaEnchants §av" + getDescription().getVersion() + " §7activé!");
     }
 
-    /**
-     * Nettoie les locations expirées
-     */
-    private void cleanupExpiredLocations() {
-        long now = System.currentTimeMillis();
-        entityBreakingLocations.entrySet().removeIf(entry -> entry.getValue() < now);
-    }
-
     /**
      * Initialise les enchantements
      */
@@ -162,9 +252,7 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
         // ENCHANTEMENT BEE COLLECTOR
         // ═══════════════════════════════════════════════════════════
         if (getConfig().getBoolean("bee-collector.enabled", true)) {
-            BeeCollectorEnchant beeEnchant = new BeeCollectorEnchant(this);
-            hoesAPI.registerEnchant(beeEnchant);
-            registeredEnchants.add(beeEnchant);
+            registerEnchant(new BeeCollectorEnchant(this), "bee-collector");
 
             getLogger().info("§a✓ Enchantement Bee Collector enregistré!");
         }
@@ -173,9 +261,7 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
         // ENCHANTEMENT PANDA ROLL
         // ═══════════════════════════════════════════════════════════
         if (getConfig().getBoolean("panda-roll.enabled", true)) {
-            PandaRollEnchant pandaEnchant = new PandaRollEnchant(this);
-            hoesAPI.registerEnchant(pandaEnchant);
-            registeredEnchants.add(pandaEnchant);
+            registerEnchant(new PandaRollEnchant(this), "panda-roll");
 
             getLogger().info("§a✓ Enchantement Panda Roll enregistré!");
         }
@@ -184,9 +270,7 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
         // ENCHANTEMENT ALLAY LASER
         // ═══════════════════════════════════════════════════════════
         if (getConfig().getBoolean("allay-laser.enabled", true)) {
-            AllayLaserEnchant allayEnchant = new AllayLaserEnchant(this);
-            hoesAPI.registerEnchant(allayEnchant);
-            registeredEnchants.add(allayEnchant);
+            registerEnchant(new AllayLaserEnchant(this), "allay-laser");
 
             getLogger().info("§a✓ Enchantement Allay Laser enregistré!");
         }
@@ -195,9 +279,7 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
         // ENCHANTEMENT RAVAGER STAMPEDE
         // ═══════════════════════════════════════════════════════════
         if (getConfig().getBoolean("ravager-stampede.enabled", true)) {
-            RavagerStampedeEnchant ravagerEnchant = new RavagerStampedeEnchant(this);
-            hoesAPI.registerEnchant(ravagerEnchant);
-            registeredEnchants.add(ravagerEnchant);
+            registerEnchant(new RavagerStampedeEnchant(this), "ravager-stampede");
 
             getLogger().info("§c✓ Enchantement Ravager Stampede enregistré!");
         }
@@ -206,9 +288,7 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
         // ENCHANTEMENT BLIZZARD ÉTERNEL
         // ═══════════════════════════════════════════════════════════
         if (getConfig().getBoolean("blizzard-eternal.enabled", true)) {
-            BlizzardEnchant blizzardEnchant = new BlizzardEnchant(this);
-            hoesAPI.registerEnchant(blizzardEnchant);
-            registeredEnchants.add(blizzardEnchant);
+            registerEnchant(new BlizzardEnchant(this), "blizzard-eternal");
 
             getLogger().info("§b✓ Enchantement Blizzard Éternel enregistré!");
         }
@@ -217,9 +297,7 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
         // ENCHANTEMENT FROG TONGUE LASH
         // ═══════════════════════════════════════════════════════════
         if (getConfig().getBoolean("frog-tongue-lash.enabled", true)) {
-            FrogTongueLashEnchant frogEnchant = new FrogTongueLashEnchant(this);
-            hoesAPI.registerEnchant(frogEnchant);
-            registeredEnchants.add(frogEnchant);
+            registerEnchant(new FrogTongueLashEnchant(this), "frog-tongue-lash");
 
             getLogger().info("§a✓ Enchantement Frog Tongue Lash enregistré!");
         }
@@ -228,9 +306,7 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
         // ENCHANTEMENT WARDEN PULSE
         // ═══════════════════════════════════════════════════════════
         if (getConfig().getBoolean("warden-pulse.enabled", true)) {
-            WardenPulseEnchant wardenEnchant = new WardenPulseEnchant(this);
-            hoesAPI.registerEnchant(wardenEnchant);
-            registeredEnchants.add(wardenEnchant);
+            registerEnchant(new WardenPulseEnchant(this), "warden-pulse");
 
             getLogger().info("§8✓ Enchantement Warden Pulse enregistré!");
         }
@@ -239,9 +315,7 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
         // ENCHANTEMENT GOLEM FACTORY
         // ═══════════════════════════════════════════════════════════
         if (getConfig().getBoolean("golem-factory.enabled", true)) {
-            GolemFactoryEnchant golemEnchant = new GolemFactoryEnchant(this);
-            hoesAPI.registerEnchant(golemEnchant);
-            registeredEnchants.add(golemEnchant);
+            registerEnchant(new GolemFactoryEnchant(this), "golem-factory");
 
             getLogger().info("§7✓ Enchantement Golem Factory enregistré!");
         }
@@ -250,9 +324,7 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
         // ENCHANTEMENT AXOLOTL TSUNAMI
         // ═══════════════════════════════════════════════════════════
         if (getConfig().getBoolean("axolotl-tsunami.enabled", true)) {
-            AxolotlTsunamiEnchant axolotlEnchant = new AxolotlTsunamiEnchant(this);
-            hoesAPI.registerEnchant(axolotlEnchant);
-            registeredEnchants.add(axolotlEnchant);
+            registerEnchant(new AxolotlTsunamiEnchant(this), "axolotl-tsunami");
 
             getLogger().info("§b✓ Enchantement Axolotl Tsunami enregistré!");
         }
@@ -261,9 +333,7 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
         // ENCHANTEMENT ENDER DRAGON BREATH
         // ═══════════════════════════════════════════════════════════
         if (getConfig().getBoolean("ender-dragon-breath.enabled", true)) {
-            EnderDragonBreathEnchant dragonEnchant = new EnderDragonBreathEnchant(this);
-            hoesAPI.registerEnchant(dragonEnchant);
-            registeredEnchants.add(dragonEnchant);
+            registerEnchant(new EnderDragonBreathEnchant(this), "ender-dragon-breath");
 
             getLogger().info("§5✓ Enchantement Ender Dragon Breath enregistré!");
         }
@@ -271,18 +341,103 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
         getLogger().info("§a✓ " + registeredEnchants.size() + " enchantement(s) chargé(s)!");
     }
 
+    /**
+     * Enregistre un enchantement derrière le contrôle d'admission
+     *
+     * @param section ID de section de l'enchantement dans la config
+     */
+    private void registerEnchant(ReloadableEnchant enchant, String section) {
+        AdmittedEnchant admitted = new AdmittedEnchant(this, enchant, section);
+        hoesAPI.registerEnchant(admitted);
+        registeredEnchants.add(admitted);
+    }
+
     /**
      * Reload le plugin
      */
     public void reload() {
         getLogger().info("§eRechargement de RinaEnchants...");
         reloadConfig();
+        debugEnabled = getConfig().getBoolean("debug", false);
+
+        // Recharger le budget du moteur d'animation
+        if (animationEngine != null) {
+            animationEngine.loadConfig();
+        }
+
+        // Recharger les cultures (ajouts/retraits de la config)
+        if (cropRegistry != null) {
+            cropRegistry.load(getConfig());
+        }
+
+        // Recharger le budget et les limites de la pipeline de cassage
+        if (cropPipeline != null) {
+            cropPipeline.loadConfig();
+        }
+
+        // Recharger les seuils du niveau de détail
+        if (loadGovernor != null) {
+            loadGovernor.loadConfig();
+        }
+
+        // Recharger les durées de vie du registre des entités
+        if (entityRegistry != null) {
+            entityRegistry.loadConfig();
+        }
+
+        // Recharger la fréquence d'écriture du journal
+        if (entityJournal != null) {
+            entityJournal.loadConfig();
+        }
+
+        // Recharger les plafonds du pool d'entités
+        if (entityPool != null) {
+            entityPool.loadConfig();
+        }
+
+        // Recharger le plafond de paquets et la fusion des effets
+        if (fxDispatcher != null) {
+            fxDispatcher.loadConfig();
+        }
+
+        // Recharger les limites d'admission
+        if (admissionController != null) {
+            admissionController.loadConfig();
+        }
+
+        // Recharger le nettoyage par joueur
+        if (lifecycleManager != null) {
+            lifecycleManager.loadConfig();
+        }
 
         // Recharger le listener CyberLevel
         if (cyberLevelListener != null) {
             cyberLevelListener.reload();
         }
 
+        // Recharger l'activation des métriques
+        if (metrics != null) {
+            metrics.loadConfig();
+        }
+
+        // Recharger les limites du profiler (la fenêtre en cours continue)
+        if (profiler != null) {
+            profiler.loadConfig();
+        }
+
+        // Recharger l'endpoint Prometheus (redémarré si l'adresse ou le port change)
+        if (metricsEndpoint != null) {
+            metricsEndpoint.loadConfig();
+        }
+
+        // Recompiler les paramètres des instances déjà enregistrées
+        // (RivalHarvesterHoes peut conserver les anciennes instances)
+        for (HoeEnchant enchant : registeredEnchants) {
+            if (enchant instanceof ReloadableEnchant reloadable) {
+                reloadable.reloadSettings();
+            }
+        }
+
         if (hoesAPI != null) {
             registerAllEnchants();
         } else {
@@ -297,6 +452,7 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
         if (event.getPlugin().getName().equals("RivalHarvesterHoes")) {
             getLogger().info("§eRivalHarvesterHoes rechargé, ré-enregistrement des enchantements...");
             Bukkit.getScheduler().runTaskLater(this, () -> {
+                hellRainBridge.bind();
                 hoesAPI = getHarvesterHoesAPI();
                 if (hoesAPI != null) {
                     registerAllEnchants();
@@ -305,6 +461,14 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
         }
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginDisable(PluginDisableEvent event) {
+        if (event.getPlugin().getName().equals("RivalHarvesterHoes")) {
+            // Ne pas garder de références vers l'ancien classloader
+            hellRainBridge.unbind();
+        }
+    }
+
     private RivalHarvesterHoesAPI getHarvesterHoesAPI() {
         try {
             RegisteredServiceProvider<RivalHarvesterHoesAPI> provider =
@@ -314,7 +478,7 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
                 return provider.getProvider();
             }
         } catch (Exception e) {
-            if (getConfig().getBoolean("debug", false)) {
+            if (debugEnabled) {
                 getLogger().warning("§eServiceManager non disponible: " + e.getMessage());
             }
         }
@@ -332,7 +496,7 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
                 }
             }
         } catch (Exception e) {
-            if (getConfig().getBoolean("debug", false)) {
+            if (debugEnabled) {
                 getLogger().warning("§eRéflexion échouée: " + e.getMessage());
             }
         }
@@ -365,14 +529,64 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
 
     @Override
     public void onDisable() {
-        // Annuler la task de nettoyage périodique
-        if (cleanupTaskId != -1) {
-            Bukkit.getScheduler().cancelTask(cleanupTaskId);
-            cleanupTaskId = -1;
+        // Oublier les procs en attente d'admission
+        if (admissionController != null) {
+            admissionController.stop();
+        }
+
+        // Casser les cultures encore en attente dans la pipeline
+        if (cropPipeline != null) {
+            cropPipeline.stop();
         }
 
-        // Nettoyer toutes les entités spawned par les enchantements
-        cleanupEnchantEntities();
+        // Donner l'XP en attente (CyberLevels est désactivé après nous), le reste va dans le registre
+        if (cyberLevelListener != null) {
+            cyberLevelListener.stop();
+        }
+
+        // Arrêter le moteur d'animation (les entités sont nettoyées juste après)
+        if (animationEngine != null) {
+            animationEngine.stop();
+        }
+
+        // Envoyer les derniers effets en attente
+        if (fxDispatcher != null) {
+            fxDispatcher.stop();
+        }
+
+        // Arrêter une fenêtre du profiler en cours
+        if (profiler != null) {
+            profiler.stop();
+        }
+
+        // Fermer l'endpoint Prometheus
+        if (metricsEndpoint != null) {
+            metricsEndpoint.stop();
+        }
+
+        // Arrêter le calcul des débits
+        if (metrics != null) {
+            metrics.stop();
+        }
+
+        // Supprimer les entités garées dans le pool
+        if (entityPool != null) {
+            entityPool.stop();
+        }
+
+        // Supprimer les entités encore enregistrées (plus de scan des mondes)
+        if (entityRegistry != null) {
+            entityRegistry.stop();
+            int removed = entityRegistry.removeAll();
+            if (removed > 0) {
+                getLogger().info("§a✓ Nettoyage de " + removed + " entité(s) d'enchantement");
+            }
+        }
+
+        // Compacter le journal (arrêt propre: plus aucune entité vivante)
+        if (entityJournal != null) {
+            entityJournal.stop();
+        }
 
         entityBreakingLocations.clear();
         playerClientEntities.clear();
@@ -385,8 +599,8 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
 
     /**
      * Nettoie toutes les entités spawned par les enchantements dans tous les mondes.
-     * Appelé au démarrage pour nettoyer les survivants d'un crash/reboot,
-     * et à l'arrêt pour nettoyer proprement.
+     * Appelé une fois au démarrage pour les survivants d'un crash/reload dans les
+     * chunks déjà chargés. Ensuite, c'est EnchantEntityRegistry qui s'en charge.
      */
     private void cleanupEnchantEntities() {
         int cleaned = 0;
@@ -405,76 +619,10 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
         }
     }
 
-    /**
-     * Nettoyage périodique des entités orphelines (VERSION ASYNC).
-     * Cette méthode est appelée toutes les 2 minutes pour nettoyer
-     * les entités qui auraient pu échapper au cleanup normal.
-     *
-     * OPTIMISATION: Le scan est fait en async, seule la suppression est sync.
-     */
-    private void periodicEntityCleanupAsync() {
-        boolean debug = getConfig().getBoolean("debug", false);
-
-        // Collecter les UUIDs des entités à supprimer (thread-safe)
-        List<UUID> entitiesToRemove = new ArrayList<>();
-
-        for (World world : Bukkit.getWorlds()) {
-            // Copie de la liste pour éviter ConcurrentModificationException
-            List<Entity> entities = new ArrayList<>(world.getEntities());
-
-            for (Entity entity : entities) {
-                try {
-                    if (isEnchantEntity(entity)) {
-                        // Vérifier si l'entité est valide et n'est pas déjà morte
-                        if (!entity.isValid() || entity.isDead()) {
-                            continue;
-                        }
-
-                        // L'entité est toujours là mais marquée comme enchantement
-                        // Elle devrait avoir été nettoyée par son animation
-                        // Si elle est là depuis plus de 5 minutes, c'est un orphelin
-                        // hasAI() n'existe que sur LivingEntity, les autres entités n'ont pas d'AI
-                        boolean hasNoAI = !(entity instanceof LivingEntity) || !((LivingEntity) entity).hasAI();
-                        if (hasNoAI && entity.getVelocity().lengthSquared() < 0.01) {
-                            entitiesToRemove.add(entity.getUniqueId());
-
-                            if (debug) {
-                                getLogger().info("§e[Cleanup périodique] Entité orpheline détectée: " +
-                                    entity.getType() + " à " + entity.getLocation().toVector());
-                            }
-                        }
-                    }
-                } catch (Exception ignored) {
-                    // Entité peut avoir été supprimée entre-temps
-                }
-            }
-        }
-
-        // Supprimer les entités sur le thread principal (requis par Bukkit)
-        if (!entitiesToRemove.isEmpty()) {
-            final List<UUID> toRemove = new ArrayList<>(entitiesToRemove);
-            final boolean debugFinal = debug;
-
-            Bukkit.getScheduler().runTask(this, () -> {
-                int cleaned = 0;
-                for (UUID uuid : toRemove) {
-                    Entity entity = Bukkit.getEntity(uuid);
-                    if (entity != null && !entity.isDead()) {
-                        entity.remove();
-                        cleaned++;
-                    }
-                }
-
-                if (cleaned > 0 && debugFinal) {
-                    getLogger().info("§a✓ Nettoyage périodique: " + cleaned + " entité(s) orpheline(s) supprimée(s)");
-                }
-            });
-        }
-    }
-
     /**
      * Force le nettoyage de toutes les entités d'enchantement.
-     * Peut être appelé via commande admin.
+     * Peut être appelé via commande admin: scan complet des mondes, en secours
+     * du registre (EnchantEntityRegistry).
      * @return Le nombre d'entités nettoyées
      */
     public int forceCleanupAllEntities() {
@@ -483,7 +631,7 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
         for (World world : Bukkit.getWorlds()) {
             for (Entity entity : world.getEntities()) {
                 if (isEnchantEntity(entity)) {
-                    entity.remove();
+                    entityRegistry.remove(entity);
                     cleaned++;
                 }
             }
@@ -530,75 +678,129 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
         return cyberLevelListener;
     }
 
+    public AnimationEngine getAnimationEngine() {
+        return animationEngine;
+    }
+
+    public AnimationEntityProvider getEntityProvider() {
+        return entityProvider;
+    }
+
+    public EnchantEntityRegistry getEntityRegistry() {
+        return entityRegistry;
+    }
+
+    public EntityJournal getEntityJournal() {
+        return entityJournal;
+    }
+
+    public PooledEntityProvider getEntityPool() {
+        return entityPool;
+    }
+
+    public CropRegistry getCropRegistry() {
+        return cropRegistry;
+    }
+
+    public HellRainBridge getHellRainBridge() {
+        return hellRainBridge;
+    }
+
+    public CropBreakPipeline getCropPipeline() {
+        return cropPipeline;
+    }
+
+    public AdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
+    public LoadGovernor getLoadGovernor() {
+        return loadGovernor;
+    }
+
+    public FxDispatcher getFx() {
+        return fxDispatcher;
+    }
+
+    public PlayerLifecycleManager getLifecycleManager() {
+        return lifecycleManager;
+    }
+
+    public EnchantMetrics getMetrics() {
+        return metrics;
+    }
+
+    public MetricsEndpoint getMetricsEndpoint() {
+        return metricsEndpoint;
+    }
+
+    public TickProfiler getProfiler() {
+        return profiler;
+    }
+
+    public boolean isDebug() {
+        return debugEnabled;
+    }
+
     // ═══════════════════════════════════════════════════════════════════════
     // MÉTHODES DE TRACKING DES CASSAGES
     // ═══════════════════════════════════════════════════════════════════════
 
     /**
-     * Génère une clé unique pour une location
+     * Retourne l'index anti-cascade d'un monde (créé à la demande)
      */
-    private String getLocationKey(Location loc) {
-        return loc.getWorld().getName() + ":" + loc.getBlockX() + ":" + loc.getBlockY() + ":" + loc.getBlockZ();
+    private BreakingLocationIndex getBreakingIndex(World world) {
+        return entityBreakingLocations.computeIfAbsent(world.getUID(), k -> new BreakingLocationIndex(BREAKING_MARK_TICKS));
     }
 
     /**
      * Marque une location comme étant cassée par une entité (abeille/panda/allay)
-     * Cette location ne pourra pas déclencher d'enchantement pendant 500ms
+     * Cette location ne pourra pas déclencher d'enchantement pendant 10 ticks (500ms)
+     *
+     * OPTIMISATION: Clé long + table primitive, aucune allocation
      */
     public void markEntityBreakingLocation(Location loc) {
-        String key = getLocationKey(loc);
-        // Expire après 500ms
-        entityBreakingLocations.put(key, System.currentTimeMillis() + 500);
+        getBreakingIndex(loc.getWorld()).mark(BlockKey.of(loc), Bukkit.getCurrentTick());
+    }
+
+    /**
+     * Marque une position (clé BlockKey) comme en train d'être cassée par une entité
+     */
+    public void markEntityBreakingLocation(World world, long blockKey) {
+        getBreakingIndex(world).mark(blockKey, Bukkit.getCurrentTick());
     }
 
     /**
      * Vérifie si une location est en train d'être cassée par une entité
      */
     public boolean isEntityBreakingLocation(Location loc) {
-        String key = getLocationKey(loc);
-        Long expiry = entityBreakingLocations.get(key);
-        if (expiry == null) return false;
-        if (expiry < System.currentTimeMillis()) {
-            entityBreakingLocations.remove(key);
-            return false;
-        }
-        return true;
+        BreakingLocationIndex index = entityBreakingLocations.get(loc.getWorld().getUID());
+        return index != null && index.isMarked(BlockKey.of(loc), Bukkit.getCurrentTick());
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        entityBreakingLocations.remove(event.getWorld().getUID());
     }
 
     // ═══════════════════════════════════════════════════════════════════════
     // SYSTÈME CLIENT-SIDE (visibilité des entités)
     // ═══════════════════════════════════════════════════════════════════════
 
-    // Distance maximale pour cacher les entités (au-delà, le serveur ne les envoie pas)
-    private static final double HIDE_RADIUS_SQUARED = 128 * 128;
-
     /**
-     * Cache une entité à tous les joueurs sauf un (optimisation serveur 500 joueurs)
+     * Rend une entité visible par un seul joueur (optimisation serveur 500 joueurs)
      *
-     * OPTIMISATION: Au lieu d'itérer sur tous les 500+ joueurs, on ne cache
-     * qu'aux joueurs proches (dans le rayon de rendu). Les joueurs éloignés
-     * ne recevront de toute façon pas les paquets d'entité.
+     * OPTIMISATION: L'entité est invisible par défaut (Entity#setVisibleByDefault)
+     * et montrée explicitement au propriétaire. Aucune boucle sur les joueurs
+     * en ligne, et un joueur qui arrive à portée plus tard ne la voit pas non plus.
      */
     public void makeEntityClientSide(Entity entity, Player visibleTo) {
-        Location entityLoc = entity.getLocation();
-        World entityWorld = entityLoc.getWorld();
-
         // Tracker l'entité pour cleanup (fait en premier pour éviter les race conditions)
         playerClientEntities.computeIfAbsent(visibleTo.getUniqueId(), k -> ConcurrentHashMap.newKeySet())
             .add(entity.getEntityId());
 
-        // OPTIMISATION: Ne cacher qu'aux joueurs proches dans le même monde
-        for (Player online : Bukkit.getOnlinePlayers()) {
-            if (online.equals(visibleTo)) continue;
-
-            // Ignorer les joueurs dans un autre monde
-            if (!online.getWorld().equals(entityWorld)) continue;
-
-            // OPTIMISATION: Ne cacher qu'aux joueurs dans le rayon de rendu
-            if (online.getLocation().distanceSquared(entityLoc) <= HIDE_RADIUS_SQUARED) {
-                online.hideEntity(this, entity);
-            }
-        }
+        entity.setVisibleByDefault(false);
+        visibleTo.showEntity(this, entity);
     }
 
     /**
@@ -612,10 +814,44 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
      * Retire un ID d'entité du tracking
      */
     public void untrackClientEntity(UUID playerId, int entityId) {
-        Set<Integer> entities = playerClientEntities.get(playerId);
-        if (entities != null) {
+        // Pas d'ensemble vide qui traîne pour un joueur sans entité
+        playerClientEntities.computeIfPresent(playerId, (id, entities) -> {
             entities.remove(entityId);
+            return entities.isEmpty() ? null : entities;
+        });
+    }
+
+    /**
+     * Oublie toutes les entités client-side d'un joueur (déconnexion, changement de monde)
+     *
+     * @return Nombre d'IDs encore suivis pour ce joueur
+     */
+    public int releaseClientEntities(UUID playerId) {
+        Set<Integer> entities = playerClientEntities.remove(playerId);
+        return entities != null ? entities.size() : 0;
+    }
+
+    public int getClientEntityCount(UUID playerId) {
+        Set<Integer> entities = playerClientEntities.get(playerId);
+        return entities != null ? entities.size() : 0;
+    }
+
+    /**
+     * Nombre total d'IDs d'entités client-side suivis (tous joueurs)
+     */
+    public int getClientEntityTotal() {
+        int total = 0;
+        for (Set<Integer> entities : playerClientEntities.values()) {
+            total += entities.size();
         }
+        return total;
+    }
+
+    /**
+     * Nombre de joueurs ayant des entités client-side suivies
+     */
+    public int getClientEntityPlayers() {
+        return playerClientEntities.size();
     }
 
     // ═══════════════════════════════════════════════════════════════════════
@@ -624,113 +860,31 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
     // Cela donne les multiplicateurs RivalHarvesterHoes SANS déclencher d'autres enchantements
     // ═══════════════════════════════════════════════════════════════════════
 
-    private java.lang.reflect.Method hellRainReplaceWithDrops = null;
-    private java.lang.reflect.Method hellRainReplaceCropsde = null;
-    private boolean hellRainMethodsChecked = false;
-
     /**
-     * Casse une culture de manière sécurisée en utilisant HellRainAbility.
-     * Cette méthode est utilisée par AirStrike et donne les multiplicateurs
-     * de RivalHarvesterHoes SANS déclencher d'autres enchantements.
-     *
-     * Chaque culture cassée donne l'XP configuré dans cyber-level-xp-per-block.
+     * Casse une culture mature dont la location est déjà marquée (anti-cascade).
+     * N'ajoute pas d'XP CyberLevel: c'est à l'appelant de le faire.
      *
-     * @param player Le joueur qui "casse" la culture
-     * @param cropLocation La location de la culture
-     * @param enchantId L'ID de la section d'enchantement (ex: "panda-roll", "bee-collector")
+     * @param enchantId L'ID de la section d'enchantement (métriques du chemin de cassage)
      * @return true si le bloc a été cassé
      */
-    public boolean safeBreakCrop(Player player, Location cropLocation, String enchantId) {
-        org.bukkit.block.Block block = cropLocation.getBlock();
-        org.bukkit.Material blockType = block.getType();
-
-        if (blockType.isAir()) {
-            return false;
-        }
-
-        boolean debug = getConfig().getBoolean("debug", false);
-        if (debug) {
-            getLogger().info("§e[safeBreakCrop] Type détecté: " + blockType + " à " + cropLocation.toVector());
-        }
-
-        // Vérifier si c'est une culture mature
-        // Pour les NO_AGE_CROPS (coraux, saplings, etc.), pas besoin de vérifier l'âge
-        if (!NO_AGE_CROPS.contains(blockType)) {
-            if (!(block.getBlockData() instanceof org.bukkit.block.data.Ageable)) {
-                if (debug) {
-                    getLogger().info("§c[safeBreakCrop] Bloc non-Ageable ignoré: " + blockType);
-                }
-                return false;
-            }
-            org.bukkit.block.data.Ageable ageable = (org.bukkit.block.data.Ageable) block.getBlockData();
-            if (ageable.getAge() < ageable.getMaximumAge()) {
-                if (debug) {
-                    getLogger().info("§c[safeBreakCrop] Bloc non mature ignoré: " + blockType);
-                }
-                return false;
-            }
-        }
-
-        // Marquer la location AVANT pour éviter les cascades internes
-        markEntityBreakingLocation(cropLocation);
-
-        // Charger les méthodes HellRainAbility via réflexion (une seule fois)
-        if (!hellRainMethodsChecked) {
-            hellRainMethodsChecked = true;
-            try {
-                Class<?> hellRainClass = Class.forName("me.rivaldev.harvesterhoes.abilities.HellRainAbility");
-
-                // replaceWithDrops(Player, Location, double radius, Material, long level)
-                hellRainReplaceWithDrops = hellRainClass.getMethod("replaceWithDrops",
-                    Player.class, Location.class, double.class, org.bukkit.Material.class, long.class);
-
-                // replaceCropsde comme backup
-                hellRainReplaceCropsde = hellRainClass.getMethod("replaceCropsde",
-                    Player.class, Location.class, double.class, org.bukkit.Material.class, long.class);
-
-                if (debug) {
-                    getLogger().info("§a[RinaEnchants] HellRainAbility méthodes trouvées!");
-                }
-            } catch (Exception e) {
-                if (debug) {
-                    getLogger().warning("§e[RinaEnchants] HellRainAbility non trouvé: " + e.getMessage());
-                }
-            }
-        }
-
-        // Variable pour tracker si le bloc a été cassé avec succès
-        boolean cropBroken = false;
-
-        // Utiliser HellRainAbility.replaceWithDrops (comme AirStrike)
-        if (hellRainReplaceWithDrops != null) {
-            try {
-                // Rayon de 0.5 = seulement le bloc central (évite de casser les blocs adjacents)
-                hellRainReplaceWithDrops.invoke(null, player, cropLocation, 0.5, blockType, 1L);
-                cropBroken = true;
-
-                if (debug) {
-                    getLogger().info("§a[safeBreakCrop] Bloc cassé via HellRainAbility: " + blockType);
-                }
-            } catch (Exception e) {
-                if (debug) {
-                    getLogger().warning("§e[RinaEnchants] Erreur replaceWithDrops: " + e.getMessage());
-                }
-                // Essayer replaceCropsde comme backup
-                if (hellRainReplaceCropsde != null) {
-                    try {
-                        hellRainReplaceCropsde.invoke(null, player, cropLocation, 0.5, blockType, 1L);
-                        cropBroken = true;
-
-                        if (debug) {
-                            getLogger().info("§a[safeBreakCrop] Bloc cassé via HellRainAbility (backup): " + blockType);
-                        }
-                    } catch (Exception e2) {
-                        if (debug) {
-                            getLogger().warning("§e[RinaEnchants] Erreur replaceCropsde: " + e2.getMessage());
-                        }
-                    }
-                }
+    public boolean breakMarkedCrop(Player player, Location cropLocation, org.bukkit.block.Block block,
+                                   org.bukkit.Material blockType, String enchantId) {
+        boolean debug = debugEnabled;
+        FlightEvents.CropHarvest event = null;
+        if (FlightEvents.isCropHarvestEnabled()) {
+            event = new FlightEvents.CropHarvest();
+            event.begin();
+        }
+
+        // Utiliser HellRainAbility.replaceWithDrops (comme AirStrike), replaceCropsde en secours
+        EnchantMetrics.BreakPath path = hellRainBridge.breakCropPath(player, cropLocation, blockType);
+        if (path != EnchantMetrics.BreakPath.FAILED) {
+            metrics.breakPath(enchantId, path, 1);
+            if (event != null) event.finish(enchantId, path, blockType.name(), 1);
+            if (debug) {
+                getLogger().info("§a[breakMarkedCrop] Bloc cassé via HellRainAbility: " + blockType);
             }
+            return true;
         }
 
         // Fallback: casser manuellement avec drops si HellRainAbility n'a pas fonctionné
@@ -738,62 +892,61 @@ public class RinaEnchantsPlugin extends JavaPlugin implements Listener {
         // INTÉGRATION RIVALHARVESTERHOES: Déclencher RivalBlockBreakEvent
         // Cela permet à CyberLevel et autres plugins de détecter la cassure
         // ═══════════════════════════════════════════════════════════════════════
-        if (!cropBroken) {
-            org.bukkit.inventory.ItemStack hoeItem = player.getInventory().getItemInMainHand();
-
-            // Créer et appeler l'événement RivalBlockBreakEvent
-            // Paramètres: Player, Block, amount, hoe_level, hoe_prestige, ItemStack, Material
-            RivalBlockBreakEvent rivalEvent = new RivalBlockBreakEvent(
-                player,
-                block,
-                1,              // amount: 1 bloc cassé
-                1,              // hoe_level: niveau par défaut
-                0,              // hoe_prestige: prestige par défaut
-                hoeItem,
-                blockType
-            );
-
-            // Appeler l'événement pour que les autres plugins (CyberLevel) le voient
-            Bukkit.getPluginManager().callEvent(rivalEvent);
-
-            // Vérifier si un autre plugin a annulé l'événement
-            if (rivalEvent.isCancelled()) {
-                if (debug) {
-                    getLogger().info("§c[safeBreakCrop] RivalBlockBreakEvent annulé par un autre plugin");
-                }
-                return false;
+        org.bukkit.inventory.ItemStack hoeItem = player.getInventory().getItemInMainHand();
+
+        // Créer et appeler l'événement RivalBlockBreakEvent
+        // Paramètres: Player, Block, amount, hoe_level, hoe_prestige, ItemStack, Material
+        RivalBlockBreakEvent rivalEvent = new RivalBlockBreakEvent(
+            player,
+            block,
+            1,              // amount: 1 bloc cassé
+            1,              // hoe_level: niveau par défaut
+            0,              // hoe_prestige: prestige par défaut
+            hoeItem,
+            blockType
+        );
+
+        // Appeler l'événement pour que les autres plugins (CyberLevel) le voient
+        Bukkit.getPluginManager().callEvent(rivalEvent);
+
+        // Vérifier si un autre plugin a annulé l'événement
+        if (rivalEvent.isCancelled()) {
+            metrics.breakPath(enchantId, EnchantMetrics.BreakPath.FAILED, 1);
+            if (event != null) event.finish(enchantId, EnchantMetrics.BreakPath.FAILED, blockType.name(), 0);
+            if (debug) {
+                getLogger().info("§c[breakMarkedCrop] RivalBlockBreakEvent annulé par un autre plugin");
             }
+            return false;
+        }
 
-            // L'événement n'est pas annulé, on peut casser le bloc
-            java.util.Collection<org.bukkit.inventory.ItemStack> drops = block.getDrops(hoeItem);
-            block.setType(org.bukkit.Material.AIR);
-
-            org.bukkit.Location dropLoc = cropLocation.clone().add(0.5, 0.5, 0.5);
-            for (org.bukkit.inventory.ItemStack drop : drops) {
-                java.util.HashMap<Integer, org.bukkit.inventory.ItemStack> leftover =
-                    player.getInventory().addItem(drop);
-                for (org.bukkit.inventory.ItemStack item : leftover.values()) {
-                    block.getWorld().dropItemNaturally(dropLoc, item);
-                }
-            }
-            cropBroken = true;
+        // L'événement n'est pas annulé, on peut casser le bloc
+        java.util.Collection<org.bukkit.inventory.ItemStack> drops = block.getDrops(hoeItem);
+        block.setType(org.bukkit.Material.AIR);
 
-            if (debug) {
-                getLogger().info("§a[safeBreakCrop] Bloc cassé via RivalBlockBreakEvent (fallback): " + blockType);
+        org.bukkit.Location dropLoc = cropLocation.clone().add(0.5, 0.5, 0.5);
+        for (org.bukkit.inventory.ItemStack drop : drops) {
+            java.util.HashMap<Integer, org.bukkit.inventory.ItemStack> leftover =
+                player.getInventory().addItem(drop);
+            for (org.bukkit.inventory.ItemStack item : leftover.values()) {
+                block.getWorld().dropItemNaturally(dropLoc, item);
             }
         }
 
-        // ═══════════════════════════════════════════════════════════════════════
-        // DONNER L'XP CYBERLEVEL APRÈS AVOIR CASSÉ LE BLOC
-        // L'XP est configuré dans <enchant-id>.cyber-level-xp-per-block
-        // ═══════════════════════════════════════════════════════════════════════
-        if (cropBroken && cyberLevelListener != null && enchantId != null) {
-            if (debug) {
-                getLogger().info("§a[safeBreakCrop] Appel queueXPForCrop (" + enchantId + ") pour " + player.getName());
-            }
-            cyberLevelListener.queueXPForCrop(player, enchantId);
+        metrics.breakPath(enchantId, EnchantMetrics.BreakPath.EVENT, 1);
+        if (event != null) event.finish(enchantId, EnchantMetrics.BreakPath.EVENT, blockType.name(), 1);
+        if (debug) {
+            getLogger().info("§a[breakMarkedCrop] Bloc cassé via RivalBlockBreakEvent (fallback): " + blockType);
         }
+        return true;
+    }
 
-        return cropBroken;
+    /**
+     * Ajoute l'XP CyberLevel pour des cultures cassées par un enchantement
+     */
+    public void grantCropXP(Player player, String enchantId, int crops) {
+        metrics.harvested(enchantId, crops);
+        if (crops > 0 && cyberLevelListener != null && enchantId != null) {
+            cyberLevelListener.queueXPForCrops(player, enchantId, crops);
+        }
     }
 }
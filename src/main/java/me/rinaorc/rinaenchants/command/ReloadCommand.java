@@ -1,15 +1,35 @@
 package me.rinaorc.rinaenchants.command;
 
 import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import me.rinaorc.rinaenchants.listener.CyberLevelXPListener;
+import me.rinaorc.rinaenchants.util.AdmissionController;
+import me.rinaorc.rinaenchants.util.AnimationEngine;
+import me.rinaorc.rinaenchants.util.CropBreakPipeline;
+import me.rinaorc.rinaenchants.util.EnchantMetrics;
+import me.rinaorc.rinaenchants.util.HellRainBridge;
+import me.rinaorc.rinaenchants.util.EnchantEntityRegistry;
+import me.rinaorc.rinaenchants.util.EntityJournal;
+import me.rinaorc.rinaenchants.util.FxDispatcher;
+import me.rinaorc.rinaenchants.util.LatencyHistogram;
+import me.rinaorc.rinaenchants.util.LoadGovernor;
+import me.rinaorc.rinaenchants.util.Meter;
+import me.rinaorc.rinaenchants.util.MetricsEndpoint;
+import me.rinaorc.rinaenchants.util.PlayerLifecycleManager;
+import me.rinaorc.rinaenchants.util.PooledEntityProvider;
+import me.rinaorc.rinaenchants.util.TickProfiler;
+import me.rinaorc.rinaenchants.util.XpLedger;
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 public class ReloadCommand implements CommandExecutor, TabCompleter {
 
@@ -48,7 +68,31 @@ public class ReloadCommand implements CommandExecutor, TabCompleter {
                 break;
                 
             case "info":
-                sendInfo(sender);
+                if (args.length > 1) {
+                    if (!sender.hasPermission("rinaenchants.info.others")) {
+                        sender.sendMessage(ChatColor.RED + "Vous n'avez pas la permission d'exécuter cette commande!");
+                        return true;
+                    }
+                    sendPlayerInfo(sender, args[1]);
+                } else {
+                    sendInfo(sender);
+                }
+                break;
+
+            case "stats":
+                if (!sender.hasPermission("rinaenchants.stats")) {
+                    sender.sendMessage(ChatColor.RED + "Vous n'avez pas la permission d'exécuter cette commande!");
+                    return true;
+                }
+                sendStats(sender);
+                break;
+
+            case "profile":
+                if (!sender.hasPermission("rinaenchants.profile")) {
+                    sender.sendMessage(ChatColor.RED + "Vous n'avez pas la permission d'exécuter cette commande!");
+                    return true;
+                }
+                handleProfile(sender, args);
                 break;
 
             case "cleanup":
@@ -81,6 +125,9 @@ public class ReloadCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage("");
         sender.sendMessage(ChatColor.YELLOW + "/rinaenchants reload" + ChatColor.GRAY + " - Recharge la configuration");
         sender.sendMessage(ChatColor.YELLOW + "/rinaenchants info" + ChatColor.GRAY + " - Affiche les infos du plugin");
+        sender.sendMessage(ChatColor.YELLOW + "/rinaenchants info <joueur>" + ChatColor.GRAY + " - Animations et mémoire d'un joueur");
+        sender.sendMessage(ChatColor.YELLOW + "/rinaenchants stats" + ChatColor.GRAY + " - Procs, récoltes et coût par enchantement");
+        sender.sendMessage(ChatColor.YELLOW + "/rinaenchants profile <start|stop|top>" + ChatColor.GRAY + " - Animations et joueurs les plus coûteux");
         sender.sendMessage(ChatColor.YELLOW + "/rinaenchants cleanup" + ChatColor.GRAY + " - Supprime les entités orphelines");
         sender.sendMessage(ChatColor.YELLOW + "/rinaenchants help" + ChatColor.GRAY + " - Affiche cette aide");
         sender.sendMessage(ChatColor.GOLD + "══════════════════════════");
@@ -108,16 +155,373 @@ public class ReloadCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage("");
         sender.sendMessage(ChatColor.GRAY + "API RivalHarvesterHoes: " + 
                           (plugin.getHoesAPI() != null ? ChatColor.GREEN + "Connectée" : ChatColor.RED + "Non connectée"));
+
+        // Santé du pont HellRainAbility
+        HellRainBridge hellRain = plugin.getHellRainBridge();
+        if (hellRain != null) {
+            sender.sendMessage(ChatColor.GRAY + "HellRainAbility: " +
+                              (hellRain.isBound() ? ChatColor.GREEN + "Liée" : ChatColor.RED + "Non liée"));
+            sender.sendMessage(ChatColor.GRAY + " • Succès: " + ChatColor.WHITE + hellRain.getSuccesses() +
+                              ChatColor.GRAY + ", backup: " + ChatColor.WHITE + hellRain.getFallbacks() +
+                              ChatColor.GRAY + ", échecs: " + ChatColor.WHITE + hellRain.getFailures() +
+                              ChatColor.GRAY + ", cassage manuel: " + ChatColor.WHITE + hellRain.getUnavailable());
+        }
+
+        // XP CyberLevel donné par lot
+        CyberLevelXPListener xp = plugin.getCyberLevelListener();
+        if (xp != null) {
+            sender.sendMessage(ChatColor.GRAY + "XP CyberLevel: " + ChatColor.WHITE + xp.getSinkName() +
+                              (xp.isApiBound() ? ChatColor.GREEN + " (API liée)" : ChatColor.YELLOW + " (API non liée)") +
+                              ChatColor.GRAY + ", " + ChatColor.WHITE + String.format("%.1f", xp.getGrantsPerSecond()) +
+                              ChatColor.GRAY + " don(s)/s, " + ChatColor.WHITE + String.format("%.0f", xp.getXpPerSecond()) +
+                              ChatColor.GRAY + " XP/s");
+            sender.sendMessage(ChatColor.GRAY + " • Dons: " + ChatColor.WHITE + xp.getGrants() +
+                              ChatColor.GRAY + " (" + xp.getXpGranted() + " XP) en " + ChatColor.WHITE + xp.getBatches() +
+                              ChatColor.GRAY + " lot(s), " + ChatColor.WHITE + String.format("%.1f", xp.getAverageBatchNanos() / 1000.0) +
+                              ChatColor.GRAY + " µs/lot, commande en secours: " + ChatColor.WHITE + xp.getCommandFallbacks() +
+                              ChatColor.GRAY + ", échecs: " + ChatColor.WHITE + xp.getFailedGrants());
+            XpLedger ledger = xp.getLedger();
+            sender.sendMessage(ChatColor.GRAY + " • Registre: " + ChatColor.WHITE + ledger.getPendingEntries() +
+                              ChatColor.GRAY + " entrée(s) dues (" + ledger.getPendingPlayers() + " joueur(s)), " +
+                              ChatColor.WHITE + ledger.getSettled() + ChatColor.GRAY + "/" + ledger.getRecorded() +
+                              " données, " + ChatColor.WHITE + ledger.getReplayed() + ChatColor.GRAY + " au démarrage, " +
+                              ChatColor.WHITE + ledger.getCommits() + ChatColor.GRAY + " écriture(s)" +
+                              (ledger.isEnabled() ? "" : ChatColor.RED + " (disque désactivé)"));
+        }
+
+        // Pipeline de cassage des cultures
+        CropBreakPipeline pipeline = plugin.getCropPipeline();
+        if (pipeline != null) {
+            sender.sendMessage(ChatColor.GRAY + "Pipeline de cassage: " + ChatColor.WHITE + pipeline.getPendingCount() +
+                              ChatColor.GRAY + " en attente (" + pipeline.getActivePlayers() + " joueur(s)), " +
+                              ChatColor.WHITE + String.format("%.1f", pipeline.getAverageDrainNanos() / 1000.0) + ChatColor.GRAY + " µs/tick");
+            sender.sendMessage(ChatColor.GRAY + " • Ignorées: " + ChatColor.WHITE + pipeline.getDropped() +
+                              ChatColor.GRAY + ", différées: " + ChatColor.WHITE + pipeline.getDeferred() +
+                              ChatColor.GRAY + " (" + pipeline.getOverflowPolicy() + "), budget dépassé: " +
+                              ChatColor.WHITE + pipeline.getBudgetExhaustedTicks() + ChatColor.GRAY + " tick(s)");
+            sender.sendMessage(ChatColor.GRAY + " • Récolte groupée: " + ChatColor.WHITE + pipeline.getAreaCalls() +
+                              ChatColor.GRAY + " appel(s) pour " + ChatColor.WHITE + pipeline.getAreaCrops() +
+                              ChatColor.GRAY + " culture(s), " + ChatColor.WHITE + pipeline.getSingleCrops() +
+                              ChatColor.GRAY + " individuelle(s)");
+        }
+
+        // Niveau de détail des animations
+        LoadGovernor governor = plugin.getLoadGovernor();
+        if (governor != null) {
+            sender.sendMessage(ChatColor.GRAY + "Niveau de détail: " + ChatColor.WHITE + governor.getQuality().level() +
+                              (governor.isEnabled() ? "" : ChatColor.RED + " (désactivé)") +
+                              ChatColor.GRAY + String.format(", MSPT %.1f ms, p99 %.1f ms, ", governor.getMspt(), governor.getP99()) +
+                              ChatColor.WHITE + governor.getLevelChanges() + ChatColor.GRAY + " changement(s)");
+        }
+
+        // Envoi groupé des particules et sons
+        FxDispatcher fx = plugin.getFx();
+        if (fx != null) {
+            sender.sendMessage(ChatColor.GRAY + "Effets: " + ChatColor.WHITE + fx.getPacketsSent() +
+                              ChatColor.GRAY + " paquet(s) envoyé(s), " + ChatColor.WHITE + fx.getPacketsDropped() +
+                              ChatColor.GRAY + " abandonné(s) (max " + fx.getMaxPacketsPerTick() + "/tick, pic " +
+                              fx.getPeakPacketsPerPlayer() + ")" + (fx.isEnabled() ? "" : ChatColor.RED + " (désactivé)"));
+            sender.sendMessage(ChatColor.GRAY + "  Particules fusionnées: " + ChatColor.WHITE + fx.getMergedParticles() +
+                              ChatColor.GRAY + "/" + fx.getParticleRequests() + ", sons dédoublonnés: " +
+                              ChatColor.WHITE + fx.getDedupedSounds() + ChatColor.GRAY + "/" + fx.getSoundRequests());
+        }
+
+        // Registre des entités du plugin
+        EnchantEntityRegistry registry = plugin.getEntityRegistry();
+        if (registry != null) {
+            sender.sendMessage(ChatColor.GRAY + "Entités suivies: " + ChatColor.WHITE + registry.getTrackedCount() +
+                              ChatColor.GRAY + " (" + registry.getRegistered() + " au total), expirées: " +
+                              ChatColor.WHITE + registry.getExpired() + ChatColor.GRAY + ", orphelines au chargement: " +
+                              ChatColor.WHITE + registry.getOrphansOnLoad());
+        }
+
+        // Journal des entités (nettoyage après crash)
+        EntityJournal journal = plugin.getEntityJournal();
+        if (journal != null && journal.isEnabled()) {
+            sender.sendMessage(ChatColor.GRAY + "Journal: " + ChatColor.WHITE + journal.getLiveCount() +
+                              ChatColor.GRAY + " entrée(s), " + ChatColor.WHITE + journal.getBatchesWritten() +
+                              ChatColor.GRAY + " lot(s) écrit(s), " + ChatColor.WHITE + journal.getCompactions() +
+                              ChatColor.GRAY + " compaction(s), survivantes: " + ChatColor.WHITE + journal.getSurvivorsRemoved() +
+                              ChatColor.GRAY + " supprimée(s), " + ChatColor.WHITE + journal.getPendingSurvivors() +
+                              ChatColor.GRAY + " en attente");
+        }
+
+        // Pool des mobs d'animation
+        PooledEntityProvider pool = plugin.getEntityPool();
+        if (pool != null) {
+            sender.sendMessage(ChatColor.GRAY + "Pool d'entités: " + ChatColor.WHITE + pool.getReused() +
+                              ChatColor.GRAY + " réutilisée(s), " + ChatColor.WHITE + pool.getSpawned() +
+                              ChatColor.GRAY + " spawn(s), " + ChatColor.WHITE + pool.getIdleCount() +
+                              ChatColor.GRAY + " garée(s), " + ChatColor.WHITE + pool.getLeasedCount() +
+                              ChatColor.GRAY + " en animation" + (pool.isEnabled() ? "" : ChatColor.RED + " (désactivé)"));
+            sender.sendMessage(ChatColor.GRAY + "  Évictions: " + ChatColor.WHITE + pool.getEvictedChunk() +
+                              ChatColor.GRAY + " chunk, " + ChatColor.WHITE + pool.getEvictedIdle() +
+                              ChatColor.GRAY + " inactivité, " + ChatColor.WHITE + pool.getRejectedFull() +
+                              ChatColor.GRAY + " pool plein");
+        }
+
+        // Contrôle d'admission des animations
+        AdmissionController admission = plugin.getAdmissionController();
+        if (admission != null) {
+            sender.sendMessage(ChatColor.GRAY + "Admission: " +
+                              (admission.isEnabled() ? ChatColor.GREEN + "Activée" : ChatColor.RED + "Désactivée") +
+                              ChatColor.GRAY + ", " + ChatColor.WHITE + admission.getRunningCount() + ChatColor.GRAY + " en cours, " +
+                              ChatColor.WHITE + admission.getQueuedCount() + ChatColor.GRAY + " en attente");
+            StringBuilder hits = new StringBuilder();
+            for (int scope = 0; scope < AdmissionController.getScopeCount(); scope++) {
+                if (scope > 0) hits.append(ChatColor.GRAY).append(", ");
+                hits.append(ChatColor.GRAY).append(AdmissionController.getScopeName(scope)).append(": ")
+                    .append(ChatColor.WHITE).append(admission.getLimitHits(scope));
+            }
+            sender.sendMessage(ChatColor.GRAY + " • Limites atteintes: " + hits);
+            for (AdmissionController.EnchantStats stats : admission.getStatsBySection().values()) {
+                sender.sendMessage(ChatColor.GRAY + " • " + ChatColor.YELLOW + stats.getSection() + ChatColor.GRAY + ": " +
+                                  ChatColor.WHITE + stats.getAdmitted() + ChatColor.GRAY + " admis, " +
+                                  ChatColor.WHITE + stats.getQueued() + ChatColor.GRAY + " en file, " +
+                                  ChatColor.WHITE + stats.getMerged() + ChatColor.GRAY + " fusionnés, " +
+                                  ChatColor.WHITE + stats.getInstant() + ChatColor.GRAY + " instantanés, " +
+                                  ChatColor.WHITE + stats.getRejected() + ChatColor.GRAY + " rejetés, " +
+                                  ChatColor.WHITE + stats.getExpired() + ChatColor.GRAY + " expirés");
+            }
+        }
+
+        // Nettoyage de l'état par joueur
+        PlayerLifecycleManager lifecycle = plugin.getLifecycleManager();
+        if (lifecycle != null) {
+            sender.sendMessage(ChatColor.GRAY + "Départs de joueurs: " + ChatColor.WHITE + lifecycle.getTeardowns() +
+                              ChatColor.GRAY + " nettoyage(s), " + ChatColor.WHITE + lifecycle.getTasksCancelled() +
+                              ChatColor.GRAY + " animation(s) arrêtée(s), " + ChatColor.WHITE + lifecycle.getEntitiesRemoved() +
+                              ChatColor.GRAY + " entité(s), " + ChatColor.WHITE + lifecycle.getProcsDropped() +
+                              ChatColor.GRAY + " proc(s) et " + ChatColor.WHITE + lifecycle.getCropsDropped() +
+                              ChatColor.GRAY + " culture(s) abandonnés, " + ChatColor.WHITE + lifecycle.getXpFlushed() +
+                              ChatColor.GRAY + " XP donné");
+        }
+
+        // Coût des animations par enchantement (moteur partagé)
+        AnimationEngine engine = plugin.getAnimationEngine();
+        if (engine != null) {
+            sender.sendMessage("");
+            sender.sendMessage(ChatColor.YELLOW + "Animations actives: " + ChatColor.WHITE + engine.getActiveCount() +
+                              ChatColor.GRAY + " (ticks reportés: " + engine.getDeferredTicks() + ")");
+            for (AnimationEngine.TypeStats stats : engine.getStatsByType().values()) {
+                sender.sendMessage(ChatColor.GRAY + " • " + ChatColor.YELLOW + stats.getType() + ChatColor.GRAY + ": " +
+                                  ChatColor.WHITE + stats.getLiveCount() + ChatColor.GRAY + " active(s), " +
+                                  ChatColor.WHITE + String.format("%.1f", stats.getAverageTickNanos() / 1000.0) + ChatColor.GRAY + " µs/tick");
+            }
+        }
+        sender.sendMessage(ChatColor.GOLD + "══════════════════════════════");
+        sender.sendMessage("");
+    }
+
+    private void sendPlayerInfo(CommandSender sender, String name) {
+        Player target = Bukkit.getPlayerExact(name);
+        if (target == null) {
+            sender.sendMessage(ChatColor.RED + "Joueur introuvable: " + name);
+            return;
+        }
+        PlayerLifecycleManager lifecycle = plugin.getLifecycleManager();
+        if (lifecycle == null) {
+            sender.sendMessage(ChatColor.RED + "Plugin pas encore initialisé.");
+            return;
+        }
+
+        PlayerLifecycleManager.Footprint footprint = lifecycle.footprint(target.getUniqueId());
+        sender.sendMessage("");
+        sender.sendMessage(ChatColor.GOLD + "═══════ " + ChatColor.YELLOW + target.getName() + ChatColor.GOLD + " ═══════");
+        sender.sendMessage(ChatColor.GRAY + "Animations: " + ChatColor.WHITE + footprint.tasks() +
+                          ChatColor.GRAY + " tâche(s), " + ChatColor.WHITE + footprint.admitted() +
+                          ChatColor.GRAY + " admise(s), " + ChatColor.WHITE + footprint.queuedProcs() +
+                          ChatColor.GRAY + " proc(s) en attente");
+        sender.sendMessage(ChatColor.GRAY + "Entités: " + ChatColor.WHITE + footprint.entities() +
+                          ChatColor.GRAY + " suivie(s), " + ChatColor.WHITE + footprint.clientEntities() +
+                          ChatColor.GRAY + " client-side");
+        sender.sendMessage(ChatColor.GRAY + "En attente: " + ChatColor.WHITE + footprint.pendingCrops() +
+                          ChatColor.GRAY + " culture(s), " + ChatColor.WHITE + footprint.pendingXp() + ChatColor.GRAY + " XP");
+        sender.sendMessage(ChatColor.GRAY + "Mémoire estimée: " + ChatColor.WHITE +
+                          String.format("%.1f", footprint.estimatedBytes() / 1024.0) + ChatColor.GRAY + " Ko");
+        sender.sendMessage(ChatColor.GOLD + "══════════════════════════");
+        sender.sendMessage("");
+    }
+
+    private void sendStats(CommandSender sender) {
+        EnchantMetrics metrics = plugin.getMetrics();
+        AnimationEngine engine = plugin.getAnimationEngine();
+        if (metrics == null || engine == null) {
+            sender.sendMessage(ChatColor.RED + "Plugin pas encore initialisé.");
+            return;
+        }
+
+        sender.sendMessage("");
+        sender.sendMessage(ChatColor.GOLD + "═══════ " + ChatColor.YELLOW + "RinaEnchants Stats" + ChatColor.GOLD + " ═══════");
+        if (!metrics.isEnabled()) {
+            sender.sendMessage(ChatColor.YELLOW + "Métriques désactivées (performance.metrics.enabled)");
+        }
+        MetricsEndpoint endpoint = plugin.getMetricsEndpoint();
+        if (endpoint != null && endpoint.isRunning()) {
+            sender.sendMessage(ChatColor.GRAY + "Prometheus: " + ChatColor.WHITE + endpoint.getAddress() +
+                              ChatColor.GRAY + " (" + ChatColor.WHITE + endpoint.getScrapes() + ChatColor.GRAY + " scrape(s))");
+        }
+        sender.sendMessage(ChatColor.GRAY + "Débits moyens sur 1m / 5m / 15m");
+
+        Map<String, EnchantMetrics.EnchantStats> all = metrics.getStats();
+        if (all.isEmpty()) {
+            sender.sendMessage(ChatColor.GRAY + "Aucun proc depuis le démarrage.");
+        }
+        Map<String, AnimationEngine.TypeStats> animations = engine.getStatsByType();
+        for (EnchantMetrics.EnchantStats stats : all.values()) {
+            AnimationEngine.TypeStats type = animations.get(stats.getEnchantId());
+            int live = type != null ? type.getLiveCount() : 0;
+
+            sender.sendMessage(ChatColor.YELLOW + " " + stats.getEnchantId() + ChatColor.GRAY + " (" +
+                              ChatColor.WHITE + live + ChatColor.GRAY + " animation(s) active(s))");
+            sender.sendMessage(ChatColor.GRAY + "   Procs: " + ChatColor.WHITE + stats.getProcs().getCount() +
+                              ChatColor.GRAY + " (" + rates(stats.getProcs()) + ChatColor.GRAY + "), " +
+                              ChatColor.WHITE + stats.getCascadeBlocked() + ChatColor.GRAY + " en cascade");
+            sender.sendMessage(ChatColor.GRAY + "   Cultures: " + ChatColor.WHITE + stats.getCrops().getCount() +
+                              ChatColor.GRAY + " (" + rates(stats.getCrops()) + ChatColor.GRAY + ")");
+            sender.sendMessage(ChatColor.GRAY + "   Cassage: " +
+                              ChatColor.WHITE + stats.getBreakPath(EnchantMetrics.BreakPath.HELLRAIN) + ChatColor.GRAY + " HellRain, " +
+                              ChatColor.WHITE + stats.getBreakPath(EnchantMetrics.BreakPath.BACKUP) + ChatColor.GRAY + " backup, " +
+                              ChatColor.WHITE + stats.getBreakPath(EnchantMetrics.BreakPath.EVENT) + ChatColor.GRAY + " événement, " +
+                              ChatColor.WHITE + stats.getBreakPath(EnchantMetrics.BreakPath.FAILED) + ChatColor.GRAY + " échec(s)");
+
+            LatencyHistogram cost = stats.getTickCost();
+            if (cost.getCount() > 0) {
+                sender.sendMessage(ChatColor.GRAY + "   Coût par exécution: p50 " + micros(cost.getValueAtQuantile(0.5)) +
+                                  ChatColor.GRAY + ", p99 " + micros(cost.getValueAtQuantile(0.99)) +
+                                  ChatColor.GRAY + ", max " + micros(cost.getMax()));
+            }
+        }
         sender.sendMessage(ChatColor.GOLD + "══════════════════════════════");
         sender.sendMessage("");
     }
 
+    private static String rates(Meter meter) {
+        return ChatColor.WHITE + String.format("%.2f", meter.getRate1()) + ChatColor.GRAY + " / " +
+               ChatColor.WHITE + String.format("%.2f", meter.getRate5()) + ChatColor.GRAY + " / " +
+               ChatColor.WHITE + String.format("%.2f", meter.getRate15()) + ChatColor.GRAY + " /s";
+    }
+
+    private static String micros(long nanos) {
+        return ChatColor.WHITE + String.format("%.1f", nanos / 1000.0) + ChatColor.GRAY + " µs";
+    }
+
+    private void handleProfile(CommandSender sender, String[] args) {
+        TickProfiler profiler = plugin.getProfiler();
+        if (profiler == null) {
+            sender.sendMessage(ChatColor.RED + "Plugin pas encore initialisé.");
+            return;
+        }
+
+        String action = args.length > 1 ? args[1].toLowerCase() : "top";
+        switch (action) {
+            case "start": {
+                int seconds = args.length > 2 ? parseInt(args[2], 0) : 0;
+                int duration = profiler.start(seconds);
+                sender.sendMessage(ChatColor.GREEN + "✓ Profiler démarré pour " + duration + " seconde(s) " +
+                                  ChatColor.GRAY + "(max " + profiler.getMaxDurationSeconds() + ")");
+                sender.sendMessage(ChatColor.GRAY + "  /rinaenchants profile top pour voir les résultats");
+                break;
+            }
+            case "stop":
+                if (!profiler.isRunning()) {
+                    sender.sendMessage(ChatColor.YELLOW + "Aucun profilage en cours.");
+                    return;
+                }
+                profiler.stop();
+                sender.sendMessage(ChatColor.GREEN + "✓ Profiler arrêté.");
+                sendProfileTop(sender, profiler, 10);
+                break;
+            case "top":
+                sendProfileTop(sender, profiler, args.length > 2 ? Math.max(1, Math.min(50, parseInt(args[2], 10))) : 10);
+                break;
+            default:
+                sender.sendMessage(ChatColor.YELLOW + "/rinaenchants profile <start [secondes]|stop|top [n]>");
+                break;
+        }
+    }
+
+    private void sendProfileTop(CommandSender sender, TickProfiler profiler, int limit) {
+        int ticks = profiler.getWindowTicks();
+        sender.sendMessage("");
+        sender.sendMessage(ChatColor.GOLD + "═══════ " + ChatColor.YELLOW + "RinaEnchants Profiler" + ChatColor.GOLD + " ═══════");
+        sender.sendMessage(ChatColor.GRAY + "Fenêtre: " + ChatColor.WHITE + ticks + ChatColor.GRAY + " tick(s)" +
+                          (profiler.isRunning() ? ChatColor.GREEN + " (en cours)" : ChatColor.GRAY + " (terminée)") +
+                          ChatColor.GRAY + ", " + ChatColor.WHITE + profiler.getInstanceCount() + ChatColor.GRAY + " instance(s)");
+        if (profiler.getUntrackedRuns() > 0) {
+            sender.sendMessage(ChatColor.YELLOW + "  " + profiler.getUntrackedRuns() +
+                              " exécution(s) au-delà de max-instances (comptées par joueur/enchantement)");
+        }
+
+        List<TickProfiler.InstanceStats> instances = profiler.topInstances(limit);
+        if (instances.isEmpty()) {
+            sender.sendMessage(ChatColor.GRAY + "Aucune animation mesurée.");
+        } else {
+            sender.sendMessage(ChatColor.YELLOW + "Animations les plus coûteuses:");
+            for (TickProfiler.InstanceStats instance : instances) {
+                sender.sendMessage(ChatColor.GRAY + " • " + ChatColor.YELLOW + instance.getType() + " #" + instance.getId() +
+                                  ChatColor.GRAY + " (" + ChatColor.WHITE + instance.getOwner() + ChatColor.GRAY + "): " +
+                                  ChatColor.WHITE + millis(instance.getNanos()) + ChatColor.GRAY + " ms, " +
+                                  ChatColor.WHITE + perTick(instance.getNanos(), ticks) + ChatColor.GRAY + " ms/tick, max " +
+                                  ChatColor.WHITE + String.format("%.1f", instance.getMaxNanos() / 1000.0) + ChatColor.GRAY + " µs, " +
+                                  ChatColor.WHITE + String.format("%.1f", instance.getBlocksPerRun()) + ChatColor.GRAY + " blocs/tick, " +
+                                  ChatColor.WHITE + instance.getParticles() + ChatColor.GRAY + " particules");
+            }
+        }
+
+        List<TickProfiler.PlayerStats> players = profiler.topPlayers(limit);
+        if (!players.isEmpty()) {
+            sender.sendMessage(ChatColor.YELLOW + "Joueurs les plus coûteux:");
+            for (TickProfiler.PlayerStats player : players) {
+                sender.sendMessage(ChatColor.GRAY + " • " + ChatColor.WHITE + player.getName() + ChatColor.GRAY + ": " +
+                                  ChatColor.WHITE + perTick(player.getTotalNanos(), ticks) + ChatColor.GRAY + " ms/tick (animations " +
+                                  ChatColor.WHITE + perTick(player.getAnimationNanos(), ticks) + ChatColor.GRAY + "), " +
+                                  ChatColor.WHITE + player.getProcs() + ChatColor.GRAY + " proc(s), " +
+                                  ChatColor.WHITE + player.getCrops() + ChatColor.GRAY + " culture(s), " +
+                                  ChatColor.WHITE + String.format("%.1f", (double) player.getBlocks() / ticks) + ChatColor.GRAY + " blocs/tick, " +
+                                  ChatColor.WHITE + player.getParticles() + ChatColor.GRAY + " particules");
+            }
+        }
+
+        List<TickProfiler.EnchantStats> enchants = profiler.topEnchants(limit);
+        if (!enchants.isEmpty()) {
+            sender.sendMessage(ChatColor.YELLOW + "Par enchantement (ms/tick):");
+            for (TickProfiler.EnchantStats enchant : enchants) {
+                sender.sendMessage(ChatColor.GRAY + " • " + ChatColor.YELLOW + enchant.getEnchantId() + ChatColor.GRAY + ": animations " +
+                                  ChatColor.WHITE + perTick(enchant.getAnimationNanos(), ticks) + ChatColor.GRAY + ", procs " +
+                                  ChatColor.WHITE + perTick(enchant.getProcNanos(), ticks) + ChatColor.GRAY + " (" +
+                                  ChatColor.WHITE + enchant.getProcs() + ChatColor.GRAY + "), cassage " +
+                                  ChatColor.WHITE + perTick(enchant.getBreakNanos(), ticks) + ChatColor.GRAY + " (" +
+                                  ChatColor.WHITE + enchant.getCrops() + ChatColor.GRAY + " culture(s)), " +
+                                  ChatColor.WHITE + String.format("%.1f", (double) enchant.getBlocks() / ticks) + ChatColor.GRAY + " blocs/tick");
+            }
+        }
+        sender.sendMessage(ChatColor.GOLD + "══════════════════════════════");
+        sender.sendMessage("");
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+
+    private static String perTick(long nanos, int ticks) {
+        return String.format("%.3f", nanos / 1_000_000.0 / ticks);
+    }
+
+    private static int parseInt(String value, int fallback) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         List<String> completions = new ArrayList<>();
         
         if (args.length == 1) {
-            List<String> subCommands = Arrays.asList("reload", "info", "cleanup", "help");
+            List<String> subCommands = Arrays.asList("reload", "info", "stats", "profile", "cleanup", "help");
             String input = args[0].toLowerCase();
             
             for (String sub : subCommands) {
@@ -125,6 +529,21 @@ public class ReloadCommand implements CommandExecutor, TabCompleter {
                     completions.add(sub);
                 }
             }
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("profile")) {
+            String input = args[1].toLowerCase();
+            for (String action : Arrays.asList("start", "stop", "top")) {
+                if (action.startsWith(input)) {
+                    completions.add(action);
+                }
+            }
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("info")
+                && sender.hasPermission("rinaenchants.info.others")) {
+            String input = args[1].toLowerCase();
+            for (Player online : Bukkit.getOnlinePlayers()) {
+                if (online.getName().toLowerCase().startsWith(input)) {
+                    completions.add(online.getName());
+                }
+            }
         }
         
         return completions;
@@ -0,0 +1,89 @@
+package me.rinaorc.rinaenchants.enchant;
+
+import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import me.rinaorc.rinaenchants.util.FlightEvents;
+import me.rinaorc.rinaenchants.util.TickProfiler;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+/**
+ * Enchantement enregistré auprès de RivalHarvesterHoes, derrière le
+ * contrôle d'admission (voir AdmissionController).
+ *
+ * Les procs en cascade (cultures cassées par nos propres entités) sont
+ * passés directement à l'enchantement, qui les ignore: ils ne comptent
+ * ni comme admissions ni comme rejets.
+ *
+ * Les animations lancées par un proc sont rattachées au joueur
+ * (voir PlayerLifecycleManager).
+ *
+ * Procs et procs en cascade sont comptés par enchantement (voir EnchantMetrics)
+ * et tracés en événement JFR EnchantProc pendant un enregistrement. Leur coût
+ * est mesuré pendant une fenêtre du profiler (voir TickProfiler).
+ */
+public class AdmittedEnchant implements ReloadableEnchant {
+
+    private final RinaEnchantsPlugin plugin;
+    private final ReloadableEnchant delegate;
+    private final String section;
+
+    /**
+     * @param section ID de section de l'enchantement (ex: "warden-pulse")
+     */
+    public AdmittedEnchant(RinaEnchantsPlugin plugin, ReloadableEnchant delegate, String section) {
+        this.plugin = plugin;
+        this.delegate = delegate;
+        this.section = section;
+    }
+
+    @Override
+    public void reloadSettings() {
+        delegate.reloadSettings();
+    }
+
+    @Override
+    public String getEnchantId() {
+        return delegate.getEnchantId();
+    }
+
+    @Override
+    public void onEnchantProc(Player player, long hoeLevel, long hoePrestige, long enchantLevel,
+                              String enchantId, Location cropLocation, boolean isMultiHarvest) {
+
+        FlightEvents.EnchantProc event = null;
+        if (FlightEvents.isEnchantProcEnabled()) {
+            event = new FlightEvents.EnchantProc();
+            event.begin();
+        }
+        TickProfiler profiler = plugin.getProfiler();
+        boolean profiling = profiler.isRunning();
+        long start = profiling ? System.nanoTime() : 0L;
+        long checksBefore = profiling ? plugin.getCropRegistry().getBlocksChecked() : 0L;
+
+        boolean cascade = plugin.isEntityBreakingLocation(cropLocation);
+        if (cascade) {
+            plugin.getMetrics().cascadeBlocked(section);
+            delegate.onEnchantProc(player, hoeLevel, hoePrestige, enchantLevel, enchantId, cropLocation, isMultiHarvest);
+        } else {
+            plugin.getMetrics().proc(section);
+
+            // Les tâches lancées par le proc sont rattachées au joueur (nettoyage à la déconnexion).
+            // Un proc mis en file est rattaché via sa place d'admission quand il démarre.
+            plugin.getAnimationEngine().runOwnedBy(player.getUniqueId(), () ->
+                plugin.getAdmissionController().run(player, section, cropLocation, location ->
+                    delegate.onEnchantProc(player, hoeLevel, hoePrestige, enchantLevel, enchantId, location, isMultiHarvest)));
+        }
+
+        if (profiling) {
+            profiler.recordProc(player, section, System.nanoTime() - start,
+                plugin.getCropRegistry().getBlocksChecked() - checksBefore);
+        }
+        if (event != null) {
+            event.finish(section, enchantLevel, player.getName(), cascade);
+        }
+    }
+
+    public ReloadableEnchant getDelegate() {
+        return delegate;
+    }
+}
@@ -1,11 +1,13 @@
 package me.rinaorc.rinaenchants.enchant;
 
 import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import me.rinaorc.rinaenchants.util.AnimationTask;
 import me.rinaorc.rinaenchants.util.BeeAnimation;
-import me.rivaldev.harvesterhoes.api.events.HoeEnchant;
+import me.rinaorc.rinaenchants.util.CropScanner;
+import me.rinaorc.rinaenchants.util.MessageTemplate;
 import org.bukkit.*;
 import org.bukkit.block.Block;
-import org.bukkit.block.data.Ageable;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Listener;
 
@@ -19,93 +21,22 @@ import java.util.*;
  * - Système de tracking pour éviter les proc en cascade
  * - Distribution aléatoire des cultures entre les abeilles
  */
-public class BeeCollectorEnchant implements HoeEnchant, Listener {
+public class BeeCollectorEnchant implements ReloadableEnchant, Listener {
 
     private final RinaEnchantsPlugin plugin;
-    private final Set<Material> CROPS = new HashSet<>();
-    private final Set<Material> NO_AGE_CROPS = new HashSet<>();
     private final Random random = new Random();
 
+    // Paramètres compilés depuis la config (remplacés d'un bloc au reload)
+    private volatile Settings settings;
+
     public BeeCollectorEnchant(RinaEnchantsPlugin plugin) {
         this.plugin = plugin;
-        initCrops();
-        plugin.getLogger().info("§a✓ BeeCollector: " + CROPS.size() + " types de cultures chargés!");
+        reloadSettings();
     }
-    
-    private void initCrops() {
-        // Cultures classiques
-        CROPS.add(Material.WHEAT);
-        CROPS.add(Material.CARROTS);
-        CROPS.add(Material.POTATOES);
-        CROPS.add(Material.BEETROOTS);
-        CROPS.add(Material.NETHER_WART);
-        CROPS.add(Material.COCOA);
-        CROPS.add(Material.SWEET_BERRY_BUSH);
-        
-        // Coraux
-        CROPS.add(Material.TUBE_CORAL);
-        CROPS.add(Material.BUBBLE_CORAL);
-        CROPS.add(Material.BRAIN_CORAL);
-        CROPS.add(Material.FIRE_CORAL);
-        CROPS.add(Material.HORN_CORAL);
-        CROPS.add(Material.TUBE_CORAL_BLOCK);
-        CROPS.add(Material.BUBBLE_CORAL_BLOCK);
-        CROPS.add(Material.BRAIN_CORAL_BLOCK);
-        CROPS.add(Material.FIRE_CORAL_BLOCK);
-        CROPS.add(Material.HORN_CORAL_BLOCK);
-        
-        // Racines nether
-        CROPS.add(Material.WARPED_ROOTS);
-        CROPS.add(Material.CRIMSON_ROOTS);
-        CROPS.add(Material.NETHER_SPROUTS);
-        CROPS.add(Material.TWISTING_VINES);
-        CROPS.add(Material.WEEPING_VINES);
-        
-        // Fleurs
-        CROPS.add(Material.LILAC);
-        CROPS.add(Material.ROSE_BUSH);
-        CROPS.add(Material.PEONY);
-        CROPS.add(Material.SUNFLOWER);
-        CROPS.add(Material.TALL_GRASS);
-        CROPS.add(Material.LARGE_FERN);
-        
-        // Pousses
-        CROPS.add(Material.OAK_SAPLING);
-        CROPS.add(Material.BIRCH_SAPLING);
-        CROPS.add(Material.JUNGLE_SAPLING);
-        CROPS.add(Material.SPRUCE_SAPLING);
-        CROPS.add(Material.CHERRY_SAPLING);
-        CROPS.add(Material.ACACIA_SAPLING);
-        CROPS.add(Material.DARK_OAK_SAPLING);
-        CROPS.add(Material.MANGROVE_PROPAGULE);
-        
-        // Autres
-        CROPS.add(Material.MELON);
-        CROPS.add(Material.PUMPKIN);
-        CROPS.add(Material.SUGAR_CANE);
-        CROPS.add(Material.CACTUS);
-        CROPS.add(Material.BAMBOO);
-        CROPS.add(Material.KELP);
-        CROPS.add(Material.KELP_PLANT);
-        CROPS.add(Material.SEA_PICKLE);
-        CROPS.add(Material.CHORUS_FLOWER);
-        CROPS.add(Material.CHORUS_PLANT);
-        
-        // Cultures sans âge
-        NO_AGE_CROPS.addAll(Arrays.asList(
-            Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE, Material.CACTUS,
-            Material.BAMBOO, Material.KELP, Material.KELP_PLANT,
-            Material.TUBE_CORAL, Material.BUBBLE_CORAL, Material.BRAIN_CORAL,
-            Material.FIRE_CORAL, Material.HORN_CORAL,
-            Material.TUBE_CORAL_BLOCK, Material.BUBBLE_CORAL_BLOCK, Material.BRAIN_CORAL_BLOCK,
-            Material.FIRE_CORAL_BLOCK, Material.HORN_CORAL_BLOCK,
-            Material.WARPED_ROOTS, Material.CRIMSON_ROOTS, Material.NETHER_SPROUTS,
-            Material.LILAC, Material.ROSE_BUSH, Material.PEONY, Material.SUNFLOWER,
-            Material.OAK_SAPLING, Material.BIRCH_SAPLING, Material.JUNGLE_SAPLING,
-            Material.SPRUCE_SAPLING, Material.CHERRY_SAPLING, Material.ACACIA_SAPLING,
-            Material.DARK_OAK_SAPLING, Material.MANGROVE_PROPAGULE,
-            Material.CHORUS_FLOWER, Material.CHORUS_PLANT, Material.SEA_PICKLE
-        ));
+
+    @Override
+    public void reloadSettings() {
+        this.settings = Settings.load(plugin.getConfig());
     }
     
     /**
@@ -115,14 +46,15 @@ public class BeeCollectorEnchant implements HoeEnchant, Listener {
 
     @Override
     public String getEnchantId() {
-        return plugin.getConfig().getString("bee-collector.enchant-id", "bee_collector");
+        return settings.enchantId();
     }
 
     @Override
     public void onEnchantProc(Player player, long hoeLevel, long hoePrestige, long enchantLevel, 
                               String enchantId, Location cropLocation, boolean isMultiHarvest) {
         
-        boolean debug = plugin.getConfig().getBoolean("debug", false);
+        Settings s = settings;
+        boolean debug = plugin.isDebug();
 
         if (debug) {
             plugin.getLogger().info("§a[BeeCollector] onEnchantProc appelé! Joueur: " + player.getName() + ", Niveau: " + enchantLevel);
@@ -139,27 +71,24 @@ public class BeeCollectorEnchant implements HoeEnchant, Listener {
             return;
         }
 
-        // Récupérer les paramètres de config
-        int baseRadius = plugin.getConfig().getInt("bee-collector.radius", 3);
-        int baseBeeCount = plugin.getConfig().getInt("bee-collector.bee-count", 3);
-        int maxCrops = plugin.getConfig().getInt("bee-collector.max-crops", 10);
-        double beeSpeed = plugin.getConfig().getDouble("bee-collector.bee-speed", 1.0);
-        boolean showParticles = plugin.getConfig().getBoolean("bee-collector.particles", true);
-        boolean playSound = plugin.getConfig().getBoolean("bee-collector.sound", true);
-        boolean clientSideOnly = plugin.getConfig().getBoolean("bee-collector.client-side-only", true);
-        
+        double beeSpeed = s.beeSpeed();
+        boolean showParticles = s.showParticles();
+        boolean playSound = s.playSound();
+        boolean clientSideOnly = s.clientSideOnly();
+
         // Bonus basé sur le niveau de l'enchant (amélioré pour récolter plus)
-        int radius = baseRadius + (int)(enchantLevel / 2);
-        int beeCount = baseBeeCount + (int)(enchantLevel / 2);
-        int maxCropsToHarvest = maxCrops + (int)(enchantLevel * 3);
+        int radius = s.radius(enchantLevel);
+        int beeCount = plugin.getLoadGovernor().getQuality().entities(s.beeCount(enchantLevel));
+        int maxCropsToHarvest = s.maxCropsToHarvest(enchantLevel);
 
         if (debug) {
-            plugin.getLogger().info("§a[BeeCollector] Config: radius=" + baseRadius + "+" + (int)(enchantLevel / 2) +
-                "=" + radius + ", maxCrops=" + maxCrops + "+" + (int)(enchantLevel * 3) + "=" + maxCropsToHarvest);
+            plugin.getLogger().info("§a[BeeCollector] Config: radius=" + s.baseRadius() + "+" + (int)(enchantLevel / 2) +
+                "=" + radius + ", maxCrops=" + s.maxCrops() + "+" + (int)(enchantLevel * 3) + "=" + maxCropsToHarvest);
         }
 
         // Trouver les cultures matures à proximité
-        List<Location> matureCrops = findMatureCrops(cropLocation, radius, maxCropsToHarvest);
+        List<Location> matureCrops = CropScanner.findMatureCrops(
+            plugin.getCropRegistry(), cropLocation, radius, maxCropsToHarvest, random);
 
         if (debug) {
             plugin.getLogger().info("§a[BeeCollector] Cultures trouvées: " + matureCrops.size() + "/" + maxCropsToHarvest + " (rayon: " + radius + ")");
@@ -176,7 +105,7 @@ public class BeeCollectorEnchant implements HoeEnchant, Listener {
         
         // Jouer le son d'abeilles (seulement pour le joueur)
         if (playSound) {
-            player.playSound(player.getLocation(), Sound.ENTITY_BEE_LOOP, 0.8f, 1.2f);
+            plugin.getFx().sound(player, player.getLocation(), Sound.ENTITY_BEE_LOOP, 0.8f, 1.2f);
         }
         
         // ═══════════════════════════════════════════════════════════
@@ -226,26 +155,26 @@ public class BeeCollectorEnchant implements HoeEnchant, Listener {
             // Délai aléatoire pour chaque abeille
             long delay = (long)(random.nextInt(10) + beeIndex * 2);
 
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            AnimationTask.runLater(plugin, "bee-collector", () -> {
                 // Créer l'animation de l'abeille
                 BeeAnimation animation = new BeeAnimation(plugin, beeSpawn, beeCrops, showParticles, beeIndex, player, clientSideOnly, beeSpeed);
                 
                 // Callback quand l'abeille atteint une culture
                 animation.setOnCropReached((cropLoc) -> {
                     Block block = cropLoc.getBlock();
-                    if (CROPS.contains(block.getType())) {
-                        plugin.safeBreakCrop(player, cropLoc, "bee-collector");
+                    if (plugin.getCropRegistry().isCrop(block.getType())) {
+                        plugin.getCropPipeline().submit(player, cropLoc, "bee-collector");
                     }
                     
                     if (showParticles) {
                         // Particules visibles uniquement pour le joueur
-                        player.spawnParticle(Particle.HAPPY_VILLAGER, 
+                        plugin.getFx().particle(player, Particle.HAPPY_VILLAGER, 
                             cropLoc.clone().add(0.5, 0.5, 0.5), 
                             8, 0.3, 0.3, 0.3, 0);
                     }
                     
                     if (playSound) {
-                        player.playSound(cropLoc, Sound.BLOCK_CROP_BREAK, 0.5f, 1.2f);
+                        plugin.getFx().sound(player, cropLoc, Sound.BLOCK_CROP_BREAK, 0.5f, 1.2f);
                     }
                 });
                 
@@ -255,89 +184,51 @@ public class BeeCollectorEnchant implements HoeEnchant, Listener {
         }
 
         // Message au joueur
-        if (plugin.getConfig().getBoolean("bee-collector.message", true)) {
-            String message = plugin.getConfig().getString("bee-collector.message-text", 
-                "&e&l🐝 &6Vos abeilles récoltent &e{count} &6cultures!");
-            message = message.replace("{count}", String.valueOf(matureCrops.size()));
-            message = ChatColor.translateAlternateColorCodes('&', message);
-            player.sendMessage(message);
+        if (s.message() != null) {
+            player.sendMessage(s.message().render("count", matureCrops.size()));
         }
     }
 
     /**
-     * Trouve les cultures dans un rayon donné
-     *
-     * OPTIMISATION: Au lieu de créer une liste de tous les offsets et la mélanger
-     * (coûteux en mémoire pour les grands rayons), on utilise un échantillonnage
-     * aléatoire direct avec un parcours en spirale pour une meilleure distribution.
+     * Snapshot immuable de la section "bee-collector"
      */
-    private List<Location> findMatureCrops(Location center, int radius, int maxCount) {
-        List<Location> crops = new ArrayList<>(maxCount);
-        World world = center.getWorld();
-
-        if (world == null) return crops;
-
-        int centerX = center.getBlockX();
-        int centerY = center.getBlockY();
-        int centerZ = center.getBlockZ();
-
-        // Limiter le rayon pour éviter les calculs excessifs
-        int effectiveRadius = Math.min(radius, 15);
-
-        // Nombre total de blocs à vérifier (approximatif)
-        int totalBlocks = (2 * effectiveRadius + 1) * (2 * effectiveRadius + 1) * 5;
-
-        // Si on cherche moins de cultures qu'il n'y a de blocs, utiliser l'échantillonnage aléatoire
-        if (maxCount < totalBlocks / 4) {
-            // Échantillonnage aléatoire: essayer des positions aléatoires
-            int attempts = Math.min(maxCount * 8, totalBlocks);
-            for (int i = 0; i < attempts && crops.size() < maxCount; i++) {
-                int x = random.nextInt(2 * effectiveRadius + 1) - effectiveRadius;
-                int y = random.nextInt(5) - 2;
-                int z = random.nextInt(2 * effectiveRadius + 1) - effectiveRadius;
-
-                if (x == 0 && y == 0 && z == 0) continue;
-
-                Block block = world.getBlockAt(centerX + x, centerY + y, centerZ + z);
-                if (isMatureCrop(block)) {
-                    Location loc = block.getLocation();
-                    // Éviter les doublons
-                    if (!crops.contains(loc)) {
-                        crops.add(loc);
-                    }
-                }
-            }
-        } else {
-            // Parcours direct si on veut beaucoup de cultures
-            for (int x = -effectiveRadius; x <= effectiveRadius && crops.size() < maxCount; x++) {
-                for (int y = -2; y <= 2 && crops.size() < maxCount; y++) {
-                    for (int z = -effectiveRadius; z <= effectiveRadius && crops.size() < maxCount; z++) {
-                        if (x == 0 && y == 0 && z == 0) continue;
-
-                        Block block = world.getBlockAt(centerX + x, centerY + y, centerZ + z);
-                        if (isMatureCrop(block)) {
-                            crops.add(block.getLocation());
-                        }
-                    }
-                }
-            }
-            // Mélanger le résultat pour une distribution aléatoire
-            Collections.shuffle(crops, random);
+    private record Settings(
+        String enchantId,
+        int baseRadius,
+        int baseBeeCount,
+        int maxCrops,
+        double beeSpeed,
+        boolean showParticles,
+        boolean playSound,
+        boolean clientSideOnly,
+        MessageTemplate message   // null si désactivé
+    ) {
+        static Settings load(FileConfiguration config) {
+            return new Settings(
+                config.getString("bee-collector.enchant-id", "bee_collector"),
+                config.getInt("bee-collector.radius", 3),
+                config.getInt("bee-collector.bee-count", 3),
+                config.getInt("bee-collector.max-crops", 10),
+                config.getDouble("bee-collector.bee-speed", 1.0),
+                config.getBoolean("bee-collector.particles", true),
+                config.getBoolean("bee-collector.sound", true),
+                config.getBoolean("bee-collector.client-side-only", true),
+                config.getBoolean("bee-collector.message", true)
+                    ? MessageTemplate.compile(config.getString("bee-collector.message-text", "&e&l🐝 &6Vos abeilles récoltent &e{count} &6cultures!"))
+                    : null
+            );
         }
 
-        return crops;
-    }
-
-    private boolean isMatureCrop(Block block) {
-        Material type = block.getType();
-        
-        if (!CROPS.contains(type)) return false;
-        if (NO_AGE_CROPS.contains(type)) return true;
+        int radius(long enchantLevel) {
+            return baseRadius + (int) (enchantLevel / 2);
+        }
 
-        if (block.getBlockData() instanceof Ageable ageable) {
-            return ageable.getAge() >= ageable.getMaximumAge();
+        int beeCount(long enchantLevel) {
+            return baseBeeCount + (int) (enchantLevel / 2);
         }
 
-        return true;
+        int maxCropsToHarvest(long enchantLevel) {
+            return maxCrops + (int) (enchantLevel * 3);
+        }
     }
 }
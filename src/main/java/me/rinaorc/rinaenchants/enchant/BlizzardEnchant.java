@@ -2,10 +2,9 @@ package me.rinaorc.rinaenchants.enchant;
 
 import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
 import me.rinaorc.rinaenchants.util.BlizzardAnimation;
-import me.rivaldev.harvesterhoes.api.events.HoeEnchant;
+import me.rinaorc.rinaenchants.util.MessageTemplate;
 import org.bukkit.*;
-import org.bukkit.block.Block;
-import org.bukkit.block.data.Ageable;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 
 import java.util.*;
@@ -29,104 +28,34 @@ import java.util.*;
  *    - Tête custom avec texture configurable
  *    - Exécute des commandes au ramassage
  */
-public class BlizzardEnchant implements HoeEnchant {
+public class BlizzardEnchant implements ReloadableEnchant {
 
     private final RinaEnchantsPlugin plugin;
-    private final Set<Material> CROPS = new HashSet<>();
-    private final Set<Material> NO_AGE_CROPS = new HashSet<>();
+
+    // Paramètres compilés depuis la config (remplacés d'un bloc au reload)
+    private volatile Settings settings;
 
     public BlizzardEnchant(RinaEnchantsPlugin plugin) {
         this.plugin = plugin;
-        initCrops();
-        plugin.getLogger().info("§b✓ BlizzardEternal: " + CROPS.size() + " types de cultures chargés!");
+        reloadSettings();
     }
 
-    private void initCrops() {
-        // Cultures classiques
-        CROPS.add(Material.WHEAT);
-        CROPS.add(Material.CARROTS);
-        CROPS.add(Material.POTATOES);
-        CROPS.add(Material.BEETROOTS);
-        CROPS.add(Material.NETHER_WART);
-        CROPS.add(Material.COCOA);
-        CROPS.add(Material.SWEET_BERRY_BUSH);
-
-        // Coraux
-        CROPS.add(Material.TUBE_CORAL);
-        CROPS.add(Material.BUBBLE_CORAL);
-        CROPS.add(Material.BRAIN_CORAL);
-        CROPS.add(Material.FIRE_CORAL);
-        CROPS.add(Material.HORN_CORAL);
-        CROPS.add(Material.TUBE_CORAL_BLOCK);
-        CROPS.add(Material.BUBBLE_CORAL_BLOCK);
-        CROPS.add(Material.BRAIN_CORAL_BLOCK);
-        CROPS.add(Material.FIRE_CORAL_BLOCK);
-        CROPS.add(Material.HORN_CORAL_BLOCK);
-
-        // Racines nether
-        CROPS.add(Material.WARPED_ROOTS);
-        CROPS.add(Material.CRIMSON_ROOTS);
-        CROPS.add(Material.NETHER_SPROUTS);
-        CROPS.add(Material.TWISTING_VINES);
-        CROPS.add(Material.WEEPING_VINES);
-
-        // Fleurs
-        CROPS.add(Material.LILAC);
-        CROPS.add(Material.ROSE_BUSH);
-        CROPS.add(Material.PEONY);
-        CROPS.add(Material.SUNFLOWER);
-        CROPS.add(Material.TALL_GRASS);
-        CROPS.add(Material.LARGE_FERN);
-
-        // Pousses
-        CROPS.add(Material.OAK_SAPLING);
-        CROPS.add(Material.BIRCH_SAPLING);
-        CROPS.add(Material.JUNGLE_SAPLING);
-        CROPS.add(Material.SPRUCE_SAPLING);
-        CROPS.add(Material.CHERRY_SAPLING);
-        CROPS.add(Material.ACACIA_SAPLING);
-        CROPS.add(Material.DARK_OAK_SAPLING);
-        CROPS.add(Material.MANGROVE_PROPAGULE);
-
-        // Autres
-        CROPS.add(Material.MELON);
-        CROPS.add(Material.PUMPKIN);
-        CROPS.add(Material.SUGAR_CANE);
-        CROPS.add(Material.CACTUS);
-        CROPS.add(Material.BAMBOO);
-        CROPS.add(Material.KELP);
-        CROPS.add(Material.KELP_PLANT);
-        CROPS.add(Material.SEA_PICKLE);
-        CROPS.add(Material.CHORUS_FLOWER);
-        CROPS.add(Material.CHORUS_PLANT);
-
-        // Cultures sans âge
-        NO_AGE_CROPS.addAll(Arrays.asList(
-            Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE, Material.CACTUS,
-            Material.BAMBOO, Material.KELP, Material.KELP_PLANT,
-            Material.TUBE_CORAL, Material.BUBBLE_CORAL, Material.BRAIN_CORAL,
-            Material.FIRE_CORAL, Material.HORN_CORAL,
-            Material.TUBE_CORAL_BLOCK, Material.BUBBLE_CORAL_BLOCK, Material.BRAIN_CORAL_BLOCK,
-            Material.FIRE_CORAL_BLOCK, Material.HORN_CORAL_BLOCK,
-            Material.WARPED_ROOTS, Material.CRIMSON_ROOTS, Material.NETHER_SPROUTS,
-            Material.LILAC, Material.ROSE_BUSH, Material.PEONY, Material.SUNFLOWER,
-            Material.OAK_SAPLING, Material.BIRCH_SAPLING, Material.JUNGLE_SAPLING,
-            Material.SPRUCE_SAPLING, Material.CHERRY_SAPLING, Material.ACACIA_SAPLING,
-            Material.DARK_OAK_SAPLING, Material.MANGROVE_PROPAGULE,
-            Material.CHORUS_FLOWER, Material.CHORUS_PLANT, Material.SEA_PICKLE
-        ));
+    @Override
+    public void reloadSettings() {
+        this.settings = Settings.load(plugin.getConfig());
     }
 
     @Override
     public String getEnchantId() {
-        return plugin.getConfig().getString("blizzard-eternal.enchant-id", "blizzard_eternal");
+        return settings.enchantId();
     }
 
     @Override
     public void onEnchantProc(Player player, long hoeLevel, long hoePrestige, long enchantLevel,
                               String enchantId, Location cropLocation, boolean isMultiHarvest) {
 
-        boolean debug = plugin.getConfig().getBoolean("debug", false);
+        Settings s = settings;
+        boolean debug = plugin.isDebug();
 
         if (debug) {
             plugin.getLogger().info("§b[BlizzardEternal] onEnchantProc! Joueur: " + player.getName() + ", Niveau: " + enchantLevel);
@@ -142,53 +71,13 @@ public class BlizzardEnchant implements HoeEnchant {
             return;
         }
 
-        // ═══════════════════════════════════════════════════════════
-        // PARAMÈTRES DE CONFIG
-        // ═══════════════════════════════════════════════════════════
-
-        int maxLevel = plugin.getConfig().getInt("blizzard-eternal.max-level", 10000);
-
-        // Durée du blizzard
-        int baseDuration = plugin.getConfig().getInt("blizzard-eternal.base-duration", 5);
-        int maxDuration = plugin.getConfig().getInt("blizzard-eternal.max-duration", 15);
-
-        // Intensité (snowballs)
-        int snowballsDivisor = plugin.getConfig().getInt("blizzard-eternal.snowballs-divisor", 100);
-        int baseSnowballs = plugin.getConfig().getInt("blizzard-eternal.base-snowballs-per-second", 1);
-        int maxSnowballs = plugin.getConfig().getInt("blizzard-eternal.max-snowballs-per-second", 50);
-
-        // Rayon et hauteur
-        int blizzardRadius = plugin.getConfig().getInt("blizzard-eternal.blizzard-radius", 8);
-        int spawnHeight = plugin.getConfig().getInt("blizzard-eternal.spawn-height", 10);
-
-        // Explosions
-        double explosionChance = plugin.getConfig().getDouble("blizzard-eternal.explosion-chance", 0.1);
-        int explosionRadius = plugin.getConfig().getInt("blizzard-eternal.explosion-radius", 3);
-
-        // Cadeaux
-        boolean giftEnabled = plugin.getConfig().getBoolean("blizzard-eternal.gift.enabled", true);
-        double giftChance = plugin.getConfig().getDouble("blizzard-eternal.gift.chance", 0.5);
-        String giftTexture = plugin.getConfig().getString("blizzard-eternal.gift.texture",
-            "eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvMTI5MTljNjczMTdjNzY3ODQzOGZmNTIwYzk4ZGRlMGUzYjRkNjg3NjljODkzOGE1YTNkZTI5NjhlZGZjNzMxNCJ9fX0=");
-        List<String> giftCommands = plugin.getConfig().getStringList("blizzard-eternal.gift.commands");
-        String giftPickupMessage = plugin.getConfig().getString("blizzard-eternal.gift.pickup-message",
-            "&b❄ &fVous avez trouvé un &6Cadeau de Noël&f!");
-
-        // Effets
-        boolean showParticles = plugin.getConfig().getBoolean("blizzard-eternal.particles", true);
-        boolean clientSideOnly = plugin.getConfig().getBoolean("blizzard-eternal.client-side-only", true);
-
         // ═══════════════════════════════════════════════════════════
         // CALCUL DES VALEURS SELON LE NIVEAU
         // ═══════════════════════════════════════════════════════════
 
-        // Durée: baseDuration + (niveau / 1000) secondes, cap à maxDuration
-        int durationSeconds = baseDuration + (int)(enchantLevel / 1000);
-        durationSeconds = Math.min(durationSeconds, maxDuration);
+        int durationSeconds = s.durationSeconds(enchantLevel);
         int durationTicks = durationSeconds * 20;
-
-        // Snowballs par seconde: (niveau / divisor) + base, avec un cap
-        int snowballsPerSecond = Math.min((int)(enchantLevel / snowballsDivisor) + baseSnowballs, maxSnowballs);
+        int snowballsPerSecond = s.snowballsPerSecond(enchantLevel);
 
         if (debug) {
             plugin.getLogger().info("§b[BlizzardEternal] Durée: " + durationSeconds + "s, Snowballs/s: " + snowballsPerSecond);
@@ -198,10 +87,8 @@ public class BlizzardEnchant implements HoeEnchant {
         if (world == null) return;
 
         // Message de début
-        if (plugin.getConfig().getBoolean("blizzard-eternal.start-message", true)) {
-            String startMsg = plugin.getConfig().getString("blizzard-eternal.start-message-text",
-                "&b❄ &fUn &bBlizzard Éternel &fenvahit la zone!");
-            player.sendMessage(ChatColor.translateAlternateColorCodes('&', startMsg));
+        if (s.startMessage() != null) {
+            player.sendMessage(s.startMessage().render());
         }
 
         // ═══════════════════════════════════════════════════════════
@@ -210,45 +97,90 @@ public class BlizzardEnchant implements HoeEnchant {
 
         BlizzardAnimation animation = new BlizzardAnimation(
             plugin, player, cropLocation,
-            durationTicks, snowballsPerSecond, blizzardRadius, spawnHeight,
-            explosionChance, explosionRadius,
-            giftEnabled, giftChance, giftTexture, giftCommands, giftPickupMessage,
-            showParticles, clientSideOnly,
-            CROPS, NO_AGE_CROPS
+            durationTicks, snowballsPerSecond, s.blizzardRadius(), s.spawnHeight(),
+            s.explosionChance(), s.explosionRadius(),
+            s.giftEnabled(), s.giftChance(), s.giftTexture(), s.giftCommands(), s.giftPickupMessage(),
+            s.showParticles(), s.clientSideOnly()
         );
 
         // Callback quand une culture est touchée
+        // (cassage différé dans la pipeline, la maturité y est vérifiée)
         animation.setOnCropHit((loc) -> {
-            Block block = loc.getBlock();
-            if (isMatureCrop(block)) {
-                plugin.safeBreakCrop(player, loc, "blizzard-eternal");
-            }
+            plugin.getCropPipeline().submit(player, loc, "blizzard-eternal");
         });
 
         // Callback de fin
         animation.setOnFinish((totalCrops) -> {
-            if (plugin.getConfig().getBoolean("blizzard-eternal.message", true) && totalCrops > 0) {
-                String message = plugin.getConfig().getString("blizzard-eternal.message-text",
-                    "&b❄ &fLe blizzard a récolté &b{count} &fcultures!");
-                message = message.replace("{count}", String.valueOf(totalCrops));
-                message = ChatColor.translateAlternateColorCodes('&', message);
-                player.sendMessage(message);
+            if (s.finishMessage() != null && totalCrops > 0) {
+                player.sendMessage(s.finishMessage().render("count", totalCrops));
             }
         });
 
         animation.start();
     }
 
-    private boolean isMatureCrop(Block block) {
-        Material type = block.getType();
-
-        if (!CROPS.contains(type)) return false;
-        if (NO_AGE_CROPS.contains(type)) return true;
+    /**
+     * Snapshot immuable de la section "blizzard-eternal"
+     */
+    private record Settings(
+        String enchantId,
+        int baseDuration,
+        int maxDuration,
+        int snowballsDivisor,
+        int baseSnowballs,
+        int maxSnowballs,
+        int blizzardRadius,
+        int spawnHeight,
+        double explosionChance,
+        int explosionRadius,
+        boolean giftEnabled,
+        double giftChance,
+        String giftTexture,
+        List<String> giftCommands,
+        String giftPickupMessage,       // déjà coloré
+        boolean showParticles,
+        boolean clientSideOnly,
+        MessageTemplate startMessage,   // null si désactivé
+        MessageTemplate finishMessage   // null si désactivé
+    ) {
+        static Settings load(FileConfiguration config) {
+            return new Settings(
+                config.getString("blizzard-eternal.enchant-id", "blizzard_eternal"),
+                config.getInt("blizzard-eternal.base-duration", 5),
+                config.getInt("blizzard-eternal.max-duration", 15),
+                config.getInt("blizzard-eternal.snowballs-divisor", 100),
+                config.getInt("blizzard-eternal.base-snowballs-per-second", 1),
+                config.getInt("blizzard-eternal.max-snowballs-per-second", 50),
+                config.getInt("blizzard-eternal.blizzard-radius", 8),
+                config.getInt("blizzard-eternal.spawn-height", 10),
+                config.getDouble("blizzard-eternal.explosion-chance", 0.1),
+                config.getInt("blizzard-eternal.explosion-radius", 3),
+                config.getBoolean("blizzard-eternal.gift.enabled", true),
+                config.getDouble("blizzard-eternal.gift.chance", 0.5),
+                config.getString("blizzard-eternal.gift.texture",
+                    "eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvMTI5MTljNjczMTdjNzY3ODQzOGZmNTIwYzk4ZGRlMGUzYjRkNjg3NjljODkzOGE1YTNkZTI5NjhlZGZjNzMxNCJ9fX0="),
+                List.copyOf(config.getStringList("blizzard-eternal.gift.commands")),
+                MessageTemplate.compile(config.getString("blizzard-eternal.gift.pickup-message",
+                    "&b❄ &fVous avez trouvé un &6Cadeau de Noël&f!")).render(),
+                config.getBoolean("blizzard-eternal.particles", true),
+                config.getBoolean("blizzard-eternal.client-side-only", true),
+                config.getBoolean("blizzard-eternal.start-message", true)
+                    ? MessageTemplate.compile(config.getString("blizzard-eternal.start-message-text", "&b❄ &fUn &bBlizzard Éternel &fenvahit la zone!"))
+                    : null,
+                config.getBoolean("blizzard-eternal.message", true)
+                    ? MessageTemplate.compile(config.getString("blizzard-eternal.message-text", "&b❄ &fLe blizzard a récolté &b{count} &fcultures!"))
+                    : null
+            );
+        }
 
-        if (block.getBlockData() instanceof Ageable ageable) {
-            return ageable.getAge() >= ageable.getMaximumAge();
+        /** baseDuration + (niveau / 1000) secondes, plafonné à maxDuration */
+        int durationSeconds(long enchantLevel) {
+            return Math.min(baseDuration + (int) (enchantLevel / 1000), maxDuration);
         }
 
-        return true;
+        /** (niveau / divisor) + base, plafonné */
+        int snowballsPerSecond(long enchantLevel) {
+            return Math.min((int) (enchantLevel / snowballsDivisor) + baseSnowballs, maxSnowballs);
+        }
     }
 }
@@ -2,10 +2,9 @@ package me.rinaorc.rinaenchants.enchant;
 
 import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
 import me.rinaorc.rinaenchants.util.EnderDragonBreathAnimation;
-import me.rivaldev.harvesterhoes.api.events.HoeEnchant;
+import me.rinaorc.rinaenchants.util.MessageTemplate;
 import org.bukkit.*;
-import org.bukkit.block.Block;
-import org.bukkit.block.data.Ageable;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Listener;
 
@@ -33,104 +32,34 @@ import java.util.*;
  *
  * Client-side pour optimisation serveur 500+ joueurs.
  */
-public class EnderDragonBreathEnchant implements HoeEnchant, Listener {
+public class EnderDragonBreathEnchant implements ReloadableEnchant, Listener {
 
     private final RinaEnchantsPlugin plugin;
-    private final Set<Material> CROPS = new HashSet<>();
-    private final Set<Material> NO_AGE_CROPS = new HashSet<>();
+
+    // Paramètres compilés depuis la config (remplacés d'un bloc au reload)
+    private volatile Settings settings;
 
     public EnderDragonBreathEnchant(RinaEnchantsPlugin plugin) {
         this.plugin = plugin;
-        initCrops();
-        plugin.getLogger().info("§a✓ EnderDragonBreath: " + CROPS.size() + " types de cultures chargés!");
+        reloadSettings();
     }
 
-    private void initCrops() {
-        // Cultures classiques
-        CROPS.add(Material.WHEAT);
-        CROPS.add(Material.CARROTS);
-        CROPS.add(Material.POTATOES);
-        CROPS.add(Material.BEETROOTS);
-        CROPS.add(Material.NETHER_WART);
-        CROPS.add(Material.COCOA);
-        CROPS.add(Material.SWEET_BERRY_BUSH);
-
-        // Coraux
-        CROPS.add(Material.TUBE_CORAL);
-        CROPS.add(Material.BUBBLE_CORAL);
-        CROPS.add(Material.BRAIN_CORAL);
-        CROPS.add(Material.FIRE_CORAL);
-        CROPS.add(Material.HORN_CORAL);
-        CROPS.add(Material.TUBE_CORAL_BLOCK);
-        CROPS.add(Material.BUBBLE_CORAL_BLOCK);
-        CROPS.add(Material.BRAIN_CORAL_BLOCK);
-        CROPS.add(Material.FIRE_CORAL_BLOCK);
-        CROPS.add(Material.HORN_CORAL_BLOCK);
-
-        // Racines nether
-        CROPS.add(Material.WARPED_ROOTS);
-        CROPS.add(Material.CRIMSON_ROOTS);
-        CROPS.add(Material.NETHER_SPROUTS);
-        CROPS.add(Material.TWISTING_VINES);
-        CROPS.add(Material.WEEPING_VINES);
-
-        // Fleurs
-        CROPS.add(Material.LILAC);
-        CROPS.add(Material.ROSE_BUSH);
-        CROPS.add(Material.PEONY);
-        CROPS.add(Material.SUNFLOWER);
-        CROPS.add(Material.TALL_GRASS);
-        CROPS.add(Material.LARGE_FERN);
-
-        // Pousses
-        CROPS.add(Material.OAK_SAPLING);
-        CROPS.add(Material.BIRCH_SAPLING);
-        CROPS.add(Material.JUNGLE_SAPLING);
-        CROPS.add(Material.SPRUCE_SAPLING);
-        CROPS.add(Material.CHERRY_SAPLING);
-        CROPS.add(Material.ACACIA_SAPLING);
-        CROPS.add(Material.DARK_OAK_SAPLING);
-        CROPS.add(Material.MANGROVE_PROPAGULE);
-
-        // Autres
-        CROPS.add(Material.MELON);
-        CROPS.add(Material.PUMPKIN);
-        CROPS.add(Material.SUGAR_CANE);
-        CROPS.add(Material.CACTUS);
-        CROPS.add(Material.BAMBOO);
-        CROPS.add(Material.KELP);
-        CROPS.add(Material.KELP_PLANT);
-        CROPS.add(Material.SEA_PICKLE);
-        CROPS.add(Material.CHORUS_FLOWER);
-        CROPS.add(Material.CHORUS_PLANT);
-
-        // Cultures sans âge
-        NO_AGE_CROPS.addAll(Arrays.asList(
-            Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE, Material.CACTUS,
-            Material.BAMBOO, Material.KELP, Material.KELP_PLANT,
-            Material.TUBE_CORAL, Material.BUBBLE_CORAL, Material.BRAIN_CORAL,
-            Material.FIRE_CORAL, Material.HORN_CORAL,
-            Material.TUBE_CORAL_BLOCK, Material.BUBBLE_CORAL_BLOCK, Material.BRAIN_CORAL_BLOCK,
-            Material.FIRE_CORAL_BLOCK, Material.HORN_CORAL_BLOCK,
-            Material.WARPED_ROOTS, Material.CRIMSON_ROOTS, Material.NETHER_SPROUTS,
-            Material.LILAC, Material.ROSE_BUSH, Material.PEONY, Material.SUNFLOWER,
-            Material.OAK_SAPLING, Material.BIRCH_SAPLING, Material.JUNGLE_SAPLING,
-            Material.SPRUCE_SAPLING, Material.CHERRY_SAPLING, Material.ACACIA_SAPLING,
-            Material.DARK_OAK_SAPLING, Material.MANGROVE_PROPAGULE,
-            Material.CHORUS_FLOWER, Material.CHORUS_PLANT, Material.SEA_PICKLE
-        ));
+    @Override
+    public void reloadSettings() {
+        this.settings = Settings.load(plugin.getConfig());
     }
 
     @Override
     public String getEnchantId() {
-        return plugin.getConfig().getString("ender-dragon-breath.enchant-id", "ender_dragon_breath");
+        return settings.enchantId();
     }
 
     @Override
     public void onEnchantProc(Player player, long hoeLevel, long hoePrestige, long enchantLevel,
                               String enchantId, Location cropLocation, boolean isMultiHarvest) {
 
-        boolean debug = plugin.getConfig().getBoolean("debug", false);
+        Settings s = settings;
+        boolean debug = plugin.isDebug();
 
         // ═══════════════════════════════════════════════════════════
         // VÉRIFICATION ANTI-CASCADE: Empêche les proc récursifs
@@ -147,46 +76,16 @@ public class EnderDragonBreathEnchant implements HoeEnchant, Listener {
         }
 
         // ═══════════════════════════════════════════════════════════
-        // RÉCUPÉRER LES PARAMÈTRES DE CONFIG
+        // CALCUL DES VALEURS SELON LE NIVEAU
         // ═══════════════════════════════════════════════════════════
 
-        int maxLevel = plugin.getConfig().getInt("ender-dragon-breath.max-level", 5000);
-        double levelRatio = Math.min(1.0, (double) enchantLevel / maxLevel);
-
-        // Scale du dragon (fixe à 0.4 par défaut)
-        double dragonScale = plugin.getConfig().getDouble("ender-dragon-breath.dragon-scale", 0.4);
-
-        // Durée du vol (en ticks)
-        int baseFlightDuration = plugin.getConfig().getInt("ender-dragon-breath.base-flight-duration", 100);
-        int maxFlightDuration = plugin.getConfig().getInt("ender-dragon-breath.max-flight-duration", 400);
-        int flightDuration = (int) (baseFlightDuration + levelRatio * (maxFlightDuration - baseFlightDuration));
-
-        // Rayon de la spirale
-        double baseSpiralRadius = plugin.getConfig().getDouble("ender-dragon-breath.base-spiral-radius", 5.0);
-        double maxSpiralRadius = plugin.getConfig().getDouble("ender-dragon-breath.max-spiral-radius", 15.0);
-        double spiralRadius = baseSpiralRadius + levelRatio * (maxSpiralRadius - baseSpiralRadius);
-
-        // Vitesse de rotation (radians par tick)
-        double spiralSpeed = plugin.getConfig().getDouble("ender-dragon-breath.spiral-speed", 0.1);
-
-        // Intervalle de souffle (en ticks) - diminue avec le niveau
-        int baseBreathInterval = plugin.getConfig().getInt("ender-dragon-breath.base-breath-interval", 40);
-        int minBreathInterval = plugin.getConfig().getInt("ender-dragon-breath.min-breath-interval", 15);
-        int breathInterval = (int) (baseBreathInterval - levelRatio * (baseBreathInterval - minBreathInterval));
-
-        // Rayon du souffle
-        double baseBreathRadius = plugin.getConfig().getDouble("ender-dragon-breath.base-breath-radius", 3.0);
-        double maxBreathRadius = plugin.getConfig().getDouble("ender-dragon-breath.max-breath-radius", 8.0);
-        double breathRadius = baseBreathRadius + levelRatio * (maxBreathRadius - baseBreathRadius);
-
-        // Durée des zones de souffle (en ticks)
-        int baseBreathDuration = plugin.getConfig().getInt("ender-dragon-breath.base-breath-zone-duration", 40);
-        int maxBreathDuration = plugin.getConfig().getInt("ender-dragon-breath.max-breath-zone-duration", 100);
-        int breathDuration = (int) (baseBreathDuration + levelRatio * (maxBreathDuration - baseBreathDuration));
-
-        boolean showParticles = plugin.getConfig().getBoolean("ender-dragon-breath.particles", true);
-        boolean playSound = plugin.getConfig().getBoolean("ender-dragon-breath.sound", true);
-        boolean clientSideOnly = plugin.getConfig().getBoolean("ender-dragon-breath.client-side-only", true);
+        double levelRatio = s.levelRatio(enchantLevel);
+        double dragonScale = s.dragonScale();
+        int flightDuration = s.flightDuration(levelRatio);
+        double spiralRadius = s.spiralRadius(levelRatio);
+        int breathInterval = s.breathInterval(levelRatio);
+        double breathRadius = s.breathRadius(levelRatio);
+        int breathDuration = s.breathZoneDuration(levelRatio);
 
         if (debug) {
             plugin.getLogger().info("§e[DEBUG] EnderDragonBreath - Scale: " + dragonScale +
@@ -201,11 +100,8 @@ public class EnderDragonBreathEnchant implements HoeEnchant, Listener {
         // MESSAGE DE DÉBUT
         // ═══════════════════════════════════════════════════════════
 
-        if (plugin.getConfig().getBoolean("ender-dragon-breath.start-message", true)) {
-            String message = plugin.getConfig().getString("ender-dragon-breath.start-message-text",
-                "&8&l👻 &7Un Phantom géant surgit des ombres!");
-            message = ChatColor.translateAlternateColorCodes('&', message);
-            player.sendMessage(message);
+        if (s.startMessage() != null) {
+            player.sendMessage(s.startMessage().render());
         }
 
         // ═══════════════════════════════════════════════════════════
@@ -214,14 +110,14 @@ public class EnderDragonBreathEnchant implements HoeEnchant, Listener {
 
         EnderDragonBreathAnimation animation = new EnderDragonBreathAnimation(
             plugin, cropLocation, player,
-            dragonScale, flightDuration, spiralRadius, spiralSpeed,
+            dragonScale, flightDuration, spiralRadius, s.spiralSpeed(),
             breathInterval, breathRadius, breathDuration,
-            showParticles, clientSideOnly
+            s.showParticles(), s.clientSideOnly()
         );
 
         // Callback quand une culture est récoltée (déjà vérifiée comme mature par l'animation)
         animation.setOnCropHit((cropLoc) -> {
-            plugin.safeBreakCrop(player, cropLoc, "ender-dragon-breath");
+            plugin.getCropPipeline().submit(player, cropLoc, "ender-dragon-breath");
         });
 
         // Callback nuage de souffle
@@ -233,40 +129,103 @@ public class EnderDragonBreathEnchant implements HoeEnchant, Listener {
 
         // Callback fin
         animation.setOnFinish((totalCrops, totalClouds) -> {
-            if (plugin.getConfig().getBoolean("ender-dragon-breath.message", true) && totalCrops > 0) {
-                String message = plugin.getConfig().getString("ender-dragon-breath.message-text",
-                    "&8&l👻 &7Le Phantom a fauché &8{count} &7cultures!");
-                message = message.replace("{count}", String.valueOf(totalCrops));
+            if (s.finishMessage() != null && totalCrops > 0) {
+                String message = s.finishMessage().render("count", totalCrops);
 
                 if (totalClouds > 0) {
-                    String cloudSuffix = plugin.getConfig().getString("ender-dragon-breath.cloud-suffix",
-                        " &7(&8{clouds} piqués&7)");
-                    cloudSuffix = cloudSuffix.replace("{clouds}", String.valueOf(totalClouds));
-                    message += cloudSuffix;
+                    message += s.cloudSuffix().render("clouds", totalClouds);
                 }
 
-                message = ChatColor.translateAlternateColorCodes('&', message);
                 player.sendMessage(message);
             }
 
-            if (playSound) {
-                player.playSound(player.getLocation(), Sound.ENTITY_PHANTOM_FLAP, 0.8f, 1.0f);
+            if (s.playSound()) {
+                plugin.getFx().sound(player, player.getLocation(), Sound.ENTITY_PHANTOM_FLAP, 0.8f, 1.0f);
             }
         });
 
         animation.start();
     }
 
-    private boolean isMatureCrop(Block block) {
-        Material type = block.getType();
+    /**
+     * Snapshot immuable de la section "ender-dragon-breath"
+     */
+    private record Settings(
+        String enchantId,
+        int maxLevel,
+        double dragonScale,
+        int baseFlightDuration,
+        int maxFlightDuration,
+        double baseSpiralRadius,
+        double maxSpiralRadius,
+        double spiralSpeed,
+        int baseBreathInterval,
+        int minBreathInterval,
+        double baseBreathRadius,
+        double maxBreathRadius,
+        int baseBreathZoneDuration,
+        int maxBreathZoneDuration,
+        boolean showParticles,
+        boolean playSound,
+        boolean clientSideOnly,
+        MessageTemplate startMessage,   // null si désactivé
+        MessageTemplate finishMessage,  // null si désactivé
+        MessageTemplate cloudSuffix
+    ) {
+        static Settings load(FileConfiguration config) {
+            return new Settings(
+                config.getString("ender-dragon-breath.enchant-id", "ender_dragon_breath"),
+                config.getInt("ender-dragon-breath.max-level", 5000),
+                config.getDouble("ender-dragon-breath.dragon-scale", 0.4),
+                config.getInt("ender-dragon-breath.base-flight-duration", 100),
+                config.getInt("ender-dragon-breath.max-flight-duration", 400),
+                config.getDouble("ender-dragon-breath.base-spiral-radius", 5.0),
+                config.getDouble("ender-dragon-breath.max-spiral-radius", 15.0),
+                config.getDouble("ender-dragon-breath.spiral-speed", 0.1),
+                config.getInt("ender-dragon-breath.base-breath-interval", 40),
+                config.getInt("ender-dragon-breath.min-breath-interval", 15),
+                config.getDouble("ender-dragon-breath.base-breath-radius", 3.0),
+                config.getDouble("ender-dragon-breath.max-breath-radius", 8.0),
+                config.getInt("ender-dragon-breath.base-breath-zone-duration", 40),
+                config.getInt("ender-dragon-breath.max-breath-zone-duration", 100),
+                config.getBoolean("ender-dragon-breath.particles", true),
+                config.getBoolean("ender-dragon-breath.sound", true),
+                config.getBoolean("ender-dragon-breath.client-side-only", true),
+                config.getBoolean("ender-dragon-breath.start-message", true)
+                    ? MessageTemplate.compile(config.getString("ender-dragon-breath.start-message-text", "&8&l👻 &7Un Phantom géant surgit des ombres!"))
+                    : null,
+                config.getBoolean("ender-dragon-breath.message", true)
+                    ? MessageTemplate.compile(config.getString("ender-dragon-breath.message-text", "&8&l👻 &7Le Phantom a fauché &8{count} &7cultures!"))
+                    : null,
+                MessageTemplate.compile(config.getString("ender-dragon-breath.cloud-suffix", " &7(&8{clouds} piqués&7)"))
+            );
+        }
 
-        if (!CROPS.contains(type)) return false;
-        if (NO_AGE_CROPS.contains(type)) return true;
+        double levelRatio(long enchantLevel) {
+            return Math.min(1.0, (double) enchantLevel / maxLevel);
+        }
 
-        if (block.getBlockData() instanceof Ageable ageable) {
-            return ageable.getAge() >= ageable.getMaximumAge();
+        /** Durée du vol (en ticks) */
+        int flightDuration(double levelRatio) {
+            return (int) (baseFlightDuration + levelRatio * (maxFlightDuration - baseFlightDuration));
         }
 
-        return true;
+        double spiralRadius(double levelRatio) {
+            return baseSpiralRadius + levelRatio * (maxSpiralRadius - baseSpiralRadius);
+        }
+
+        /** Intervalle de souffle (en ticks) - diminue avec le niveau */
+        int breathInterval(double levelRatio) {
+            return (int) (baseBreathInterval - levelRatio * (baseBreathInterval - minBreathInterval));
+        }
+
+        double breathRadius(double levelRatio) {
+            return baseBreathRadius + levelRatio * (maxBreathRadius - baseBreathRadius);
+        }
+
+        /** Durée des zones de souffle (en ticks) */
+        int breathZoneDuration(double levelRatio) {
+            return (int) (baseBreathZoneDuration + levelRatio * (maxBreathZoneDuration - baseBreathZoneDuration));
+        }
     }
 }
@@ -2,10 +2,9 @@ package me.rinaorc.rinaenchants.enchant;
 
 import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
 import me.rinaorc.rinaenchants.util.GolemFactoryAnimation;
-import me.rivaldev.harvesterhoes.api.events.HoeEnchant;
+import me.rinaorc.rinaenchants.util.MessageTemplate;
 import org.bukkit.*;
-import org.bukkit.block.Block;
-import org.bukkit.block.data.Ageable;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Listener;
 
@@ -33,104 +32,34 @@ import java.util.*;
  *
  * Client-side pour optimisation serveur 500+ joueurs.
  */
-public class GolemFactoryEnchant implements HoeEnchant, Listener {
+public class GolemFactoryEnchant implements ReloadableEnchant, Listener {
 
     private final RinaEnchantsPlugin plugin;
-    private final Set<Material> CROPS = new HashSet<>();
-    private final Set<Material> NO_AGE_CROPS = new HashSet<>();
+
+    // Paramètres compilés depuis la config (remplacés d'un bloc au reload)
+    private volatile Settings settings;
 
     public GolemFactoryEnchant(RinaEnchantsPlugin plugin) {
         this.plugin = plugin;
-        initCrops();
-        plugin.getLogger().info("§a✓ GolemFactory: " + CROPS.size() + " types de cultures chargés!");
+        reloadSettings();
     }
 
-    private void initCrops() {
-        // Cultures classiques
-        CROPS.add(Material.WHEAT);
-        CROPS.add(Material.CARROTS);
-        CROPS.add(Material.POTATOES);
-        CROPS.add(Material.BEETROOTS);
-        CROPS.add(Material.NETHER_WART);
-        CROPS.add(Material.COCOA);
-        CROPS.add(Material.SWEET_BERRY_BUSH);
-
-        // Coraux
-        CROPS.add(Material.TUBE_CORAL);
-        CROPS.add(Material.BUBBLE_CORAL);
-        CROPS.add(Material.BRAIN_CORAL);
-        CROPS.add(Material.FIRE_CORAL);
-        CROPS.add(Material.HORN_CORAL);
-        CROPS.add(Material.TUBE_CORAL_BLOCK);
-        CROPS.add(Material.BUBBLE_CORAL_BLOCK);
-        CROPS.add(Material.BRAIN_CORAL_BLOCK);
-        CROPS.add(Material.FIRE_CORAL_BLOCK);
-        CROPS.add(Material.HORN_CORAL_BLOCK);
-
-        // Racines nether
-        CROPS.add(Material.WARPED_ROOTS);
-        CROPS.add(Material.CRIMSON_ROOTS);
-        CROPS.add(Material.NETHER_SPROUTS);
-        CROPS.add(Material.TWISTING_VINES);
-        CROPS.add(Material.WEEPING_VINES);
-
-        // Fleurs
-        CROPS.add(Material.LILAC);
-        CROPS.add(Material.ROSE_BUSH);
-        CROPS.add(Material.PEONY);
-        CROPS.add(Material.SUNFLOWER);
-        CROPS.add(Material.TALL_GRASS);
-        CROPS.add(Material.LARGE_FERN);
-
-        // Pousses
-        CROPS.add(Material.OAK_SAPLING);
-        CROPS.add(Material.BIRCH_SAPLING);
-        CROPS.add(Material.JUNGLE_SAPLING);
-        CROPS.add(Material.SPRUCE_SAPLING);
-        CROPS.add(Material.CHERRY_SAPLING);
-        CROPS.add(Material.ACACIA_SAPLING);
-        CROPS.add(Material.DARK_OAK_SAPLING);
-        CROPS.add(Material.MANGROVE_PROPAGULE);
-
-        // Autres
-        CROPS.add(Material.MELON);
-        CROPS.add(Material.PUMPKIN);
-        CROPS.add(Material.SUGAR_CANE);
-        CROPS.add(Material.CACTUS);
-        CROPS.add(Material.BAMBOO);
-        CROPS.add(Material.KELP);
-        CROPS.add(Material.KELP_PLANT);
-        CROPS.add(Material.SEA_PICKLE);
-        CROPS.add(Material.CHORUS_FLOWER);
-        CROPS.add(Material.CHORUS_PLANT);
-
-        // Cultures sans âge
-        NO_AGE_CROPS.addAll(Arrays.asList(
-            Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE, Material.CACTUS,
-            Material.BAMBOO, Material.KELP, Material.KELP_PLANT,
-            Material.TUBE_CORAL, Material.BUBBLE_CORAL, Material.BRAIN_CORAL,
-            Material.FIRE_CORAL, Material.HORN_CORAL,
-            Material.TUBE_CORAL_BLOCK, Material.BUBBLE_CORAL_BLOCK, Material.BRAIN_CORAL_BLOCK,
-            Material.FIRE_CORAL_BLOCK, Material.HORN_CORAL_BLOCK,
-            Material.WARPED_ROOTS, Material.CRIMSON_ROOTS, Material.NETHER_SPROUTS,
-            Material.LILAC, Material.ROSE_BUSH, Material.PEONY, Material.SUNFLOWER,
-            Material.OAK_SAPLING, Material.BIRCH_SAPLING, Material.JUNGLE_SAPLING,
-            Material.SPRUCE_SAPLING, Material.CHERRY_SAPLING, Material.ACACIA_SAPLING,
-            Material.DARK_OAK_SAPLING, Material.MANGROVE_PROPAGULE,
-            Material.CHORUS_FLOWER, Material.CHORUS_PLANT, Material.SEA_PICKLE
-        ));
+    @Override
+    public void reloadSettings() {
+        this.settings = Settings.load(plugin.getConfig());
     }
 
     @Override
     public String getEnchantId() {
-        return plugin.getConfig().getString("golem-factory.enchant-id", "golem_factory");
+        return settings.enchantId();
     }
 
     @Override
     public void onEnchantProc(Player player, long hoeLevel, long hoePrestige, long enchantLevel,
                               String enchantId, Location cropLocation, boolean isMultiHarvest) {
 
-        boolean debug = plugin.getConfig().getBoolean("debug", false);
+        Settings s = settings;
+        boolean debug = plugin.isDebug();
 
         // ═══════════════════════════════════════════════════════════
         // VÉRIFICATION ANTI-CASCADE: Empêche les proc récursifs
@@ -147,45 +76,16 @@ public class GolemFactoryEnchant implements HoeEnchant, Listener {
         }
 
         // ═══════════════════════════════════════════════════════════
-        // RÉCUPÉRER LES PARAMÈTRES DE CONFIG
+        // CALCUL DES VALEURS SELON LE NIVEAU
         // ═══════════════════════════════════════════════════════════
 
-        int maxLevel = plugin.getConfig().getInt("golem-factory.max-level", 500);
-        double levelRatio = Math.min(1.0, (double) enchantLevel / maxLevel);
-
-        // Nombre de golems
-        int baseGolemCount = plugin.getConfig().getInt("golem-factory.base-golem-count", 2);
-        int maxGolemCount = plugin.getConfig().getInt("golem-factory.max-golem-count", 6);
-        int golemCount = (int) (baseGolemCount + levelRatio * (maxGolemCount - baseGolemCount));
-
-        // Taille des golems (scale)
-        double baseScale = plugin.getConfig().getDouble("golem-factory.base-scale", 0.4);
-        double maxScale = plugin.getConfig().getDouble("golem-factory.max-scale", 0.7);
-        double golemScale = baseScale + levelRatio * (maxScale - baseScale);
-
-        // Rayon de patrouille
-        int basePatrolRadius = plugin.getConfig().getInt("golem-factory.base-patrol-radius", 5);
-        int maxPatrolRadius = plugin.getConfig().getInt("golem-factory.max-patrol-radius", 12);
-        int patrolRadius = (int) (basePatrolRadius + levelRatio * (maxPatrolRadius - basePatrolRadius));
-
-        // Durée
-        int baseDuration = plugin.getConfig().getInt("golem-factory.base-duration", 100);
-        int maxDuration = plugin.getConfig().getInt("golem-factory.max-duration", 300);
-        int duration = (int) (baseDuration + levelRatio * (maxDuration - baseDuration));
-
-        // Chance de fusion (%)
-        double baseMergeChance = plugin.getConfig().getDouble("golem-factory.base-merge-chance", 5.0);
-        double maxMergeChance = plugin.getConfig().getDouble("golem-factory.max-merge-chance", 25.0);
-        double mergeChance = baseMergeChance + levelRatio * (maxMergeChance - baseMergeChance);
-
-        // Rayon du slam
-        int baseSlamRadius = plugin.getConfig().getInt("golem-factory.base-slam-radius", 4);
-        int maxSlamRadius = plugin.getConfig().getInt("golem-factory.max-slam-radius", 10);
-        int slamRadius = (int) (baseSlamRadius + levelRatio * (maxSlamRadius - baseSlamRadius));
-
-        boolean showParticles = plugin.getConfig().getBoolean("golem-factory.particles", true);
-        boolean playSound = plugin.getConfig().getBoolean("golem-factory.sound", true);
-        boolean clientSideOnly = plugin.getConfig().getBoolean("golem-factory.client-side-only", true);
+        double levelRatio = s.levelRatio(enchantLevel);
+        int golemCount = plugin.getLoadGovernor().getQuality().entities(s.golemCount(levelRatio));
+        double golemScale = s.golemScale(levelRatio);
+        int patrolRadius = s.patrolRadius(levelRatio);
+        int duration = s.duration(levelRatio);
+        double mergeChance = s.mergeChance(levelRatio);
+        int slamRadius = s.slamRadius(levelRatio);
 
         if (debug) {
             plugin.getLogger().info("§e[DEBUG] GolemFactory - Golems: " + golemCount +
@@ -201,12 +101,8 @@ public class GolemFactoryEnchant implements HoeEnchant, Listener {
         // MESSAGE DE DÉBUT
         // ═══════════════════════════════════════════════════════════
 
-        if (plugin.getConfig().getBoolean("golem-factory.start-message", true)) {
-            String message = plugin.getConfig().getString("golem-factory.start-message-text",
-                "&7&l🤖 &f" + golemCount + " mini-golems sortent de l'usine!");
-            message = message.replace("{count}", String.valueOf(golemCount));
-            message = ChatColor.translateAlternateColorCodes('&', message);
-            player.sendMessage(message);
+        if (s.startMessage() != null) {
+            player.sendMessage(s.startMessage().render("count", golemCount));
         }
 
         // ═══════════════════════════════════════════════════════════
@@ -217,67 +113,132 @@ public class GolemFactoryEnchant implements HoeEnchant, Listener {
             plugin, cropLocation, player,
             golemCount, golemScale, patrolRadius, duration,
             mergeChance, slamRadius,
-            showParticles, clientSideOnly
+            s.showParticles(), s.clientSideOnly()
         );
 
         // Callback quand une culture est récoltée
+        // (cassage différé dans la pipeline, la maturité y est vérifiée)
         animation.setOnCropHit((cropLoc) -> {
-            Block block = cropLoc.getBlock();
-            if (isMatureCrop(block)) {
-                plugin.safeBreakCrop(player, cropLoc, "golem-factory");
-            }
+            plugin.getCropPipeline().submit(player, cropLoc, "golem-factory");
         });
 
         // Callback fusion
         animation.setOnMerge((mergeCount) -> {
-            if (plugin.getConfig().getBoolean("golem-factory.merge-message", true)) {
-                String message = plugin.getConfig().getString("golem-factory.merge-message-text",
-                    "&7&l🤖 &6&lFUSION! &fGolem géant créé!");
-                message = ChatColor.translateAlternateColorCodes('&', message);
-                player.sendMessage(message);
+            if (s.mergeMessage() != null) {
+                player.sendMessage(s.mergeMessage().render());
             }
 
-            if (playSound) {
-                player.playSound(player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 0.8f, 0.8f);
+            if (s.playSound()) {
+                plugin.getFx().sound(player, player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 0.8f, 0.8f);
             }
         });
 
         // Callback fin
         animation.setOnFinish((totalCrops, totalMerges) -> {
-            if (plugin.getConfig().getBoolean("golem-factory.message", true) && totalCrops > 0) {
-                String message = plugin.getConfig().getString("golem-factory.message-text",
-                    "&7&l🤖 &fLes golems ont récolté &7{count} &fcultures!");
-                message = message.replace("{count}", String.valueOf(totalCrops));
+            if (s.finishMessage() != null && totalCrops > 0) {
+                String message = s.finishMessage().render("count", totalCrops);
 
                 if (totalMerges > 0) {
-                    String mergeSuffix = plugin.getConfig().getString("golem-factory.merge-suffix",
-                        " &7(&6{merges} fusion(s)&7)");
-                    mergeSuffix = mergeSuffix.replace("{merges}", String.valueOf(totalMerges));
-                    message += mergeSuffix;
+                    message += s.mergeSuffix().render("merges", totalMerges);
                 }
 
-                message = ChatColor.translateAlternateColorCodes('&', message);
                 player.sendMessage(message);
             }
 
-            if (playSound) {
-                player.playSound(player.getLocation(), Sound.ENTITY_IRON_GOLEM_REPAIR, 0.6f, 1.3f);
+            if (s.playSound()) {
+                plugin.getFx().sound(player, player.getLocation(), Sound.ENTITY_IRON_GOLEM_REPAIR, 0.6f, 1.3f);
             }
         });
 
         animation.start();
     }
 
-    private boolean isMatureCrop(Block block) {
-        Material type = block.getType();
+    /**
+     * Snapshot immuable de la section "golem-factory"
+     */
+    private record Settings(
+        String enchantId,
+        int maxLevel,
+        int baseGolemCount,
+        int maxGolemCount,
+        double baseScale,
+        double maxScale,
+        int basePatrolRadius,
+        int maxPatrolRadius,
+        int baseDuration,
+        int maxDuration,
+        double baseMergeChance,
+        double maxMergeChance,
+        int baseSlamRadius,
+        int maxSlamRadius,
+        boolean showParticles,
+        boolean playSound,
+        boolean clientSideOnly,
+        MessageTemplate startMessage,   // null si désactivé
+        MessageTemplate mergeMessage,   // null si désactivé
+        MessageTemplate finishMessage,  // null si désactivé
+        MessageTemplate mergeSuffix
+    ) {
+        static Settings load(FileConfiguration config) {
+            return new Settings(
+                config.getString("golem-factory.enchant-id", "golem_factory"),
+                config.getInt("golem-factory.max-level", 500),
+                config.getInt("golem-factory.base-golem-count", 2),
+                config.getInt("golem-factory.max-golem-count", 6),
+                config.getDouble("golem-factory.base-scale", 0.4),
+                config.getDouble("golem-factory.max-scale", 0.7),
+                config.getInt("golem-factory.base-patrol-radius", 5),
+                config.getInt("golem-factory.max-patrol-radius", 12),
+                config.getInt("golem-factory.base-duration", 100),
+                config.getInt("golem-factory.max-duration", 300),
+                config.getDouble("golem-factory.base-merge-chance", 5.0),
+                config.getDouble("golem-factory.max-merge-chance", 25.0),
+                config.getInt("golem-factory.base-slam-radius", 4),
+                config.getInt("golem-factory.max-slam-radius", 10),
+                config.getBoolean("golem-factory.particles", true),
+                config.getBoolean("golem-factory.sound", true),
+                config.getBoolean("golem-factory.client-side-only", true),
+                config.getBoolean("golem-factory.start-message", true)
+                    ? MessageTemplate.compile(config.getString("golem-factory.start-message-text", "&7&l🤖 &f{count} mini-golems sortent de l'usine!"))
+                    : null,
+                config.getBoolean("golem-factory.merge-message", true)
+                    ? MessageTemplate.compile(config.getString("golem-factory.merge-message-text", "&7&l🤖 &6&lFUSION! &fGolem géant créé!"))
+                    : null,
+                config.getBoolean("golem-factory.message", true)
+                    ? MessageTemplate.compile(config.getString("golem-factory.message-text", "&7&l🤖 &fLes golems ont récolté &7{count} &fcultures!"))
+                    : null,
+                MessageTemplate.compile(config.getString("golem-factory.merge-suffix", " &7(&6{merges} fusion(s)&7)"))
+            );
+        }
+
+        double levelRatio(long enchantLevel) {
+            return Math.min(1.0, (double) enchantLevel / maxLevel);
+        }
 
-        if (!CROPS.contains(type)) return false;
-        if (NO_AGE_CROPS.contains(type)) return true;
+        int golemCount(double levelRatio) {
+            return (int) (baseGolemCount + levelRatio * (maxGolemCount - baseGolemCount));
+        }
+
+        /** Taille des golems (attribut SCALE) */
+        double golemScale(double levelRatio) {
+            return baseScale + levelRatio * (maxScale - baseScale);
+        }
 
-        if (block.getBlockData() instanceof Ageable ageable) {
-            return ageable.getAge() >= ageable.getMaximumAge();
+        int patrolRadius(double levelRatio) {
+            return (int) (basePatrolRadius + levelRatio * (maxPatrolRadius - basePatrolRadius));
         }
 
-        return true;
+        int duration(double levelRatio) {
+            return (int) (baseDuration + levelRatio * (maxDuration - baseDuration));
+        }
+
+        /** Chance de fusion (%) */
+        double mergeChance(double levelRatio) {
+            return baseMergeChance + levelRatio * (maxMergeChance - baseMergeChance);
+        }
+
+        int slamRadius(double levelRatio) {
+            return (int) (baseSlamRadius + levelRatio * (maxSlamRadius - baseSlamRadius));
+        }
     }
 }
@@ -1,11 +1,11 @@
 package me.rinaorc.rinaenchants.enchant;
 
 import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import me.rinaorc.rinaenchants.util.MessageTemplate;
 import me.rinaorc.rinaenchants.util.PandaAnimation;
-import me.rivaldev.harvesterhoes.api.events.HoeEnchant;
 import org.bukkit.*;
 import org.bukkit.block.Block;
-import org.bukkit.block.data.Ageable;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Listener;
 import org.bukkit.util.Vector;
@@ -19,92 +19,24 @@ import java.util.*;
  * Système de combo avec chance configurable par niveau.
  * Client-side pour optimisation serveur 500+ joueurs.
  */
-public class PandaRollEnchant implements HoeEnchant, Listener {
+public class PandaRollEnchant implements ReloadableEnchant, Listener {
+
+    // Suffixe du message de fin quand le panda a enchaîné des combos
+    private static final MessageTemplate COMBO_SUFFIX = MessageTemplate.compile(" &7(x{combos} combos)");
 
     private final RinaEnchantsPlugin plugin;
-    private final Set<Material> CROPS = new HashSet<>();
-    private final Set<Material> NO_AGE_CROPS = new HashSet<>();
+
+    // Paramètres compilés depuis la config (remplacés d'un bloc au reload)
+    private volatile Settings settings;
 
     public PandaRollEnchant(RinaEnchantsPlugin plugin) {
         this.plugin = plugin;
-        initCrops();
-        plugin.getLogger().info("§a✓ PandaRoll: " + CROPS.size() + " types de cultures chargés!");
+        reloadSettings();
     }
-    
-    private void initCrops() {
-        // Cultures classiques
-        CROPS.add(Material.WHEAT);
-        CROPS.add(Material.CARROTS);
-        CROPS.add(Material.POTATOES);
-        CROPS.add(Material.BEETROOTS);
-        CROPS.add(Material.NETHER_WART);
-        CROPS.add(Material.COCOA);
-        CROPS.add(Material.SWEET_BERRY_BUSH);
-        
-        // Coraux
-        CROPS.add(Material.TUBE_CORAL);
-        CROPS.add(Material.BUBBLE_CORAL);
-        CROPS.add(Material.BRAIN_CORAL);
-        CROPS.add(Material.FIRE_CORAL);
-        CROPS.add(Material.HORN_CORAL);
-        CROPS.add(Material.TUBE_CORAL_BLOCK);
-        CROPS.add(Material.BUBBLE_CORAL_BLOCK);
-        CROPS.add(Material.BRAIN_CORAL_BLOCK);
-        CROPS.add(Material.FIRE_CORAL_BLOCK);
-        CROPS.add(Material.HORN_CORAL_BLOCK);
-        
-        // Racines nether
-        CROPS.add(Material.WARPED_ROOTS);
-        CROPS.add(Material.CRIMSON_ROOTS);
-        CROPS.add(Material.NETHER_SPROUTS);
-        CROPS.add(Material.TWISTING_VINES);
-        CROPS.add(Material.WEEPING_VINES);
-        
-        // Fleurs
-        CROPS.add(Material.LILAC);
-        CROPS.add(Material.ROSE_BUSH);
-        CROPS.add(Material.PEONY);
-        CROPS.add(Material.SUNFLOWER);
-        CROPS.add(Material.TALL_GRASS);
-        CROPS.add(Material.LARGE_FERN);
-        
-        // Pousses
-        CROPS.add(Material.OAK_SAPLING);
-        CROPS.add(Material.BIRCH_SAPLING);
-        CROPS.add(Material.JUNGLE_SAPLING);
-        CROPS.add(Material.SPRUCE_SAPLING);
-        CROPS.add(Material.CHERRY_SAPLING);
-        CROPS.add(Material.ACACIA_SAPLING);
-        CROPS.add(Material.DARK_OAK_SAPLING);
-        CROPS.add(Material.MANGROVE_PROPAGULE);
-        
-        // Autres
-        CROPS.add(Material.MELON);
-        CROPS.add(Material.PUMPKIN);
-        CROPS.add(Material.SUGAR_CANE);
-        CROPS.add(Material.CACTUS);
-        CROPS.add(Material.BAMBOO);
-        CROPS.add(Material.KELP);
-        CROPS.add(Material.KELP_PLANT);
-        CROPS.add(Material.SEA_PICKLE);
-        CROPS.add(Material.CHORUS_FLOWER);
-        CROPS.add(Material.CHORUS_PLANT);
-        
-        // Cultures sans âge
-        NO_AGE_CROPS.addAll(Arrays.asList(
-            Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE, Material.CACTUS,
-            Material.BAMBOO, Material.KELP, Material.KELP_PLANT,
-            Material.TUBE_CORAL, Material.BUBBLE_CORAL, Material.BRAIN_CORAL,
-            Material.FIRE_CORAL, Material.HORN_CORAL,
-            Material.TUBE_CORAL_BLOCK, Material.BUBBLE_CORAL_BLOCK, Material.BRAIN_CORAL_BLOCK,
-            Material.FIRE_CORAL_BLOCK, Material.HORN_CORAL_BLOCK,
-            Material.WARPED_ROOTS, Material.CRIMSON_ROOTS, Material.NETHER_SPROUTS,
-            Material.LILAC, Material.ROSE_BUSH, Material.PEONY, Material.SUNFLOWER,
-            Material.OAK_SAPLING, Material.BIRCH_SAPLING, Material.JUNGLE_SAPLING,
-            Material.SPRUCE_SAPLING, Material.CHERRY_SAPLING, Material.ACACIA_SAPLING,
-            Material.DARK_OAK_SAPLING, Material.MANGROVE_PROPAGULE,
-            Material.CHORUS_FLOWER, Material.CHORUS_PLANT, Material.SEA_PICKLE
-        ));
+
+    @Override
+    public void reloadSettings() {
+        this.settings = Settings.load(plugin.getConfig());
     }
     
     /**
@@ -114,14 +46,15 @@ public class PandaRollEnchant implements HoeEnchant, Listener {
 
     @Override
     public String getEnchantId() {
-        return plugin.getConfig().getString("panda-roll.enchant-id", "panda_roll");
+        return settings.enchantId();
     }
 
     @Override
     public void onEnchantProc(Player player, long hoeLevel, long hoePrestige, long enchantLevel, 
                               String enchantId, Location cropLocation, boolean isMultiHarvest) {
         
-        boolean debug = plugin.getConfig().getBoolean("debug", false);
+        Settings s = settings;
+        boolean debug = plugin.isDebug();
         
         // ═══════════════════════════════════════════════════════════
         // VÉRIFICATION ANTI-CASCADE: Empêche les proc récursifs
@@ -137,19 +70,13 @@ public class PandaRollEnchant implements HoeEnchant, Listener {
             plugin.getLogger().info("§e[DEBUG] PandaRoll proc! Niveau: " + enchantLevel);
         }
 
-        // Récupérer les paramètres de config
-        int rollDistance = plugin.getConfig().getInt("panda-roll.roll-distance", 5);
-        double comboChancePerLevel = plugin.getConfig().getDouble("panda-roll.combo-chance-per-level", 0.25);
-        boolean showParticles = plugin.getConfig().getBoolean("panda-roll.particles", true);
-        boolean playSound = plugin.getConfig().getBoolean("panda-roll.sound", true);
-        boolean clientSideOnly = plugin.getConfig().getBoolean("panda-roll.client-side-only", true);
-        
+        boolean playSound = s.playSound();
+
         // ═══════════════════════════════════════════════════════════
         // CALCUL DE LA CHANCE DE COMBO CONFIGURABLE
         // combo-chance-per-level: 0.25 signifie niveau 100 = 25% de combo
         // ═══════════════════════════════════════════════════════════
-        double comboChance = enchantLevel * comboChancePerLevel;
-        comboChance = Math.min(100.0, comboChance); // Cap à 100%
+        double comboChance = s.comboChance(enchantLevel);
         
         if (debug) {
             plugin.getLogger().info("§e[DEBUG] Chance de combo: " + comboChance + "%");
@@ -168,46 +95,39 @@ public class PandaRollEnchant implements HoeEnchant, Listener {
         Location pandaSpawn = cropLocation.clone().add(0, 0.5, 0);
         
         if (playSound) {
-            player.playSound(pandaSpawn, Sound.ENTITY_PANDA_AGGRESSIVE_AMBIENT, 1.0f, 1.0f);
+            plugin.getFx().sound(player, pandaSpawn, Sound.ENTITY_PANDA_AGGRESSIVE_AMBIENT, 1.0f, 1.0f);
         }
 
         // Créer l'animation du panda
-        PandaAnimation animation = new PandaAnimation(plugin, pandaSpawn, rollDirection, rollDistance, 
-                                                       comboChance, showParticles, player, clientSideOnly);
+        PandaAnimation animation = new PandaAnimation(plugin, pandaSpawn, rollDirection, s.rollDistance(),
+                                                       comboChance, s.showParticles(), player, s.clientSideOnly());
         
         // Callback quand le panda passe sur une culture
         animation.setOnCropHit((cropLoc) -> {
             Block block = cropLoc.getBlock();
-            if (isMatureCrop(block)) {
-                plugin.safeBreakCrop(player, cropLoc, "panda-roll");
+            if (plugin.getCropRegistry().isMature(block)) {
+                plugin.getCropPipeline().submit(player, cropLoc, "panda-roll");
             }
         });
         
         // Callback combo
         animation.setOnCombo((comboCount) -> {
-            if (plugin.getConfig().getBoolean("panda-roll.combo-message", true)) {
-                String message = plugin.getConfig().getString("panda-roll.combo-message-text", 
-                    "&d&l🐼 &5COMBO x{combo}!");
-                message = message.replace("{combo}", String.valueOf(comboCount));
-                message = ChatColor.translateAlternateColorCodes('&', message);
-                player.sendMessage(message);
+            if (s.comboMessage() != null) {
+                player.sendMessage(s.comboMessage().render("combo", comboCount));
             }
             
             if (playSound) {
-                player.playSound(player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 0.5f, 1.5f + (comboCount * 0.1f));
+                plugin.getFx().sound(player, player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 0.5f, 1.5f + (comboCount * 0.1f));
             }
         });
         
         // Callback fin
         animation.setOnFinish((totalCrops, totalCombos) -> {
-            if (plugin.getConfig().getBoolean("panda-roll.message", true) && totalCrops > 0) {
-                String message = plugin.getConfig().getString("panda-roll.message-text", 
-                    "&d&l🐼 &5Le panda a récolté &d{count} &5cultures!");
-                message = message.replace("{count}", String.valueOf(totalCrops));
+            if (s.finishMessage() != null && totalCrops > 0) {
+                String message = s.finishMessage().render("count", totalCrops);
                 if (totalCombos > 0) {
-                    message += ChatColor.translateAlternateColorCodes('&', " &7(x" + (totalCombos + 1) + " combos)");
+                    message += COMBO_SUFFIX.render("combos", totalCombos + 1);
                 }
-                message = ChatColor.translateAlternateColorCodes('&', message);
                 player.sendMessage(message);
             }
         });
@@ -225,17 +145,40 @@ public class PandaRollEnchant implements HoeEnchant, Listener {
             return new Vector(0, 0, direction.getZ() > 0 ? 1 : -1);
         }
     }
-    
-    private boolean isMatureCrop(Block block) {
-        Material type = block.getType();
-        
-        if (!CROPS.contains(type)) return false;
-        if (NO_AGE_CROPS.contains(type)) return true;
 
-        if (block.getBlockData() instanceof Ageable ageable) {
-            return ageable.getAge() >= ageable.getMaximumAge();
+    /**
+     * Snapshot immuable de la section "panda-roll"
+     */
+    private record Settings(
+        String enchantId,
+        int rollDistance,
+        double comboChancePerLevel,
+        boolean showParticles,
+        boolean playSound,
+        boolean clientSideOnly,
+        MessageTemplate comboMessage,   // null si désactivé
+        MessageTemplate finishMessage   // null si désactivé
+    ) {
+        static Settings load(FileConfiguration config) {
+            return new Settings(
+                config.getString("panda-roll.enchant-id", "panda_roll"),
+                config.getInt("panda-roll.roll-distance", 5),
+                config.getDouble("panda-roll.combo-chance-per-level", 0.25),
+                config.getBoolean("panda-roll.particles", true),
+                config.getBoolean("panda-roll.sound", true),
+                config.getBoolean("panda-roll.client-side-only", true),
+                config.getBoolean("panda-roll.combo-message", true)
+                    ? MessageTemplate.compile(config.getString("panda-roll.combo-message-text", "&d&l🐼 &5COMBO x{combo}!"))
+                    : null,
+                config.getBoolean("panda-roll.message", true)
+                    ? MessageTemplate.compile(config.getString("panda-roll.message-text", "&d&l🐼 &5Le panda a récolté &d{count} &5cultures!"))
+                    : null
+            );
         }
 
-        return true;
+        /** Chance de combo en %, plafonnée à 100 */
+        double comboChance(long enchantLevel) {
+            return Math.min(100.0, enchantLevel * comboChancePerLevel);
+        }
     }
 }
@@ -0,0 +1,18 @@
+package me.rinaorc.rinaenchants.enchant;
+
+import me.rivaldev.harvesterhoes.api.events.HoeEnchant;
+
+/**
+ * Enchantement dont les paramètres sont compilés depuis la config.
+ *
+ * Chaque enchantement garde un snapshot immuable de sa section (valeurs
+ * typées, messages pré-colorés) et le remplace d'un bloc au reload:
+ * un proc ne fait plus aucune lecture dans l'arbre YAML.
+ */
+public interface ReloadableEnchant extends HoeEnchant {
+
+    /**
+     * Recompile la section de config et remplace le snapshot courant
+     */
+    void reloadSettings();
+}
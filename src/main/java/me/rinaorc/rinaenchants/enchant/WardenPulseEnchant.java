@@ -1,11 +1,10 @@
 package me.rinaorc.rinaenchants.enchant;
 
 import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import me.rinaorc.rinaenchants.util.MessageTemplate;
 import me.rinaorc.rinaenchants.util.WardenPulseAnimation;
-import me.rivaldev.harvesterhoes.api.events.HoeEnchant;
 import org.bukkit.*;
-import org.bukkit.block.Block;
-import org.bukkit.block.data.Ageable;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Listener;
 
@@ -31,104 +30,34 @@ import java.util.*;
  *
  * Client-side pour optimisation serveur 500+ joueurs.
  */
-public class WardenPulseEnchant implements HoeEnchant, Listener {
+public class WardenPulseEnchant implements ReloadableEnchant, Listener {
 
     private final RinaEnchantsPlugin plugin;
-    private final Set<Material> CROPS = new HashSet<>();
-    private final Set<Material> NO_AGE_CROPS = new HashSet<>();
+
+    // Paramètres compilés depuis la config (remplacés d'un bloc au reload)
+    private volatile Settings settings;
 
     public WardenPulseEnchant(RinaEnchantsPlugin plugin) {
         this.plugin = plugin;
-        initCrops();
-        plugin.getLogger().info("§a✓ WardenPulse: " + CROPS.size() + " types de cultures chargés!");
+        reloadSettings();
     }
 
-    private void initCrops() {
-        // Cultures classiques
-        CROPS.add(Material.WHEAT);
-        CROPS.add(Material.CARROTS);
-        CROPS.add(Material.POTATOES);
-        CROPS.add(Material.BEETROOTS);
-        CROPS.add(Material.NETHER_WART);
-        CROPS.add(Material.COCOA);
-        CROPS.add(Material.SWEET_BERRY_BUSH);
-
-        // Coraux
-        CROPS.add(Material.TUBE_CORAL);
-        CROPS.add(Material.BUBBLE_CORAL);
-        CROPS.add(Material.BRAIN_CORAL);
-        CROPS.add(Material.FIRE_CORAL);
-        CROPS.add(Material.HORN_CORAL);
-        CROPS.add(Material.TUBE_CORAL_BLOCK);
-        CROPS.add(Material.BUBBLE_CORAL_BLOCK);
-        CROPS.add(Material.BRAIN_CORAL_BLOCK);
-        CROPS.add(Material.FIRE_CORAL_BLOCK);
-        CROPS.add(Material.HORN_CORAL_BLOCK);
-
-        // Racines nether
-        CROPS.add(Material.WARPED_ROOTS);
-        CROPS.add(Material.CRIMSON_ROOTS);
-        CROPS.add(Material.NETHER_SPROUTS);
-        CROPS.add(Material.TWISTING_VINES);
-        CROPS.add(Material.WEEPING_VINES);
-
-        // Fleurs
-        CROPS.add(Material.LILAC);
-        CROPS.add(Material.ROSE_BUSH);
-        CROPS.add(Material.PEONY);
-        CROPS.add(Material.SUNFLOWER);
-        CROPS.add(Material.TALL_GRASS);
-        CROPS.add(Material.LARGE_FERN);
-
-        // Pousses
-        CROPS.add(Material.OAK_SAPLING);
-        CROPS.add(Material.BIRCH_SAPLING);
-        CROPS.add(Material.JUNGLE_SAPLING);
-        CROPS.add(Material.SPRUCE_SAPLING);
-        CROPS.add(Material.CHERRY_SAPLING);
-        CROPS.add(Material.ACACIA_SAPLING);
-        CROPS.add(Material.DARK_OAK_SAPLING);
-        CROPS.add(Material.MANGROVE_PROPAGULE);
-
-        // Autres
-        CROPS.add(Material.MELON);
-        CROPS.add(Material.PUMPKIN);
-        CROPS.add(Material.SUGAR_CANE);
-        CROPS.add(Material.CACTUS);
-        CROPS.add(Material.BAMBOO);
-        CROPS.add(Material.KELP);
-        CROPS.add(Material.KELP_PLANT);
-        CROPS.add(Material.SEA_PICKLE);
-        CROPS.add(Material.CHORUS_FLOWER);
-        CROPS.add(Material.CHORUS_PLANT);
-
-        // Cultures sans âge
-        NO_AGE_CROPS.addAll(Arrays.asList(
-            Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE, Material.CACTUS,
-            Material.BAMBOO, Material.KELP, Material.KELP_PLANT,
-            Material.TUBE_CORAL, Material.BUBBLE_CORAL, Material.BRAIN_CORAL,
-            Material.FIRE_CORAL, Material.HORN_CORAL,
-            Material.TUBE_CORAL_BLOCK, Material.BUBBLE_CORAL_BLOCK, Material.BRAIN_CORAL_BLOCK,
-            Material.FIRE_CORAL_BLOCK, Material.HORN_CORAL_BLOCK,
-            Material.WARPED_ROOTS, Material.CRIMSON_ROOTS, Material.NETHER_SPROUTS,
-            Material.LILAC, Material.ROSE_BUSH, Material.PEONY, Material.SUNFLOWER,
-            Material.OAK_SAPLING, Material.BIRCH_SAPLING, Material.JUNGLE_SAPLING,
-            Material.SPRUCE_SAPLING, Material.CHERRY_SAPLING, Material.ACACIA_SAPLING,
-            Material.DARK_OAK_SAPLING, Material.MANGROVE_PROPAGULE,
-            Material.CHORUS_FLOWER, Material.CHORUS_PLANT, Material.SEA_PICKLE
-        ));
+    @Override
+    public void reloadSettings() {
+        this.settings = Settings.load(plugin.getConfig());
     }
 
     @Override
     public String getEnchantId() {
-        return plugin.getConfig().getString("warden-pulse.enchant-id", "warden_pulse");
+        return settings.enchantId();
     }
 
     @Override
     public void onEnchantProc(Player player, long hoeLevel, long hoePrestige, long enchantLevel,
                               String enchantId, Location cropLocation, boolean isMultiHarvest) {
 
-        boolean debug = plugin.getConfig().getBoolean("debug", false);
+        Settings s = settings;
+        boolean debug = plugin.isDebug();
 
         // ═══════════════════════════════════════════════════════════
         // VÉRIFICATION ANTI-CASCADE: Empêche les proc récursifs
@@ -145,25 +74,12 @@ public class WardenPulseEnchant implements HoeEnchant, Listener {
         }
 
         // ═══════════════════════════════════════════════════════════
-        // RÉCUPÉRER LES PARAMÈTRES DE CONFIG
+        // CALCUL DES VALEURS SELON LE NIVEAU
         // ═══════════════════════════════════════════════════════════
 
-        int maxLevel = plugin.getConfig().getInt("warden-pulse.max-level", 2000);
-        double levelRatio = Math.min(1.0, (double) enchantLevel / maxLevel);
-
-        // Rayon maximum de l'onde unique
-        int baseMaxRadius = plugin.getConfig().getInt("warden-pulse.base-max-radius", 8);
-        int maxMaxRadius = plugin.getConfig().getInt("warden-pulse.max-max-radius", 25);
-        int maxPulseRadius = (int) (baseMaxRadius + levelRatio * (maxMaxRadius - baseMaxRadius));
-
-        // Vitesse d'expansion de l'onde (blocs par seconde)
-        int baseExpandSpeed = plugin.getConfig().getInt("warden-pulse.base-expand-speed", 8);
-        int maxExpandSpeed = plugin.getConfig().getInt("warden-pulse.max-expand-speed", 20);
-        int pulseExpandSpeed = (int) (baseExpandSpeed + levelRatio * (maxExpandSpeed - baseExpandSpeed));
-
-        boolean showParticles = plugin.getConfig().getBoolean("warden-pulse.particles", true);
-        boolean playSound = plugin.getConfig().getBoolean("warden-pulse.sound", true);
-        boolean clientSideOnly = plugin.getConfig().getBoolean("warden-pulse.client-side-only", true);
+        double levelRatio = s.levelRatio(enchantLevel);
+        int maxPulseRadius = s.maxPulseRadius(levelRatio);
+        int pulseExpandSpeed = s.pulseExpandSpeed(levelRatio);
 
         if (debug) {
             plugin.getLogger().info("§e[DEBUG] WardenPulse - Rayon max: " + maxPulseRadius +
@@ -177,11 +93,8 @@ public class WardenPulseEnchant implements HoeEnchant, Listener {
         // MESSAGE DE DÉBUT
         // ═══════════════════════════════════════════════════════════
 
-        if (plugin.getConfig().getBoolean("warden-pulse.start-message", true)) {
-            String message = plugin.getConfig().getString("warden-pulse.start-message-text",
-                "&8&l🔊 &7Le &8Warden &7émerge des profondeurs...");
-            message = ChatColor.translateAlternateColorCodes('&', message);
-            player.sendMessage(message);
+        if (s.startMessage() != null) {
+            player.sendMessage(s.startMessage().render());
         }
 
         // ═══════════════════════════════════════════════════════════
@@ -191,67 +104,99 @@ public class WardenPulseEnchant implements HoeEnchant, Listener {
         WardenPulseAnimation animation = new WardenPulseAnimation(
             plugin, cropLocation, player,
             maxPulseRadius, pulseExpandSpeed,
-            showParticles, clientSideOnly
+            s.showParticles(), s.clientSideOnly()
         );
 
         // Callback quand une culture est récoltée
+        // (cassage différé dans la pipeline, la maturité y est vérifiée)
         animation.setOnCropHit((cropLoc) -> {
-            Block block = cropLoc.getBlock();
-            if (isMatureCrop(block)) {
-                plugin.safeBreakCrop(player, cropLoc, "warden-pulse");
-            }
+            plugin.getCropPipeline().submit(player, cropLoc, "warden-pulse");
         });
 
         // Callback résonance
         animation.setOnResonance((resonanceCount) -> {
-            if (plugin.getConfig().getBoolean("warden-pulse.resonance-message", true)) {
+            if (s.resonanceMessage() != null) {
                 // Message uniquement toutes les 5 résonances pour ne pas spam
                 if (resonanceCount % 5 == 0) {
-                    String message = plugin.getConfig().getString("warden-pulse.resonance-message-text",
-                        "&8&l🔊 &5RÉSONANCE! &7x{count}");
-                    message = message.replace("{count}", String.valueOf(resonanceCount));
-                    message = ChatColor.translateAlternateColorCodes('&', message);
-                    player.sendMessage(message);
+                    player.sendMessage(s.resonanceMessage().render("count", resonanceCount));
                 }
             }
         });
 
         // Callback fin
         animation.setOnFinish((totalCrops, totalResonances) -> {
-            if (plugin.getConfig().getBoolean("warden-pulse.message", true) && totalCrops > 0) {
-                String message = plugin.getConfig().getString("warden-pulse.message-text",
-                    "&8&l🔊 &7Les ondes du Warden ont récolté &8{count} &7cultures!");
-                message = message.replace("{count}", String.valueOf(totalCrops));
+            if (s.finishMessage() != null && totalCrops > 0) {
+                String message = s.finishMessage().render("count", totalCrops);
 
                 if (totalResonances > 0) {
-                    String resonanceSuffix = plugin.getConfig().getString("warden-pulse.resonance-suffix",
-                        " &7(&5{resonances} résonances&7)");
-                    resonanceSuffix = resonanceSuffix.replace("{resonances}", String.valueOf(totalResonances));
-                    message += resonanceSuffix;
+                    message += s.resonanceSuffix().render("resonances", totalResonances);
                 }
 
-                message = ChatColor.translateAlternateColorCodes('&', message);
                 player.sendMessage(message);
             }
 
-            if (playSound) {
-                player.playSound(player.getLocation(), Sound.BLOCK_SCULK_SHRIEKER_SHRIEK, 0.4f, 1.5f);
+            if (s.playSound()) {
+                plugin.getFx().sound(player, player.getLocation(), Sound.BLOCK_SCULK_SHRIEKER_SHRIEK, 0.4f, 1.5f);
             }
         });
 
         animation.start();
     }
 
-    private boolean isMatureCrop(Block block) {
-        Material type = block.getType();
+    /**
+     * Snapshot immuable de la section "warden-pulse"
+     */
+    private record Settings(
+        String enchantId,
+        int maxLevel,
+        int baseMaxRadius,
+        int maxMaxRadius,
+        int baseExpandSpeed,
+        int maxExpandSpeed,
+        boolean showParticles,
+        boolean playSound,
+        boolean clientSideOnly,
+        MessageTemplate startMessage,       // null si désactivé
+        MessageTemplate resonanceMessage,   // null si désactivé
+        MessageTemplate finishMessage,      // null si désactivé
+        MessageTemplate resonanceSuffix
+    ) {
+        static Settings load(FileConfiguration config) {
+            return new Settings(
+                config.getString("warden-pulse.enchant-id", "warden_pulse"),
+                config.getInt("warden-pulse.max-level", 2000),
+                config.getInt("warden-pulse.base-max-radius", 8),
+                config.getInt("warden-pulse.max-max-radius", 25),
+                config.getInt("warden-pulse.base-expand-speed", 8),
+                config.getInt("warden-pulse.max-expand-speed", 20),
+                config.getBoolean("warden-pulse.particles", true),
+                config.getBoolean("warden-pulse.sound", true),
+                config.getBoolean("warden-pulse.client-side-only", true),
+                config.getBoolean("warden-pulse.start-message", true)
+                    ? MessageTemplate.compile(config.getString("warden-pulse.start-message-text", "&8&l🔊 &7Le &8Warden &7émerge des profondeurs..."))
+                    : null,
+                config.getBoolean("warden-pulse.resonance-message", true)
+                    ? MessageTemplate.compile(config.getString("warden-pulse.resonance-message-text", "&8&l🔊 &5RÉSONANCE! &7x{count}"))
+                    : null,
+                config.getBoolean("warden-pulse.message", true)
+                    ? MessageTemplate.compile(config.getString("warden-pulse.message-text", "&8&l🔊 &7Les ondes du Warden ont récolté &8{count} &7cultures!"))
+                    : null,
+                MessageTemplate.compile(config.getString("warden-pulse.resonance-suffix", " &7(&5{resonances} résonances&7)"))
+            );
+        }
 
-        if (!CROPS.contains(type)) return false;
-        if (NO_AGE_CROPS.contains(type)) return true;
+        double levelRatio(long enchantLevel) {
+            return Math.min(1.0, (double) enchantLevel / maxLevel);
+        }
 
-        if (block.getBlockData() instanceof Ageable ageable) {
-            return ageable.getAge() >= ageable.getMaximumAge();
+        /** Rayon maximum de l'onde unique */
+        int maxPulseRadius(double levelRatio) {
+            return (int) (baseMaxRadius + levelRatio * (maxMaxRadius - baseMaxRadius));
         }
 
-        return true;
+        /** Vitesse d'expansion de l'onde (blocs par seconde) */
+        int pulseExpandSpeed(double levelRatio) {
+            return (int) (baseExpandSpeed + levelRatio * (maxExpandSpeed - baseExpandSpeed));
+        }
     }
 }
@@ -1,42 +1,72 @@
 package me.rinaorc.rinaenchants.listener;
 
 import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import me.rinaorc.rinaenchants.util.CommandXpSink;
+import me.rinaorc.rinaenchants.util.CyberLevelsApiSink;
+import me.rinaorc.rinaenchants.util.FlightEvents;
+import me.rinaorc.rinaenchants.util.MemoryXpSink;
+import me.rinaorc.rinaenchants.util.XpAccumulator;
+import me.rinaorc.rinaenchants.util.XpLedger;
+import me.rinaorc.rinaenchants.util.XpSink;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Listener pour le système d'XP CyberLevel des enchantements
  *
  * Système avec XP par enchantement:
  * - Chaque enchantement a sa propre valeur XP (cyber-level-xp-per-block)
- * - L'XP est accumulé en async puis donné par batch via /cyberlevel addExp
+ * - L'XP est accumulé par joueur (XpAccumulator) puis donné par lot à un XpSink
+ *
+ * OPTIMISATION: Par défaut l'XP passe directement par l'API CyberLevels
+ * (CyberLevelsApiSink) au lieu d'une commande console par joueur. La
+ * commande /cyberlevel addExp reste le secours (API introuvable, joueur pas
+ * encore chargé par CyberLevels).
+ *
+ * L'XP qui ne peut pas être donné (joueur parti, CyberLevels indisponible)
+ * est gardé dans le registre sur disque (XpLedger) et donné dès que possible,
+ * y compris après un redémarrage.
  */
 public class CyberLevelXPListener implements Listener {
 
     private final RinaEnchantsPlugin plugin;
 
     // ═══════════════════════════════════════════════════════════════════════
-    // SYSTÈME DE QUEUE ASYNC POUR L'XP
+    // ACCUMULATION DE L'XP
     // ═══════════════════════════════════════════════════════════════════════
 
-    // Queue des XP à donner (thread-safe)
-    private final ConcurrentLinkedQueue<XPQueueEntry> xpQueue = new ConcurrentLinkedQueue<>();
+    // XP en attente par joueur (thread-safe, sans allocation par culture)
+    private final XpAccumulator accumulator = new XpAccumulator();
 
-    // XP accumulé par joueur (pour batch processing) - Long pour supporter les grandes valeurs
-    private final ConcurrentHashMap<UUID, Long> accumulatedXP = new ConcurrentHashMap<>();
+    // XP dû mais pas encore donné, conservé sur disque
+    private final XpLedger ledger;
 
-    // Intervalle de processing en ticks (5 ticks = 250ms)
-    private static final long XP_PROCESS_INTERVAL = 5L;
+    // Intervalle de flush en ticks (10 ticks = 500ms)
+    private static final long XP_FLUSH_INTERVAL = 10L;
 
     // Map des XP par bloc pour chaque enchantement (chargé depuis la config)
-    private final Map<String, Long> xpPerBlockByEnchant = new HashMap<>();
+    // Map immuable remplacée d'un bloc au reload
+    private volatile Map<String, Long> xpPerBlockByEnchant = Map.of();
+
+    // Hook activé (mis en cache pour éviter une lecture de config par culture)
+    private volatile boolean hookEnabled = false;
+
+    // Après un échec, l'XP du registre n'est réessayé qu'après retry-interval-seconds
+    // (ou dès que CyberLevels est réactivé)
+    private long owedRetryIntervalNanos = 30_000_000_000L;
+    private boolean owedBackoff = false;
+    private long nextOwedRetry;
 
     // Liste des sections d'enchantements à charger
     private static final String[] ENCHANT_SECTIONS = {
@@ -52,74 +82,96 @@ public class CyberLevelXPListener implements Listener {
         "frog-tongue-lash"
     };
 
+    public enum SinkMode { API, COMMAND, MEMORY }
+
+    // Destinations de l'XP
+    private final CyberLevelsApiSink apiSink;
+    private final CommandXpSink commandSink;
+    private MemoryXpSink memorySink;
+    private SinkMode sinkMode = SinkMode.API;
+
+    // Lot du flush courant (tableaux réutilisés d'un flush à l'autre)
+    private Player[] batchPlayers = new Player[32];
+    private long[] batchAmounts = new long[32];
+    private boolean[] batchGranted = new boolean[32];
+    private int batchCount;
+
+    // Référence de méthode créée une fois (pas de lambda allouée par flush)
+    private final XpAccumulator.Drain collector = this::collect;
+
+    // Statistiques
+    private long grants = 0;
+    private long xpGranted = 0;
+    private long commandFallbacks = 0;
+    private long failedGrants = 0;
+    private long batches = 0;
+    private double avgBatchNanos = 0.0;
+
+    // Débit mesuré sur des fenêtres d'au moins une seconde
+    private long windowStart = System.nanoTime();
+    private long windowGrants = 0;
+    private long windowXp = 0;
+    private double grantsPerSecond = 0.0;
+    private double xpPerSecond = 0.0;
+
     public CyberLevelXPListener(RinaEnchantsPlugin plugin) {
         this.plugin = plugin;
+        this.apiSink = new CyberLevelsApiSink(plugin);
+        this.commandSink = new CommandXpSink(plugin);
+        this.ledger = new XpLedger(plugin);
         loadConfig();
+        apiSink.bind();
+        ledger.start();
 
         // ═══════════════════════════════════════════════════════════════════════
-        // TASK ASYNC: Traite la queue d'XP et accumule par joueur
-        // ═══════════════════════════════════════════════════════════════════════
-        plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, () -> {
-            XPQueueEntry entry;
-            while ((entry = xpQueue.poll()) != null) {
-                accumulatedXP.merge(entry.playerId, entry.xpAmount, Long::sum);
-            }
-        }, XP_PROCESS_INTERVAL, XP_PROCESS_INTERVAL);
-
-        // ═══════════════════════════════════════════════════════════════════════
-        // TASK SYNC: Donne l'XP accumulé via la commande CyberLevel
+        // TASK SYNC: Donne l'XP accumulé, un lot par flush
         // ═══════════════════════════════════════════════════════════════════════
-        plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
-            if (accumulatedXP.isEmpty()) return;
-
-            // Copier et vider l'accumulation
-            Map<UUID, Long> toProcess = new HashMap<>(accumulatedXP);
-            accumulatedXP.clear();
-
-            for (Map.Entry<UUID, Long> xpEntry : toProcess.entrySet()) {
-                Player player = Bukkit.getPlayer(xpEntry.getKey());
-                if (player != null && player.isOnline()) {
-                    long xp = xpEntry.getValue();
-                    if (xp > 0) {
-                        // Utilise /cyberlevel addExp <amount> <player>
-                        String command = "cyberlevel addExp " + xp + " " + player.getName();
-                        Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command);
-
-                        if (plugin.getConfig().getBoolean("debug", false)) {
-                            plugin.getLogger().info("§a[CyberLevel] XP batch donné: " + xp + " à " + player.getName());
-                        }
-                    }
-                }
-            }
-        }, XP_PROCESS_INTERVAL * 2, XP_PROCESS_INTERVAL * 2);
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::flush, XP_FLUSH_INTERVAL, XP_FLUSH_INTERVAL);
 
         plugin.getLogger().info("§a[CyberLevel] Listener XP initialisé avec XP par enchantement");
-        plugin.getLogger().info("§a[CyberLevel] Système de queue async activé (batch processing)");
+        plugin.getLogger().info("§a[CyberLevel] XP donné par lot (sink: " + getSinkName() + ")");
     }
 
     /**
      * Charge la configuration - XP par enchantement
      */
     public void loadConfig() {
-        xpPerBlockByEnchant.clear();
+        hookEnabled = plugin.getConfig().getBoolean("cyberlevels-hook.enabled", false);
 
-        if (!plugin.getConfig().getBoolean("cyberlevels-hook.enabled", false)) {
+        String mode = plugin.getConfig().getString("cyberlevels-hook.sink", "API");
+        try {
+            sinkMode = SinkMode.valueOf(mode.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("cyberlevels-hook.sink invalide: " + mode + " (API, COMMAND ou MEMORY), API utilisé");
+            sinkMode = SinkMode.API;
+        }
+        if (sinkMode == SinkMode.MEMORY && memorySink == null) {
+            memorySink = new MemoryXpSink();
+        }
+        apiSink.setApplyMultiplier(plugin.getConfig().getBoolean("cyberlevels-hook.apply-multiplier", false));
+        owedRetryIntervalNanos = Math.max(1L,
+            plugin.getConfig().getLong("cyberlevels-hook.ledger.retry-interval-seconds", 30L)) * 1_000_000_000L;
+
+        if (!hookEnabled) {
+            xpPerBlockByEnchant = Map.of();
             plugin.getLogger().info("§e[CyberLevel] Hook désactivé dans la config");
             return;
         }
 
-        boolean debug = plugin.getConfig().getBoolean("debug", false);
+        boolean debug = plugin.isDebug();
 
         // Charger l'XP de chaque enchantement
+        Map<String, Long> xpMap = new HashMap<>();
         for (String enchantSection : ENCHANT_SECTIONS) {
             String configPath = enchantSection + ".cyber-level-xp-per-block";
             long xp = plugin.getConfig().getLong(configPath, 200);
-            xpPerBlockByEnchant.put(enchantSection, xp);
+            xpMap.put(enchantSection, xp);
 
             if (debug) {
                 plugin.getLogger().info("§a[CyberLevel] " + enchantSection + " XP par bloc: " + xp);
             }
         }
+        xpPerBlockByEnchant = Map.copyOf(xpMap);
     }
 
     /**
@@ -131,7 +183,16 @@ public class CyberLevelXPListener implements Listener {
      * @param enchantId L'ID de la section d'enchantement (ex: "panda-roll", "bee-collector")
      */
     public void queueXPForCrop(Player player, String enchantId) {
-        if (!plugin.getConfig().getBoolean("cyberlevels-hook.enabled", false)) {
+        queueXPForCrops(player, enchantId, 1);
+    }
+
+    /**
+     * Queue l'XP pour plusieurs cultures cassées d'un coup (récolte groupée)
+     *
+     * @param crops Nombre de cultures réellement cassées
+     */
+    public void queueXPForCrops(Player player, String enchantId, int crops) {
+        if (!hookEnabled || crops <= 0) {
             return;
         }
 
@@ -145,12 +206,239 @@ public class CyberLevelXPListener implements Listener {
             return;
         }
 
-        // Ajouter à la queue (thread-safe, sera traité en batch)
-        xpQueue.offer(new XPQueueEntry(player.getUniqueId(), xpPerBlock));
+        // Ajouter au compteur du joueur (thread-safe, sera donné au prochain flush)
+        long xp = xpPerBlock * crops;
+        accumulator.add(player.getUniqueId(), xp);
+
+        if (plugin.isDebug()) {
+            plugin.getLogger().info("§a[CyberLevel] XP ajouté à la queue: " + xp + " (" + enchantId + ", " + crops + " culture(s)) pour " + player.getName());
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // DISTRIBUTION PAR LOT
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Donne l'XP accumulé de tous les joueurs en ligne, en un lot
+     */
+    private void flush() {
+        long now = System.nanoTime();
+        updateRates(now);
+
+        FlightEvents.XpFlush event = null;
+        if (FlightEvents.isXpFlushEnabled()) {
+            event = new FlightEvents.XpFlush();
+            event.begin();
+        }
+        long grantsBefore = grants;
+        long xpBefore = xpGranted;
+        long failedBefore = failedGrants;
+        long recordedBefore = ledger.getRecorded();
+
+        // XP dû des flushs précédents (ou d'avant le redémarrage) en premier
+        if (hookEnabled && ledger.hasPending() && (!owedBackoff || now - nextOwedRetry >= 0)) {
+            grantOwed(now);
+        }
+
+        if (!accumulator.isEmpty()) {
+            // Chaque compteur est lu et remis à zéro une seule fois
+            batchCount = 0;
+            accumulator.drain(collector);
+            grantBatch(batchCount);
+            for (int i = 0; i < batchCount; i++) {
+                if (!batchGranted[i]) {
+                    ledger.record(batchPlayers[i].getUniqueId(), batchAmounts[i]);
+                }
+                batchPlayers[i] = null;
+            }
+        }
+
+        // Group commit: les lignes de tout le flush en une écriture
+        ledger.commit();
+
+        if (event != null) {
+            event.finish(getSinkName(), grants - grantsBefore, xpGranted - xpBefore,
+                failedGrants - failedBefore, ledger.getRecorded() - recordedBefore);
+        }
+    }
+
+    /**
+     * Donne l'XP du registre aux joueurs en ligne, entrées marquées si le don réussit.
+     * Un échec suspend les nouvelles tentatives pendant retry-interval-seconds.
+     */
+    private void grantOwed(long now) {
+        boolean failed = false;
+        batchCount = 0;
+        for (UUID playerId : ledger.pendingPlayers()) {
+            Player player = Bukkit.getPlayer(playerId);
+            if (player == null || !player.isOnline()) continue;
+            ensureBatchCapacity(batchCount + 1);
+            batchPlayers[batchCount] = player;
+            batchAmounts[batchCount] = ledger.pendingFor(playerId);
+            batchCount++;
+        }
+        grantBatch(batchCount);
+        for (int i = 0; i < batchCount; i++) {
+            if (batchGranted[i]) {
+                ledger.settle(batchPlayers[i].getUniqueId());
+            } else {
+                failed = true;
+            }
+            batchPlayers[i] = null;
+        }
+        if (failed) {
+            owedBackoff = true;
+            nextOwedRetry = now + owedRetryIntervalNanos;
+        }
+    }
 
-        if (plugin.getConfig().getBoolean("debug", false)) {
-            plugin.getLogger().info("§a[CyberLevel] XP ajouté à la queue: " + xpPerBlock + " (" + enchantId + ") pour " + player.getName());
+    /**
+     * Ajoute l'XP drainé d'un joueur au lot courant
+     */
+    private void collect(UUID playerId, long xp) {
+        Player player = Bukkit.getPlayer(playerId);
+        if (player == null || !player.isOnline()) {
+            // Joueur parti sans passer par PlayerLifecycleManager: XP gardé dans le registre
+            ledger.record(playerId, xp + accumulator.remove(playerId));
+            return;
         }
+        if (xp <= 0) return;
+        ensureBatchCapacity(batchCount + 1);
+        batchPlayers[batchCount] = player;
+        batchAmounts[batchCount] = xp;
+        batchCount++;
+    }
+
+    private void ensureBatchCapacity(int required) {
+        if (required <= batchPlayers.length) return;
+        int capacity = Math.max(required, batchPlayers.length * 2);
+        batchPlayers = Arrays.copyOf(batchPlayers, capacity);
+        batchAmounts = Arrays.copyOf(batchAmounts, capacity);
+        batchGranted = Arrays.copyOf(batchGranted, capacity);
+    }
+
+    /**
+     * Remet les count premières entrées du lot au sink, la commande en secours.
+     * batchGranted indique ensuite, pour chaque entrée, si l'XP a été donné.
+     */
+    private void grantBatch(int count) {
+        if (count == 0) return;
+        long start = System.nanoTime();
+
+        XpSink primary = primarySink();
+        Arrays.fill(batchGranted, 0, count, false);
+        if (primary.isAvailable()) {
+            primary.grantBatch(batchPlayers, batchAmounts, batchGranted, count);
+        }
+
+        boolean debug = plugin.isDebug();
+        for (int i = 0; i < count; i++) {
+            Player player = batchPlayers[i];
+            long xp = batchAmounts[i];
+            boolean granted = batchGranted[i];
+
+            if (!granted && primary != commandSink && sinkMode == SinkMode.API && commandSink.isAvailable()) {
+                granted = commandSink.grant(player, xp);
+                if (granted) commandFallbacks++;
+                batchGranted[i] = granted;
+            }
+
+            if (granted) {
+                grants++;
+                xpGranted += xp;
+                windowGrants++;
+                windowXp += xp;
+                if (debug) {
+                    plugin.getLogger().info("§a[CyberLevel] XP batch donné: " + xp + " à " + player.getName());
+                }
+            } else {
+                failedGrants++;
+            }
+        }
+
+        batches++;
+        avgBatchNanos += ((System.nanoTime() - start) - avgBatchNanos) * 0.1;
+    }
+
+    private void updateRates(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed >= 1_000_000_000L) {
+            grantsPerSecond = windowGrants * 1e9 / elapsed;
+            xpPerSecond = windowXp * 1e9 / elapsed;
+            windowGrants = 0;
+            windowXp = 0;
+            windowStart = now;
+        }
+    }
+
+    private XpSink primarySink() {
+        return switch (sinkMode) {
+            case API -> apiSink.isAvailable() ? apiSink : commandSink;
+            case COMMAND -> commandSink;
+            case MEMORY -> memorySink;
+        };
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginEnable(PluginEnableEvent event) {
+        if (event.getPlugin().getName().equals("CyberLevels")) {
+            apiSink.bind();
+            owedBackoff = false;
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginDisable(PluginDisableEvent event) {
+        if (event.getPlugin().getName().equals("CyberLevels")) {
+            // Ne pas garder de références vers l'ancien classloader
+            apiSink.unbind();
+        }
+    }
+
+    /**
+     * Donne tout de suite l'XP en attente d'un joueur (déconnexion, changement de monde)
+     * et libère son entrée. Thread principal, le joueur doit encore être en ligne.
+     *
+     * @return XP donné
+     */
+    public long flushPlayer(Player player) {
+        UUID playerId = player.getUniqueId();
+        long xp = accumulator.remove(playerId);
+        long owed = hookEnabled ? ledger.pendingFor(playerId) : 0L;
+        if (xp + owed <= 0) return 0L;
+
+        batchPlayers[0] = player;
+        batchAmounts[0] = xp + owed;
+        grantBatch(1);
+        batchPlayers[0] = null;
+
+        long granted = 0L;
+        if (batchGranted[0]) {
+            ledger.settle(playerId);
+            granted = xp + owed;
+        } else {
+            // Non donné: gardé dans le registre pour sa prochaine connexion
+            ledger.record(playerId, xp);
+        }
+        ledger.commit();
+        return granted;
+    }
+
+    /**
+     * Arrêt du plugin: donne l'XP en attente aux joueurs en ligne, le reste
+     * est écrit dans le registre avant sa fermeture
+     */
+    public void stop() {
+        flush();
+        ledger.stop();
+    }
+
+    /**
+     * XP en attente pour un joueur (accumulé + dû dans le registre)
+     */
+    public long getPendingXP(UUID playerId) {
+        return accumulator.get(playerId) + ledger.pendingFor(playerId);
     }
 
     /**
@@ -158,6 +446,7 @@ public class CyberLevelXPListener implements Listener {
      */
     public void reload() {
         loadConfig();
+        ledger.loadConfig();
     }
 
     /**
@@ -167,16 +456,62 @@ public class CyberLevelXPListener implements Listener {
         return xpPerBlockByEnchant.getOrDefault(enchantId, 200L);
     }
 
-    /**
-     * Entrée dans la queue d'XP à donner
-     */
-    private static class XPQueueEntry {
-        final UUID playerId;
-        final long xpAmount;
+    // ═══════════════════════════════════════════════════════════════════════
+    // STATISTIQUES
+    // ═══════════════════════════════════════════════════════════════════════
 
-        XPQueueEntry(UUID playerId, long xpAmount) {
-            this.playerId = playerId;
-            this.xpAmount = xpAmount;
-        }
+    /** Sink utilisé au prochain flush */
+    public String getSinkName() {
+        return primarySink().getName();
+    }
+
+    public boolean isApiBound() {
+        return apiSink.isAvailable();
+    }
+
+    /** XP donné par joueur et par flush */
+    public long getGrants() {
+        return grants;
+    }
+
+    public long getXpGranted() {
+        return xpGranted;
+    }
+
+    /** XP donné par la commande après un échec de l'API */
+    public long getCommandFallbacks() {
+        return commandFallbacks;
+    }
+
+    /** Dons échoués sur tous les sinks (XP gardé dans le registre, XpLedger) */
+    public long getFailedGrants() {
+        return failedGrants;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    /** Coût moyen d'un lot */
+    public double getAverageBatchNanos() {
+        return avgBatchNanos;
+    }
+
+    /** Dons par seconde (dernière fenêtre d'au moins une seconde) */
+    public double getGrantsPerSecond() {
+        return grantsPerSecond;
+    }
+
+    public double getXpPerSecond() {
+        return xpPerSecond;
+    }
+
+    public XpLedger getLedger() {
+        return ledger;
+    }
+
+    /** Sink mémoire (null hors mode MEMORY) */
+    public MemoryXpSink getMemorySink() {
+        return memorySink;
     }
 }
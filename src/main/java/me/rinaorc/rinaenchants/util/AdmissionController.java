@@ -0,0 +1,567 @@
+package me.rinaorc.rinaenchants.util;
+
+import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Contrôle d'admission des animations.
+ *
+ * Chaque proc d'enchantement passe par run() avant de lancer son animation.
+ * Le nombre d'animations en cours est compté par joueur, par chunk, par
+ * monde et pour tout le serveur, au total et par enchantement. Quand une
+ * limite est atteinte, la politique de débordement s'applique:
+ * - QUEUE: le proc attend dans la file du joueur et démarre dès qu'une place
+ *   se libère (au-delà de queue-timeout-ticks: récolte instantanée)
+ * - MERGE: le proc est absorbé par l'animation du même enchantement déjà en
+ *   cours pour ce joueur, seule la culture déclenchante est récoltée
+ * - INSTANT: récolte sans animation des cultures matures autour du bloc
+ * - REJECT: le proc est ignoré
+ *
+ * Une animation occupe sa place tant qu'une de ses tâches est dans le
+ * moteur: les tâches planifiées pendant le proc (et leurs sous-tâches)
+ * héritent de la place via AnimationEngine. Un proc qui ne lance aucune
+ * tâche libère sa place immédiatement.
+ *
+ * Thread principal uniquement.
+ */
+public class AdmissionController {
+
+    public enum OverflowPolicy { QUEUE, MERGE, INSTANT, REJECT }
+
+    // Portées des limites (index de limitHits)
+    private static final int SCOPE_PLAYER = 0;
+    private static final int SCOPE_CHUNK = 1;
+    private static final int SCOPE_WORLD = 2;
+    private static final int SCOPE_SERVER = 3;
+    private static final String[] SCOPE_NAMES = {"joueur", "chunk", "monde", "serveur"};
+
+    private final RinaEnchantsPlugin plugin;
+
+    // Configuration
+    private boolean enabled;
+    private Limits totalLimits;
+    private Limits enchantDefaults;
+    private OverflowPolicy defaultOverflow;
+    private int queueSize;
+    private long queueTimeoutTicks;
+    private int instantRadius;
+
+    // Règles par enchantement (recompilées paresseusement après un reload)
+    private final Map<String, Rules> rulesBySection = new HashMap<>();
+
+    // Statistiques par enchantement (l'index sert aussi aux compteurs)
+    private final Map<String, EnchantStats> statsBySection = new LinkedHashMap<>();
+    private final long[] limitHits = new long[SCOPE_NAMES.length];
+
+    // Animations en cours
+    private final Counter server = new Counter();
+    private final Map<UUID, Counter> byWorld = new HashMap<>();
+    private final Map<ChunkKey, Counter> byChunk = new HashMap<>();
+    private final Map<UUID, Counter> byPlayer = new HashMap<>();
+
+    // Procs en attente d'une place (politique QUEUE)
+    private final Map<UUID, ArrayDeque<QueuedProc>> queues = new LinkedHashMap<>();
+    private int queuedCount = 0;
+
+    private long currentTick = 0;
+    private BukkitTask bukkitTask;
+
+    public AdmissionController(RinaEnchantsPlugin plugin) {
+        this.plugin = plugin;
+        loadConfig();
+    }
+
+    /**
+     * Charge la section performance.admission (les surcharges par
+     * enchantement sont relues au prochain proc)
+     */
+    public void loadConfig() {
+        FileConfiguration config = plugin.getConfig();
+        String base = "performance.admission.";
+
+        this.enabled = config.getBoolean(base + "enabled", true);
+        this.totalLimits = new Limits(
+            config.getInt(base + "max-per-player", 6),
+            config.getInt(base + "max-per-chunk", 8),
+            config.getInt(base + "max-per-world", 60),
+            config.getInt(base + "max-per-server", 120)
+        );
+        this.enchantDefaults = new Limits(
+            config.getInt(base + "enchant-max-per-player", 2),
+            config.getInt(base + "enchant-max-per-chunk", 3),
+            config.getInt(base + "enchant-max-per-world", 20),
+            config.getInt(base + "enchant-max-per-server", 40)
+        );
+        this.defaultOverflow = parsePolicy(config.getString(base + "overflow", "QUEUE"), base + "overflow", OverflowPolicy.QUEUE);
+        this.queueSize = Math.max(0, config.getInt(base + "queue-size", 4));
+        this.queueTimeoutTicks = Math.max(1L, config.getLong(base + "queue-timeout-ticks", 40L));
+        this.instantRadius = Math.max(0, Math.min(4, config.getInt(base + "instant-radius", 1)));
+
+        rulesBySection.clear();
+    }
+
+    private OverflowPolicy parsePolicy(String value, String path, OverflowPolicy fallback) {
+        if (value == null) return fallback;
+        try {
+            return OverflowPolicy.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning(path + " invalide: " + value + " (QUEUE, MERGE, INSTANT ou REJECT), " + fallback + " utilisé");
+            return fallback;
+        }
+    }
+
+    private Rules rules(String section) {
+        Rules rules = rulesBySection.get(section);
+        if (rules == null) {
+            FileConfiguration config = plugin.getConfig();
+            String base = section + ".admission.";
+            Limits limits = new Limits(
+                config.getInt(base + "max-per-player", enchantDefaults.perPlayer()),
+                config.getInt(base + "max-per-chunk", enchantDefaults.perChunk()),
+                config.getInt(base + "max-per-world", enchantDefaults.perWorld()),
+                config.getInt(base + "max-per-server", enchantDefaults.perServer())
+            );
+            OverflowPolicy overflow = parsePolicy(config.getString(base + "overflow"), base + "overflow", defaultOverflow);
+
+            EnchantStats stats = statsBySection.computeIfAbsent(section, s -> new EnchantStats(s, statsBySection.size()));
+            rules = new Rules(stats, limits, overflow);
+            rulesBySection.put(section, rules);
+        }
+        return rules;
+    }
+
+    public void start() {
+        if (bukkitTask == null) {
+            bukkitTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Arrête la task et oublie les procs en attente.
+     * Les places occupées sont libérées par AnimationEngine#stop.
+     */
+    public void stop() {
+        if (bukkitTask != null) {
+            bukkitTask.cancel();
+            bukkitTask = null;
+        }
+        queues.clear();
+        queuedCount = 0;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // ADMISSION
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Lance un proc si les limites le permettent, sinon applique la politique
+     * de débordement de l'enchantement.
+     *
+     * @param section ID de section de l'enchantement (ex: "warden-pulse")
+     * @param proc Proc à exécuter, reçoit la location de la culture
+     */
+    public void run(Player player, String section, Location location, Consumer<Location> proc) {
+        World world = location.getWorld();
+        if (!enabled || world == null) {
+            proc.accept(location);
+            return;
+        }
+
+        Rules rules = rules(section);
+        UUID worldId = world.getUID();
+        ChunkKey chunk = new ChunkKey(worldId, location.getBlockX() >> 4, location.getBlockZ() >> 4);
+
+        int scope = findLimitedScope(player.getUniqueId(), worldId, chunk, rules);
+        if (scope < 0) {
+            admit(player, location, chunk, rules, proc);
+            return;
+        }
+
+        limitHits[scope]++;
+        EnchantStats stats = rules.stats();
+        if (plugin.isDebug()) {
+            plugin.getLogger().info("§e[DEBUG] Admission: " + section + " limité (" + SCOPE_NAMES[scope] + ") pour " +
+                player.getName() + " → " + rules.overflow());
+        }
+
+        switch (rules.overflow()) {
+            case QUEUE -> {
+                ArrayDeque<QueuedProc> queue = queues.computeIfAbsent(player.getUniqueId(), id -> new ArrayDeque<>());
+                if (queue.size() < queueSize) {
+                    queue.add(new QueuedProc(player, rules, location.clone(), proc, currentTick + queueTimeoutTicks));
+                    queuedCount++;
+                    stats.queued++;
+                } else {
+                    if (queue.isEmpty()) queues.remove(player.getUniqueId());
+                    instantHarvest(player, location, section);
+                    stats.instant++;
+                }
+            }
+            case MERGE -> {
+                Counter running = byPlayer.get(player.getUniqueId());
+                if (running != null && running.get(stats.index) > 0) {
+                    plugin.getCropPipeline().submit(player, location, section);
+                    stats.merged++;
+                } else {
+                    instantHarvest(player, location, section);
+                    stats.instant++;
+                }
+            }
+            case INSTANT -> {
+                instantHarvest(player, location, section);
+                stats.instant++;
+            }
+            case REJECT -> stats.rejected++;
+        }
+    }
+
+    /**
+     * @return La première portée dont la limite est atteinte, -1 si le proc peut démarrer
+     */
+    private int findLimitedScope(UUID playerId, UUID worldId, ChunkKey chunk, Rules rules) {
+        int index = rules.stats().index;
+        Limits enchant = rules.limits();
+        if (isFull(byPlayer.get(playerId), index, totalLimits.perPlayer(), enchant.perPlayer())) return SCOPE_PLAYER;
+        if (isFull(byChunk.get(chunk), index, totalLimits.perChunk(), enchant.perChunk())) return SCOPE_CHUNK;
+        if (isFull(byWorld.get(worldId), index, totalLimits.perWorld(), enchant.perWorld())) return SCOPE_WORLD;
+        if (isFull(server, index, totalLimits.perServer(), enchant.perServer())) return SCOPE_SERVER;
+        return -1;
+    }
+
+    private static boolean isFull(Counter counter, int index, int totalCap, int enchantCap) {
+        if (counter == null) return false;
+        return (totalCap > 0 && counter.total >= totalCap)
+            || (enchantCap > 0 && counter.get(index) >= enchantCap);
+    }
+
+    private void admit(Player player, Location location, ChunkKey chunk, Rules rules, Consumer<Location> proc) {
+        EnchantStats stats = rules.stats();
+        Slot slot = new Slot(this, player.getUniqueId(), chunk, stats.index);
+        enter(slot);
+        stats.admitted++;
+
+        AnimationEngine engine = plugin.getAnimationEngine();
+        Slot previous = engine.swapActiveSlot(slot);
+        try {
+            proc.accept(location);
+        } finally {
+            engine.swapActiveSlot(previous);
+            // Sans tâche planifiée pendant le proc, la place est libérée ici
+            slot.release();
+        }
+    }
+
+    private void enter(Slot slot) {
+        server.add(slot.enchantIndex, 1);
+        byWorld.computeIfAbsent(slot.chunk.worldId(), id -> new Counter()).add(slot.enchantIndex, 1);
+        byChunk.computeIfAbsent(slot.chunk, key -> new Counter()).add(slot.enchantIndex, 1);
+        byPlayer.computeIfAbsent(slot.playerId, id -> new Counter()).add(slot.enchantIndex, 1);
+    }
+
+    private void leave(Slot slot) {
+        server.add(slot.enchantIndex, -1);
+        decrement(byWorld, slot.chunk.worldId(), slot.enchantIndex);
+        decrement(byChunk, slot.chunk, slot.enchantIndex);
+        decrement(byPlayer, slot.playerId, slot.enchantIndex);
+    }
+
+    private static <K> void decrement(Map<K, Counter> counters, K key, int index) {
+        Counter counter = counters.get(key);
+        if (counter == null) return;
+        counter.add(index, -1);
+        // Pas d'entrée vide qui traîne (chunks visités une fois, joueurs déconnectés)
+        if (counter.total <= 0) {
+            counters.remove(key);
+        }
+    }
+
+    /**
+     * Récolte sans animation: cultures matures dans un carré de instant-radius
+     * autour du bloc (y ±1), envoyées à la pipeline de cassage
+     */
+    private void instantHarvest(Player player, Location location, String section) {
+        World world = location.getWorld();
+        if (world == null) return;
+
+        CropRegistry registry = plugin.getCropRegistry();
+        CropBreakPipeline pipeline = plugin.getCropPipeline();
+        int cx = location.getBlockX();
+        int cy = location.getBlockY();
+        int cz = location.getBlockZ();
+        int r = instantRadius;
+
+        for (int dx = -r; dx <= r; dx++) {
+            for (int dz = -r; dz <= r; dz++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    Block block = world.getBlockAt(cx + dx, cy + dy, cz + dz);
+                    if (registry.isMature(block)) {
+                        pipeline.submit(player, block.getLocation(), section);
+                    }
+                }
+            }
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // FILES D'ATTENTE
+    // ═══════════════════════════════════════════════════════════════════════
+
+    private void tick() {
+        currentTick++;
+        if (queuedCount == 0) return;
+
+        Iterator<Map.Entry<UUID, ArrayDeque<QueuedProc>>> it = queues.entrySet().iterator();
+        while (it.hasNext()) {
+            ArrayDeque<QueuedProc> queue = it.next().getValue();
+
+            // Ordre conservé par joueur: on s'arrête au premier proc encore bloqué
+            QueuedProc head;
+            while ((head = queue.peek()) != null) {
+                EnchantStats stats = head.rules().stats();
+                Player player = head.player();
+
+                if (!player.isOnline()) {
+                    queue.poll();
+                    queuedCount--;
+                    stats.expired++;
+                    continue;
+                }
+
+                if (head.expireTick() <= currentTick) {
+                    queue.poll();
+                    queuedCount--;
+                    stats.expired++;
+                    instantHarvest(player, head.location(), stats.section);
+                    continue;
+                }
+
+                World world = head.location().getWorld();
+                if (world == null) {
+                    queue.poll();
+                    queuedCount--;
+                    stats.expired++;
+                    continue;
+                }
+
+                UUID worldId = world.getUID();
+                ChunkKey chunk = new ChunkKey(worldId, head.location().getBlockX() >> 4, head.location().getBlockZ() >> 4);
+                if (findLimitedScope(player.getUniqueId(), worldId, chunk, head.rules()) >= 0) {
+                    break;
+                }
+
+                queue.poll();
+                queuedCount--;
+                try {
+                    admit(player, head.location(), chunk, head.rules(), head.proc());
+                } catch (Throwable t) {
+                    plugin.getLogger().warning("Erreur dans un proc différé " + stats.section + ": " + t);
+                }
+            }
+
+            if (queue.isEmpty()) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Oublie les procs en attente d'un joueur (déconnexion, changement de monde).
+     * Les places déjà occupées sont libérées avec les tâches du joueur.
+     *
+     * @return Nombre de procs retirés
+     */
+    public int purge(UUID playerId) {
+        ArrayDeque<QueuedProc> queue = queues.remove(playerId);
+        if (queue == null) return 0;
+
+        for (QueuedProc queued : queue) {
+            queued.rules().stats().expired++;
+        }
+        queuedCount -= queue.size();
+        return queue.size();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // STATISTIQUES
+    // ═══════════════════════════════════════════════════════════════════════
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Animations admises en cours sur tout le serveur */
+    public int getRunningCount() {
+        return server.total;
+    }
+
+    /** Procs en attente d'une place */
+    public int getQueuedCount() {
+        return queuedCount;
+    }
+
+    /** Procs en attente pour un joueur */
+    public int getQueuedCount(UUID playerId) {
+        ArrayDeque<QueuedProc> queue = queues.get(playerId);
+        return queue != null ? queue.size() : 0;
+    }
+
+    /** Animations admises en cours pour un joueur */
+    public int getRunningCount(UUID playerId) {
+        Counter counter = byPlayer.get(playerId);
+        return counter != null ? counter.total : 0;
+    }
+
+    /** Nombre de fois où chaque portée (joueur, chunk, monde, serveur) a bloqué un proc */
+    public long getLimitHits(int scope) {
+        return limitHits[scope];
+    }
+
+    public static String getScopeName(int scope) {
+        return SCOPE_NAMES[scope];
+    }
+
+    public static int getScopeCount() {
+        return SCOPE_NAMES.length;
+    }
+
+    public Map<String, EnchantStats> getStatsBySection() {
+        return Collections.unmodifiableMap(statsBySection);
+    }
+
+    /**
+     * Compteurs par enchantement
+     */
+    public static final class EnchantStats {
+        private final String section;
+        final int index;
+        long admitted;
+        long queued;
+        long merged;
+        long instant;
+        long rejected;
+        long expired;
+
+        EnchantStats(String section, int index) {
+            this.section = section;
+            this.index = index;
+        }
+
+        public String getSection() {
+            return section;
+        }
+
+        /** Procs lancés avec animation (directement ou après attente) */
+        public long getAdmitted() {
+            return admitted;
+        }
+
+        /** Procs mis en file d'attente */
+        public long getQueued() {
+            return queued;
+        }
+
+        /** Procs absorbés par une animation déjà en cours */
+        public long getMerged() {
+            return merged;
+        }
+
+        /** Procs remplacés par une récolte sans animation */
+        public long getInstant() {
+            return instant;
+        }
+
+        /** Procs ignorés (politique REJECT) */
+        public long getRejected() {
+            return rejected;
+        }
+
+        /** Procs sortis de la file sans place (délai dépassé ou joueur déconnecté) */
+        public long getExpired() {
+            return expired;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // STRUCTURES INTERNES
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Place occupée par une animation admise.
+     * Référencée par le proc pendant son exécution et par chaque tâche
+     * du moteur qu'il a lancée; libérée quand plus rien ne la référence.
+     */
+    static final class Slot {
+        private final AdmissionController controller;
+        private final UUID playerId;
+        private final ChunkKey chunk;
+        private final int enchantIndex;
+        private int refs = 1;
+
+        private Slot(AdmissionController controller, UUID playerId, ChunkKey chunk, int enchantIndex) {
+            this.controller = controller;
+            this.playerId = playerId;
+            this.chunk = chunk;
+            this.enchantIndex = enchantIndex;
+        }
+
+        UUID playerId() {
+            return playerId;
+        }
+
+        void retain() {
+            refs++;
+        }
+
+        void release() {
+            if (--refs == 0) {
+                controller.leave(this);
+            }
+        }
+    }
+
+    /**
+     * Nombre d'animations en cours, au total et par enchantement
+     */
+    private static final class Counter {
+        private int total;
+        private int[] byEnchant = new int[16];
+
+        int get(int index) {
+            return index < byEnchant.length ? byEnchant[index] : 0;
+        }
+
+        void add(int index, int delta) {
+            if (index >= byEnchant.length) {
+                byEnchant = Arrays.copyOf(byEnchant, Math.max(index + 1, byEnchant.length * 2));
+            }
+            byEnchant[index] += delta;
+            total += delta;
+        }
+    }
+
+    // Limites d'une portée (0 ou moins = illimité)
+    private record Limits(int perPlayer, int perChunk, int perWorld, int perServer) {}
+
+    private record Rules(EnchantStats stats, Limits limits, OverflowPolicy overflow) {}
+
+    private record ChunkKey(UUID worldId, int x, int z) {}
+
+    private record QueuedProc(Player player, Rules rules, Location location, Consumer<Location> proc, long expireTick) {}
+}
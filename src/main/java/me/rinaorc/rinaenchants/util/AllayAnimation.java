@@ -3,11 +3,8 @@ package me.rinaorc.rinaenchants.util;
 import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
 import org.bukkit.*;
 import org.bukkit.block.Block;
-import org.bukkit.block.data.Ageable;
 import org.bukkit.entity.Allay;
-import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.*;
@@ -25,6 +22,13 @@ import java.util.function.Consumer;
 public class AllayAnimation {
 
     private final RinaEnchantsPlugin plugin;
+
+    // Niveau de détail courant (LoadGovernor), relu à chaque tick d'animation
+    private LoadGovernor.Quality quality;
+
+    // Particules et sons groupés par joueur, envoyés en fin de tick
+    private final FxDispatcher fx;
+
     private final Location startLocation;
     private final Player owner;
     private final int radius;
@@ -32,8 +36,6 @@ public class AllayAnimation {
     private final int duration;
     private final boolean showParticles;
     private final boolean clientSideOnly;
-    private final Set<Material> crops;
-    private final Set<Material> noAgeCrops;
     private final Random random;
     
     private Consumer<Location> onCropHit;
@@ -49,8 +51,10 @@ public class AllayAnimation {
 
     public AllayAnimation(RinaEnchantsPlugin plugin, Location startLocation, Player owner,
                          int radius, int fireRate, int duration, boolean showParticles,
-                         boolean clientSideOnly, Set<Material> crops, Set<Material> noAgeCrops) {
+                         boolean clientSideOnly) {
         this.plugin = plugin;
+        this.quality = plugin.getLoadGovernor().getQuality();
+        this.fx = plugin.getFx();
         this.startLocation = startLocation.clone();
         this.owner = owner;
         this.radius = radius;
@@ -58,8 +62,6 @@ public class AllayAnimation {
         this.duration = duration;
         this.showParticles = showParticles;
         this.clientSideOnly = clientSideOnly;
-        this.crops = crops;
-        this.noAgeCrops = noAgeCrops;
         this.random = new Random();
     }
 
@@ -76,7 +78,8 @@ public class AllayAnimation {
         if (world == null) return;
 
         try {
-            allayEntity = (Allay) world.spawnEntity(startLocation, EntityType.ALLAY);
+            allayEntity = plugin.getEntityProvider().spawn(startLocation, Allay.class, owner, clientSideOnly,
+                "allay-laser", duration);
             allayEntity.setInvulnerable(true);
             allayEntity.setSilent(false);
             allayEntity.setAI(false);
@@ -85,16 +88,6 @@ public class AllayAnimation {
             allayEntity.setCanPickupItems(false);
             allayEntity.setRemoveWhenFarAway(false);
 
-            // ═══════════════════════════════════════════════════════════
-            // MARQUER L'ENTITÉ pour cleanup après reboot
-            // ═══════════════════════════════════════════════════════════
-            plugin.markAsEnchantEntity(allayEntity);
-
-            // Client-side
-            if (clientSideOnly) {
-                plugin.makeEntityClientSide(allayEntity, owner);
-            }
-
         } catch (Exception e) {
             plugin.getLogger().warning("§e[RinaEnchants] Impossible de spawn l'Allay: " + e.getMessage());
             return;
@@ -102,8 +95,8 @@ public class AllayAnimation {
 
         // Particules de spawn
         if (showParticles) {
-            owner.spawnParticle(Particle.END_ROD, startLocation, 15, 0.5, 0.5, 0.5, 0.1);
-            owner.spawnParticle(Particle.ENCHANT, startLocation, 25, 0.5, 0.5, 0.5, 0.5);
+            fx.particle(owner, Particle.END_ROD, startLocation, quality.particles(15), 0.5, 0.5, 0.5, 0.1);
+            fx.particle(owner, Particle.ENCHANT, startLocation, quality.particles(25), 0.5, 0.5, 0.5, 0.5);
         }
 
         // Démarrer l'animation principale
@@ -113,18 +106,24 @@ public class AllayAnimation {
     /**
      * Task principale qui gère le comportement de l'Allay
      */
-    private class AllayBehaviorTask extends BukkitRunnable {
+    private class AllayBehaviorTask extends AnimationTask {
         
         private int ticksAlive = 0;
         private int ticksSinceLastShot = 0;
-        private final Set<String> harvestedBlocks = new HashSet<>();
+        private final BlockPosSet harvestedBlocks = acquireBlockSet();
         
         // Paramètres de mouvement fluide
         private double wavePhase = random.nextDouble() * Math.PI * 2;
         private double orbitAngle = random.nextDouble() * Math.PI * 2;
 
+        AllayBehaviorTask() {
+            super("allay-laser");
+        }
+
         @Override
         public void run() {
+            quality = plugin.getLoadGovernor().getQuality();
+
             ticksAlive++;
             ticksSinceLastShot++;
 
@@ -200,7 +199,7 @@ public class AllayAnimation {
                 
                 if (target != null) {
                     ticksSinceLastShot = 0;
-                    String key = target.getBlockX() + ":" + target.getBlockY() + ":" + target.getBlockZ();
+                    long key = BlockKey.of(target);
                     harvestedBlocks.add(key);
                     totalCropsHarvested++;
                     
@@ -218,26 +217,26 @@ public class AllayAnimation {
             // EFFETS VISUELS de l'Allay (aura magique)
             // ═══════════════════════════════════════════════════════════
             
-            if (showParticles && ticksAlive % 5 == 0) {
+            if (showParticles && quality.isVisualTick(ticksAlive, 5)) {
                 // Aura magique autour de l'allay
-                owner.spawnParticle(Particle.ENCHANT, currentPos, 2, 0.3, 0.3, 0.3, 0.2);
+                fx.particle(owner, Particle.ENCHANT, currentPos, quality.particles(2), 0.3, 0.3, 0.3, 0.2);
 
                 // Particules de notes de musique occasionnelles
                 if (ticksAlive % 20 == 0) {
-                    owner.spawnParticle(Particle.NOTE, currentPos.clone().add(0, 0.5, 0), 1, 0.3, 0.3, 0.3, 0);
+                    fx.particle(owner, Particle.NOTE, currentPos.clone().add(0, 0.5, 0), 1, 0.3, 0.3, 0.3, 0);
                 }
             }
             
             // Son ambient occasionnel
-            if (ticksAlive % 40 == 0) {
-                owner.playSound(currentPos, Sound.ENTITY_ALLAY_AMBIENT_WITHOUT_ITEM, 0.3f, 1.0f + random.nextFloat() * 0.4f);
+            if (ticksAlive % 40 == 0 && quality.sounds()) {
+                fx.sound(owner, currentPos, Sound.ENTITY_ALLAY_AMBIENT_WITHOUT_ITEM, 0.3f, 1.0f + random.nextFloat() * 0.4f);
             }
         }
         
         /**
          * Trouve une culture à cibler dans le rayon
          */
-        private Location findTargetCrop(Location center, World world, Set<String> alreadyHarvested) {
+        private Location findTargetCrop(Location center, World world, BlockPosSet alreadyHarvested) {
             int cx = center.getBlockX();
             int cy = center.getBlockY();
             int cz = center.getBlockZ();
@@ -249,12 +248,12 @@ public class AllayAnimation {
                 for (int y = -3; y <= 1; y++) {
                     for (int z = -radius; z <= radius; z++) {
                         Location blockLoc = new Location(world, cx + x, cy + y, cz + z);
-                        String key = blockLoc.getBlockX() + ":" + blockLoc.getBlockY() + ":" + blockLoc.getBlockZ();
+                        long key = BlockKey.of(blockLoc);
                         
                         if (alreadyHarvested.contains(key)) continue;
                         
                         Block block = blockLoc.getBlock();
-                        if (isMatureCrop(block)) {
+                        if (plugin.getCropRegistry().isMature(block)) {
                             potentialTargets.add(blockLoc);
                         }
                     }
@@ -273,7 +272,9 @@ public class AllayAnimation {
         private void fireLaser(Location from, Location to) {
             if (!showParticles) {
                 // Même sans particules, jouer le son
-                owner.playSound(from, Sound.ENTITY_ALLAY_ITEM_THROWN, 0.5f, 1.5f);
+                if (quality.sounds()) {
+                    fx.sound(owner, from, Sound.ENTITY_ALLAY_ITEM_THROWN, 0.5f, 1.5f);
+                }
                 return;
             }
             
@@ -300,45 +301,32 @@ public class AllayAnimation {
                 0.7f
             );
             
-            // Tracer le laser
-            for (double d = 0; d < distance; d += 0.3) {
+            // Tracer le laser (points plus espacés quand le serveur est chargé)
+            double step = 0.3 / Math.max(0.1, quality.particleScale());
+            for (double d = 0; d < distance; d += step) {
                 Location point = laserStart.clone().add(direction.clone().multiply(d));
                 
                 // Particule principale (cyan)
-                owner.spawnParticle(Particle.DUST, point, 1, 0, 0, 0, 0, dustOptions);
+                fx.particle(owner, Particle.DUST, point, 1, 0, 0, 0, 0, dustOptions);
                 
                 // Particule secondaire (plus claire, effet de brillance)
-                if (d % 0.6 < 0.3) {
-                    owner.spawnParticle(Particle.DUST, point, 1, 0.05, 0.05, 0.05, 0, dustOptions2);
+                if (quality.particleScale() >= 1.0 && d % 0.6 < 0.3) {
+                    fx.particle(owner, Particle.DUST, point, 1, 0.05, 0.05, 0.05, 0, dustOptions2);
                 }
             }
             
             // Effet d'impact à la cible
-            owner.spawnParticle(Particle.END_ROD, laserEnd, 4, 0.2, 0.2, 0.2, 0.05);
-            owner.spawnParticle(Particle.HAPPY_VILLAGER, laserEnd, 2, 0.3, 0.3, 0.3, 0);
+            fx.particle(owner, Particle.END_ROD, laserEnd, quality.particles(4), 0.2, 0.2, 0.2, 0.05);
+            fx.particle(owner, Particle.HAPPY_VILLAGER, laserEnd, quality.particles(2), 0.3, 0.3, 0.3, 0);
 
             // Effet de charge à l'origine
-            owner.spawnParticle(Particle.ELECTRIC_SPARK, laserStart, 2, 0.1, 0.1, 0.1, 0.02);
+            fx.particle(owner, Particle.ELECTRIC_SPARK, laserStart, quality.particles(2), 0.1, 0.1, 0.1, 0.02);
             
             // Sons
-            owner.playSound(laserStart, Sound.ENTITY_ALLAY_ITEM_THROWN, 0.4f, 1.5f);
-            owner.playSound(laserEnd, Sound.BLOCK_AMETHYST_BLOCK_CHIME, 0.3f, 1.8f);
-        }
-        
-        /**
-         * Vérifie si un bloc est une culture mature
-         */
-        private boolean isMatureCrop(Block block) {
-            Material type = block.getType();
-            
-            if (!crops.contains(type)) return false;
-            if (noAgeCrops.contains(type)) return true;
-
-            if (block.getBlockData() instanceof Ageable ageable) {
-                return ageable.getAge() >= ageable.getMaximumAge();
+            if (quality.sounds()) {
+                fx.sound(owner, laserStart, Sound.ENTITY_ALLAY_ITEM_THROWN, 0.4f, 1.5f);
+                fx.sound(owner, laserEnd, Sound.BLOCK_AMETHYST_BLOCK_CHIME, 0.3f, 1.8f);
             }
-
-            return true;
         }
         
         private void cleanup() {
@@ -347,16 +335,16 @@ public class AllayAnimation {
                 
                 if (showParticles && owner.isOnline()) {
                     // Effet de disparition magique
-                    owner.spawnParticle(Particle.END_ROD, loc, 15, 0.5, 0.5, 0.5, 0.1);
-                    owner.spawnParticle(Particle.ENCHANT, loc, 25, 0.5, 0.5, 0.5, 0.3);
-                    owner.spawnParticle(Particle.TOTEM_OF_UNDYING, loc, 10, 0.3, 0.3, 0.3, 0.2);
+                    fx.particle(owner, Particle.END_ROD, loc, quality.particles(15), 0.5, 0.5, 0.5, 0.1);
+                    fx.particle(owner, Particle.ENCHANT, loc, quality.particles(25), 0.5, 0.5, 0.5, 0.3);
+                    fx.particle(owner, Particle.TOTEM_OF_UNDYING, loc, quality.particles(10), 0.3, 0.3, 0.3, 0.2);
                 }
                 
-                if (owner.isOnline()) {
-                    owner.playSound(loc, Sound.ENTITY_ALLAY_DEATH, 0.5f, 1.2f);
+                if (owner.isOnline() && quality.sounds()) {
+                    fx.sound(owner, loc, Sound.ENTITY_ALLAY_DEATH, 0.5f, 1.2f);
                 }
                 
-                allayEntity.remove();
+                plugin.getEntityProvider().despawn(allayEntity, owner);
             }
             
             if (onFinish != null) {
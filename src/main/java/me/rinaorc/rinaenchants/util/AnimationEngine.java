@@ -0,0 +1,393 @@
+package me.rinaorc.rinaenchants.util;
+
+import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Moteur d'animation partagé.
+ *
+ * Une seule task Bukkit (1 tick) exécute toutes les animations actives,
+ * stockées dans un tableau plat. Évite des centaines d'entrées dans le
+ * scheduler Bukkit quand beaucoup de joueurs déclenchent des enchantements.
+ *
+ * OPTIMISATION: Budget de temps par tick (en nanosecondes). Quand le budget
+ * est dépassé, les animations restantes sont reportées au tick suivant et
+ * passent en premier (round-robin), au lieu de faire exploser le MSPT.
+ *
+ * Thread principal uniquement.
+ */
+public class AnimationEngine {
+
+    private final RinaEnchantsPlugin plugin;
+
+    // Animations actives (tableau plat, compacté à chaque tick)
+    private AnimationTask[] tasks = new AnimationTask[64];
+    private int size = 0;
+
+    // Animations planifiées pendant un tick (ajoutées au début du tick suivant)
+    private final List<AnimationTask> pending = new ArrayList<>();
+
+    // Index de la prochaine animation à exécuter (report du travail non fait)
+    private int cursor = 0;
+
+    private long currentTick = 0;
+    private long tickBudgetNanos;
+    private long deferredTicks = 0;
+    private BukkitTask bukkitTask;
+
+    // Place d'admission courante: héritée par les tâches planifiées pendant
+    // un proc ou pendant l'exécution d'une tâche (sous-tâches, runLater)
+    private AdmissionController.Slot activeSlot;
+
+    // Joueur propriétaire courant: hérité de la même façon, sert au nettoyage
+    // de toutes les tâches d'un joueur (déconnexion, changement de monde)
+    private UUID activeOwner;
+
+    // Statistiques par type d'animation (ID d'enchantement)
+    private final Map<String, TypeStats> statsByType = new LinkedHashMap<>();
+
+    public AnimationEngine(RinaEnchantsPlugin plugin) {
+        this.plugin = plugin;
+        loadConfig();
+    }
+
+    /**
+     * Charge le budget de temps depuis la config
+     */
+    public void loadConfig() {
+        long budgetMicros = plugin.getConfig().getLong("performance.animation-engine.tick-budget-us", 8000L);
+        this.tickBudgetNanos = Math.max(0L, budgetMicros) * 1000L;
+    }
+
+    public void start() {
+        if (bukkitTask == null) {
+            bukkitTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Arrête le moteur et oublie toutes les animations.
+     * Les entités sont nettoyées séparément par le plugin.
+     */
+    public void stop() {
+        if (bukkitTask != null) {
+            bukkitTask.cancel();
+            bukkitTask = null;
+        }
+        for (int i = 0; i < size; i++) {
+            tasks[i].cancel();
+            tasks[i].releaseResources();
+        }
+        for (AnimationTask task : pending) {
+            task.cancel();
+            task.releaseResources();
+        }
+        Arrays.fill(tasks, 0, size, null);
+        size = 0;
+        cursor = 0;
+        pending.clear();
+        activeSlot = null;
+        activeOwner = null;
+        for (TypeStats stats : statsByType.values()) {
+            stats.live = 0;
+        }
+    }
+
+    /**
+     * Planifie une animation (appelé par AnimationTask#runTaskTimer)
+     */
+    void schedule(AnimationTask task, long delay, long period) {
+        task.period = Math.max(1L, period);
+        task.nextRunTick = currentTick + Math.max(1L, delay);
+        task.stats = statsByType.computeIfAbsent(task.getType(),
+            type -> new TypeStats(type, plugin.getMetrics().of(type).getTickCost()));
+        task.stats.live++;
+        if (activeSlot != null) {
+            activeSlot.retain();
+            task.slot = activeSlot;
+        }
+        task.owner = activeOwner != null ? activeOwner : (activeSlot != null ? activeSlot.playerId() : null);
+        pending.add(task);
+    }
+
+    /**
+     * Exécute un proc en rattachant à un joueur toutes les tâches qu'il planifie
+     * (et leurs sous-tâches), y compris hors contrôle d'admission
+     */
+    public void runOwnedBy(UUID owner, Runnable action) {
+        UUID previous = activeOwner;
+        activeOwner = owner;
+        try {
+            action.run();
+        } finally {
+            activeOwner = previous;
+        }
+    }
+
+    /**
+     * Remplace la place d'admission courante (appelé par AdmissionController autour d'un proc)
+     *
+     * @return La place précédente, à restaurer après le proc
+     */
+    AdmissionController.Slot swapActiveSlot(AdmissionController.Slot slot) {
+        AdmissionController.Slot previous = activeSlot;
+        activeSlot = slot;
+        return previous;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // BOUCLE PRINCIPALE
+    // ═══════════════════════════════════════════════════════════════════════
+
+    private void tick() {
+        currentTick++;
+
+        // Intégrer les animations planifiées depuis le dernier tick
+        if (!pending.isEmpty()) {
+            int required = size + pending.size();
+            if (required > tasks.length) {
+                tasks = Arrays.copyOf(tasks, Math.max(required, tasks.length * 2));
+            }
+            for (AnimationTask task : pending) {
+                tasks[size++] = task;
+            }
+            pending.clear();
+        }
+
+        for (TypeStats stats : statsByType.values()) {
+            stats.tickNanos = 0L;
+        }
+
+        int n = size;
+        if (n > 0) {
+            boolean recordCost = plugin.getMetrics().isEnabled();
+            // Un seul test par tick: aucun événement JFR créé sans enregistrement en cours
+            boolean traceRuns = FlightEvents.isAnimationTickEnabled();
+            TickProfiler profiler = plugin.getProfiler();
+            boolean profiling = profiler.isRunning();
+            boolean measureWork = traceRuns || profiling;
+            CropRegistry crops = plugin.getCropRegistry();
+            long start = System.nanoTime();
+            long deadline = tickBudgetNanos > 0 ? start + tickBudgetNanos : Long.MAX_VALUE;
+            int index = cursor < n ? cursor : 0;
+            int processed = 0;
+
+            while (processed < n) {
+                AnimationTask task = tasks[index];
+                processed++;
+                if (++index == n) index = 0;
+
+                if (task.isCancelled() || task.nextRunTick > currentTick) {
+                    continue;
+                }
+
+                // Travail de l'exécution (blocs scannés, entités, particules): lu seulement si mesuré
+                FlightEvents.AnimationTick event = null;
+                long checksBefore = 0L;
+                long entitiesBefore = 0L;
+                long particlesBefore = 0L;
+                if (measureWork) {
+                    checksBefore = crops.getBlocksChecked();
+                    entitiesBefore = plugin.getEntityRegistry().getAcquired();
+                    particlesBefore = plugin.getFx().getParticlesRequested();
+                }
+                if (traceRuns) {
+                    event = new FlightEvents.AnimationTick();
+                    event.begin();
+                }
+
+                long taskStart = System.nanoTime();
+                activeSlot = task.slot;
+                activeOwner = task.owner;
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    plugin.getLogger().log(Level.WARNING, "Erreur dans l'animation " + task.getType() + ", animation arrêtée", t);
+                    task.cancel();
+                } finally {
+                    activeSlot = null;
+                    activeOwner = null;
+                }
+                long taskEnd = System.nanoTime();
+
+                if (measureWork) {
+                    long scanned = crops.getBlocksChecked() - checksBefore;
+                    if (event != null) {
+                        Player owner = task.owner != null ? Bukkit.getPlayer(task.owner) : null;
+                        event.finish(task.getType(), owner != null ? owner.getName() : null,
+                            plugin.getEntityRegistry().getAcquired() - entitiesBefore, scanned);
+                    }
+                    if (profiling) {
+                        profiler.recordRun(task, taskEnd - taskStart, scanned,
+                            plugin.getFx().getParticlesRequested() - particlesBefore);
+                    }
+                }
+
+                task.nextRunTick = currentTick + task.period;
+                TypeStats stats = task.stats;
+                stats.tickNanos += taskEnd - taskStart;
+                stats.totalNanos += taskEnd - taskStart;
+                stats.totalRuns++;
+                if (recordCost) {
+                    stats.runCost.record(taskEnd - taskStart);
+                }
+
+                // Budget dépassé: le reste passe en premier au tick suivant
+                if (taskEnd > deadline && processed < n) {
+                    deferredTicks++;
+                    break;
+                }
+            }
+
+            cursor = index;
+            compact();
+        }
+
+        for (TypeStats stats : statsByType.values()) {
+            // Moyenne glissante (~1 seconde) du coût par tick
+            stats.avgTickNanos += (stats.tickNanos - stats.avgTickNanos) * 0.05;
+        }
+    }
+
+    /**
+     * Retire les animations annulées en gardant l'ordre et la position du curseur
+     */
+    private void compact() {
+        int write = 0;
+        int newCursor = 0;
+        for (int read = 0; read < size; read++) {
+            AnimationTask task = tasks[read];
+            if (task.isCancelled()) {
+                task.stats.live--;
+                plugin.getProfiler().forget(task);
+                task.releaseResources();
+                continue;
+            }
+            if (read < cursor) newCursor++;
+            tasks[write++] = task;
+        }
+        Arrays.fill(tasks, write, size, null);
+        size = write;
+        cursor = newCursor < size ? newCursor : 0;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // TÂCHES PAR JOUEUR
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Annule toutes les tâches d'un joueur. Elles sont retirées (et leurs
+     * ressources rendues) à la fin du tick courant, comme toute tâche annulée.
+     *
+     * @return Nombre de tâches annulées
+     */
+    public int cancelOwnedBy(UUID owner) {
+        int cancelled = 0;
+        for (int i = 0; i < size; i++) {
+            AnimationTask task = tasks[i];
+            if (!task.isCancelled() && owner.equals(task.owner)) {
+                task.cancel();
+                cancelled++;
+            }
+        }
+        for (AnimationTask task : pending) {
+            if (!task.isCancelled() && owner.equals(task.owner)) {
+                task.cancel();
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * Nombre de tâches actives d'un joueur
+     */
+    public int countOwnedBy(UUID owner) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (!tasks[i].isCancelled() && owner.equals(tasks[i].owner)) count++;
+        }
+        for (AnimationTask task : pending) {
+            if (!task.isCancelled() && owner.equals(task.owner)) count++;
+        }
+        return count;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // STATISTIQUES
+    // ═══════════════════════════════════════════════════════════════════════
+
+    public int getActiveCount() {
+        return size + pending.size();
+    }
+
+    public long getDeferredTicks() {
+        return deferredTicks;
+    }
+
+    public long getTickBudgetNanos() {
+        return tickBudgetNanos;
+    }
+
+    public Map<String, TypeStats> getStatsByType() {
+        return Collections.unmodifiableMap(statsByType);
+    }
+
+    /**
+     * Compteurs par type d'animation
+     */
+    public static final class TypeStats {
+        private final String type;
+        int live;
+        long tickNanos;
+        long totalNanos;
+        long totalRuns;
+        double avgTickNanos;
+        // Histogramme partagé avec EnchantMetrics (coût de chaque exécution)
+        final LatencyHistogram runCost;
+
+        TypeStats(String type, LatencyHistogram runCost) {
+            this.type = type;
+            this.runCost = runCost;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        /** Nombre d'animations actives de ce type */
+        public int getLiveCount() {
+            return live;
+        }
+
+        /** Coût moyen par tick (toutes animations de ce type confondues) */
+        public double getAverageTickNanos() {
+            return avgTickNanos;
+        }
+
+        /** Coût moyen d'une exécution d'animation */
+        public double getAverageRunNanos() {
+            return totalRuns == 0 ? 0.0 : (double) totalNanos / totalRuns;
+        }
+
+        public long getTotalRuns() {
+            return totalRuns;
+        }
+
+        /** Distribution du coût d'une exécution (nanosecondes) */
+        public LatencyHistogram getRunCost() {
+            return runCost;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package me.rinaorc.rinaenchants.util;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+/**
+ * Couche unique par laquelle les animations créent et suppriment leurs entités.
+ *
+ * Les dix animations passent toutes par cette interface: le backend
+ * (entités serveur, paquets, pool...) peut être changé sans toucher aux animations.
+ */
+public interface AnimationEntityProvider {
+
+    /**
+     * Spawn une entité d'animation, déjà marquée pour le cleanup.
+     * En mode client-side, l'entité n'est jamais envoyée aux autres joueurs.
+     *
+     * @param location Position de spawn
+     * @param type Classe de l'entité (ex: Bee.class)
+     * @param owner Joueur propriétaire de l'animation
+     * @param clientSideOnly true pour que seul le propriétaire voie l'entité
+     */
+    default <T extends Entity> T spawn(Location location, Class<T> type, Player owner, boolean clientSideOnly) {
+        return spawn(location, type, owner, clientSideOnly, null, 0);
+    }
+
+    /**
+     * Spawn une entité d'animation et l'enregistre dans le registre des entités
+     * (voir EnchantEntityRegistry): supprimée si elle dépasse sa durée de vie.
+     *
+     * @param animation ID de section de l'animation (ex: "bee-collector")
+     * @param lifetimeTicks Durée de vie attendue en ticks, 0 = valeur par défaut
+     */
+    <T extends Entity> T spawn(Location location, Class<T> type, Player owner, boolean clientSideOnly,
+                               String animation, long lifetimeTicks);
+
+    /**
+     * Supprime une entité créée par {@link #spawn}.
+     *
+     * @param entity L'entité à supprimer (peut être null ou déjà morte)
+     * @param owner Joueur propriétaire de l'animation
+     */
+    void despawn(Entity entity, Player owner);
+}
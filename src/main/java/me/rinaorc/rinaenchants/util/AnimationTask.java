@@ -0,0 +1,128 @@
+package me.rinaorc.rinaenchants.util;
+
+import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tâche d'animation exécutée par l'AnimationEngine.
+ *
+ * Remplace BukkitRunnable pour les animations: au lieu d'une entrée
+ * dans le scheduler Bukkit par animation, toutes les tâches sont
+ * tickées par une seule task globale (voir AnimationEngine).
+ *
+ * Le type correspond à l'ID de section de l'enchantement
+ * (ex: "bee-collector") et sert aux statistiques par enchantement.
+ */
+public abstract class AnimationTask implements Runnable {
+
+    private final String type;
+    private boolean cancelled = false;
+    private boolean scheduled = false;
+
+    // Planification gérée par le moteur (en ticks moteur)
+    long nextRunTick;
+    long period;
+    AnimationEngine.TypeStats stats;
+
+    // Place d'admission de l'enchantement qui a lancé la tâche (null = non suivie)
+    AdmissionController.Slot slot;
+
+    // Joueur dont le proc a lancé la tâche (null = inconnu), voir PlayerLifecycleManager
+    UUID owner;
+
+    // Sets empruntés au pool, rendus quand la tâche quitte le moteur
+    private List<BlockPosSet> borrowedSets;
+
+    protected AnimationTask(String type) {
+        this.type = type;
+    }
+
+    /**
+     * Planifie la tâche dans le moteur d'animation.
+     * Même signature que BukkitRunnable#runTaskTimer pour garder les animations lisibles.
+     *
+     * @param delay Délai avant la première exécution (en ticks)
+     * @param period Période entre deux exécutions (en ticks)
+     */
+    public AnimationTask runTaskTimer(RinaEnchantsPlugin plugin, long delay, long period) {
+        if (scheduled) {
+            throw new IllegalStateException("Tâche d'animation déjà planifiée");
+        }
+        scheduled = true;
+        plugin.getAnimationEngine().schedule(this, delay, period);
+        return this;
+    }
+
+    /**
+     * Exécute une action une seule fois après un délai, via le moteur d'animation.
+     * Remplace Bukkit.getScheduler().runTaskLater dans les animations: l'action
+     * reste comptée dans le budget et dans l'admission de l'animation qui l'a planifiée.
+     *
+     * @param type ID de section de l'enchantement (statistiques)
+     * @param delay Délai en ticks
+     */
+    public static AnimationTask runLater(RinaEnchantsPlugin plugin, String type, Runnable action, long delay) {
+        AnimationTask task = new AnimationTask(type) {
+            @Override
+            public void run() {
+                cancel();
+                action.run();
+            }
+        };
+        return task.runTaskTimer(plugin, delay, 1L);
+    }
+
+    /**
+     * Annule la tâche. Elle est retirée du moteur à la fin du tick courant.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return UUID du joueur propriétaire, null si la tâche n'est rattachée à aucun joueur
+     */
+    public UUID getOwner() {
+        return owner;
+    }
+
+    /**
+     * Emprunte un BlockPosSet au pool pour la durée de vie de la tâche.
+     * Il est rendu automatiquement quand la tâche est retirée du moteur.
+     */
+    protected BlockPosSet acquireBlockSet() {
+        BlockPosSet set = BlockPosSet.acquire();
+        if (borrowedSets == null) {
+            borrowedSets = new ArrayList<>(2);
+        }
+        borrowedSets.add(set);
+        return set;
+    }
+
+    /**
+     * Appelé par le moteur quand la tâche est retirée (annulée ou moteur arrêté)
+     */
+    void releaseResources() {
+        if (slot != null) {
+            slot.release();
+            slot = null;
+        }
+        if (borrowedSets != null) {
+            for (BlockPosSet set : borrowedSets) {
+                BlockPosSet.release(set);
+            }
+            borrowedSets = null;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package me.rinaorc.rinaenchants.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fichier de lignes en ajout seul, partagé par EntityJournal et XpLedger.
+ *
+ * - append: un lot de lignes ajouté en fin de fichier puis synchronisé (fsync)
+ * - rewrite: compaction, le contenu complet est écrit dans un fichier
+ *   temporaire synchronisé puis renommé atomiquement (ATOMIC_MOVE): après un
+ *   crash, on lit soit l'ancien fichier soit le nouveau, jamais un mélange
+ *
+ * Les écritures passent par un thread dédié, dans l'ordre d'envoi: un
+ * append envoyé après un rewrite s'applique au fichier compacté.
+ *
+ * Le format des lignes et le rejeu restent à l'appelant.
+ */
+final class AppendOnlyLog {
+
+    private final Path file;
+    private final Logger logger;
+    private final String tag;
+
+    private ExecutorService writer;
+
+    // Statistiques
+    private volatile long batchesWritten = 0;
+
+    /**
+     * @param tag Préfixe des messages de log (ex: "Journal")
+     */
+    AppendOnlyLog(Path file, Logger logger, String tag) {
+        this.file = file;
+        this.logger = logger;
+        this.tag = tag;
+    }
+
+    /**
+     * Démarre le thread d'écriture
+     *
+     * @param threadName Nom du thread (préfixé par "RinaEnchants-")
+     */
+    void open(String threadName) {
+        if (writer != null) return;
+        writer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "RinaEnchants-" + threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    boolean isOpen() {
+        return writer != null;
+    }
+
+    /**
+     * Attend la fin des écritures envoyées (5 secondes au plus) et arrête le thread
+     */
+    void close() {
+        if (writer == null) return;
+
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warning("§c[" + tag + "] Écriture de " + file.getFileName() + " non terminée à l'arrêt");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    boolean exists() {
+        return Files.exists(file);
+    }
+
+    /**
+     * Lit toutes les lignes (thread appelant)
+     *
+     * @return Les lignes, ou une liste vide si le fichier est illisible
+     */
+    List<String> readLines() {
+        try {
+            return Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "§c[" + tag + "] Lecture impossible: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // ÉCRITURE
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Ajoute un lot de lignes en fin de fichier (un fsync par lot)
+     */
+    void append(CharSequence lines) {
+        byte[] batch = lines.toString().getBytes(StandardCharsets.UTF_8);
+        writer.execute(() -> write(batch));
+    }
+
+    /**
+     * Remplace tout le contenu du fichier (compaction)
+     */
+    void rewrite(CharSequence content) {
+        byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+        writer.execute(() -> replace(bytes));
+    }
+
+    private void write(byte[] batch) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(batch));
+            channel.force(false);
+            batchesWritten++;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "§c[" + tag + "] Écriture impossible: " + e.getMessage());
+        }
+    }
+
+    private void replace(byte[] content) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(ByteBuffer.wrap(content));
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "§c[" + tag + "] Compaction impossible: " + e.getMessage());
+        }
+    }
+
+    /** Lots écrits et synchronisés sur disque */
+    long getBatchesWritten() {
+        return batchesWritten;
+    }
+}
@@ -3,11 +3,8 @@ package me.rinaorc.rinaenchants.util;
 import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
 import org.bukkit.*;
 import org.bukkit.block.Block;
-import org.bukkit.block.data.Ageable;
 import org.bukkit.entity.Axolotl;
-import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.*;
@@ -35,6 +32,13 @@ import java.util.function.Consumer;
 public class AxolotlTsunamiAnimation {
 
     private final RinaEnchantsPlugin plugin;
+
+    // Niveau de détail courant (LoadGovernor), relu à chaque tick d'animation
+    private LoadGovernor.Quality quality;
+
+    // Particules et sons groupés par joueur, envoyés en fin de tick
+    private final FxDispatcher fx;
+
     private final Location centerLocation;
     private final Player owner;
     private final int waveWidth;
@@ -61,43 +65,6 @@ public class AxolotlTsunamiAnimation {
     private Vector waveDirection;
     private boolean isReturnWave = false;
 
-    // Set des cultures
-    private static final Set<Material> CROPS = new HashSet<>();
-    private static final Set<Material> NO_AGE_CROPS = new HashSet<>();
-
-    static {
-        CROPS.addAll(Arrays.asList(
-                Material.WHEAT, Material.CARROTS, Material.POTATOES, Material.BEETROOTS,
-                Material.NETHER_WART, Material.COCOA, Material.SWEET_BERRY_BUSH,
-                Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE, Material.CACTUS,
-                Material.BAMBOO, Material.KELP, Material.KELP_PLANT,
-                Material.TUBE_CORAL, Material.BUBBLE_CORAL, Material.BRAIN_CORAL,
-                Material.FIRE_CORAL, Material.HORN_CORAL,
-                Material.TUBE_CORAL_BLOCK, Material.BUBBLE_CORAL_BLOCK, Material.BRAIN_CORAL_BLOCK,
-                Material.FIRE_CORAL_BLOCK, Material.HORN_CORAL_BLOCK,
-                Material.WARPED_ROOTS, Material.CRIMSON_ROOTS, Material.NETHER_SPROUTS,
-                Material.TWISTING_VINES, Material.WEEPING_VINES,
-                Material.LILAC, Material.ROSE_BUSH, Material.PEONY, Material.SUNFLOWER,
-                Material.TALL_GRASS, Material.LARGE_FERN,
-                Material.OAK_SAPLING, Material.BIRCH_SAPLING, Material.JUNGLE_SAPLING,
-                Material.SPRUCE_SAPLING, Material.CHERRY_SAPLING, Material.ACACIA_SAPLING,
-                Material.DARK_OAK_SAPLING, Material.MANGROVE_PROPAGULE,
-                Material.SEA_PICKLE, Material.CHORUS_FLOWER, Material.CHORUS_PLANT));
-
-        NO_AGE_CROPS.addAll(Arrays.asList(
-                Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE, Material.CACTUS,
-                Material.BAMBOO, Material.KELP, Material.KELP_PLANT,
-                Material.TUBE_CORAL, Material.BUBBLE_CORAL, Material.BRAIN_CORAL,
-                Material.FIRE_CORAL, Material.HORN_CORAL,
-                Material.TUBE_CORAL_BLOCK, Material.BUBBLE_CORAL_BLOCK, Material.BRAIN_CORAL_BLOCK,
-                Material.FIRE_CORAL_BLOCK, Material.HORN_CORAL_BLOCK,
-                Material.WARPED_ROOTS, Material.CRIMSON_ROOTS, Material.NETHER_SPROUTS,
-                Material.LILAC, Material.ROSE_BUSH, Material.PEONY, Material.SUNFLOWER,
-                Material.OAK_SAPLING, Material.BIRCH_SAPLING, Material.JUNGLE_SAPLING,
-                Material.SPRUCE_SAPLING, Material.CHERRY_SAPLING, Material.ACACIA_SAPLING,
-                Material.DARK_OAK_SAPLING, Material.MANGROVE_PROPAGULE,
-                Material.CHORUS_FLOWER, Material.CHORUS_PLANT, Material.SEA_PICKLE));
-    }
 
     // Couleurs pour les particules
     private static final Color WAVE_BLUE = Color.fromRGB(30, 144, 255);
@@ -125,6 +92,8 @@ public class AxolotlTsunamiAnimation {
             double blueChance, double playDeadChance, boolean hasReturnWave,
             boolean showParticles, boolean clientSideOnly) {
         this.plugin = plugin;
+        this.quality = plugin.getLoadGovernor().getQuality();
+        this.fx = plugin.getFx();
         this.centerLocation = centerLocation.clone();
         this.owner = owner;
         this.waveWidth = waveWidth;
@@ -207,7 +176,8 @@ public class AxolotlTsunamiAnimation {
                 continue;
 
             try {
-                Axolotl axolotl = (Axolotl) world.spawnEntity(spawnLoc, EntityType.AXOLOTL);
+                Axolotl axolotl = plugin.getEntityProvider().spawn(spawnLoc, Axolotl.class, owner, clientSideOnly,
+                    "axolotl-tsunami", 0);
                 axolotl.setInvulnerable(true);
                 axolotl.setSilent(false);
                 axolotl.setAI(false);
@@ -216,24 +186,16 @@ public class AxolotlTsunamiAnimation {
                 axolotl.setRemoveWhenFarAway(false);
                 axolotl.setVariant(variant);
 
-                // Marquer l'entité pour cleanup
-                plugin.markAsEnchantEntity(axolotl);
-
-                // Client-side
-                if (clientSideOnly) {
-                    plugin.makeEntityClientSide(axolotl, owner);
-                }
-
                 AxolotlInstance instance = new AxolotlInstance(offset, variant);
                 instance.entity = axolotl;
                 axolotls.add(instance);
 
                 // Effet de spawn
                 if (showParticles) {
-                    owner.spawnParticle(Particle.SPLASH, spawnLoc, 5, 0.3, 0.2, 0.3, 0.1);
+                    fx.particle(owner, Particle.SPLASH, spawnLoc, quality.particles(5), 0.3, 0.2, 0.3, 0.1);
                     if (instance.isBlue) {
                         // Effet spécial pour le bleu (rare!)
-                        owner.spawnParticle(Particle.END_ROD, spawnLoc.clone().add(0, 0.5, 0), 5, 0.2, 0.2, 0.2, 0.05);
+                        fx.particle(owner, Particle.END_ROD, spawnLoc.clone().add(0, 0.5, 0), quality.particles(5), 0.2, 0.2, 0.2, 0.05);
                     }
                 }
 
@@ -248,15 +210,17 @@ public class AxolotlTsunamiAnimation {
         }
 
         // Son de début de vague
-        owner.playSound(waveStart, Sound.ENTITY_AXOLOTL_SPLASH, 1.0f, 0.8f);
-        owner.playSound(waveStart, Sound.AMBIENT_UNDERWATER_ENTER, 0.8f, 1.2f);
+        if (quality.sounds()) {
+            fx.sound(owner, waveStart, Sound.ENTITY_AXOLOTL_SPLASH, 1.0f, 0.8f);
+            fx.sound(owner, waveStart, Sound.AMBIENT_UNDERWATER_ENTER, 0.8f, 1.2f);
+        }
 
         // Effet de vague au départ
         if (showParticles) {
-            for (int i = 0; i < 10; i++) {
+            for (int i = 0; i < quality.particles(10); i++) {
                 Location waveLoc = waveStart.clone().add(
                         perpendicular.clone().multiply((random.nextDouble() - 0.5) * waveWidth));
-                owner.spawnParticle(Particle.SPLASH, waveLoc.clone().add(0, 0.5, 0), 3, 0.3, 0.2, 0.3, 0.1);
+                fx.particle(owner, Particle.SPLASH, waveLoc.clone().add(0, 0.5, 0), quality.particles(3), 0.3, 0.2, 0.3, 0.1);
             }
         }
 
@@ -267,24 +231,27 @@ public class AxolotlTsunamiAnimation {
     /**
      * Task principale qui gère le mouvement de la vague
      */
-    private class WaveTask extends BukkitRunnable {
+    private class WaveTask extends AnimationTask {
 
         private final Vector direction;
         private final Vector perpendicular;
         private int ticksAlive = 0;
         private double distanceTraveled = 0;
-        private final Set<String> harvestedBlocks = new HashSet<>();
+        private final BlockPosSet harvestedBlocks = acquireBlockSet();
         private static final double WAVE_SPEED = 0.8; // OPTIMISATION: Doublée car update tous les 2 ticks
         private double wavePhase = 0;
         private static final int HARVEST_MAX_PER_AXOLOTL = 3; // OPTIMISATION: Limite par axolotl
 
         WaveTask(Vector direction, Vector perpendicular) {
+            super("axolotl-tsunami");
             this.direction = direction.clone();
             this.perpendicular = perpendicular.clone();
         }
 
         @Override
         public void run() {
+            quality = plugin.getLoadGovernor().getQuality();
+
             ticksAlive++;
             wavePhase += 0.3;
 
@@ -320,9 +287,11 @@ public class AxolotlTsunamiAnimation {
 
                 // Retour de vague?
                 if (hasReturnWave && !isReturnWave) {
-                    Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                    AnimationTask.runLater(plugin, "axolotl-tsunami", () -> {
                         if (owner.isOnline()) {
-                            owner.playSound(owner.getLocation(), Sound.ENTITY_AXOLOTL_SPLASH, 0.8f, 1.2f);
+                            if (quality.sounds()) {
+                                fx.sound(owner, owner.getLocation(), Sound.ENTITY_AXOLOTL_SPLASH, 0.8f, 1.2f);
+                            }
                             startWave(true);
                         } else {
                             finishAnimation();
@@ -344,7 +313,7 @@ public class AxolotlTsunamiAnimation {
             // ═══════════════════════════════════════════════════════════
             // PARTICULES DE VAGUE - OPTIMISATION: Réduit de moitié
             // ═══════════════════════════════════════════════════════════
-            if (showParticles && ticksAlive % 6 == 0) { // OPTIMISATION: tous les 6 ticks au lieu de 3
+            if (showParticles && quality.isVisualTick(ticksAlive, 6)) { // OPTIMISATION: tous les 6 ticks au lieu de 3
                 // Ligne de vague avec mouvement ondulé (un point sur 4)
                 for (int i = 0; i < waveWidth; i += 4) { // OPTIMISATION: i += 4 au lieu de 2
                     double offset = -waveWidth / 2.0 + i;
@@ -354,7 +323,7 @@ public class AxolotlTsunamiAnimation {
                             .add(perpendicular.clone().multiply(offset))
                             .add(0, waveHeight, 0);
 
-                    owner.spawnParticle(Particle.SPLASH, waveLoc, 1, 0.1, 0.1, 0.1, 0.05);
+                    fx.particle(owner, Particle.SPLASH, waveLoc, 1, 0.1, 0.1, 0.1, 0.05);
                 }
 
                 // Bulles moins fréquentes
@@ -362,7 +331,7 @@ public class AxolotlTsunamiAnimation {
                     Location bubbleLoc = waveCenter.clone()
                             .add(direction.clone().multiply(-1))
                             .add(perpendicular.clone().multiply((random.nextDouble() - 0.5) * waveWidth));
-                    owner.spawnParticle(Particle.BUBBLE_POP, bubbleLoc, 1, 0.3, 0.2, 0.3, 0.02);
+                    fx.particle(owner, Particle.BUBBLE_POP, bubbleLoc, 1, 0.3, 0.2, 0.3, 0.02);
                 }
             }
 
@@ -374,11 +343,11 @@ public class AxolotlTsunamiAnimation {
             }
 
             // Sons de vague
-            if (ticksAlive % 20 == 0) {
-                owner.playSound(waveCenter, Sound.ENTITY_AXOLOTL_SWIM, 0.4f, 1.0f + random.nextFloat() * 0.2f);
+            if (ticksAlive % 20 == 0 && quality.sounds()) {
+                fx.sound(owner, waveCenter, Sound.ENTITY_AXOLOTL_SWIM, 0.4f, 1.0f + random.nextFloat() * 0.2f);
             }
-            if (ticksAlive % 40 == 0) {
-                owner.playSound(waveCenter, Sound.BLOCK_WATER_AMBIENT, 0.3f, 1.2f);
+            if (ticksAlive % 40 == 0 && quality.sounds()) {
+                fx.sound(owner, waveCenter, Sound.BLOCK_WATER_AMBIENT, 0.3f, 1.2f);
             }
         }
 
@@ -418,9 +387,11 @@ public class AxolotlTsunamiAnimation {
 
                 // Effet visuel
                 if (showParticles) {
-                    owner.spawnParticle(Particle.HEART, targetLoc.clone().add(0, 0.5, 0), 2, 0.2, 0.2, 0.2, 0);
+                    fx.particle(owner, Particle.HEART, targetLoc.clone().add(0, 0.5, 0), quality.particles(2), 0.2, 0.2, 0.2, 0);
+                }
+                if (quality.sounds()) {
+                    fx.sound(owner, targetLoc, Sound.ENTITY_AXOLOTL_HURT, 0.5f, 1.5f);
                 }
-                owner.playSound(targetLoc, Sound.ENTITY_AXOLOTL_HURT, 0.5f, 1.5f);
             }
 
             // ═══════════════════════════════════════════════════════════
@@ -436,13 +407,13 @@ public class AxolotlTsunamiAnimation {
                 for (int y = -1; y <= 1 && harvestCount < HARVEST_MAX_PER_AXOLOTL; y++) {
                     for (int z = -harvestRadius; z <= harvestRadius && harvestCount < HARVEST_MAX_PER_AXOLOTL; z++) {
                         int bx = cx + x, by = cy + y, bz = cz + z;
-                        String key = bx + ":" + by + ":" + bz;
+                        long key = BlockKey.pack(bx, by, bz);
 
                         if (harvestedBlocks.contains(key))
                             continue;
 
                         Block block = world.getBlockAt(bx, by, bz);
-                        if (isMatureCrop(block)) {
+                        if (plugin.getCropRegistry().isMature(block)) {
                             harvestedBlocks.add(key);
                             totalCropsHarvested++;
                             harvestCount++;
@@ -464,8 +435,8 @@ public class AxolotlTsunamiAnimation {
             }
 
             // OPTIMISATION: Particules uniquement si récolte et moins fréquent
-            if (showParticles && ticksAlive % 10 == 0) {
-                owner.spawnParticle(Particle.SPLASH, targetLoc, 1, 0.2, 0.1, 0.2, 0.02);
+            if (showParticles && quality.isVisualTick(ticksAlive, 10)) {
+                fx.particle(owner, Particle.SPLASH, targetLoc, 1, 0.2, 0.1, 0.2, 0.02);
             }
         }
 
@@ -475,11 +446,11 @@ public class AxolotlTsunamiAnimation {
                     Location loc = axolotl.entity.getLocation();
 
                     if (showParticles && owner.isOnline()) {
-                        owner.spawnParticle(Particle.SPLASH, loc, 8, 0.3, 0.3, 0.3, 0.1);
-                        owner.spawnParticle(Particle.BUBBLE_POP, loc, 5, 0.2, 0.2, 0.2, 0.05);
+                        fx.particle(owner, Particle.SPLASH, loc, quality.particles(8), 0.3, 0.3, 0.3, 0.1);
+                        fx.particle(owner, Particle.BUBBLE_POP, loc, quality.particles(5), 0.2, 0.2, 0.2, 0.05);
                     }
 
-                    axolotl.entity.remove();
+                    plugin.getEntityProvider().despawn(axolotl.entity, owner);
                 }
             }
             axolotls.clear();
@@ -505,25 +476,10 @@ public class AxolotlTsunamiAnimation {
         return loc;
     }
 
-    private boolean isMatureCrop(Block block) {
-        Material type = block.getType();
-
-        if (!CROPS.contains(type))
-            return false;
-        if (NO_AGE_CROPS.contains(type))
-            return true;
-
-        if (block.getBlockData() instanceof Ageable ageable) {
-            return ageable.getAge() >= ageable.getMaximumAge();
-        }
-
-        return true;
-    }
-
     private void finishAnimation() {
-        if (owner.isOnline()) {
-            owner.playSound(owner.getLocation(), Sound.ENTITY_AXOLOTL_SPLASH, 0.6f, 1.3f);
-            owner.playSound(owner.getLocation(), Sound.AMBIENT_UNDERWATER_EXIT, 0.5f, 1.0f);
+        if (owner.isOnline() && quality.sounds()) {
+            fx.sound(owner, owner.getLocation(), Sound.ENTITY_AXOLOTL_SPLASH, 0.6f, 1.3f);
+            fx.sound(owner, owner.getLocation(), Sound.AMBIENT_UNDERWATER_EXIT, 0.5f, 1.0f);
         }
 
         if (onFinish != null) {
@@ -3,9 +3,7 @@ package me.rinaorc.rinaenchants.util;
 import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
 import org.bukkit.*;
 import org.bukkit.entity.Bee;
-import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.List;
@@ -23,6 +21,13 @@ import java.util.function.Consumer;
 public class BeeAnimation {
 
     private final RinaEnchantsPlugin plugin;
+
+    // Niveau de détail courant (LoadGovernor), relu à chaque tick d'animation
+    private LoadGovernor.Quality quality;
+
+    // Particules et sons groupés par joueur, envoyés en fin de tick
+    private final FxDispatcher fx;
+
     private final Location startLocation;
     private final List<Location> targetCrops;
     private final boolean showParticles;
@@ -56,6 +61,8 @@ public class BeeAnimation {
             boolean showParticles, int beeId, Player owner, boolean clientSideOnly,
             double speedMultiplier) {
         this.plugin = plugin;
+        this.quality = plugin.getLoadGovernor().getQuality();
+        this.fx = plugin.getFx();
         this.startLocation = startLocation.clone();
         this.targetCrops = targetCrops;
         this.showParticles = showParticles;
@@ -104,7 +111,8 @@ public class BeeAnimation {
 
         // Essayer de créer l'entité abeille
         try {
-            beeEntity = (Bee) world.spawnEntity(startLocation, EntityType.BEE);
+            beeEntity = plugin.getEntityProvider().spawn(startLocation, Bee.class, owner, clientSideOnly,
+                "bee-collector", BeeMovementTask.MAX_TICKS);
             beeEntity.setInvulnerable(true);
             beeEntity.setSilent(true);
             beeEntity.setAI(false);
@@ -116,18 +124,6 @@ public class BeeAnimation {
             beeEntity.setHasNectar(random.nextBoolean());
             beeEntity.setRemoveWhenFarAway(false);
 
-            // ═══════════════════════════════════════════════════════════
-            // MARQUER L'ENTITÉ pour cleanup après reboot
-            // ═══════════════════════════════════════════════════════════
-            plugin.markAsEnchantEntity(beeEntity);
-
-            // ═══════════════════════════════════════════════════════════
-            // CLIENT-SIDE: Cacher l'abeille à tous sauf le propriétaire
-            // ═══════════════════════════════════════════════════════════
-            if (clientSideOnly) {
-                plugin.makeEntityClientSide(beeEntity, owner);
-            }
-
         } catch (Exception e) {
             useParticleMode = true;
             currentParticleLocation = startLocation.clone();
@@ -135,14 +131,14 @@ public class BeeAnimation {
 
         // Particules de spawn (uniquement pour le propriétaire)
         if (showParticles) {
-            owner.spawnParticle(Particle.END_ROD, startLocation, 5 + random.nextInt(4), 0.3, 0.3, 0.3, 0.05);
+            fx.particle(owner, Particle.END_ROD, startLocation, quality.particles(5 + random.nextInt(4)), 0.3, 0.3, 0.3, 0.05);
         }
 
         // Démarrer l'animation avec délai initial aléatoire
         new BeeMovementTask().runTaskTimer(plugin, random.nextInt(3), 1L);
     }
 
-    private class BeeMovementTask extends BukkitRunnable {
+    private class BeeMovementTask extends AnimationTask {
 
         private int ticksAlive = 0;
         private static final int MAX_TICKS = 300;
@@ -157,8 +153,14 @@ public class BeeAnimation {
         private double deviationZ = 0;
         private int deviationCounter = 0;
 
+        BeeMovementTask() {
+            super("bee-collector");
+        }
+
         @Override
         public void run() {
+            quality = plugin.getLoadGovernor().getQuality();
+
             ticksAlive++;
 
             if (ticksAlive > MAX_TICKS) {
@@ -228,7 +230,7 @@ public class BeeAnimation {
                 }
 
                 if (showParticles) {
-                    owner.spawnParticle(Particle.WAX_ON, current, 3 + random.nextInt(3), 0.2, 0.2, 0.2, 0);
+                    fx.particle(owner, Particle.WAX_ON, current, quality.particles(3 + random.nextInt(3)), 0.2, 0.2, 0.2, 0);
                 }
 
                 currentTargetIndex++;
@@ -281,8 +283,8 @@ public class BeeAnimation {
             beeEntity.teleport(newLocation);
 
             // Particules de traînée - OPTIMISATION: Réduit de moitié
-            if (showParticles && ticksAlive % 8 == 0) { // OPTIMISATION: tous les 8 ticks au lieu de 2-4
-                owner.spawnParticle(Particle.END_ROD, current, 1, 0, 0, 0, 0);
+            if (showParticles && quality.isVisualTick(ticksAlive, 8)) { // OPTIMISATION: tous les 8 ticks au lieu de 2-4
+                fx.particle(owner, Particle.END_ROD, current, 1, 0, 0, 0, 0);
             }
         }
 
@@ -322,8 +324,8 @@ public class BeeAnimation {
             currentParticleLocation.add(direction);
 
             if (ticksAlive % 2 == 0) {
-                owner.spawnParticle(Particle.WAX_ON, currentParticleLocation, 2, 0.1, 0.1, 0.1, 0);
-                owner.spawnParticle(Particle.END_ROD, currentParticleLocation, 1, 0, 0, 0, 0);
+                fx.particle(owner, Particle.WAX_ON, currentParticleLocation, quality.particles(2), 0.1, 0.1, 0.1, 0);
+                fx.particle(owner, Particle.END_ROD, currentParticleLocation, 1, 0, 0, 0, 0);
             }
         }
 
@@ -332,11 +334,11 @@ public class BeeAnimation {
                 Location loc = beeEntity.getLocation();
 
                 if (showParticles && owner.isOnline()) {
-                    owner.spawnParticle(Particle.POOF, loc, 5 + random.nextInt(4), 0.3, 0.3, 0.3, 0.05);
-                    owner.spawnParticle(Particle.WAX_ON, loc, 3 + random.nextInt(3), 0.2, 0.2, 0.2, 0);
+                    fx.particle(owner, Particle.POOF, loc, quality.particles(5 + random.nextInt(4)), 0.3, 0.3, 0.3, 0.05);
+                    fx.particle(owner, Particle.WAX_ON, loc, quality.particles(3 + random.nextInt(3)), 0.2, 0.2, 0.2, 0);
                 }
 
-                beeEntity.remove();
+                plugin.getEntityProvider().despawn(beeEntity, owner);
             }
         }
     }
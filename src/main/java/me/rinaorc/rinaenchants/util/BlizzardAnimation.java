@@ -3,13 +3,11 @@ package me.rinaorc.rinaenchants.util;
 import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
 import org.bukkit.*;
 import org.bukkit.block.Block;
-import org.bukkit.block.data.Ageable;
 import org.bukkit.entity.*;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.SkullMeta;
 import org.bukkit.profile.PlayerProfile;
 import org.bukkit.profile.PlayerTextures;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.net.URL;
@@ -30,6 +28,13 @@ import java.util.function.Consumer;
 public class BlizzardAnimation {
 
     private final RinaEnchantsPlugin plugin;
+
+    // Niveau de détail courant (LoadGovernor), relu à chaque tick d'animation
+    private LoadGovernor.Quality quality;
+
+    // Particules et sons groupés par joueur, envoyés en fin de tick
+    private final FxDispatcher fx;
+
     private final Player owner;
     private final Location centerLocation;
     private final int durationTicks;
@@ -45,8 +50,6 @@ public class BlizzardAnimation {
     private final String giftPickupMessage;
     private final boolean showParticles;
     private final boolean clientSideOnly;
-    private final Set<Material> CROPS;
-    private final Set<Material> NO_AGE_CROPS;
 
     private final Random random = new Random();
     private int totalCropsHarvested = 0;
@@ -81,9 +84,10 @@ public class BlizzardAnimation {
             int spawnHeight, double explosionChance, int explosionRadius,
             boolean giftEnabled, double giftChance, String giftTexture,
             List<String> giftCommands, String giftPickupMessage,
-            boolean showParticles, boolean clientSideOnly,
-            Set<Material> crops, Set<Material> noAgeCrops) {
+            boolean showParticles, boolean clientSideOnly) {
         this.plugin = plugin;
+        this.quality = plugin.getLoadGovernor().getQuality();
+        this.fx = plugin.getFx();
         this.owner = owner;
         this.centerLocation = centerLocation;
         this.durationTicks = durationTicks;
@@ -99,8 +103,6 @@ public class BlizzardAnimation {
         this.giftPickupMessage = giftPickupMessage;
         this.showParticles = showParticles;
         this.clientSideOnly = clientSideOnly;
-        this.CROPS = crops;
-        this.NO_AGE_CROPS = noAgeCrops;
     }
 
     public void setOnFinish(Consumer<Integer> onFinish) {
@@ -118,22 +120,26 @@ public class BlizzardAnimation {
 
         // Particules de spawn initiales
         if (showParticles) {
-            owner.spawnParticle(Particle.SNOWFLAKE, centerLocation.clone().add(0, 2, 0), 50, 3, 2, 3, 0.1);
-            owner.spawnParticle(Particle.END_ROD, centerLocation.clone().add(0, 3, 0), 15, 2, 1, 2, 0.05);
+            fx.particle(owner, Particle.SNOWFLAKE, centerLocation.clone().add(0, 2, 0), quality.particles(50), 3, 2, 3, 0.1);
+            fx.particle(owner, Particle.END_ROD, centerLocation.clone().add(0, 3, 0), quality.particles(15), 2, 1, 2, 0.05);
         }
 
         // Son de début
-        owner.playSound(centerLocation, Sound.ENTITY_PLAYER_HURT_FREEZE, 1.0f, 0.5f);
-        owner.playSound(centerLocation, Sound.BLOCK_POWDER_SNOW_STEP, 1.0f, 0.8f);
+        if (quality.sounds()) {
+            fx.sound(owner, centerLocation, Sound.ENTITY_PLAYER_HURT_FREEZE, 1.0f, 0.5f);
+            fx.sound(owner, centerLocation, Sound.BLOCK_POWDER_SNOW_STEP, 1.0f, 0.8f);
+        }
 
         // Calculer le nombre de snowballs par tick (20 ticks = 1 seconde)
         double snowballsPerTick = snowballsPerSecond / 20.0;
 
-        new BukkitRunnable() {
+        new AnimationTask("blizzard-eternal") {
             private double snowballAccumulator = 0;
 
             @Override
             public void run() {
+                quality = plugin.getLoadGovernor().getQuality();
+
                 if (!owner.isOnline() || ticksElapsed >= durationTicks) {
                     cleanup();
                     cancel();
@@ -148,7 +154,8 @@ public class BlizzardAnimation {
                 // ═══════════════════════════════════════════════════════════
                 // SPAWN DES BOULES DE NEIGE
                 // ═══════════════════════════════════════════════════════════
-                snowballAccumulator += snowballsPerTick;
+                // Moins de boules de neige quand le serveur est chargé (LoadGovernor)
+                snowballAccumulator += snowballsPerTick * quality.entityScale();
                 while (snowballAccumulator >= 1.0) {
                     snowballAccumulator -= 1.0;
                     spawnSnowball(currentCenter);
@@ -163,13 +170,13 @@ public class BlizzardAnimation {
                 // ═══════════════════════════════════════════════════════════
                 // PARTICULES AMBIANTES - OPTIMISATION: Réduit
                 // ═══════════════════════════════════════════════════════════
-                if (showParticles && ticksElapsed % 16 == 0) { // OPTIMISATION: tous les 16 ticks au lieu de 8
-                    for (int i = 0; i < 2; i++) { // OPTIMISATION: 2 au lieu de 5
+                if (showParticles && quality.isVisualTick(ticksElapsed, 16)) { // OPTIMISATION: tous les 16 ticks au lieu de 8
+                    for (int i = 0; i < quality.particles(2); i++) { // OPTIMISATION: 2 au lieu de 5
                         double offsetX = (random.nextDouble() - 0.5) * blizzardRadius * 2;
                         double offsetY = random.nextDouble() * spawnHeight;
                         double offsetZ = (random.nextDouble() - 0.5) * blizzardRadius * 2;
                         Location particleLoc = currentCenter.clone().add(offsetX, offsetY, offsetZ);
-                        owner.spawnParticle(Particle.SNOWFLAKE, particleLoc, 1, 0, 0, 0, 0);
+                        fx.particle(owner, Particle.SNOWFLAKE, particleLoc, 1, 0, 0, 0, 0);
                     }
                 }
 
@@ -189,8 +196,8 @@ public class BlizzardAnimation {
                 }
 
                 // Sons ambiants
-                if (ticksElapsed % 20 == 0) {
-                    owner.playSound(currentCenter, Sound.BLOCK_POWDER_SNOW_STEP, 0.5f, 1.0f);
+                if (ticksElapsed % 20 == 0 && quality.sounds()) {
+                    fx.sound(owner, currentCenter, Sound.BLOCK_POWDER_SNOW_STEP, 0.5f, 1.0f);
                 }
             }
         }.runTaskTimer(plugin, 0L, 1L);
@@ -223,15 +230,15 @@ public class BlizzardAnimation {
                 tracker.processed = true;
 
                 if (!snowball.isDead()) {
-                    snowball.remove();
+                    plugin.getEntityProvider().despawn(snowball, owner);
                 }
                 iterator.remove();
                 continue;
             }
 
             // Particules de traînée
-            if (showParticles && tracker.ticksAlive % 2 == 0) {
-                owner.spawnParticle(Particle.SNOWFLAKE, snowball.getLocation(), 1, 0, 0, 0, 0);
+            if (showParticles && quality.isVisualTick(tracker.ticksAlive, 2)) {
+                fx.particle(owner, Particle.SNOWFLAKE, snowball.getLocation(), 1, 0, 0, 0, 0);
             }
         }
     }
@@ -258,7 +265,7 @@ public class BlizzardAnimation {
         };
 
         for (Block block : blocksToCheck) {
-            if (isMatureCrop(block)) {
+            if (plugin.getCropRegistry().isMature(block)) {
                 Location cropLoc = block.getLocation();
                 plugin.markEntityBreakingLocation(cropLoc);
 
@@ -269,7 +276,7 @@ public class BlizzardAnimation {
 
                 // Particules de récolte
                 if (showParticles) {
-                    owner.spawnParticle(Particle.SNOWFLAKE, cropLoc.clone().add(0.5, 0.5, 0.5), 5, 0.2, 0.2, 0.2, 0.02);
+                    fx.particle(owner, Particle.SNOWFLAKE, cropLoc.clone().add(0.5, 0.5, 0.5), quality.particles(5), 0.2, 0.2, 0.2, 0.02);
                 }
                 break; // Une seule culture par boule de neige
             }
@@ -294,7 +301,8 @@ public class BlizzardAnimation {
         Location spawnLoc = center.clone().add(offsetX, spawnHeight, offsetZ);
 
         // Créer la boule de neige
-        Snowball snowball = world.spawn(spawnLoc, Snowball.class);
+        Snowball snowball = plugin.getEntityProvider().spawn(spawnLoc, Snowball.class, owner, clientSideOnly,
+            "blizzard-eternal", 100);
         snowball.setShooter(owner);
 
         // Vélocité vers le bas avec un peu de chaos
@@ -303,14 +311,6 @@ public class BlizzardAnimation {
         double velZ = (random.nextDouble() - 0.5) * 0.3;
         snowball.setVelocity(new Vector(velX, velY, velZ));
 
-        // Marquer comme entité du plugin
-        plugin.markAsEnchantEntity(snowball);
-
-        // Client-side
-        if (clientSideOnly) {
-            plugin.makeEntityClientSide(snowball, owner);
-        }
-
         // OPTIMISATION: Ajouter à la liste au lieu de créer une task
         activeSnowballs.add(new SnowballTracker(snowball));
     }
@@ -322,14 +322,16 @@ public class BlizzardAnimation {
 
         // Effets visuels
         if (showParticles) {
-            owner.spawnParticle(Particle.EXPLOSION, center, 1, 0, 0, 0, 0);
-            owner.spawnParticle(Particle.SNOWFLAKE, center, 25, 2, 2, 2, 0.1);
-            owner.spawnParticle(Particle.END_ROD, center, 10, 1, 1, 1, 0.05);
+            fx.particle(owner, Particle.EXPLOSION, center, 1, 0, 0, 0, 0);
+            fx.particle(owner, Particle.SNOWFLAKE, center, quality.particles(25), 2, 2, 2, 0.1);
+            fx.particle(owner, Particle.END_ROD, center, quality.particles(10), 1, 1, 1, 0.05);
         }
 
         // Son d'explosion
-        owner.playSound(center, Sound.ENTITY_GENERIC_EXPLODE, 0.5f, 1.5f);
-        owner.playSound(center, Sound.BLOCK_GLASS_BREAK, 0.3f, 1.2f);
+        if (quality.sounds()) {
+            fx.sound(owner, center, Sound.ENTITY_GENERIC_EXPLODE, 0.5f, 1.5f);
+            fx.sound(owner, center, Sound.BLOCK_GLASS_BREAK, 0.3f, 1.2f);
+        }
 
         // Récolter les cultures dans le rayon
         int centerX = center.getBlockX();
@@ -340,7 +342,7 @@ public class BlizzardAnimation {
             for (int y = -2; y <= 2; y++) {
                 for (int z = -explosionRadius; z <= explosionRadius; z++) {
                     Block block = world.getBlockAt(centerX + x, centerY + y, centerZ + z);
-                    if (isMatureCrop(block)) {
+                    if (plugin.getCropRegistry().isMature(block)) {
                         Location cropLoc = block.getLocation();
                         plugin.markEntityBreakingLocation(cropLoc);
 
@@ -351,7 +353,7 @@ public class BlizzardAnimation {
 
                         // Particules de récolte
                         if (showParticles) {
-                            owner.spawnParticle(Particle.HAPPY_VILLAGER, cropLoc.clone().add(0.5, 0.5, 0.5), 2, 0.3,
+                            fx.particle(owner, Particle.HAPPY_VILLAGER, cropLoc.clone().add(0.5, 0.5, 0.5), quality.particles(2), 0.3,
                                     0.3, 0.3, 0);
                         }
                     }
@@ -386,18 +388,21 @@ public class BlizzardAnimation {
 
         // Marquer comme entité du plugin
         plugin.markAsEnchantEntity(droppedGift);
+        plugin.getEntityRegistry().track(droppedGift, owner, "blizzard-eternal", 600);
 
         activeGiftItem = droppedGift;
         giftTicksElapsed = 0;
 
         // Effets visuels
         if (showParticles) {
-            owner.spawnParticle(Particle.TOTEM_OF_UNDYING, spawnLoc, 15, 1, 1, 1, 0.1);
+            fx.particle(owner, Particle.TOTEM_OF_UNDYING, spawnLoc, quality.particles(15), 1, 1, 1, 0.1);
         }
 
         // Son de spawn
-        owner.playSound(spawnLoc, Sound.ENTITY_PLAYER_LEVELUP, 1.0f, 1.5f);
-        owner.playSound(spawnLoc, Sound.BLOCK_NOTE_BLOCK_CHIME, 1.0f, 1.0f);
+        if (quality.sounds()) {
+            fx.sound(owner, spawnLoc, Sound.ENTITY_PLAYER_LEVELUP, 1.0f, 1.5f);
+            fx.sound(owner, spawnLoc, Sound.BLOCK_NOTE_BLOCK_CHIME, 1.0f, 1.0f);
+        }
 
         // OPTIMISATION: Plus de task séparée - géré dans updateGift()
     }
@@ -415,7 +420,7 @@ public class BlizzardAnimation {
         // Timeout après 30 secondes - pas de récompense
         if (giftTicksElapsed > 600) {
             if (!activeGiftItem.isDead()) {
-                activeGiftItem.remove();
+                plugin.getEntityRegistry().remove(activeGiftItem);
             }
             activeGiftItem = null;
             return;
@@ -426,7 +431,7 @@ public class BlizzardAnimation {
         if (!activeGiftItem.isDead() && activeGiftItem.isValid() && owner.isOnline()) {
             try {
                 if (owner.getLocation().distance(activeGiftItem.getLocation()) < 1.5) {
-                    activeGiftItem.remove();
+                    plugin.getEntityRegistry().remove(activeGiftItem);
                     if (!giftRewardGiven) {
                         giftRewardGiven = true;
                         executeGiftReward();
@@ -447,10 +452,10 @@ public class BlizzardAnimation {
         }
 
         // Particules autour du cadeau
-        if (showParticles && giftTicksElapsed % 8 == 0) {
+        if (showParticles && quality.isVisualTick(giftTicksElapsed, 8)) {
             Location giftLoc = activeGiftItem.getLocation();
-            owner.spawnParticle(Particle.END_ROD, giftLoc, 2, 0.3, 0.3, 0.3, 0.02);
-            owner.spawnParticle(Particle.SNOWFLAKE, giftLoc.clone().add(0, 0.5, 0), 1, 0.2, 0.2, 0.2, 0);
+            fx.particle(owner, Particle.END_ROD, giftLoc, quality.particles(2), 0.3, 0.3, 0.3, 0.02);
+            fx.particle(owner, Particle.SNOWFLAKE, giftLoc.clone().add(0, 0.5, 0), 1, 0.2, 0.2, 0.2, 0);
         }
     }
 
@@ -489,16 +494,17 @@ public class BlizzardAnimation {
 
     private void executeGiftReward() {
         // Message de ramassage
+        // Déjà coloré à la compilation de la config
         if (giftPickupMessage != null && !giftPickupMessage.isEmpty()) {
-            owner.sendMessage(ChatColor.translateAlternateColorCodes('&', giftPickupMessage));
+            owner.sendMessage(giftPickupMessage);
         }
 
         // Effets
-        owner.playSound(owner.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 1.0f, 1.0f);
-        owner.playSound(owner.getLocation(), Sound.BLOCK_NOTE_BLOCK_BELL, 1.0f, 1.2f);
+        fx.sound(owner, owner.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 1.0f, 1.0f);
+        fx.sound(owner, owner.getLocation(), Sound.BLOCK_NOTE_BLOCK_BELL, 1.0f, 1.2f);
 
         if (showParticles) {
-            owner.spawnParticle(Particle.TOTEM_OF_UNDYING, owner.getLocation().add(0, 1, 0), 25, 0.5, 1, 0.5, 0.2);
+            fx.particle(owner, Particle.TOTEM_OF_UNDYING, owner.getLocation().add(0, 1, 0), quality.particles(25), 0.5, 1, 0.5, 0.2);
         }
 
         // Exécuter les commandes
@@ -508,40 +514,27 @@ public class BlizzardAnimation {
         }
     }
 
-    private boolean isMatureCrop(Block block) {
-        Material type = block.getType();
-        if (!CROPS.contains(type))
-            return false;
-        if (NO_AGE_CROPS.contains(type))
-            return true;
-
-        if (block.getBlockData() instanceof Ageable ageable) {
-            return ageable.getAge() >= ageable.getMaximumAge();
-        }
-        return true;
-    }
-
     private void cleanup() {
         // Nettoyer toutes les snowballs actives
         for (SnowballTracker tracker : activeSnowballs) {
             if (tracker.snowball != null && !tracker.snowball.isDead()) {
-                tracker.snowball.remove();
+                plugin.getEntityProvider().despawn(tracker.snowball, owner);
             }
         }
         activeSnowballs.clear();
 
         // Nettoyer le cadeau actif s'il existe encore
         if (activeGiftItem != null && !activeGiftItem.isDead()) {
-            activeGiftItem.remove();
+            plugin.getEntityRegistry().remove(activeGiftItem);
         }
 
         // Effets de fin
         if (showParticles && owner.isOnline()) {
-            owner.spawnParticle(Particle.SNOWFLAKE, owner.getLocation().add(0, 2, 0), 25, 3, 2, 3, 0.05);
+            fx.particle(owner, Particle.SNOWFLAKE, owner.getLocation().add(0, 2, 0), quality.particles(25), 3, 2, 3, 0.05);
         }
 
-        if (owner.isOnline()) {
-            owner.playSound(owner.getLocation(), Sound.BLOCK_POWDER_SNOW_BREAK, 1.0f, 0.8f);
+        if (owner.isOnline() && quality.sounds()) {
+            fx.sound(owner, owner.getLocation(), Sound.BLOCK_POWDER_SNOW_BREAK, 1.0f, 0.8f);
         }
 
         if (onFinish != null) {
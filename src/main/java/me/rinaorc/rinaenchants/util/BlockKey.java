@@ -0,0 +1,52 @@
+package me.rinaorc.rinaenchants.util;
+
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+
+/**
+ * Encodage d'une position de bloc dans un long (même layout que Minecraft):
+ * X sur 26 bits, Z sur 26 bits, Y sur 12 bits.
+ *
+ * OPTIMISATION: Remplace les clés String "x:y:z" (aucune allocation).
+ */
+public final class BlockKey {
+
+    private BlockKey() {
+    }
+
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFFL);
+    }
+
+    public static long of(Location location) {
+        return pack(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    public static long of(Block block) {
+        return pack(block.getX(), block.getY(), block.getZ());
+    }
+
+    public static int unpackX(long key) {
+        return (int) (key >> 38);
+    }
+
+    public static int unpackY(long key) {
+        return (int) (key << 52 >> 52);
+    }
+
+    public static int unpackZ(long key) {
+        return (int) (key << 26 >> 38);
+    }
+
+    /**
+     * Mélange des bits pour les tables à adressage ouvert (finaliseur MurmurHash3)
+     */
+    static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
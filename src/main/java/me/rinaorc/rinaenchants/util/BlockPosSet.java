@@ -0,0 +1,143 @@
+package me.rinaorc.rinaenchants.util;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Ensemble de positions de blocs (clés BlockKey) sans allocation.
+ *
+ * OPTIMISATION:
+ * - Table à adressage ouvert sur des long primitifs (pas de String ni de boxing)
+ * - clear() en O(1) grâce à un numéro de génération par case
+ * - Pool partagé: les animations empruntent un set et le rendent à la fin
+ *
+ * Thread principal uniquement.
+ */
+public final class BlockPosSet {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    // Au-delà, un set n'est pas remis dans le pool (évite de garder de gros tableaux)
+    private static final int MAX_POOLED_CAPACITY = 4096;
+    private static final int MAX_POOL_SIZE = 128;
+
+    private static final ArrayDeque<BlockPosSet> POOL = new ArrayDeque<>();
+
+    private long[] keys;
+    // Une case est occupée si sa génération est celle du set
+    private int[] generations;
+    private int generation = 1;
+    private int mask;
+    private int size;
+
+    public BlockPosSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public BlockPosSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        generations = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // POOL
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Emprunte un set vide au pool (ou en crée un)
+     */
+    public static BlockPosSet acquire() {
+        BlockPosSet set = POOL.pollFirst();
+        return set != null ? set : new BlockPosSet();
+    }
+
+    /**
+     * Rend un set au pool. Il ne doit plus être utilisé ensuite.
+     */
+    public static void release(BlockPosSet set) {
+        if (set == null || set.keys.length > MAX_POOLED_CAPACITY || POOL.size() >= MAX_POOL_SIZE) {
+            return;
+        }
+        set.clear();
+        POOL.offerFirst(set);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // OPÉRATIONS
+    // ═══════════════════════════════════════════════════════════════════════
+
+    public boolean contains(int x, int y, int z) {
+        return contains(BlockKey.pack(x, y, z));
+    }
+
+    public boolean contains(long key) {
+        int i = BlockKey.hash(key) & mask;
+        while (generations[i] == generation) {
+            if (keys[i] == key) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean add(int x, int y, int z) {
+        return add(BlockKey.pack(x, y, z));
+    }
+
+    /**
+     * @return true si la position n'était pas déjà présente
+     */
+    public boolean add(long key) {
+        int i = BlockKey.hash(key) & mask;
+        while (generations[i] == generation) {
+            if (keys[i] == key) return false;
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        generations[i] = generation;
+        if (++size > (mask + 1) >> 1) {
+            rehash((mask + 1) << 1);
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Vide le set en O(1) (les tableaux sont conservés)
+     */
+    public void clear() {
+        size = 0;
+        if (++generation == 0) {
+            // Débordement du compteur: remise à zéro réelle (rarissime)
+            Arrays.fill(generations, 0);
+            generation = 1;
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        int[] oldGenerations = generations;
+        int oldGeneration = generation;
+        keys = new long[newCapacity];
+        generations = new int[newCapacity];
+        mask = newCapacity - 1;
+        generation = 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldGenerations[i] != oldGeneration) continue;
+            int j = BlockKey.hash(oldKeys[i]) & mask;
+            while (generations[j] == generation) {
+                j = (j + 1) & mask;
+            }
+            keys[j] = oldKeys[i];
+            generations[j] = generation;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package me.rinaorc.rinaenchants.util;
+
+import java.util.Arrays;
+
+/**
+ * Index anti-cascade d'un monde: positions de blocs en train d'être cassées
+ * par une entité d'enchantement, avec expiration en ticks.
+ *
+ * OPTIMISATION:
+ * - Clés long (BlockKey) dans une table à adressage ouvert primitive: aucune allocation
+ * - Expiration par roue temporelle (un seau par tick): O(1) par entrée expirée,
+ *   plus de balayage removeIf de toute la map
+ *
+ * Thread principal uniquement.
+ */
+public final class BreakingLocationIndex {
+
+    // Taille de la roue (puissance de 2, strictement supérieure à la durée de vie max)
+    private static final int WHEEL_SIZE = 32;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final int ttlTicks;
+
+    // Table: expiries[i] == 0 signifie case vide
+    private long[] keys;
+    private int[] expiries;
+    private int mask;
+    private int size;
+
+    // Roue temporelle: seau (tick d'expiration & WHEEL_MASK) -> clés
+    private final long[][] wheel = new long[WHEEL_SIZE][];
+    private final int[] wheelSizes = new int[WHEEL_SIZE];
+    private int lastAdvancedTick = Integer.MIN_VALUE;
+
+    /**
+     * @param ttlTicks Durée de vie d'une marque en ticks (1 à 31)
+     */
+    public BreakingLocationIndex(int ttlTicks) {
+        if (ttlTicks < 1 || ttlTicks >= WHEEL_SIZE) {
+            throw new IllegalArgumentException("ttlTicks doit être entre 1 et " + (WHEEL_SIZE - 1));
+        }
+        this.ttlTicks = ttlTicks;
+        this.keys = new long[64];
+        this.expiries = new int[64];
+        this.mask = 63;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new long[16];
+        }
+    }
+
+    /**
+     * Marque une position jusqu'à currentTick + ttl
+     */
+    public void mark(long key, int currentTick) {
+        advance(currentTick);
+        int expiry = currentTick + ttlTicks;
+        put(key, expiry);
+
+        int slot = expiry & WHEEL_MASK;
+        long[] bucket = wheel[slot];
+        int count = wheelSizes[slot];
+        if (count == bucket.length) {
+            bucket = Arrays.copyOf(bucket, count * 2);
+            wheel[slot] = bucket;
+        }
+        bucket[count] = key;
+        wheelSizes[slot] = count + 1;
+    }
+
+    /**
+     * Vérifie si une position est marquée (et non expirée)
+     */
+    public boolean isMarked(long key, int currentTick) {
+        advance(currentTick);
+        return size != 0 && indexOf(key) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(expiries, 0);
+        Arrays.fill(wheelSizes, 0);
+        size = 0;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // ROUE TEMPORELLE
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Fait expirer les seaux des ticks écoulés depuis le dernier appel
+     */
+    private void advance(int currentTick) {
+        int last = lastAdvancedTick;
+        if (currentTick == last) return;
+        lastAdvancedTick = currentTick;
+
+        if (last == Integer.MIN_VALUE) return;
+
+        // Saut plus long que toute durée de vie: tout a expiré
+        if (currentTick - last >= WHEEL_SIZE || currentTick < last) {
+            clear();
+            return;
+        }
+
+        for (int tick = last + 1; tick <= currentTick; tick++) {
+            int slot = tick & WHEEL_MASK;
+            int count = wheelSizes[slot];
+            if (count == 0) continue;
+
+            long[] bucket = wheel[slot];
+            for (int i = 0; i < count; i++) {
+                int index = indexOf(bucket[i]);
+                // Une marque renouvelée a une expiration plus tardive (autre seau)
+                if (index >= 0 && expiries[index] == tick) {
+                    removeAt(index);
+                }
+            }
+            wheelSizes[slot] = 0;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // TABLE À ADRESSAGE OUVERT (sondage linéaire)
+    // ═══════════════════════════════════════════════════════════════════════
+
+    private int indexOf(long key) {
+        int i = BlockKey.hash(key) & mask;
+        while (expiries[i] != 0) {
+            if (keys[i] == key) return i;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void put(long key, int expiry) {
+        int i = BlockKey.hash(key) & mask;
+        while (expiries[i] != 0) {
+            if (keys[i] == key) {
+                expiries[i] = expiry;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        expiries[i] = expiry;
+        if (++size > (mask + 1) >> 1) {
+            rehash((mask + 1) << 1);
+        }
+    }
+
+    /**
+     * Suppression par décalage arrière (pas de pierres tombales)
+     */
+    private void removeAt(int index) {
+        size--;
+        int hole = index;
+        int i = (index + 1) & mask;
+        while (expiries[i] != 0) {
+            int ideal = BlockKey.hash(keys[i]) & mask;
+            // L'élément peut-il remonter dans le trou ?
+            if (((i - ideal) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                expiries[hole] = expiries[i];
+                hole = i;
+            }
+            i = (i + 1) & mask;
+        }
+        expiries[hole] = 0;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        int[] oldExpiries = expiries;
+        keys = new long[newCapacity];
+        expiries = new int[newCapacity];
+        mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldExpiries[i] == 0) continue;
+            int j = BlockKey.hash(oldKeys[i]) & mask;
+            while (expiries[j] != 0) {
+                j = (j + 1) & mask;
+            }
+            keys[j] = oldKeys[i];
+            expiries[j] = oldExpiries[i];
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package me.rinaorc.rinaenchants.util;
+
+import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+/**
+ * XP donné via la commande console /cyberlevel addExp <xp> <joueur>.
+ *
+ * Ancien comportement, gardé en secours quand l'API CyberLevels ne peut pas
+ * être liée: chaque appel passe par le parsing de commande, les permissions
+ * et le log console.
+ */
+public class CommandXpSink implements XpSink {
+
+    private final RinaEnchantsPlugin plugin;
+
+    public CommandXpSink(RinaEnchantsPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public String getName() {
+        return "command";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return Bukkit.getPluginManager().isPluginEnabled("CyberLevels");
+    }
+
+    @Override
+    public boolean grant(Player player, long xp) {
+        String command = "cyberlevel addExp " + xp + " " + player.getName();
+        try {
+            return Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command);
+        } catch (RuntimeException e) {
+            if (plugin.isDebug()) {
+                plugin.getLogger().warning("§e[DEBUG] CyberLevel: erreur de la commande addExp: " + e);
+            }
+            return false;
+        }
+    }
+}
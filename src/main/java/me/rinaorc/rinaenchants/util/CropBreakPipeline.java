@@ -0,0 +1,633 @@
+package me.rinaorc.rinaenchants.util;
+
+import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Pipeline de cassage des cultures.
+ *
+ * Les callbacks des animations ne cassent plus les cultures directement:
+ * elles déposent une demande dans la file du joueur. Une seule task vide
+ * les files à chaque tick, en round-robin entre les joueurs et dans la
+ * limite d'un budget de temps (microsecondes). Un gros Warden Pulse ne
+ * peut plus coûter plusieurs millisecondes sur un seul tick, et la rafale
+ * d'un joueur ne bloque pas les récoltes des autres.
+ *
+ * Profondeur maximale par joueur (max-queue-depth), au-delà:
+ * - DROP: la demande est ignorée (la culture reste en place)
+ * - DEFER: la demande est gardée et traitée aux ticks suivants
+ *   (au plus max-deferred demandes en plus, puis ignorée comme DROP)
+ *
+ * Récolte groupée: dans une file, les cultures sont regroupées par monde,
+ * matériau et enchantement. Un appel HellRainAbility.replaceWithDrops avec
+ * un rayon couvre un cube de cultures ciblées au lieu d'un appel par bloc,
+ * uniquement si le cube ne contient AUCUNE autre culture du même matériau
+ * (non ciblée ou non mature): le rayon ne casse jamais plus que demandé.
+ * Toutes les positions couvertes sont marquées (anti-cascade) avant l'appel,
+ * puis vérifiées: le nombre de cultures cassées (et l'XP CyberLevel) est exact.
+ * Seules les cultures avec âge sont groupées: une culture sans âge replantée
+ * à l'identique ne peut pas être distinguée d'une culture non cassée.
+ *
+ * Thread principal uniquement.
+ */
+public class CropBreakPipeline {
+
+    public enum OverflowPolicy { DROP, DEFER }
+
+    private final RinaEnchantsPlugin plugin;
+
+    // Files par joueur + ordre de passage (round-robin)
+    private final Map<UUID, PlayerQueue> queues = new HashMap<>();
+    private final List<PlayerQueue> active = new ArrayList<>();
+    private int cursor = 0;
+
+    // Dernière file utilisée (les callbacks d'une animation arrivent en rafale)
+    private PlayerQueue lastQueue;
+
+    private long tickBudgetNanos;
+    private int maxQueueDepth;
+    private OverflowPolicy overflowPolicy;
+    private int maxDeferred;
+    private boolean batchEnabled;
+    private int maxRadius;
+    private int minBatch;
+    private BukkitTask bukkitTask;
+
+    // Avertissement envoyé une seule fois quand max-deferred est atteint
+    private boolean deferLimitWarned = false;
+
+    // Positions d'un appel groupé
+    private long[] batchKeys = new long[128];
+    private int batchSize;
+
+    // Statistiques
+    private long submitted = 0;
+    private long dropped = 0;
+    private long deferred = 0;
+    private long budgetExhaustedTicks = 0;
+    private long areaCalls = 0;
+    private long areaCrops = 0;
+    private long singleCrops = 0;
+    private double avgDrainNanos = 0.0;
+
+    public CropBreakPipeline(RinaEnchantsPlugin plugin) {
+        this.plugin = plugin;
+        loadConfig();
+    }
+
+    /**
+     * Charge les sections performance.crop-pipeline et performance.area-harvest
+     */
+    public void loadConfig() {
+        long budgetMicros = plugin.getConfig().getLong("performance.crop-pipeline.tick-budget-us", 2000L);
+        this.tickBudgetNanos = Math.max(0L, budgetMicros) * 1000L;
+        this.maxQueueDepth = Math.max(1, plugin.getConfig().getInt("performance.crop-pipeline.max-queue-depth", 2048));
+
+        String policy = plugin.getConfig().getString("performance.crop-pipeline.overflow", "DEFER");
+        try {
+            this.overflowPolicy = OverflowPolicy.valueOf(policy.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("performance.crop-pipeline.overflow invalide: " + policy + " (DROP ou DEFER), DEFER utilisé");
+            this.overflowPolicy = OverflowPolicy.DEFER;
+        }
+        this.maxDeferred = Math.max(0, plugin.getConfig().getInt("performance.crop-pipeline.max-deferred", 16384));
+        this.deferLimitWarned = false;
+
+        this.batchEnabled = plugin.getConfig().getBoolean("performance.area-harvest.enabled", true);
+        this.maxRadius = Math.max(1, Math.min(4, plugin.getConfig().getInt("performance.area-harvest.max-radius", 2)));
+        this.minBatch = Math.max(2, plugin.getConfig().getInt("performance.area-harvest.min-batch", 4));
+    }
+
+    public void start() {
+        if (bukkitTask == null) {
+            bukkitTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Arrête la task après avoir cassé toutes les cultures en attente (sans budget)
+     */
+    public void stop() {
+        if (bukkitTask != null) {
+            bukkitTask.cancel();
+            bukkitTask = null;
+        }
+        drain(Long.MAX_VALUE);
+        for (PlayerQueue queue : active) {
+            queue.release();
+        }
+        active.clear();
+        queues.clear();
+        lastQueue = null;
+        cursor = 0;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // SOUMISSION
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Demande le cassage d'une culture (traité par la pipeline, au plus tôt en fin de tick).
+     * La maturité est vérifiée ici puis de nouveau au moment du cassage.
+     */
+    public void submit(Player player, Location location, String enchantId) {
+        World world = location.getWorld();
+        if (world == null) return;
+
+        Block block = location.getBlock();
+        if (!plugin.getCropRegistry().isMature(block)) return;
+
+        PlayerQueue queue = lastQueue;
+        if (queue == null || queue.player != player) {
+            queue = queues.get(player.getUniqueId());
+            if (queue == null) {
+                queue = new PlayerQueue(player);
+                queues.put(player.getUniqueId(), queue);
+                active.add(queue);
+            }
+            lastQueue = queue;
+        }
+
+        if (queue.pending >= maxQueueDepth) {
+            if (overflowPolicy == OverflowPolicy.DROP) {
+                dropped++;
+                return;
+            }
+            // DEFER borné: au-delà de max-deferred reportées, la culture est ignorée
+            if (queue.pending - maxQueueDepth >= maxDeferred) {
+                dropped++;
+                if (!deferLimitWarned) {
+                    deferLimitWarned = true;
+                    plugin.getLogger().warning("§c[CropPipeline] File de " + player.getName() + " pleine ("
+                        + maxQueueDepth + " + " + maxDeferred + " reportées): cultures ignorées, "
+                        + "voir performance.crop-pipeline.max-deferred");
+                }
+                return;
+            }
+            deferred++;
+        }
+
+        if (queue.add(world, block.getType(), enchantId, BlockKey.of(block))) {
+            submitted++;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // VIDAGE DES FILES
+    // ═══════════════════════════════════════════════════════════════════════
+
+    private void tick() {
+        if (active.isEmpty()) {
+            avgDrainNanos *= 0.95;
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = tickBudgetNanos > 0 ? start + tickBudgetNanos : Long.MAX_VALUE;
+        if (!drain(deadline)) {
+            budgetExhaustedTicks++;
+        }
+
+        // Moyenne glissante (~1 seconde) du coût par tick
+        avgDrainNanos += ((System.nanoTime() - start) - avgDrainNanos) * 0.05;
+    }
+
+    /**
+     * Traite une unité (un appel de cassage) par joueur à tour de rôle
+     *
+     * @return true si toutes les files ont été vidées avant la deadline
+     */
+    private boolean drain(long deadline) {
+        boolean canBatch = batchEnabled && plugin.getHellRainBridge() != null && plugin.getHellRainBridge().isBound();
+
+        while (!active.isEmpty()) {
+            if (cursor >= active.size()) cursor = 0;
+            PlayerQueue queue = active.get(cursor);
+
+            if (!queue.player.isOnline() || !queue.processOne(canBatch)) {
+                // File vide (ou joueur déconnecté): elle quitte le round-robin
+                queue.release();
+                active.remove(cursor);
+                queues.remove(queue.player.getUniqueId());
+                if (lastQueue == queue) lastQueue = null;
+            } else {
+                cursor++;
+            }
+
+            if (System.nanoTime() > deadline) {
+                return active.isEmpty();
+            }
+        }
+        return true;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // CASSAGE
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Cherche le plus grand cube centré en (x, y, z) qui ne contient, pour ce
+     * matériau, que des cultures ciblées et matures. Les positions du meilleur
+     * cube sont laissées dans batchKeys.
+     *
+     * @return Demi-côté du cube, ou 0 si un appel groupé ne vaut pas le coup
+     */
+    private int findBatchRadius(Group group, int cx, int cy, int cz) {
+        World world = group.world;
+        batchSize = 0;
+        if (!isBatchTarget(group, world.getBlockAt(cx, cy, cz))) {
+            return 0;
+        }
+        pushBatchKey(BlockKey.pack(cx, cy, cz));
+
+        int best = 0;
+        int bestSize = 1;
+        for (int k = 1; k <= maxRadius; k++) {
+            if (cy - k < world.getMinHeight() || cy + k >= world.getMaxHeight()
+                    || !world.isChunkLoaded((cx - k) >> 4, (cz - k) >> 4)
+                    || !world.isChunkLoaded((cx + k) >> 4, (cz - k) >> 4)
+                    || !world.isChunkLoaded((cx - k) >> 4, (cz + k) >> 4)
+                    || !world.isChunkLoaded((cx + k) >> 4, (cz + k) >> 4)) {
+                break;
+            }
+            if (!scanShell(group, cx, cy, cz, k)) {
+                break;
+            }
+            best = k;
+            bestSize = batchSize;
+        }
+
+        batchSize = bestSize;
+        return batchSize >= minBatch ? best : 0;
+    }
+
+    /**
+     * Parcourt la couche du cube à distance k (Chebyshev) du centre
+     *
+     * @return false si la couche contient une culture du matériau qui ne doit pas être cassée
+     */
+    private boolean scanShell(Group group, int cx, int cy, int cz, int k) {
+        World world = group.world;
+        for (int dx = -k; dx <= k; dx++) {
+            for (int dy = -k; dy <= k; dy++) {
+                boolean edge = dx == -k || dx == k || dy == -k || dy == k;
+                // Hors des bords en X/Y, seules les faces Z sont dans la couche
+                int step = edge ? 1 : 2 * k;
+                for (int dz = -k; dz <= k; dz += step) {
+                    Block block = world.getBlockAt(cx + dx, cy + dy, cz + dz);
+                    if (block.getType() != group.type) continue;
+                    if (!isBatchTarget(group, block)) return false;
+                    pushBatchKey(BlockKey.of(block));
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isBatchTarget(Group group, Block block) {
+        long key = BlockKey.of(block);
+        return block.getType() == group.type && group.set.contains(key) && !group.done.contains(key)
+            && plugin.getCropRegistry().isMature(block);
+    }
+
+    private void pushBatchKey(long key) {
+        if (batchSize == batchKeys.length) {
+            batchKeys = Arrays.copyOf(batchKeys, batchSize * 2);
+        }
+        batchKeys[batchSize++] = key;
+    }
+
+    /**
+     * Un seul appel HellRainAbility pour tout le cube, puis vérification bloc par bloc
+     */
+    private int breakBatch(Player player, Group group, int cx, int cy, int cz, int radius) {
+        World world = group.world;
+
+        // Marquer AVANT pour éviter les cascades internes
+        for (int i = 0; i < batchSize; i++) {
+            long key = batchKeys[i];
+            group.done.add(key);
+            plugin.markEntityBreakingLocation(world, key);
+        }
+
+        Location center = new Location(world, cx, cy, cz);
+        FlightEvents.CropHarvest event = null;
+        if (FlightEvents.isCropHarvestEnabled()) {
+            event = new FlightEvents.CropHarvest();
+            event.begin();
+        }
+        EnchantMetrics.BreakPath path = plugin.getHellRainBridge().breakAreaPath(player, center,
+            radius + HellRainBridge.SINGLE_BLOCK_RADIUS, group.type);
+        boolean called = path != EnchantMetrics.BreakPath.FAILED;
+        if (called) {
+            areaCalls++;
+        }
+
+        int broken = 0;
+        int brokenByArea = 0;
+        for (int i = 0; i < batchSize; i++) {
+            long key = batchKeys[i];
+            Block block = world.getBlockAt(BlockKey.unpackX(key), BlockKey.unpackY(key), BlockKey.unpackZ(key));
+            if (called && !plugin.getCropRegistry().isMature(block)) {
+                // Cassée (ou replantée) par l'appel groupé
+                areaCrops++;
+                brokenByArea++;
+                broken++;
+            } else if (plugin.breakMarkedCrop(player, block.getLocation(), block, block.getType(), group.enchantId)) {
+                // Non couverte par le rayon: cassage individuel
+                singleCrops++;
+                broken++;
+            }
+        }
+
+        // Appel groupé échoué: chaque culture a été cassée par breakMarkedCrop, qui compte son chemin
+        if (called) {
+            plugin.getMetrics().breakPath(group.enchantId, path, brokenByArea);
+        }
+        if (event != null) {
+            event.finish(group.enchantId, path, group.type.name(), brokenByArea);
+        }
+
+        if (plugin.isDebug()) {
+            plugin.getLogger().info("§e[DEBUG] CropPipeline: " + group.enchantId + " rayon " + radius +
+                ", " + batchSize + " ciblée(s), " + broken + " cassée(s)");
+        }
+        return broken;
+    }
+
+    private int breakSingle(Player player, Group group, Block block) {
+        // La culture a pu être cassée depuis la mise en file
+        if (block.getType() != group.type || !plugin.getCropRegistry().isMature(block)) {
+            return 0;
+        }
+        Location location = block.getLocation();
+        plugin.markEntityBreakingLocation(location);
+        if (plugin.breakMarkedCrop(player, location, block, group.type, group.enchantId)) {
+            singleCrops++;
+            return 1;
+        }
+        return 0;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // STATISTIQUES
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /** Demandes acceptées */
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    /** Demandes ignorées (file pleine) */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /** Demandes acceptées au-delà de la profondeur maximale (DEFER) */
+    public long getDeferred() {
+        return deferred;
+    }
+
+    /** Ticks où le budget a été dépassé avant de vider les files */
+    public long getBudgetExhaustedTicks() {
+        return budgetExhaustedTicks;
+    }
+
+    /**
+     * Oublie les cultures en attente d'un joueur (déconnexion, changement de monde).
+     * Les cultures restent en place.
+     *
+     * @return Nombre de cultures retirées de la file
+     */
+    public int purge(UUID playerId) {
+        PlayerQueue queue = queues.remove(playerId);
+        if (queue == null) return 0;
+
+        int purged = queue.pending;
+        int index = active.indexOf(queue);
+        if (index >= 0) {
+            active.remove(index);
+            if (index < cursor) cursor--;
+        }
+        if (lastQueue == queue) lastQueue = null;
+        queue.release();
+        return purged;
+    }
+
+    /** Cultures en attente pour un joueur */
+    public int getPendingCount(UUID playerId) {
+        PlayerQueue queue = queues.get(playerId);
+        return queue != null ? queue.pending : 0;
+    }
+
+    /** Cultures en attente, tous joueurs confondus */
+    public int getPendingCount() {
+        int pending = 0;
+        for (PlayerQueue queue : active) {
+            pending += queue.pending;
+        }
+        return pending;
+    }
+
+    public int getActivePlayers() {
+        return active.size();
+    }
+
+    /** Coût moyen du vidage par tick */
+    public double getAverageDrainNanos() {
+        return avgDrainNanos;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /** Appels groupés (un rayon pour plusieurs cultures) */
+    public long getAreaCalls() {
+        return areaCalls;
+    }
+
+    /** Cultures cassées par un appel groupé */
+    public long getAreaCrops() {
+        return areaCrops;
+    }
+
+    /** Cultures cassées une par une */
+    public long getSingleCrops() {
+        return singleCrops;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // FILES
+    // ═══════════════════════════════════════════════════════════════════════
+
+    private record GroupKey(UUID worldId, Material type, String enchantId) {
+    }
+
+    /**
+     * File d'un joueur: groupes (monde, matériau, enchantement) dans l'ordre d'arrivée
+     */
+    private final class PlayerQueue {
+        final Player player;
+        final ArrayDeque<Group> groups = new ArrayDeque<>();
+        final Map<GroupKey, Group> byKey = new HashMap<>();
+        Group lastGroup;
+        int pending;
+
+        PlayerQueue(Player player) {
+            this.player = player;
+        }
+
+        boolean add(World world, Material type, String enchantId, long key) {
+            Group group = lastGroup;
+            if (group == null || group.world != world || group.type != type || !group.enchantId.equals(enchantId)) {
+                GroupKey groupKey = new GroupKey(world.getUID(), type, enchantId);
+                group = byKey.get(groupKey);
+                if (group == null) {
+                    group = new Group(groupKey, world, type, enchantId);
+                    byKey.put(groupKey, group);
+                    groups.addLast(group);
+                }
+                lastGroup = group;
+            }
+            if (!group.add(key)) return false;
+            pending++;
+            return true;
+        }
+
+        /**
+         * Traite un appel de cassage (groupé ou individuel) du premier groupe
+         *
+         * @return false si la file est vide
+         */
+        boolean processOne(boolean canBatch) {
+            Group group;
+            while ((group = groups.peekFirst()) != null) {
+                long key = group.next();
+                if (key != Group.NONE) {
+                    process(group, key, canBatch);
+                    return true;
+                }
+                // Groupe terminé
+                groups.pollFirst();
+                byKey.remove(group.groupKey);
+                if (lastGroup == group) lastGroup = null;
+                group.release();
+            }
+            return false;
+        }
+
+        private void process(Group group, long key, boolean canBatch) {
+            TickProfiler profiler = plugin.getProfiler();
+            if (!profiler.isRunning()) {
+                processUnmeasured(group, key, canBatch);
+                return;
+            }
+            long start = System.nanoTime();
+            int broken = processUnmeasured(group, key, canBatch);
+            profiler.recordBreak(player.getUniqueId(), group.enchantId, System.nanoTime() - start, broken);
+        }
+
+        /**
+         * @return Nombre de cultures cassées
+         */
+        private int processUnmeasured(Group group, long key, boolean canBatch) {
+            int x = BlockKey.unpackX(key);
+            int y = BlockKey.unpackY(key);
+            int z = BlockKey.unpackZ(key);
+            int broken;
+
+            if (canBatch && plugin.getCropRegistry().isAgeable(group.type)) {
+                int radius = findBatchRadius(group, x, y, z);
+                if (radius > 0) {
+                    pending -= batchSize;
+                    broken = breakBatch(player, group, x, y, z, radius);
+                    plugin.grantCropXP(player, group.enchantId, broken);
+                    return broken;
+                }
+            }
+
+            group.done.add(key);
+            pending--;
+            broken = breakSingle(player, group, group.world.getBlockAt(x, y, z));
+            plugin.grantCropXP(player, group.enchantId, broken);
+            return broken;
+        }
+
+        void release() {
+            for (Group group : groups) {
+                group.release();
+            }
+            groups.clear();
+            byKey.clear();
+            lastGroup = null;
+            pending = 0;
+        }
+    }
+
+    /**
+     * Cultures d'un joueur pour un monde, un matériau et un enchantement
+     */
+    private static final class Group {
+        static final long NONE = Long.MIN_VALUE;
+
+        final GroupKey groupKey;
+        final World world;
+        final Material type;
+        final String enchantId;
+
+        // Toutes les positions demandées + positions déjà traitées
+        final BlockPosSet set = BlockPosSet.acquire();
+        final BlockPosSet done = BlockPosSet.acquire();
+        long[] keys = new long[16];
+        int size;
+        int head;
+
+        Group(GroupKey groupKey, World world, Material type, String enchantId) {
+            this.groupKey = groupKey;
+            this.world = world;
+            this.type = type;
+            this.enchantId = enchantId;
+        }
+
+        boolean add(long key) {
+            if (!set.add(key)) return false;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            keys[size++] = key;
+            return true;
+        }
+
+        /**
+         * Prochaine position non traitée (les positions couvertes par un appel groupé sont sautées)
+         */
+        long next() {
+            while (head < size) {
+                long key = keys[head++];
+                if (!done.contains(key)) return key;
+            }
+            return NONE;
+        }
+
+        void release() {
+            BlockPosSet.release(set);
+            BlockPosSet.release(done);
+        }
+    }
+}
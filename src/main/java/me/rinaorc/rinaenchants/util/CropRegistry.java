@@ -0,0 +1,218 @@
+package me.rinaorc.rinaenchants.util;
+
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.Ageable;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import java.util.logging.Logger;
+
+/**
+ * Registre central des cultures récoltables par les enchantements.
+ *
+ * Remplace les Set<Material> CROPS / NO_AGE_CROPS dupliqués dans chaque
+ * enchantement et animation: une seule liste, modifiable via la section
+ * "crops" de la config au reload.
+ *
+ * OPTIMISATION: Les drapeaux sont indexés par Material#ordinal() dans un
+ * tableau de bytes. La classification coûte quelques lectures de tableau
+ * au lieu de deux lookups HashSet + instanceof Ageable. L'âge maximum est
+ * pré-calculé pour éviter getMaximumAge() à chaque vérification.
+ *
+ * Les tableaux sont remplacés d'un bloc au reload (référence volatile),
+ * les lectures depuis les animations restent donc cohérentes.
+ */
+public class CropRegistry {
+
+    // Drapeaux par matériau
+    private static final byte CROP = 1;
+    private static final byte NO_AGE = 1 << 1;
+    private static final byte AGEABLE = 1 << 2;
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // CULTURES PAR DÉFAUT
+    // ═══════════════════════════════════════════════════════════════════════
+
+    // Cultures vérifiées via Ageable (matures quand age >= âge maximum)
+    private static final Set<Material> DEFAULT_AGED = EnumSet.of(
+        Material.WHEAT, Material.CARROTS, Material.POTATOES, Material.BEETROOTS,
+        Material.NETHER_WART, Material.COCOA, Material.SWEET_BERRY_BUSH,
+        Material.TWISTING_VINES, Material.WEEPING_VINES,
+        Material.TALL_GRASS, Material.LARGE_FERN
+    );
+
+    // Cultures sans âge (toujours considérées matures)
+    private static final Set<Material> DEFAULT_NO_AGE = EnumSet.of(
+        Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE, Material.CACTUS,
+        Material.BAMBOO, Material.KELP, Material.KELP_PLANT,
+        Material.TUBE_CORAL, Material.BUBBLE_CORAL, Material.BRAIN_CORAL,
+        Material.FIRE_CORAL, Material.HORN_CORAL,
+        Material.TUBE_CORAL_BLOCK, Material.BUBBLE_CORAL_BLOCK, Material.BRAIN_CORAL_BLOCK,
+        Material.FIRE_CORAL_BLOCK, Material.HORN_CORAL_BLOCK,
+        Material.TUBE_CORAL_FAN, Material.BUBBLE_CORAL_FAN, Material.BRAIN_CORAL_FAN,
+        Material.FIRE_CORAL_FAN, Material.HORN_CORAL_FAN,
+        Material.WARPED_ROOTS, Material.CRIMSON_ROOTS, Material.NETHER_SPROUTS,
+        Material.LILAC, Material.ROSE_BUSH, Material.PEONY, Material.SUNFLOWER,
+        Material.OAK_SAPLING, Material.BIRCH_SAPLING, Material.JUNGLE_SAPLING,
+        Material.SPRUCE_SAPLING, Material.CHERRY_SAPLING, Material.ACACIA_SAPLING,
+        Material.DARK_OAK_SAPLING, Material.MANGROVE_PROPAGULE,
+        Material.CHORUS_FLOWER, Material.CHORUS_PLANT, Material.SEA_PICKLE
+    );
+
+    private final Logger logger;
+
+    private volatile byte[] flags = new byte[Material.values().length];
+    private volatile byte[] maxAges = new byte[Material.values().length];
+    private volatile int cropCount = 0;
+
+    // Compteur de blocs testés (thread principal, pas de synchronisation)
+    private long blocksChecked = 0;
+
+    public CropRegistry(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * (Re)construit le registre à partir des valeurs par défaut et de la section "crops".
+     *
+     * crops:
+     *   add: []          # cultures avec âge ajoutées
+     *   add-no-age: []   # cultures toujours matures ajoutées
+     *   remove: []       # cultures retirées (appliqué en dernier)
+     */
+    public void load(FileConfiguration config) {
+        load(config, material -> material.isBlock() && material.createBlockData() instanceof Ageable ageable
+            ? ageable.getMaximumAge() : -1);
+    }
+
+    /**
+     * (Re)construit le registre avec une source explicite pour l'âge maximum.
+     *
+     * Permet de construire le registre hors serveur (benchmarks JMH):
+     * createBlockData() demande un serveur démarré.
+     *
+     * @param maxAgeOf Âge maximum d'un matériau, -1 s'il n'est pas Ageable
+     */
+    public void load(FileConfiguration config, ToIntFunction<Material> maxAgeOf) {
+        Set<Material> aged = EnumSet.copyOf(DEFAULT_AGED);
+        Set<Material> noAge = EnumSet.copyOf(DEFAULT_NO_AGE);
+
+        ConfigurationSection section = config.getConfigurationSection("crops");
+        if (section != null) {
+            parseInto(section.getStringList("add"), aged, "add");
+            parseInto(section.getStringList("add-no-age"), noAge, "add-no-age");
+
+            Set<Material> removed = EnumSet.noneOf(Material.class);
+            parseInto(section.getStringList("remove"), removed, "remove");
+            aged.removeAll(removed);
+            noAge.removeAll(removed);
+        }
+        aged.removeAll(noAge);
+
+        Material[] materials = Material.values();
+        byte[] newFlags = new byte[materials.length];
+        byte[] newMaxAges = new byte[materials.length];
+        int count = 0;
+
+        for (Material material : aged) {
+            int ordinal = material.ordinal();
+            newFlags[ordinal] = CROP;
+            int maxAge = maxAgeOf.applyAsInt(material);
+            if (maxAge >= 0) {
+                newFlags[ordinal] |= AGEABLE;
+                newMaxAges[ordinal] = (byte) maxAge;
+            }
+            count++;
+        }
+        for (Material material : noAge) {
+            newFlags[material.ordinal()] = CROP | NO_AGE;
+            count++;
+        }
+
+        this.maxAges = newMaxAges;
+        this.flags = newFlags;
+        this.cropCount = count;
+
+        logger.info("§a✓ CropRegistry: " + count + " types de cultures chargés!");
+    }
+
+    private void parseInto(List<String> names, Set<Material> target, String key) {
+        for (String name : names) {
+            Material material = Material.matchMaterial(name);
+            if (material == null || !material.isBlock()) {
+                logger.warning("Culture inconnue dans crops." + key + ": " + name);
+                continue;
+            }
+            target.add(material);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // CLASSIFICATION
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Vérifie si le matériau est une culture reconnue (mature ou non)
+     */
+    public boolean isCrop(Material type) {
+        return (flags[type.ordinal()] & CROP) != 0;
+    }
+
+    /**
+     * Vérifie si le matériau est une culture sans âge
+     */
+    public boolean isNoAge(Material type) {
+        return (flags[type.ordinal()] & NO_AGE) != 0;
+    }
+
+    /**
+     * Vérifie si le matériau est une culture avec âge (vérifiée via Ageable)
+     */
+    public boolean isAgeable(Material type) {
+        return (flags[type.ordinal()] & AGEABLE) != 0;
+    }
+
+    /**
+     * Vérifie si un bloc est une culture mature.
+     * getBlockData() n'est appelé que pour les cultures avec âge.
+     */
+    public boolean isMature(Block block) {
+        blocksChecked++;
+        int ordinal = block.getType().ordinal();
+        byte f = flags[ordinal];
+        if ((f & CROP) == 0) return false;
+        if ((f & AGEABLE) == 0) return true;
+
+        return block.getBlockData() instanceof Ageable ageable && ageable.getAge() >= maxAges[ordinal];
+    }
+
+    /**
+     * Vérifie si des données de bloc correspondent à une culture mature
+     */
+    public boolean isMature(BlockData data) {
+        int ordinal = data.getMaterial().ordinal();
+        byte f = flags[ordinal];
+        if ((f & CROP) == 0) return false;
+        if ((f & AGEABLE) == 0) return true;
+
+        return data instanceof Ageable ageable && ageable.getAge() >= maxAges[ordinal];
+    }
+
+    public int size() {
+        return cropCount;
+    }
+
+    /**
+     * Blocs testés par isMature(Block) depuis le démarrage (blocs scannés par
+     * les animations et la pipeline, voir FlightEvents et le profiler)
+     */
+    public long getBlocksChecked() {
+        return blocksChecked;
+    }
+}
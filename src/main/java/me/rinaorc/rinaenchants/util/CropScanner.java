@@ -0,0 +1,89 @@
+package me.rinaorc.rinaenchants.util;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Recherche de cultures matures autour d'une position (Bee Collector).
+ *
+ * Séparée de BeeCollectorEnchant pour être mesurable hors serveur
+ * (benchmarks JMH, src/jmh/java). La classification reste celle du
+ * CropRegistry.
+ */
+public final class CropScanner {
+
+    private CropScanner() {
+    }
+
+    /**
+     * Trouve les cultures matures dans un rayon donné (5 couches: y-2 à y+2),
+     * au plus maxCount, dans un ordre aléatoire.
+     *
+     * OPTIMISATION: Au lieu de créer une liste de tous les offsets et la mélanger
+     * (coûteux en mémoire pour les grands rayons), on utilise un échantillonnage
+     * aléatoire direct avec un parcours en spirale pour une meilleure distribution.
+     */
+    public static List<Location> findMatureCrops(CropRegistry registry, Location center, int radius,
+                                                 int maxCount, Random random) {
+        List<Location> crops = new ArrayList<>(maxCount);
+        World world = center.getWorld();
+
+        if (world == null) return crops;
+
+        int centerX = center.getBlockX();
+        int centerY = center.getBlockY();
+        int centerZ = center.getBlockZ();
+
+        // Limiter le rayon pour éviter les calculs excessifs
+        int effectiveRadius = Math.min(radius, 15);
+
+        // Nombre total de blocs à vérifier (approximatif)
+        int totalBlocks = (2 * effectiveRadius + 1) * (2 * effectiveRadius + 1) * 5;
+
+        // Si on cherche moins de cultures qu'il n'y a de blocs, utiliser l'échantillonnage aléatoire
+        if (maxCount < totalBlocks / 4) {
+            // Échantillonnage aléatoire: essayer des positions aléatoires
+            int attempts = Math.min(maxCount * 8, totalBlocks);
+            for (int i = 0; i < attempts && crops.size() < maxCount; i++) {
+                int x = random.nextInt(2 * effectiveRadius + 1) - effectiveRadius;
+                int y = random.nextInt(5) - 2;
+                int z = random.nextInt(2 * effectiveRadius + 1) - effectiveRadius;
+
+                if (x == 0 && y == 0 && z == 0) continue;
+
+                Block block = world.getBlockAt(centerX + x, centerY + y, centerZ + z);
+                if (registry.isMature(block)) {
+                    Location loc = block.getLocation();
+                    // Éviter les doublons
+                    if (!crops.contains(loc)) {
+                        crops.add(loc);
+                    }
+                }
+            }
+        } else {
+            // Parcours direct si on veut beaucoup de cultures
+            for (int x = -effectiveRadius; x <= effectiveRadius && crops.size() < maxCount; x++) {
+                for (int y = -2; y <= 2 && crops.size() < maxCount; y++) {
+                    for (int z = -effectiveRadius; z <= effectiveRadius && crops.size() < maxCount; z++) {
+                        if (x == 0 && y == 0 && z == 0) continue;
+
+                        Block block = world.getBlockAt(centerX + x, centerY + y, centerZ + z);
+                        if (registry.isMature(block)) {
+                            crops.add(block.getLocation());
+                        }
+                    }
+                }
+            }
+            // Mélanger le résultat pour une distribution aléatoire
+            Collections.shuffle(crops, random);
+        }
+
+        return crops;
+    }
+}
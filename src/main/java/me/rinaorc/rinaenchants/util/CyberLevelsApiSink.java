@@ -0,0 +1,183 @@
+package me.rinaorc.rinaenchants.util;
+
+import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * XP donné directement via l'API de CyberLevels.
+ *
+ * Chemin de l'API: plugin.levelCache().playerLevels().get(player).addExp(xp, multiplicateur)
+ *
+ * OPTIMISATION: Les méthodes sont résolues une seule fois en MethodHandle
+ * (même principe que HellRainBridge), la map des joueurs est lue une fois
+ * par lot: pas de commande construite, parsée et loggée par joueur.
+ *
+ * Les handles sont re-résolus quand CyberLevels est réactivé (nouveau
+ * classloader) et relâchés quand il est désactivé.
+ *
+ * Thread principal uniquement.
+ */
+public class CyberLevelsApiSink implements XpSink {
+
+    private static final String CYBERLEVELS_PLUGIN = "CyberLevels";
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType ADD_EXP_TYPE = MethodType.methodType(void.class, Object.class, double.class, boolean.class);
+
+    private final RinaEnchantsPlugin plugin;
+
+    // Multiplicateurs CyberLevels appliqués à l'XP donné
+    private boolean applyMultiplier;
+
+    // (plugin)levelCache, (levelCache)playerLevels, (levelObject, double, boolean)addExp
+    private Object cyberLevels;
+    private MethodHandle levelCache;
+    private MethodHandle playerLevels;
+    private MethodHandle addExp;
+
+    // Une erreur loggée en warning après chaque binding, le reste en debug
+    private boolean errorLogged = false;
+
+    public CyberLevelsApiSink(RinaEnchantsPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public void setApplyMultiplier(boolean applyMultiplier) {
+        this.applyMultiplier = applyMultiplier;
+    }
+
+    /**
+     * Résout l'API CyberLevels depuis l'instance du plugin
+     *
+     * @return true si l'API est utilisable
+     */
+    public boolean bind() {
+        unbind();
+
+        Plugin target = Bukkit.getPluginManager().getPlugin(CYBERLEVELS_PLUGIN);
+        if (target == null || !target.isEnabled()) {
+            return false;
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+            Method cacheMethod = target.getClass().getMethod("levelCache");
+            Method levelsMethod = cacheMethod.getReturnType().getMethod("playerLevels");
+            if (!Map.class.isAssignableFrom(levelsMethod.getReturnType())) {
+                plugin.getLogger().warning("§e[CyberLevel] API: playerLevels() ne retourne pas une Map, commande utilisée");
+                return false;
+            }
+
+            // Map<Player, LevelObject>: classe de l'objet joueur lue sur le type générique
+            Class<?> levelObjectClass = levelObjectClass(levelsMethod.getGenericReturnType());
+            if (levelObjectClass == null) {
+                plugin.getLogger().warning("§e[CyberLevel] API: type des niveaux joueurs inconnu, commande utilisée");
+                return false;
+            }
+            Method addExpMethod = levelObjectClass.getMethod("addExp", double.class, boolean.class);
+
+            levelCache = lookup.unreflect(cacheMethod).asType(GETTER_TYPE);
+            playerLevels = lookup.unreflect(levelsMethod).asType(GETTER_TYPE);
+            addExp = lookup.unreflect(addExpMethod).asType(ADD_EXP_TYPE);
+            cyberLevels = target;
+        } catch (NoSuchMethodException | IllegalAccessException | LinkageError e) {
+            plugin.getLogger().warning("§e[CyberLevel] API non compatible (" + e + "), commande utilisée");
+            unbind();
+            return false;
+        }
+
+        plugin.getLogger().info("§a✓ API CyberLevels liée");
+        return true;
+    }
+
+    private static Class<?> levelObjectClass(Type mapType) {
+        if (mapType instanceof ParameterizedType parameterized) {
+            Type[] arguments = parameterized.getActualTypeArguments();
+            if (arguments.length == 2 && arguments[1] instanceof Class<?> valueClass) {
+                return valueClass;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Relâche les handles (CyberLevels désactivé: libère son classloader)
+     */
+    public void unbind() {
+        cyberLevels = null;
+        levelCache = null;
+        playerLevels = null;
+        addExp = null;
+        errorLogged = false;
+    }
+
+    @Override
+    public String getName() {
+        return "api";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return addExp != null;
+    }
+
+    @Override
+    public boolean grant(Player player, long xp) {
+        Map<?, ?> levels = levels();
+        return levels != null && grant(levels, player, xp);
+    }
+
+    @Override
+    public void grantBatch(Player[] players, long[] amounts, boolean[] granted, int count) {
+        // Cache des niveaux lu une seule fois pour tout le lot
+        Map<?, ?> levels = levels();
+        for (int i = 0; i < count; i++) {
+            granted[i] = levels != null && grant(levels, players[i], amounts[i]);
+        }
+    }
+
+    private Map<?, ?> levels() {
+        MethodHandle cacheHandle = levelCache;
+        if (cacheHandle == null) return null;
+        try {
+            Object cache = (Object) cacheHandle.invokeExact(cyberLevels);
+            return cache != null ? (Map<?, ?>) (Object) playerLevels.invokeExact(cache) : null;
+        } catch (Throwable t) {
+            logError(t);
+            return null;
+        }
+    }
+
+    private boolean grant(Map<?, ?> levels, Player player, long xp) {
+        // Joueur pas encore chargé par CyberLevels: l'appelant passe par la commande
+        Object levelObject = levels.get(player);
+        if (levelObject == null) return false;
+        try {
+            addExp.invokeExact(levelObject, (double) xp, applyMultiplier);
+            return true;
+        } catch (Throwable t) {
+            logError(t);
+            return false;
+        }
+    }
+
+    private void logError(Throwable t) {
+        if (!errorLogged) {
+            errorLogged = true;
+            plugin.getLogger().warning("§e[CyberLevel] Erreur de l'API: " + t);
+        } else if (plugin.isDebug()) {
+            plugin.getLogger().warning("§e[DEBUG] CyberLevel: erreur de l'API: " + t);
+        }
+    }
+}
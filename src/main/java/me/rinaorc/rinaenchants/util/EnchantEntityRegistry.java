@@ -0,0 +1,296 @@
+package me.rinaorc.rinaenchants.util;
+
+import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Registre de toutes les entités créées par le plugin.
+ *
+ * Chaque entité est enregistrée à son spawn (propriétaire, animation, tick de
+ * spawn, durée de vie attendue) et retirée à son despawn. Le nettoyage des
+ * orphelins ne parcourt plus les entités de tous les mondes:
+ * - Durée de vie dépassée (+ marge): l'entité est supprimée. Les expirations
+ *   sont triées par tick, le balayage ne lit que celles qui sont échues.
+ * - EntitiesLoadEvent: une entité marquée (PDC) qui apparaît dans un chunk
+ *   chargé sans être dans le registre est un survivant d'un crash/reload,
+ *   elle est supprimée.
+ *
+ * Le coût est proportionnel au nombre d'entités du plugin, pas au nombre
+ * d'entités chargées sur le serveur. Le scan complet des mondes reste
+ * disponible via /rinaenchants cleanup.
+ *
+ * Thread principal uniquement.
+ */
+public class EnchantEntityRegistry implements Listener {
+
+    // Balayage des expirations (1 seconde)
+    private static final long SWEEP_PERIOD = 20L;
+
+    // Animation des entités garées par PooledEntityProvider (inactives, sans propriétaire)
+    static final String POOL_ANIMATION = "pool";
+
+    private final RinaEnchantsPlugin plugin;
+    private final EntityJournal journal;
+
+    // Configuration
+    private long defaultLifetimeTicks;
+    private long graceTicks;
+
+    private final Map<UUID, Entry> entries = new HashMap<>();
+
+    // Entrées par tick d'expiration (entrées retirées ou remplacées ignorées au dépilage)
+    private final PriorityQueue<Entry> expirations = new PriorityQueue<>((a, b) -> Long.compare(a.expiresTick, b.expiresTick));
+
+    private BukkitTask sweepTask;
+
+    // Statistiques
+    private long registered = 0;
+    private long acquired = 0;
+    private long expired = 0;
+    private long orphansOnLoad = 0;
+
+    public EnchantEntityRegistry(RinaEnchantsPlugin plugin, EntityJournal journal) {
+        this.plugin = plugin;
+        this.journal = journal;
+        loadConfig();
+    }
+
+    /**
+     * Charge la section performance.entity-registry
+     */
+    public void loadConfig() {
+        String base = "performance.entity-registry.";
+        this.defaultLifetimeTicks = Math.max(SWEEP_PERIOD, plugin.getConfig().getLong(base + "default-lifetime-ticks", 1200L));
+        this.graceTicks = Math.max(0L, plugin.getConfig().getLong(base + "lifetime-grace-ticks", 600L));
+    }
+
+    public void start() {
+        if (sweepTask == null) {
+            sweepTask = Bukkit.getScheduler().runTaskTimer(plugin, this::sweep, SWEEP_PERIOD, SWEEP_PERIOD);
+        }
+    }
+
+    public void stop() {
+        if (sweepTask != null) {
+            sweepTask.cancel();
+            sweepTask = null;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // ENREGISTREMENT
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Enregistre (ou renouvelle) une entité du plugin
+     *
+     * @param owner Joueur propriétaire (null si aucun)
+     * @param animation ID de section de l'animation (ex: "bee-collector"), null si inconnu
+     * @param lifetimeTicks Durée de vie attendue, 0 = valeur par défaut de la config
+     */
+    public void track(Entity entity, Player owner, String animation, long lifetimeTicks) {
+        long now = Bukkit.getCurrentTick();
+        long lifetime = lifetimeTicks > 0 ? lifetimeTicks : defaultLifetimeTicks;
+
+        Entry entry = new Entry(entity, owner != null ? owner.getUniqueId() : null,
+            animation != null ? animation : "unknown", now, now + lifetime + graceTicks);
+        if (entries.put(entity.getUniqueId(), entry) == null) {
+            registered++;
+        }
+        // Entité créée ou reprise du pool pour une animation (pas une mise en attente)
+        if (!POOL_ANIMATION.equals(entry.animation)) {
+            acquired++;
+        }
+        expirations.add(entry);
+        journal.spawned(entity);
+    }
+
+    /**
+     * Retire une entité du registre (sans la supprimer)
+     */
+    public void untrack(Entity entity) {
+        if (entries.remove(entity.getUniqueId()) != null) {
+            journal.removed(entity.getUniqueId());
+        }
+    }
+
+    /**
+     * Retire une entité du registre et la supprime du monde
+     */
+    public void remove(Entity entity) {
+        untrack(entity);
+        entity.remove();
+    }
+
+    public boolean isTracked(Entity entity) {
+        return entries.containsKey(entity.getUniqueId());
+    }
+
+    /**
+     * Entités enregistrées d'un joueur (copie, peut être modifiée pendant le parcours)
+     */
+    public List<Entity> ownedBy(UUID owner) {
+        List<Entity> owned = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (owner.equals(entry.owner)) {
+                owned.add(entry.entity);
+            }
+        }
+        return owned;
+    }
+
+    /**
+     * Nombre d'entités enregistrées d'un joueur
+     */
+    public int countOwnedBy(UUID owner) {
+        int count = 0;
+        for (Entry entry : entries.values()) {
+            if (owner.equals(entry.owner)) count++;
+        }
+        return count;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // NETTOYAGE
+    // ═══════════════════════════════════════════════════════════════════════
+
+    private void sweep() {
+        long now = Bukkit.getCurrentTick();
+        boolean debug = plugin.isDebug();
+
+        Entry entry;
+        while ((entry = expirations.peek()) != null && entry.expiresTick <= now) {
+            expirations.poll();
+
+            // Retirée, ou renouvelée depuis (nouvelle entrée plus tardive)
+            if (entries.get(entry.entity.getUniqueId()) != entry) continue;
+            entries.remove(entry.entity.getUniqueId());
+            journal.removed(entry.entity.getUniqueId());
+
+            // Déjà disparue (chunk déchargé, entité non persistante): rien à faire
+            if (!entry.entity.isValid()) continue;
+
+            entry.entity.remove();
+            expired++;
+            if (debug) {
+                plugin.getLogger().info("§e[Cleanup] Entité expirée: " + entry.entity.getType() + " (" +
+                    entry.animation + ", " + (now - entry.spawnTick) + " ticks) à " + entry.entity.getLocation().toVector());
+            }
+        }
+
+        // Entrées mortes en attente dans la file: compacter si elle grossit trop
+        if (expirations.size() > entries.size() * 4 + 64) {
+            expirations.clear();
+            expirations.addAll(entries.values());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        List<Entity> orphans = null;
+        for (Entity entity : event.getEntities()) {
+            if (plugin.isEnchantEntity(entity) && !entries.containsKey(entity.getUniqueId())) {
+                if (orphans == null) orphans = new ArrayList<>();
+                orphans.add(entity);
+            }
+        }
+        if (orphans == null) return;
+
+        for (Entity orphan : orphans) {
+            orphan.remove();
+        }
+        orphansOnLoad += orphans.size();
+        if (plugin.isDebug()) {
+            plugin.getLogger().info("§e[Cleanup] " + orphans.size() + " entité(s) orpheline(s) dans le chunk " +
+                event.getChunk().getX() + ", " + event.getChunk().getZ());
+        }
+    }
+
+    /**
+     * Supprime toutes les entités enregistrées (arrêt du plugin)
+     *
+     * @return Nombre d'entités supprimées
+     */
+    public int removeAll() {
+        int removed = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.entity.isValid()) {
+                entry.entity.remove();
+                removed++;
+            }
+            journal.removed(entry.entity.getUniqueId());
+        }
+        entries.clear();
+        expirations.clear();
+        return removed;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // STATISTIQUES
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /** Entités actuellement enregistrées */
+    public int getTrackedCount() {
+        return entries.size();
+    }
+
+    public long getRegistered() {
+        return registered;
+    }
+
+    /** Entités créées ou reprises du pool par les animations */
+    public long getAcquired() {
+        return acquired;
+    }
+
+    /** Entités supprimées pour durée de vie dépassée */
+    public long getExpired() {
+        return expired;
+    }
+
+    /** Entités marquées trouvées hors registre au chargement d'un chunk */
+    public long getOrphansOnLoad() {
+        return orphansOnLoad;
+    }
+
+    /**
+     * Nombre d'entités enregistrées par animation
+     */
+    public Map<String, Integer> countByAnimation() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Entry entry : entries.values()) {
+            counts.merge(entry.animation, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private static final class Entry {
+        final Entity entity;
+        final UUID owner;
+        final String animation;
+        final long spawnTick;
+        final long expiresTick;
+
+        Entry(Entity entity, UUID owner, String animation, long spawnTick, long expiresTick) {
+            this.entity = entity;
+            this.owner = owner;
+            this.animation = animation;
+            this.spawnTick = spawnTick;
+            this.expiresTick = expiresTick;
+        }
+    }
+}
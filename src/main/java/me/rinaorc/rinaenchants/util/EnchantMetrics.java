@@ -0,0 +1,173 @@
+package me.rinaorc.rinaenchants.util;
+
+import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métriques par enchantement, assez légères pour rester actives en production.
+ *
+ * Pour chaque ID d'enchantement (ex: "bee-collector"):
+ * - procs reçus, et procs ignorés par l'anti-cascade
+ * - cultures récoltées
+ * - chemin de cassage: HellRain (replaceWithDrops), backup (replaceCropsde),
+ *   événement RivalBlockBreakEvent, ou échec
+ * - histogramme du coût d'une exécution d'animation (voir AnimationEngine)
+ * Les animations actives sont lues sur le moteur (/rinaenchants stats).
+ *
+ * Les procs et cultures ont des débits moyens sur 1, 5 et 15 minutes (Meter).
+ *
+ * OPTIMISATION: Compteurs LongAdder et histogrammes atomiques: aucune
+ * allocation ni verrou par événement. Une seule map lookup par événement,
+ * les animations gardent une référence directe à leur histogramme.
+ */
+public class EnchantMetrics {
+
+    public enum BreakPath { HELLRAIN, BACKUP, EVENT, FAILED }
+
+    private static final String UNKNOWN = "unknown";
+
+    private final RinaEnchantsPlugin plugin;
+
+    // Configuration
+    private volatile boolean enabled;
+
+    private final ConcurrentHashMap<String, EnchantStats> byEnchant = new ConcurrentHashMap<>();
+
+    private BukkitTask tickTask;
+
+    public EnchantMetrics(RinaEnchantsPlugin plugin) {
+        this.plugin = plugin;
+        loadConfig();
+    }
+
+    /**
+     * Charge la section performance.metrics
+     */
+    public void loadConfig() {
+        this.enabled = plugin.getConfig().getBoolean("performance.metrics.enabled", true);
+    }
+
+    public void start() {
+        if (tickTask == null) {
+            long period = Meter.TICK_SECONDS * 20L;
+            tickTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::tickMeters, period, period);
+        }
+    }
+
+    public void stop() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+    }
+
+    private void tickMeters() {
+        for (EnchantStats stats : byEnchant.values()) {
+            stats.procs.tick();
+            stats.crops.tick();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // ENREGISTREMENT
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Compteurs d'un enchantement (créés à la demande)
+     */
+    public EnchantStats of(String enchantId) {
+        String id = enchantId != null ? enchantId : UNKNOWN;
+        EnchantStats stats = byEnchant.get(id);
+        if (stats == null) {
+            stats = byEnchant.computeIfAbsent(id, EnchantStats::new);
+        }
+        return stats;
+    }
+
+    /** Proc reçu (avant le contrôle d'admission, qui a ses propres compteurs) */
+    public void proc(String enchantId) {
+        if (enabled) of(enchantId).procs.mark();
+    }
+
+    /** Proc ignoré: culture cassée par une de nos entités (anti-cascade) */
+    public void cascadeBlocked(String enchantId) {
+        if (enabled) of(enchantId).cascadeBlocked.increment();
+    }
+
+    /** Cultures récoltées */
+    public void harvested(String enchantId, int crops) {
+        if (enabled && crops > 0) of(enchantId).crops.mark(crops);
+    }
+
+    /** Chemin de cassage pris pour une ou plusieurs cultures */
+    public void breakPath(String enchantId, BreakPath path, int crops) {
+        if (enabled && crops > 0) of(enchantId).paths[path.ordinal()].add(crops);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // LECTURE
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Compteurs de tous les enchantements, triés par ID
+     */
+    public Map<String, EnchantStats> getStats() {
+        return Collections.unmodifiableMap(new TreeMap<>(byEnchant));
+    }
+
+    /**
+     * Compteurs d'un enchantement
+     */
+    public static final class EnchantStats {
+        private final String enchantId;
+        final Meter procs = new Meter();
+        final Meter crops = new Meter();
+        final LongAdder cascadeBlocked = new LongAdder();
+        final LongAdder[] paths = new LongAdder[BreakPath.values().length];
+        final LatencyHistogram tickCost = new LatencyHistogram();
+
+        EnchantStats(String enchantId) {
+            this.enchantId = enchantId;
+            for (int i = 0; i < paths.length; i++) {
+                paths[i] = new LongAdder();
+            }
+        }
+
+        public String getEnchantId() {
+            return enchantId;
+        }
+
+        public Meter getProcs() {
+            return procs;
+        }
+
+        public long getCascadeBlocked() {
+            return cascadeBlocked.sum();
+        }
+
+        public Meter getCrops() {
+            return crops;
+        }
+
+        /** Cultures cassées par ce chemin */
+        public long getBreakPath(BreakPath path) {
+            return paths[path.ordinal()].sum();
+        }
+
+        /** Coût d'une exécution d'animation (nanosecondes) */
+        public LatencyHistogram getTickCost() {
+            return tickCost;
+        }
+    }
+}
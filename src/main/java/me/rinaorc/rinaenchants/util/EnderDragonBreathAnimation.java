@@ -5,11 +5,8 @@ import org.bukkit.*;
 import org.bukkit.attribute.Attribute;
 import org.bukkit.attribute.AttributeInstance;
 import org.bukkit.block.Block;
-import org.bukkit.block.data.Ageable;
-import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Phantom;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.*;
@@ -32,49 +29,17 @@ import java.util.function.Consumer;
 public class EnderDragonBreathAnimation {
 
     private final RinaEnchantsPlugin plugin;
+
+    // Niveau de détail courant (LoadGovernor), relu à chaque tick d'animation
+    private LoadGovernor.Quality quality;
+
+    // Particules et sons groupés par joueur, envoyés en fin de tick
+    private final FxDispatcher fx;
+
     private final Location startLocation;
     private final Player player;
     private final World world;
 
-    // Set des cultures
-    private static final Set<Material> CROPS = new HashSet<>();
-    private static final Set<Material> NO_AGE_CROPS = new HashSet<>();
-
-    static {
-        CROPS.addAll(Arrays.asList(
-            Material.WHEAT, Material.CARROTS, Material.POTATOES, Material.BEETROOTS,
-            Material.NETHER_WART, Material.COCOA, Material.SWEET_BERRY_BUSH,
-            Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE, Material.CACTUS,
-            Material.BAMBOO, Material.KELP, Material.KELP_PLANT,
-            Material.TUBE_CORAL, Material.BUBBLE_CORAL, Material.BRAIN_CORAL,
-            Material.FIRE_CORAL, Material.HORN_CORAL,
-            Material.TUBE_CORAL_BLOCK, Material.BUBBLE_CORAL_BLOCK, Material.BRAIN_CORAL_BLOCK,
-            Material.FIRE_CORAL_BLOCK, Material.HORN_CORAL_BLOCK,
-            Material.WARPED_ROOTS, Material.CRIMSON_ROOTS, Material.NETHER_SPROUTS,
-            Material.TWISTING_VINES, Material.WEEPING_VINES,
-            Material.LILAC, Material.ROSE_BUSH, Material.PEONY, Material.SUNFLOWER,
-            Material.TALL_GRASS, Material.LARGE_FERN,
-            Material.OAK_SAPLING, Material.BIRCH_SAPLING, Material.JUNGLE_SAPLING,
-            Material.SPRUCE_SAPLING, Material.CHERRY_SAPLING, Material.ACACIA_SAPLING,
-            Material.DARK_OAK_SAPLING, Material.MANGROVE_PROPAGULE,
-            Material.SEA_PICKLE, Material.CHORUS_FLOWER, Material.CHORUS_PLANT
-        ));
-
-        NO_AGE_CROPS.addAll(Arrays.asList(
-            Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE, Material.CACTUS,
-            Material.BAMBOO, Material.KELP, Material.KELP_PLANT,
-            Material.TUBE_CORAL, Material.BUBBLE_CORAL, Material.BRAIN_CORAL,
-            Material.FIRE_CORAL, Material.HORN_CORAL,
-            Material.TUBE_CORAL_BLOCK, Material.BUBBLE_CORAL_BLOCK, Material.BRAIN_CORAL_BLOCK,
-            Material.FIRE_CORAL_BLOCK, Material.HORN_CORAL_BLOCK,
-            Material.WARPED_ROOTS, Material.CRIMSON_ROOTS, Material.NETHER_SPROUTS,
-            Material.LILAC, Material.ROSE_BUSH, Material.PEONY, Material.SUNFLOWER,
-            Material.OAK_SAPLING, Material.BIRCH_SAPLING, Material.JUNGLE_SAPLING,
-            Material.SPRUCE_SAPLING, Material.CHERRY_SAPLING, Material.ACACIA_SAPLING,
-            Material.DARK_OAK_SAPLING, Material.MANGROVE_PROPAGULE,
-            Material.CHORUS_FLOWER, Material.CHORUS_PLANT, Material.SEA_PICKLE
-        ));
-    }
 
     // Paramètres de l'animation
     private final double phantomScale;
@@ -98,7 +63,7 @@ public class EnderDragonBreathAnimation {
     private int diveTicks = 0;
 
     // Tracking des blocs déjà récoltés
-    private final Set<String> harvestedBlocks = new HashSet<>();
+    private BlockPosSet harvestedBlocks;
 
     // Callbacks
     private Consumer<Location> onCropHit;
@@ -116,6 +81,8 @@ public class EnderDragonBreathAnimation {
                                        double spiralSpeed, int breathInterval, double breathRadius,
                                        int breathDuration, boolean showParticles, boolean clientSideOnly) {
         this.plugin = plugin;
+        this.quality = plugin.getLoadGovernor().getQuality();
+        this.fx = plugin.getFx();
         this.startLocation = startLocation.clone();
         this.player = player;
         this.world = startLocation.getWorld();
@@ -149,7 +116,8 @@ public class EnderDragonBreathAnimation {
         Location spawnLoc = startLocation.clone().add(0, 8, 0);
 
         try {
-            phantom = (Phantom) world.spawnEntity(spawnLoc, EntityType.PHANTOM);
+            phantom = plugin.getEntityProvider().spawn(spawnLoc, Phantom.class, player, clientSideOnly,
+                "ender-dragon-breath", flightDuration + breathDuration);
             phantom.setSilent(false);
             phantom.setInvulnerable(true);
             phantom.setGravity(false);
@@ -170,37 +138,32 @@ public class EnderDragonBreathAnimation {
                 plugin.getLogger().warning("§e[Phantom] Attribut SCALE non disponible");
             }
 
-            // Marquer l'entité pour cleanup
-            plugin.markAsEnchantEntity(phantom);
-
-            // Rendre client-side si configuré
-            if (clientSideOnly) {
-                plugin.makeEntityClientSide(phantom, player);
-            }
-
         } catch (Exception e) {
             plugin.getLogger().warning("§e[Phantom] Impossible de spawn le Phantom: " + e.getMessage());
             return;
         }
 
         // Jouer le son d'apparition
-        player.playSound(startLocation, Sound.ENTITY_PHANTOM_AMBIENT, 1.0f, 0.7f);
+        if (quality.sounds()) {
+            fx.sound(player, startLocation, Sound.ENTITY_PHANTOM_AMBIENT, 1.0f, 0.7f);
+        }
 
         // Effet d'apparition
         if (showParticles) {
-            for (int i = 0; i < 20; i++) {
+            for (int i = 0; i < quality.particles(20); i++) {
                 double ox = (random.nextDouble() - 0.5) * 3;
                 double oy = random.nextDouble() * 2;
                 double oz = (random.nextDouble() - 0.5) * 3;
-                player.spawnParticle(Particle.PORTAL, spawnLoc.clone().add(ox, oy, oz), 1, 0, 0, 0, 0);
+                fx.particle(player, Particle.PORTAL, spawnLoc.clone().add(ox, oy, oz), 1, 0, 0, 0, 0);
             }
-            player.spawnParticle(Particle.SOUL, spawnLoc, 10, 1, 1, 1, 0.05);
+            fx.particle(player, Particle.SOUL, spawnLoc, quality.particles(10), 1, 1, 1, 0.05);
         }
 
         // Démarrer l'animation
-        new BukkitRunnable() {
+        AnimationTask task = new AnimationTask("ender-dragon-breath") {
             @Override
             public void run() {
+                quality = plugin.getLoadGovernor().getQuality();
                 if (phantom == null || phantom.isDead() || !player.isOnline()) {
                     cleanup();
                     cancel();
@@ -226,7 +189,7 @@ public class EnderDragonBreathAnimation {
                 }
 
                 // Particules de traînée
-                if (showParticles && ticksElapsed % 2 == 0) {
+                if (showParticles && quality.isVisualTick(ticksElapsed, 2)) {
                     spawnTrailParticles();
                 }
 
@@ -237,7 +200,9 @@ public class EnderDragonBreathAnimation {
                     cancel();
                 }
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+        };
+        harvestedBlocks = task.acquireBlockSet();
+        task.runTaskTimer(plugin, 0L, 1L);
     }
 
     /**
@@ -293,7 +258,9 @@ public class EnderDragonBreathAnimation {
         diveTarget = findDiveTarget();
 
         // Son de début de piqué
-        player.playSound(phantom.getLocation(), Sound.ENTITY_PHANTOM_SWOOP, 1.0f, 0.8f);
+        if (quality.sounds()) {
+            fx.sound(player, phantom.getLocation(), Sound.ENTITY_PHANTOM_SWOOP, 1.0f, 0.8f);
+        }
 
         totalBreathClouds++;
         if (onBreathCloud != null) {
@@ -317,7 +284,7 @@ public class EnderDragonBreathAnimation {
             // Chercher une culture à cette position
             for (int dy = -2; dy <= 2; dy++) {
                 Location cropLoc = checkLoc.clone().add(0, dy, 0);
-                if (isMatureCrop(cropLoc.getBlock())) {
+                if (plugin.getCropRegistry().isMature(cropLoc.getBlock())) {
                     return cropLoc;
                 }
             }
@@ -365,8 +332,8 @@ public class EnderDragonBreathAnimation {
             phantom.teleport(newLoc);
 
             // Effet de vitesse
-            if (showParticles && diveTicks % 2 == 0) {
-                player.spawnParticle(Particle.SOUL, currentLoc, 3, 0.3, 0.3, 0.3, 0.02);
+            if (showParticles && quality.isVisualTick(diveTicks, 2)) {
+                fx.particle(player, Particle.SOUL, currentLoc, quality.particles(3), 0.3, 0.3, 0.3, 0.02);
             }
         }
         // Phase 2: Impact et récolte
@@ -384,19 +351,21 @@ public class EnderDragonBreathAnimation {
                     for (int r = 1; r <= (int) breathRadius; r++) {
                         double px = Math.cos(angle) * r;
                         double pz = Math.sin(angle) * r;
-                        player.spawnParticle(Particle.SOUL_FIRE_FLAME,
+                        fx.particle(player, Particle.SOUL_FIRE_FLAME,
                             impactLoc.clone().add(px, 0, pz), 1, 0.1, 0.1, 0.1, 0.01);
                     }
                 }
 
                 // Particules centrales
-                player.spawnParticle(Particle.DRAGON_BREATH, impactLoc, 15, breathRadius * 0.3, 0.2, breathRadius * 0.3, 0.02);
-                player.spawnParticle(Particle.PORTAL, impactLoc, 20, breathRadius * 0.5, 0.5, breathRadius * 0.5, 0.5);
+                fx.particle(player, Particle.DRAGON_BREATH, impactLoc, quality.particles(15), breathRadius * 0.3, 0.2, breathRadius * 0.3, 0.02);
+                fx.particle(player, Particle.PORTAL, impactLoc, quality.particles(20), breathRadius * 0.5, 0.5, breathRadius * 0.5, 0.5);
             }
 
             // Son d'impact
-            player.playSound(diveTarget, Sound.ENTITY_PHANTOM_BITE, 1.0f, 0.6f);
-            player.playSound(diveTarget, Sound.ENTITY_WITHER_BREAK_BLOCK, 0.3f, 1.5f);
+            if (quality.sounds()) {
+                fx.sound(player, diveTarget, Sound.ENTITY_PHANTOM_BITE, 1.0f, 0.6f);
+                fx.sound(player, diveTarget, Sound.ENTITY_WITHER_BREAK_BLOCK, 0.3f, 1.5f);
+            }
         }
         // Phase 3: Remontée (25 ticks)
         else if (diveTicks <= 45) {
@@ -423,12 +392,12 @@ public class EnderDragonBreathAnimation {
 
                 for (int dy = -1; dy <= 2; dy++) {
                     Location cropLoc = center.clone().add(dx, dy, dz);
-                    String key = cropLoc.getBlockX() + ":" + cropLoc.getBlockY() + ":" + cropLoc.getBlockZ();
+                    long key = BlockKey.of(cropLoc);
 
                     if (harvestedBlocks.contains(key)) continue;
 
                     Block block = cropLoc.getBlock();
-                    if (isMatureCrop(block)) {
+                    if (plugin.getCropRegistry().isMature(block)) {
                         harvestedBlocks.add(key);
                         totalCropsHarvested++;
 
@@ -437,8 +406,8 @@ public class EnderDragonBreathAnimation {
                         }
 
                         if (showParticles) {
-                            player.spawnParticle(Particle.SOUL,
-                                cropLoc.clone().add(0.5, 0.5, 0.5), 2, 0.1, 0.1, 0.1, 0.02);
+                            fx.particle(player, Particle.SOUL,
+                                cropLoc.clone().add(0.5, 0.5, 0.5), quality.particles(2), 0.1, 0.1, 0.1, 0.02);
                         }
                     }
                 }
@@ -446,19 +415,6 @@ public class EnderDragonBreathAnimation {
         }
     }
 
-    private boolean isMatureCrop(Block block) {
-        Material type = block.getType();
-
-        if (!CROPS.contains(type)) return false;
-        if (NO_AGE_CROPS.contains(type)) return true;
-
-        if (block.getBlockData() instanceof Ageable ageable) {
-            return ageable.getAge() >= ageable.getMaximumAge();
-        }
-
-        return true;
-    }
-
     /**
      * Particules de traînée sombre
      */
@@ -466,21 +422,21 @@ public class EnderDragonBreathAnimation {
         Location phantomLoc = phantom.getLocation();
 
         // Traînée d'âme
-        for (int i = 0; i < 2; i++) {
+        for (int i = 0; i < quality.particles(2); i++) {
             double ox = (random.nextDouble() - 0.5) * 1.5;
             double oy = (random.nextDouble() - 0.5) * 0.5;
             double oz = (random.nextDouble() - 0.5) * 1.5;
 
-            player.spawnParticle(Particle.SOUL, phantomLoc.clone().add(ox, oy, oz), 1, 0, 0, 0, 0);
+            fx.particle(player, Particle.SOUL, phantomLoc.clone().add(ox, oy, oz), 1, 0, 0, 0, 0);
         }
 
         // Particules de portail
-        player.spawnParticle(Particle.PORTAL, phantomLoc, 2, 0.8, 0.3, 0.8, 0);
+        fx.particle(player, Particle.PORTAL, phantomLoc, quality.particles(2), 0.8, 0.3, 0.8, 0);
 
         // Dust sombre
         if (ticksElapsed % 4 == 0) {
             Particle.DustOptions dust = new Particle.DustOptions(PHANTOM_DARK, 1.5f);
-            player.spawnParticle(Particle.DUST, phantomLoc.clone().add(0, -0.5, 0), 2, 0.5, 0.2, 0.5, 0, dust);
+            fx.particle(player, Particle.DUST, phantomLoc.clone().add(0, -0.5, 0), quality.particles(2), 0.5, 0.2, 0.5, 0, dust);
         }
     }
 
@@ -492,24 +448,24 @@ public class EnderDragonBreathAnimation {
             Location phantomLoc = phantom.getLocation();
 
             // Explosion de particules d'âme
-            for (int i = 0; i < 30; i++) {
+            for (int i = 0; i < quality.particles(30); i++) {
                 double ox = (random.nextDouble() - 0.5) * 4;
                 double oy = (random.nextDouble() - 0.5) * 2;
                 double oz = (random.nextDouble() - 0.5) * 4;
 
-                player.spawnParticle(Particle.SOUL_FIRE_FLAME, phantomLoc.clone().add(ox, oy, oz), 1, 0, 0, 0, 0.05);
-                player.spawnParticle(Particle.PORTAL, phantomLoc.clone().add(ox, oy, oz), 1, 0, 0, 0, 0.3);
+                fx.particle(player, Particle.SOUL_FIRE_FLAME, phantomLoc.clone().add(ox, oy, oz), 1, 0, 0, 0, 0.05);
+                fx.particle(player, Particle.PORTAL, phantomLoc.clone().add(ox, oy, oz), 1, 0, 0, 0, 0.3);
             }
 
             // Balayage final au sol
             double finalRadius = breathRadius * 2;
-            for (int i = 0; i < 40; i++) {
+            for (int i = 0; i < quality.particles(40); i++) {
                 double angle = random.nextDouble() * Math.PI * 2;
                 double dist = random.nextDouble() * finalRadius;
                 double x = Math.cos(angle) * dist;
                 double z = Math.sin(angle) * dist;
 
-                player.spawnParticle(Particle.SOUL,
+                fx.particle(player, Particle.SOUL,
                     startLocation.clone().add(x, 0.5, z), 1, 0.1, 0.2, 0.1, 0.01);
             }
 
@@ -518,7 +474,9 @@ public class EnderDragonBreathAnimation {
         }
 
         // Son de départ
-        player.playSound(phantom.getLocation(), Sound.ENTITY_PHANTOM_DEATH, 0.8f, 1.2f);
+        if (quality.sounds()) {
+            fx.sound(player, phantom.getLocation(), Sound.ENTITY_PHANTOM_DEATH, 0.8f, 1.2f);
+        }
     }
 
     private void cleanup() {
@@ -526,11 +484,11 @@ public class EnderDragonBreathAnimation {
             // Effet de disparition
             if (showParticles && player.isOnline()) {
                 Location loc = phantom.getLocation();
-                player.spawnParticle(Particle.SOUL, loc, 15, 1, 0.5, 1, 0.1);
-                player.spawnParticle(Particle.PORTAL, loc, 20, 1, 1, 1, 0.5);
+                fx.particle(player, Particle.SOUL, loc, quality.particles(15), 1, 0.5, 1, 0.1);
+                fx.particle(player, Particle.PORTAL, loc, quality.particles(20), 1, 1, 1, 0.5);
             }
 
-            phantom.remove();
+            plugin.getEntityProvider().despawn(phantom, player);
         }
 
         if (onFinish != null) {
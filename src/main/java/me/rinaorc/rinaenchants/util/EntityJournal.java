@@ -0,0 +1,350 @@
+package me.rinaorc.rinaenchants.util;
+
+import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Journal des entités créées et supprimées, pour le nettoyage après un crash.
+ *
+ * Chaque entité enregistrée (EnchantEntityRegistry) ajoute une ligne
+ * "+ uuid monde chunkX chunkZ", chaque suppression une ligne "- uuid". La
+ * position est réécrite si l'entité change de chunk. Les lignes sont
+ * écrites et synchronisées sur disque (fsync) par lots, sur un thread dédié.
+ *
+ * Au démarrage, le journal est rejoué: les entités encore "vivantes" sont
+ * des survivantes d'un crash. Elles sont supprimées tout de suite si leur
+ * chunk est chargé, sinon au chargement de ce chunk (EntitiesLoadEvent).
+ * Aucun scan des mondes: seul le journal est lu.
+ *
+ * Le journal est compacté (réécrit avec les seules entrées vivantes, fichier
+ * temporaire + renommage atomique) au démarrage, à l'arrêt propre et quand il
+ * dépasse compact-after-records lignes. Écriture et compaction: voir AppendOnlyLog.
+ */
+public class EntityJournal implements Listener {
+
+    private static final String FILE_NAME = "entity-journal.log";
+
+    private final RinaEnchantsPlugin plugin;
+    private final AppendOnlyLog log;
+
+    // Configuration
+    private boolean enabled;
+    private long flushIntervalTicks;
+    private int compactAfterRecords;
+
+    // Entités vivantes de cette session (uuid -> dernière position écrite)
+    private final Map<UUID, Tracked> live = new HashMap<>();
+
+    // Survivantes d'une session précédente, pas encore retrouvées, et leur index par chunk
+    private final Map<UUID, Position> survivors = new HashMap<>();
+    private final Map<Position, List<UUID>> survivorsByChunk = new HashMap<>();
+
+    // Lignes en attente d'écriture (thread principal)
+    private StringBuilder buffer = new StringBuilder();
+    private int recordsSinceCompaction = 0;
+
+    private BukkitTask flushTask;
+
+    // Statistiques
+    private long survivorsRemoved = 0;
+    private long compactions = 0;
+
+    public EntityJournal(RinaEnchantsPlugin plugin) {
+        this.plugin = plugin;
+        this.log = new AppendOnlyLog(new File(plugin.getDataFolder(), FILE_NAME).toPath(), plugin.getLogger(), "Journal");
+        loadConfig();
+    }
+
+    /**
+     * Charge la section performance.entity-journal
+     */
+    public void loadConfig() {
+        String base = "performance.entity-journal.";
+        this.enabled = plugin.getConfig().getBoolean(base + "enabled", true);
+        this.flushIntervalTicks = Math.max(1L, plugin.getConfig().getLong(base + "flush-interval-ticks", 20L));
+        this.compactAfterRecords = Math.max(100, plugin.getConfig().getInt(base + "compact-after-records", 20000));
+
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = Bukkit.getScheduler().runTaskTimer(plugin, this::flush, flushIntervalTicks, flushIntervalTicks);
+        }
+    }
+
+    /**
+     * Rejoue le journal de la session précédente et démarre l'écriture.
+     *
+     * @return false si aucun journal n'existait (premier démarrage, ou journal
+     *         désactivé): l'appelant doit alors faire un scan complet
+     */
+    public boolean start() {
+        log.open("EntityJournal");
+        flushTask = Bukkit.getScheduler().runTaskTimer(plugin, this::flush, flushIntervalTicks, flushIntervalTicks);
+
+        if (!enabled) {
+            return false;
+        }
+
+        boolean existed = log.exists();
+        if (existed) {
+            replay();
+        }
+        // Repartir d'un fichier contenant uniquement les survivantes
+        compact();
+        return existed;
+    }
+
+    /**
+     * Arrêt propre: écrit les dernières lignes et compacte le journal
+     * (après la suppression des entités, il ne reste que les survivantes non retrouvées)
+     */
+    public void stop() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        if (!log.isOpen()) return;
+
+        if (enabled) {
+            flush();
+            compact();
+        }
+        log.close();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // ENREGISTREMENT (appelé par EnchantEntityRegistry)
+    // ═══════════════════════════════════════════════════════════════════════
+
+    void spawned(Entity entity) {
+        if (!enabled) return;
+
+        Location loc = entity.getLocation();
+        Tracked tracked = live.get(entity.getUniqueId());
+        if (tracked == null) {
+            tracked = new Tracked(entity);
+            live.put(entity.getUniqueId(), tracked);
+        }
+        record(tracked, loc.getWorld().getUID(), loc.getBlockX() >> 4, loc.getBlockZ() >> 4);
+    }
+
+    void removed(UUID entityId) {
+        if (!enabled) return;
+
+        if (live.remove(entityId) != null) {
+            appendRemoval(entityId);
+        }
+    }
+
+    private void record(Tracked tracked, UUID world, int chunkX, int chunkZ) {
+        if (world.equals(tracked.world) && chunkX == tracked.chunkX && chunkZ == tracked.chunkZ) return;
+
+        tracked.world = world;
+        tracked.chunkX = chunkX;
+        tracked.chunkZ = chunkZ;
+        buffer.append("+ ").append(tracked.entity.getUniqueId()).append(' ').append(world)
+            .append(' ').append(chunkX).append(' ').append(chunkZ).append('\n');
+        recordsSinceCompaction++;
+    }
+
+    private void appendRemoval(UUID entityId) {
+        buffer.append("- ").append(entityId).append('\n');
+        recordsSinceCompaction++;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // ÉCRITURE
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Met à jour les chunks des entités qui ont bougé et envoie le lot au thread d'écriture
+     */
+    private void flush() {
+        if (!enabled || !log.isOpen()) return;
+
+        // OPTIMISATION: Proportionnel à nos entités, une lecture de position par seconde
+        for (Tracked tracked : live.values()) {
+            Entity entity = tracked.entity;
+            if (!entity.isValid()) continue;
+            Location loc = entity.getLocation();
+            record(tracked, loc.getWorld().getUID(), loc.getBlockX() >> 4, loc.getBlockZ() >> 4);
+        }
+
+        if (recordsSinceCompaction >= compactAfterRecords) {
+            compact();
+            return;
+        }
+        if (buffer.length() == 0) return;
+
+        log.append(buffer);
+        buffer = new StringBuilder();
+    }
+
+    /**
+     * Réécrit le journal avec les seules entrées vivantes (entités de la session + survivantes)
+     */
+    private void compact() {
+        StringBuilder snapshot = new StringBuilder();
+        for (Tracked tracked : live.values()) {
+            if (tracked.world == null) continue;
+            snapshot.append("+ ").append(tracked.entity.getUniqueId()).append(' ').append(tracked.world)
+                .append(' ').append(tracked.chunkX).append(' ').append(tracked.chunkZ).append('\n');
+        }
+        for (Map.Entry<UUID, Position> entry : survivors.entrySet()) {
+            Position pos = entry.getValue();
+            snapshot.append("+ ").append(entry.getKey()).append(' ').append(pos.world)
+                .append(' ').append(pos.chunkX).append(' ').append(pos.chunkZ).append('\n');
+        }
+        buffer = new StringBuilder();
+        recordsSinceCompaction = 0;
+        compactions++;
+
+        log.rewrite(snapshot);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // REJEU AU DÉMARRAGE
+    // ═══════════════════════════════════════════════════════════════════════
+
+    private void replay() {
+        for (String line : log.readLines()) {
+            // Dernière ligne éventuellement tronquée par le crash: ignorée
+            String[] parts = line.split(" ");
+            try {
+                if (parts.length == 5 && parts[0].equals("+")) {
+                    survivors.put(UUID.fromString(parts[1]), new Position(UUID.fromString(parts[2]),
+                        Integer.parseInt(parts[3]), Integer.parseInt(parts[4])));
+                } else if (parts.length == 2 && parts[0].equals("-")) {
+                    survivors.remove(UUID.fromString(parts[1]));
+                }
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+
+        if (survivors.isEmpty()) return;
+
+        for (Map.Entry<UUID, Position> entry : survivors.entrySet()) {
+            survivorsByChunk.computeIfAbsent(entry.getValue(), p -> new ArrayList<>()).add(entry.getKey());
+        }
+
+        // Chunks déjà chargés: suppression immédiate, les autres attendent EntitiesLoadEvent
+        int found = 0;
+        Iterator<Map.Entry<UUID, Position>> iterator = survivors.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, Position> entry = iterator.next();
+            Position pos = entry.getValue();
+            World world = Bukkit.getWorld(pos.world);
+            if (world == null || !world.isChunkLoaded(pos.chunkX, pos.chunkZ)) continue;
+
+            Entity entity = Bukkit.getEntity(entry.getKey());
+            if (entity != null) {
+                entity.remove();
+                found++;
+            }
+            if (entity != null || world.getChunkAt(pos.chunkX, pos.chunkZ).isEntitiesLoaded()) {
+                iterator.remove();
+                forget(entry.getKey(), pos);
+            }
+        }
+        survivorsRemoved += found;
+
+        plugin.getLogger().info("§a✓ Journal des entités: " + found + " survivante(s) supprimée(s), " +
+            survivors.size() + " en attente du chargement de leur chunk");
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        if (survivors.isEmpty()) return;
+
+        for (Entity entity : event.getEntities()) {
+            Position pos = survivors.remove(entity.getUniqueId());
+            if (pos != null) {
+                entity.remove();
+                forget(entity.getUniqueId(), pos);
+                appendRemoval(entity.getUniqueId());
+                survivorsRemoved++;
+            }
+        }
+
+        // Survivantes attendues dans ce chunk mais absentes: parties dans un chunk voisin ou
+        // disparues. On arrête de les chercher, le registre supprime de toute façon une
+        // entité marquée inconnue au chargement de son chunk.
+        Chunk chunk = event.getChunk();
+        List<UUID> expected = survivorsByChunk.remove(new Position(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ()));
+        if (expected != null) {
+            for (UUID entityId : expected) {
+                if (survivors.remove(entityId) != null) {
+                    appendRemoval(entityId);
+                }
+            }
+        }
+    }
+
+    private void forget(UUID entityId, Position pos) {
+        List<UUID> ids = survivorsByChunk.get(pos);
+        if (ids != null && ids.remove(entityId) && ids.isEmpty()) {
+            survivorsByChunk.remove(pos);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // STATISTIQUES
+    // ═══════════════════════════════════════════════════════════════════════
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Entités de la session présentes dans le journal */
+    public int getLiveCount() {
+        return live.size();
+    }
+
+    /** Survivantes d'un crash pas encore retrouvées (chunk jamais rechargé) */
+    public int getPendingSurvivors() {
+        return survivors.size();
+    }
+
+    public long getSurvivorsRemoved() {
+        return survivorsRemoved;
+    }
+
+    /** Lots écrits et synchronisés sur disque */
+    public long getBatchesWritten() {
+        return log.getBatchesWritten();
+    }
+
+    public long getCompactions() {
+        return compactions;
+    }
+
+    private static final class Tracked {
+        final Entity entity;
+        UUID world;
+        int chunkX;
+        int chunkZ;
+
+        Tracked(Entity entity) {
+            this.entity = entity;
+        }
+    }
+
+    private record Position(UUID world, int chunkX, int chunkZ) {
+    }
+}
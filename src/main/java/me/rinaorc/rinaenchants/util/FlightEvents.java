@@ -0,0 +1,191 @@
+package me.rinaorc.rinaenchants.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Événements Java Flight Recorder de RinaEnchants (catégorie "RinaEnchants" dans JMC).
+ *
+ * Sans enregistrement JFR en cours, aucun événement n'est créé: les
+ * émetteurs testent le type (EventType résolu une fois, isXxxEnabled())
+ * avant d'instancier l'événement. Les compteurs coûteux (blocs scannés,
+ * entités) ne sont lus que si l'événement est activé.
+ *
+ * Activés dès qu'un enregistrement tourne (aucun seuil de durée), sans stack trace.
+ *
+ * Thread principal uniquement.
+ */
+public final class FlightEvents {
+
+    private static final String CATEGORY = "RinaEnchants";
+
+    // Types résolus une fois: un test isEnabled() sans allocation
+    private static final EventType ENCHANT_PROC = EventType.getEventType(EnchantProc.class);
+    private static final EventType CROP_HARVEST = EventType.getEventType(CropHarvest.class);
+    private static final EventType ANIMATION_TICK = EventType.getEventType(AnimationTick.class);
+    private static final EventType XP_FLUSH = EventType.getEventType(XpFlush.class);
+
+    private FlightEvents() {
+    }
+
+    public static boolean isEnchantProcEnabled() {
+        return ENCHANT_PROC.isEnabled();
+    }
+
+    public static boolean isCropHarvestEnabled() {
+        return CROP_HARVEST.isEnabled();
+    }
+
+    public static boolean isAnimationTickEnabled() {
+        return ANIMATION_TICK.isEnabled();
+    }
+
+    public static boolean isXpFlushEnabled() {
+        return XP_FLUSH.isEnabled();
+    }
+
+    /**
+     * Proc d'un enchantement reçu de RivalHarvesterHoes (durée: traitement du proc)
+     */
+    @Name("rinaenchants.EnchantProc")
+    @Label("Enchant Proc")
+    @Category(CATEGORY)
+    @Description("Proc d'un enchantement, avec le résultat de l'anti-cascade")
+    @StackTrace(false)
+    public static final class EnchantProc extends Event {
+        @Label("Enchant")
+        private String enchant;
+
+        @Label("Level")
+        private long level;
+
+        @Label("Player")
+        private String player;
+
+        @Label("Cascade")
+        @Description("Culture cassée par une entité du plugin: proc ignoré")
+        private boolean cascade;
+
+        public void finish(String enchant, long level, String player, boolean cascade) {
+            end();
+            if (shouldCommit()) {
+                this.enchant = enchant;
+                this.level = level;
+                this.player = player;
+                this.cascade = cascade;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Cassage de cultures (une culture, ou un appel groupé de la pipeline)
+     */
+    @Name("rinaenchants.CropHarvest")
+    @Label("Crop Harvest")
+    @Category(CATEGORY)
+    @Description("Cassage de cultures et chemin utilisé (HellRain, backup, événement)")
+    @StackTrace(false)
+    public static final class CropHarvest extends Event {
+        @Label("Enchant")
+        private String enchant;
+
+        @Label("Path")
+        private String path;
+
+        @Label("Material")
+        private String material;
+
+        @Label("Crops")
+        private int crops;
+
+        public void finish(String enchant, EnchantMetrics.BreakPath path, String material, int crops) {
+            end();
+            if (shouldCommit()) {
+                this.enchant = enchant;
+                this.path = path.name();
+                this.material = material;
+                this.crops = crops;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Exécution d'une animation par le moteur (un tick d'une tâche)
+     */
+    @Name("rinaenchants.AnimationTick")
+    @Label("Animation Tick")
+    @Category(CATEGORY)
+    @Description("Exécution d'une tâche d'animation, avec le travail effectué")
+    @StackTrace(false)
+    public static final class AnimationTick extends Event {
+        @Label("Type")
+        private String type;
+
+        @Label("Player")
+        private String player;
+
+        @Label("Entities")
+        @Description("Entités d'animation créées ou reprises du pool pendant l'exécution")
+        private long entities;
+
+        @Label("Blocks Scanned")
+        @Description("Blocs testés par le registre des cultures pendant l'exécution")
+        private long blocksScanned;
+
+        public void finish(String type, String player, long entities, long blocksScanned) {
+            end();
+            if (shouldCommit()) {
+                this.type = type;
+                this.player = player;
+                this.entities = entities;
+                this.blocksScanned = blocksScanned;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Flush de l'XP CyberLevel (durée: lot complet, registre compris)
+     */
+    @Name("rinaenchants.XpFlush")
+    @Label("XP Flush")
+    @Category(CATEGORY)
+    @Description("Don groupé de l'XP CyberLevel accumulé")
+    @StackTrace(false)
+    public static final class XpFlush extends Event {
+        @Label("Sink")
+        private String sink;
+
+        @Label("Grants")
+        private long grants;
+
+        @Label("XP")
+        private long xp;
+
+        @Label("Failed")
+        private long failed;
+
+        @Label("Ledger Entries")
+        @Description("Entrées écrites dans le registre d'XP (joueur parti, sink indisponible)")
+        private long ledgerEntries;
+
+        public void finish(String sink, long grants, long xp, long failed, long ledgerEntries) {
+            end();
+            if (shouldCommit()) {
+                this.sink = sink;
+                this.grants = grants;
+                this.xp = xp;
+                this.failed = failed;
+                this.ledgerEntries = ledgerEntries;
+                commit();
+            }
+        }
+    }
+}
@@ -3,11 +3,8 @@ package me.rinaorc.rinaenchants.util;
 import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
 import org.bukkit.*;
 import org.bukkit.block.Block;
-import org.bukkit.block.data.Ageable;
-import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Frog;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.*;
@@ -34,6 +31,13 @@ import java.util.function.Consumer;
 public class FrogTongueAnimation {
 
     private final RinaEnchantsPlugin plugin;
+
+    // Niveau de détail courant (LoadGovernor), relu à chaque tick d'animation
+    private LoadGovernor.Quality quality;
+
+    // Particules et sons groupés par joueur, envoyés en fin de tick
+    private final FxDispatcher fx;
+
     private final Location centerLocation;
     private final Player owner;
     private final int baseTongueRange;
@@ -55,46 +59,9 @@ public class FrogTongueAnimation {
     private int totalCombos = 0;
 
     // Tracking des zones ciblées pour les combos
-    private final Map<String, Integer> zoneLickCount = new HashMap<>();
+    private final Map<Long, Integer> zoneLickCount = new HashMap<>();
     private static final int COMBO_ZONE_RADIUS = 2;
 
-    // Set des cultures
-    private static final Set<Material> CROPS = new HashSet<>();
-    private static final Set<Material> NO_AGE_CROPS = new HashSet<>();
-
-    static {
-        CROPS.addAll(Arrays.asList(
-                Material.WHEAT, Material.CARROTS, Material.POTATOES, Material.BEETROOTS,
-                Material.NETHER_WART, Material.COCOA, Material.SWEET_BERRY_BUSH,
-                Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE, Material.CACTUS,
-                Material.BAMBOO, Material.KELP, Material.KELP_PLANT,
-                Material.TUBE_CORAL, Material.BUBBLE_CORAL, Material.BRAIN_CORAL,
-                Material.FIRE_CORAL, Material.HORN_CORAL,
-                Material.TUBE_CORAL_BLOCK, Material.BUBBLE_CORAL_BLOCK, Material.BRAIN_CORAL_BLOCK,
-                Material.FIRE_CORAL_BLOCK, Material.HORN_CORAL_BLOCK,
-                Material.WARPED_ROOTS, Material.CRIMSON_ROOTS, Material.NETHER_SPROUTS,
-                Material.TWISTING_VINES, Material.WEEPING_VINES,
-                Material.LILAC, Material.ROSE_BUSH, Material.PEONY, Material.SUNFLOWER,
-                Material.TALL_GRASS, Material.LARGE_FERN,
-                Material.OAK_SAPLING, Material.BIRCH_SAPLING, Material.JUNGLE_SAPLING,
-                Material.SPRUCE_SAPLING, Material.CHERRY_SAPLING, Material.ACACIA_SAPLING,
-                Material.DARK_OAK_SAPLING, Material.MANGROVE_PROPAGULE,
-                Material.SEA_PICKLE, Material.CHORUS_FLOWER, Material.CHORUS_PLANT));
-
-        NO_AGE_CROPS.addAll(Arrays.asList(
-                Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE, Material.CACTUS,
-                Material.BAMBOO, Material.KELP, Material.KELP_PLANT,
-                Material.TUBE_CORAL, Material.BUBBLE_CORAL, Material.BRAIN_CORAL,
-                Material.FIRE_CORAL, Material.HORN_CORAL,
-                Material.TUBE_CORAL_BLOCK, Material.BUBBLE_CORAL_BLOCK, Material.BRAIN_CORAL_BLOCK,
-                Material.FIRE_CORAL_BLOCK, Material.HORN_CORAL_BLOCK,
-                Material.WARPED_ROOTS, Material.CRIMSON_ROOTS, Material.NETHER_SPROUTS,
-                Material.LILAC, Material.ROSE_BUSH, Material.PEONY, Material.SUNFLOWER,
-                Material.OAK_SAPLING, Material.BIRCH_SAPLING, Material.JUNGLE_SAPLING,
-                Material.SPRUCE_SAPLING, Material.CHERRY_SAPLING, Material.ACACIA_SAPLING,
-                Material.DARK_OAK_SAPLING, Material.MANGROVE_PROPAGULE,
-                Material.CHORUS_FLOWER, Material.CHORUS_PLANT, Material.SEA_PICKLE));
-    }
 
     /**
      * Types de grenouilles avec leurs caractéristiques
@@ -153,6 +120,8 @@ public class FrogTongueAnimation {
             int baseTongueRange, int baseFireRate, int duration, int frogCount,
             boolean showParticles, boolean clientSideOnly) {
         this.plugin = plugin;
+        this.quality = plugin.getLoadGovernor().getQuality();
+        this.fx = plugin.getFx();
         this.centerLocation = centerLocation.clone();
         this.owner = owner;
         this.baseTongueRange = baseTongueRange;
@@ -199,7 +168,8 @@ public class FrogTongueAnimation {
                 // S'assurer que la grenouille est sur un bloc solide
                 spawnLoc = findSafeSpawnLocation(spawnLoc, world);
 
-                Frog frog = (Frog) world.spawnEntity(spawnLoc, EntityType.FROG);
+                Frog frog = plugin.getEntityProvider().spawn(spawnLoc, Frog.class, owner, clientSideOnly,
+                    "frog-tongue-lash", duration);
                 frog.setInvulnerable(true);
                 frog.setSilent(false);
                 frog.setAI(true); // AI activée pour permettre l'animation de la langue
@@ -208,21 +178,13 @@ public class FrogTongueAnimation {
                 frog.setRemoveWhenFarAway(false);
                 frog.setVariant(type.variant);
 
-                // Marquer l'entité pour cleanup
-                plugin.markAsEnchantEntity(frog);
-
-                // Client-side
-                if (clientSideOnly) {
-                    plugin.makeEntityClientSide(frog, owner);
-                }
-
                 FrogInstance instance = new FrogInstance(type, spawnLoc);
                 instance.entity = frog;
                 frogs.add(instance);
 
                 // Effet de spawn minimal (juste un peu de particules vertes)
                 if (showParticles) {
-                    owner.spawnParticle(Particle.HAPPY_VILLAGER, spawnLoc, 5, 0.3, 0.3, 0.3, 0);
+                    fx.particle(owner, Particle.HAPPY_VILLAGER, spawnLoc, quality.particles(5), 0.3, 0.3, 0.3, 0);
                 }
 
             } catch (Exception e) {
@@ -235,7 +197,9 @@ public class FrogTongueAnimation {
         }
 
         // Son de spawn global
-        owner.playSound(centerLocation, Sound.ENTITY_FROG_AMBIENT, 1.0f, 1.0f);
+        if (quality.sounds()) {
+            fx.sound(owner, centerLocation, Sound.ENTITY_FROG_AMBIENT, 1.0f, 1.0f);
+        }
 
         // Démarrer l'animation principale
         new FrogBehaviorTask().runTaskTimer(plugin, 0L, 1L);
@@ -261,14 +225,20 @@ public class FrogTongueAnimation {
     /**
      * Task principale qui gère le comportement des grenouilles
      */
-    private class FrogBehaviorTask extends BukkitRunnable {
+    private class FrogBehaviorTask extends AnimationTask {
 
         private int ticksAlive = 0;
-        private final Set<String> harvestedBlocks = new HashSet<>();
+        private final BlockPosSet harvestedBlocks = acquireBlockSet();
         private static final int MAX_CROP_SEARCH_ATTEMPTS = 30; // OPTIMISATION: Limite de recherche
 
+        FrogBehaviorTask() {
+            super("frog-tongue-lash");
+        }
+
         @Override
         public void run() {
+            quality = plugin.getLoadGovernor().getQuality();
+
             ticksAlive++;
 
             // Fin de la durée
@@ -311,8 +281,10 @@ public class FrogTongueAnimation {
             // Son ambient occasionnel
             if (ticksAlive % 60 == 0 && !frogs.isEmpty()) {
                 FrogInstance randomFrog = frogs.get(random.nextInt(frogs.size()));
-                owner.playSound(randomFrog.entity.getLocation(), Sound.ENTITY_FROG_AMBIENT, 0.4f,
-                        0.9f + random.nextFloat() * 0.2f);
+                if (quality.sounds()) {
+                    fx.sound(owner, randomFrog.entity.getLocation(), Sound.ENTITY_FROG_AMBIENT, 0.4f,
+                            0.9f + random.nextFloat() * 0.2f);
+                }
             }
         }
 
@@ -348,7 +320,7 @@ public class FrogTongueAnimation {
         /**
          * Trouve une culture à cibler dans le rayon
          */
-        private Location findTargetCrop(Location center, World world, int range, Set<String> alreadyHarvested) {
+        private Location findTargetCrop(Location center, World world, int range, BlockPosSet alreadyHarvested) {
             int cx = center.getBlockX();
             int cy = center.getBlockY();
             int cz = center.getBlockZ();
@@ -364,13 +336,13 @@ public class FrogTongueAnimation {
                     continue;
 
                 int bx = cx + x, by = cy + y, bz = cz + z;
-                String key = bx + ":" + by + ":" + bz;
+                long key = BlockKey.pack(bx, by, bz);
 
                 if (alreadyHarvested.contains(key))
                     continue;
 
                 Block block = world.getBlockAt(bx, by, bz);
-                if (isMatureCrop(block)) {
+                if (plugin.getCropRegistry().isMature(block)) {
                     return block.getLocation();
                 }
             }
@@ -382,7 +354,7 @@ public class FrogTongueAnimation {
          * Tire une langue vers une cible
          */
         private void fireTongue(FrogInstance frog, Location from, Location to, World world) {
-            String key = to.getBlockX() + ":" + to.getBlockY() + ":" + to.getBlockZ();
+            long key = BlockKey.of(to);
             harvestedBlocks.add(key);
             totalCropsHarvested++;
 
@@ -399,10 +371,12 @@ public class FrogTongueAnimation {
             }
 
             // Son de langue
-            owner.playSound(from, Sound.ENTITY_FROG_EAT, 0.6f, 1.0f);
+            if (quality.sounds()) {
+                fx.sound(owner, from, Sound.ENTITY_FROG_EAT, 0.6f, 1.0f);
+            }
 
             // Récolter après un petit délai
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            AnimationTask.runLater(plugin, "frog-tongue-lash", () -> {
                 if (onCropHit != null) {
                     onCropHit.accept(to);
                 }
@@ -410,11 +384,14 @@ public class FrogTongueAnimation {
 
             // Si cette grenouille a le rebond, chercher une 2ème cible
             if (frog.type.hasBounce) {
-                Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                AnimationTask.runLater(plugin, "frog-tongue-lash", () -> {
+                    // L'animation est terminée: son set a été rendu au pool
+                    if (isCancelled())
+                        return;
+
                     Location bounceTarget = findTargetCrop(to, world, 3, harvestedBlocks);
                     if (bounceTarget != null) {
-                        String bounceKey = bounceTarget.getBlockX() + ":" + bounceTarget.getBlockY() + ":"
-                                + bounceTarget.getBlockZ();
+                        long bounceKey = BlockKey.of(bounceTarget);
                         harvestedBlocks.add(bounceKey);
                         totalCropsHarvested++;
 
@@ -428,13 +405,15 @@ public class FrogTongueAnimation {
                         }
 
                         // Récolter le rebond
-                        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                        AnimationTask.runLater(plugin, "frog-tongue-lash", () -> {
                             if (onCropHit != null) {
                                 onCropHit.accept(bounceTarget);
                             }
                         }, 5L);
 
-                        owner.playSound(bounceTargetLoc, Sound.ENTITY_FROG_EAT, 0.6f, 1.5f);
+                        if (quality.sounds()) {
+                            fx.sound(owner, bounceTargetLoc, Sound.ENTITY_FROG_EAT, 0.6f, 1.5f);
+                        }
                     }
                 }, 12L);
             }
@@ -448,7 +427,7 @@ public class FrogTongueAnimation {
             int zoneX = target.getBlockX() / COMBO_ZONE_RADIUS;
             int zoneY = target.getBlockY() / COMBO_ZONE_RADIUS;
             int zoneZ = target.getBlockZ() / COMBO_ZONE_RADIUS;
-            String zoneKey = zoneX + ":" + zoneY + ":" + zoneZ;
+            long zoneKey = BlockKey.pack(zoneX, zoneY, zoneZ);
 
             int count = zoneLickCount.getOrDefault(zoneKey, 0) + 1;
             zoneLickCount.put(zoneKey, count);
@@ -464,10 +443,12 @@ public class FrogTongueAnimation {
                 // Effet de combo spectaculaire - OPTIMISATION: Réduit
                 if (showParticles) {
                     Location comboLoc = target.clone().add(0.5, 0.5, 0.5);
-                    owner.spawnParticle(Particle.TOTEM_OF_UNDYING, comboLoc, 8, 0.3, 0.3, 0.3, 0.2);
+                    fx.particle(owner, Particle.TOTEM_OF_UNDYING, comboLoc, quality.particles(8), 0.3, 0.3, 0.3, 0.2);
                 }
 
-                owner.playSound(target, Sound.ENTITY_FROG_EAT, 1.0f, 0.8f);
+                if (quality.sounds()) {
+                    fx.sound(owner, target, Sound.ENTITY_FROG_EAT, 1.0f, 0.8f);
+                }
 
                 // Reset la zone pour permettre un nouveau combo
                 zoneLickCount.put(zoneKey, 0);
@@ -481,10 +462,10 @@ public class FrogTongueAnimation {
 
                     // Effet de disparition simple
                     if (showParticles && owner.isOnline()) {
-                        owner.spawnParticle(Particle.POOF, loc, 5, 0.3, 0.3, 0.3, 0.05);
+                        fx.particle(owner, Particle.POOF, loc, quality.particles(5), 0.3, 0.3, 0.3, 0.05);
                     }
 
-                    frog.entity.remove();
+                    plugin.getEntityProvider().despawn(frog.entity, owner);
                 }
             }
             frogs.clear();
@@ -493,24 +474,9 @@ public class FrogTongueAnimation {
         }
     }
 
-    private boolean isMatureCrop(Block block) {
-        Material type = block.getType();
-
-        if (!CROPS.contains(type))
-            return false;
-        if (NO_AGE_CROPS.contains(type))
-            return true;
-
-        if (block.getBlockData() instanceof Ageable ageable) {
-            return ageable.getAge() >= ageable.getMaximumAge();
-        }
-
-        return true;
-    }
-
     private void finishAnimation() {
-        if (owner.isOnline()) {
-            owner.playSound(owner.getLocation(), Sound.ENTITY_FROG_LONG_JUMP, 0.6f, 1.2f);
+        if (owner.isOnline() && quality.sounds()) {
+            fx.sound(owner, owner.getLocation(), Sound.ENTITY_FROG_LONG_JUMP, 0.6f, 1.2f);
         }
 
         if (onFinish != null) {
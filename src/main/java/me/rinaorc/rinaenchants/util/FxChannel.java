@@ -0,0 +1,291 @@
+package me.rinaorc.rinaenchants.util;
+
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Tampon des effets (particules, sons) envoyés à un joueur pendant un tick.
+ *
+ * Les particules de même type et mêmes paramètres dont les positions tombent
+ * dans la même cellule (merge-distance) sont fusionnées en une seule rafale:
+ * les quantités s'additionnent, la rafale est centrée sur les points reçus et
+ * son étalement couvre leur étendue. Un laser de 30 points DUST devient
+ * quelques paquets au lieu de 30.
+ *
+ * Les sons identiques (même son, volume, hauteur, même zone) ne sont joués
+ * qu'une fois par tick.
+ *
+ * OPTIMISATION: Les rafales sont des objets réutilisés d'un tick à l'autre et
+ * indexées dans une table à adressage ouvert: aucune allocation par particule
+ * une fois le tampon chauffé.
+ *
+ * Utilisé uniquement par FxDispatcher, thread principal.
+ */
+final class FxChannel {
+
+    // Particules avec count = 0: les offsets sont une direction, jamais fusionnées
+    private static final long UNMERGEABLE = Long.MIN_VALUE;
+
+    // Zone de dédoublonnage des sons (en blocs)
+    private static final int SOUND_CELL_SHIFT = 2;
+
+    final Player player;
+
+    // Rafales du tick (réutilisées), dans l'ordre d'arrivée
+    private Burst[] bursts = new Burst[16];
+    private int burstCount = 0;
+
+    // Index des rafales fusionnables: cellule + paramètres -> rafale
+    private Burst[] table = new Burst[32];
+
+    // Sons du tick
+    private SoundRequest[] sounds = new SoundRequest[4];
+    private int soundCount = 0;
+
+    // Déjà dans la liste des canaux à vider par le dispatcher
+    boolean queued = false;
+
+    // Paquets envoyés au dernier flush (statistiques)
+    int sentLastFlush = 0;
+
+    FxChannel(Player player) {
+        this.player = player;
+    }
+
+    boolean isEmpty() {
+        return burstCount == 0 && soundCount == 0;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // AJOUT
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * @return true si la particule a été fusionnée dans une rafale existante
+     */
+    boolean addParticle(Particle particle, Location location, int count, double dx, double dy, double dz,
+                        double speed, Object data, double cellSize) {
+        double x = location.getX();
+        double y = location.getY();
+        double z = location.getZ();
+
+        long cell = UNMERGEABLE;
+        if (count > 0) {
+            cell = BlockKey.pack((int) Math.floor(x / cellSize), (int) Math.floor(y / cellSize), (int) Math.floor(z / cellSize));
+
+            int mask = table.length - 1;
+            int slot = hash(cell, particle) & mask;
+            Burst existing;
+            while ((existing = table[slot]) != null) {
+                if (existing.matches(cell, particle, dx, dy, dz, speed, data)) {
+                    existing.merge(x, y, z, count);
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        Burst burst = nextBurst();
+        burst.set(cell, particle, x, y, z, count, dx, dy, dz, speed, data);
+        if (cell != UNMERGEABLE) {
+            index(burst);
+        }
+        return false;
+    }
+
+    /**
+     * @param dedupe Ignorer le son si un son identique a déjà été demandé ce tick
+     * @return false si le son a été ignoré
+     */
+    boolean addSound(Location location, Sound sound, float volume, float pitch, boolean dedupe) {
+        int cx = location.getBlockX() >> SOUND_CELL_SHIFT;
+        int cy = location.getBlockY() >> SOUND_CELL_SHIFT;
+        int cz = location.getBlockZ() >> SOUND_CELL_SHIFT;
+
+        for (int i = 0; dedupe && i < soundCount; i++) {
+            SoundRequest request = sounds[i];
+            if (request.sound == sound && request.volume == volume && request.pitch == pitch
+                && request.cx == cx && request.cy == cy && request.cz == cz) {
+                return false;
+            }
+        }
+
+        if (soundCount == sounds.length) {
+            sounds = Arrays.copyOf(sounds, sounds.length * 2);
+        }
+        SoundRequest request = sounds[soundCount];
+        if (request == null) {
+            request = new SoundRequest();
+            sounds[soundCount] = request;
+        }
+        soundCount++;
+        request.location = location.clone();
+        request.sound = sound;
+        request.volume = volume;
+        request.pitch = pitch;
+        request.cx = cx;
+        request.cy = cy;
+        request.cz = cz;
+        return true;
+    }
+
+    private Burst nextBurst() {
+        if (burstCount == bursts.length) {
+            bursts = Arrays.copyOf(bursts, bursts.length * 2);
+        }
+        Burst burst = bursts[burstCount];
+        if (burst == null) {
+            burst = new Burst();
+            bursts[burstCount] = burst;
+        }
+        burstCount++;
+        return burst;
+    }
+
+    private void index(Burst burst) {
+        // Facteur de charge max 0.5
+        if (burstCount * 2 > table.length) {
+            table = new Burst[table.length * 2];
+            for (int i = 0; i < burstCount; i++) {
+                if (bursts[i].cell != UNMERGEABLE) {
+                    insert(bursts[i]);
+                }
+            }
+            return;
+        }
+        insert(burst);
+    }
+
+    private void insert(Burst burst) {
+        int mask = table.length - 1;
+        int slot = hash(burst.cell, burst.particle) & mask;
+        while (table[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = burst;
+    }
+
+    private static int hash(long cell, Particle particle) {
+        long h = cell * 0x9E3779B97F4A7C15L + particle.ordinal();
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // ENVOI
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Envoie le contenu du tampon au joueur puis le vide.
+     * Les sons passent en premier, puis les rafales dans l'ordre d'arrivée.
+     *
+     * @param maxPackets Plafond de paquets pour ce tick (0 = illimité)
+     * @return Nombre de paquets non envoyés (plafond atteint)
+     */
+    int flush(int maxPackets) {
+        int limit = maxPackets > 0 ? maxPackets : Integer.MAX_VALUE;
+        int sent = 0;
+        int dropped = 0;
+
+        for (int i = 0; i < soundCount; i++) {
+            SoundRequest request = sounds[i];
+            if (sent < limit) {
+                player.playSound(request.location, request.sound, request.volume, request.pitch);
+                sent++;
+            } else {
+                dropped++;
+            }
+        }
+
+        for (int i = 0; i < burstCount; i++) {
+            if (sent < limit) {
+                bursts[i].send(player);
+                sent++;
+            } else {
+                dropped++;
+            }
+        }
+
+        sentLastFlush = sent;
+        clear();
+        return dropped;
+    }
+
+    /**
+     * Vide le tampon sans rien envoyer (les références aux données sont relâchées)
+     */
+    void clear() {
+        for (int i = 0; i < soundCount; i++) {
+            sounds[i].location = null;
+        }
+        for (int i = 0; i < burstCount; i++) {
+            bursts[i].data = null;
+        }
+        Arrays.fill(table, null);
+        burstCount = 0;
+        soundCount = 0;
+    }
+
+    /**
+     * Rafale de particules (une ou plusieurs demandes fusionnées)
+     */
+    private static final class Burst {
+        long cell;
+        Particle particle;
+        Object data;
+        double dx, dy, dz, speed;
+        int count;
+        double minX, minY, minZ, maxX, maxY, maxZ;
+
+        void set(long cell, Particle particle, double x, double y, double z, int count,
+                 double dx, double dy, double dz, double speed, Object data) {
+            this.cell = cell;
+            this.particle = particle;
+            this.data = data;
+            this.dx = dx;
+            this.dy = dy;
+            this.dz = dz;
+            this.speed = speed;
+            this.count = count;
+            this.minX = this.maxX = x;
+            this.minY = this.maxY = y;
+            this.minZ = this.maxZ = z;
+        }
+
+        boolean matches(long cell, Particle particle, double dx, double dy, double dz, double speed, Object data) {
+            return this.cell == cell && this.particle == particle
+                && this.dx == dx && this.dy == dy && this.dz == dz && this.speed == speed
+                && Objects.equals(this.data, data);
+        }
+
+        void merge(double x, double y, double z, int count) {
+            this.count += count;
+            if (x < minX) minX = x; else if (x > maxX) maxX = x;
+            if (y < minY) minY = y; else if (y > maxY) maxY = y;
+            if (z < minZ) minZ = z; else if (z > maxZ) maxZ = z;
+        }
+
+        void send(Player player) {
+            // Centre des points fusionnés, étalement au moins égal à leur demi-étendue
+            double x = (minX + maxX) * 0.5;
+            double y = (minY + maxY) * 0.5;
+            double z = (minZ + maxZ) * 0.5;
+            double ox = Math.max(dx, (maxX - minX) * 0.5);
+            double oy = Math.max(dy, (maxY - minY) * 0.5);
+            double oz = Math.max(dz, (maxZ - minZ) * 0.5);
+            player.spawnParticle(particle, x, y, z, count, ox, oy, oz, speed, data);
+        }
+    }
+
+    private static final class SoundRequest {
+        Location location;
+        Sound sound;
+        float volume;
+        float pitch;
+        int cx, cy, cz;
+    }
+}
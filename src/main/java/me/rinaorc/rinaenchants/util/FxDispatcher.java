@@ -0,0 +1,249 @@
+package me.rinaorc.rinaenchants.util;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Envoi groupé des particules et sons des animations.
+ *
+ * Les animations n'appellent plus player.spawnParticle / playSound
+ * directement: les demandes sont gardées dans le FxChannel du joueur et
+ * envoyées en fin de tick (ServerTickEndEvent), fusionnées en rafales,
+ * sons dédoublonnés, avec un plafond de paquets par joueur et par tick.
+ * Au-delà du plafond, les effets restants du tick sont abandonnés
+ * (les sons passent avant les particules).
+ *
+ * Avec performance.fx.enabled: false, les appels sont transmis tels quels.
+ *
+ * Thread principal uniquement.
+ */
+public class FxDispatcher implements Listener {
+
+    private final RinaEnchantsPlugin plugin;
+
+    // Configuration
+    private boolean enabled;
+    private int maxPacketsPerTick;
+    private double mergeDistance;
+    private boolean dedupeSounds;
+
+    private final Map<UUID, FxChannel> channels = new HashMap<>();
+    // Canaux ayant reçu des effets pendant ce tick
+    private final List<FxChannel> dirty = new ArrayList<>();
+    // Dernier canal utilisé (une animation envoie ses effets à la suite)
+    private FxChannel lastChannel;
+
+    // Statistiques
+    private long particleRequests = 0;
+    private long particlesRequested = 0;
+    private long mergedParticles = 0;
+    private long soundRequests = 0;
+    private long dedupedSounds = 0;
+    private long packetsSent = 0;
+    private long packetsDropped = 0;
+    private int peakPacketsPerPlayer = 0;
+
+    public FxDispatcher(RinaEnchantsPlugin plugin) {
+        this.plugin = plugin;
+        loadConfig();
+    }
+
+    /**
+     * Charge la section performance.fx
+     */
+    public void loadConfig() {
+        String base = "performance.fx.";
+        boolean wasEnabled = enabled;
+        this.enabled = plugin.getConfig().getBoolean(base + "enabled", true);
+        this.maxPacketsPerTick = Math.max(0, plugin.getConfig().getInt(base + "max-packets-per-tick", 48));
+        this.mergeDistance = Math.max(0.25, plugin.getConfig().getDouble(base + "merge-distance", 0.75));
+        this.dedupeSounds = plugin.getConfig().getBoolean(base + "dedupe-sounds", true);
+
+        // Désactivé au reload: envoyer ce qui est déjà en attente
+        if (wasEnabled && !enabled) {
+            flush();
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // DEMANDES
+    // ═══════════════════════════════════════════════════════════════════════
+
+    public void particle(Player player, Particle particle, Location location, int count,
+                         double offsetX, double offsetY, double offsetZ, double speed) {
+        particle(player, particle, location, count, offsetX, offsetY, offsetZ, speed, null);
+    }
+
+    /**
+     * Équivalent de Player#spawnParticle(Particle, Location, int, double, double, double, double, Object),
+     * envoyé en fin de tick
+     */
+    public <T> void particle(Player player, Particle particle, Location location, int count,
+                             double offsetX, double offsetY, double offsetZ, double speed, T data) {
+        particlesRequested += count;
+        if (!enabled) {
+            player.spawnParticle(particle, location, count, offsetX, offsetY, offsetZ, speed, data);
+            return;
+        }
+
+        particleRequests++;
+        if (channel(player).addParticle(particle, location, count, offsetX, offsetY, offsetZ, speed, data, mergeDistance)) {
+            mergedParticles++;
+        }
+    }
+
+    /**
+     * Équivalent de Player#playSound(Location, Sound, float, float), envoyé en fin de tick
+     */
+    public void sound(Player player, Location location, Sound sound, float volume, float pitch) {
+        if (!enabled) {
+            player.playSound(location, sound, volume, pitch);
+            return;
+        }
+
+        soundRequests++;
+        if (!channel(player).addSound(location, sound, volume, pitch, dedupeSounds)) {
+            dedupedSounds++;
+        }
+    }
+
+    private FxChannel channel(Player player) {
+        FxChannel channel = lastChannel;
+        if (channel == null || channel.player != player) {
+            channel = channels.get(player.getUniqueId());
+            if (channel == null || channel.player != player) {
+                // Nouveau joueur, ou reconnecté (nouvelle instance Player)
+                channel = new FxChannel(player);
+                channels.put(player.getUniqueId(), channel);
+            }
+            lastChannel = channel;
+        }
+        if (!channel.queued) {
+            channel.queued = true;
+            dirty.add(channel);
+        }
+        return channel;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // ENVOI
+    // ═══════════════════════════════════════════════════════════════════════
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickEnd(ServerTickEndEvent event) {
+        flush();
+    }
+
+    /**
+     * Envoie les effets en attente de tous les joueurs
+     */
+    public void flush() {
+        if (dirty.isEmpty()) return;
+
+        for (FxChannel channel : dirty) {
+            channel.queued = false;
+            if (!channel.player.isOnline()) {
+                channel.clear();
+                continue;
+            }
+            packetsDropped += channel.flush(maxPacketsPerTick);
+            packetsSent += channel.sentLastFlush;
+            if (channel.sentLastFlush > peakPacketsPerPlayer) {
+                peakPacketsPerPlayer = channel.sentLastFlush;
+            }
+        }
+        dirty.clear();
+    }
+
+    /**
+     * Abandonne les effets en attente d'un joueur et oublie son canal
+     * (appelé par PlayerLifecycleManager)
+     *
+     * @return true si le joueur avait un canal
+     */
+    public boolean purge(UUID playerId) {
+        FxChannel channel = channels.remove(playerId);
+        if (channel == null) return false;
+        // Le canal reste dans dirty jusqu'au prochain flush, vide il n'envoie rien
+        channel.clear();
+        if (lastChannel == channel) lastChannel = null;
+        return true;
+    }
+
+    public boolean hasChannel(UUID playerId) {
+        return channels.containsKey(playerId);
+    }
+
+    /**
+     * Envoie ce qui reste et oublie tous les canaux
+     */
+    public void stop() {
+        flush();
+        channels.clear();
+        lastChannel = null;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // STATISTIQUES
+    // ═══════════════════════════════════════════════════════════════════════
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxPacketsPerTick() {
+        return maxPacketsPerTick;
+    }
+
+    /** Particules demandées par les animations */
+    public long getParticleRequests() {
+        return particleRequests;
+    }
+
+    /** Particules demandées (somme des count), dispatcher activé ou non */
+    public long getParticlesRequested() {
+        return particlesRequested;
+    }
+
+    /** Particules fusionnées dans une rafale existante (paquets économisés) */
+    public long getMergedParticles() {
+        return mergedParticles;
+    }
+
+    public long getSoundRequests() {
+        return soundRequests;
+    }
+
+    /** Sons identiques ignorés dans un même tick */
+    public long getDedupedSounds() {
+        return dedupedSounds;
+    }
+
+    /** Paquets (rafales + sons) réellement envoyés */
+    public long getPacketsSent() {
+        return packetsSent;
+    }
+
+    /** Paquets abandonnés à cause du plafond par joueur */
+    public long getPacketsDropped() {
+        return packetsDropped;
+    }
+
+    /** Plus grand nombre de paquets envoyés à un joueur en un tick */
+    public int getPeakPacketsPerPlayer() {
+        return peakPacketsPerPlayer;
+    }
+}
@@ -5,11 +5,8 @@ import org.bukkit.*;
 import org.bukkit.attribute.Attribute;
 import org.bukkit.attribute.AttributeInstance;
 import org.bukkit.block.Block;
-import org.bukkit.block.data.Ageable;
-import org.bukkit.entity.EntityType;
 import org.bukkit.entity.IronGolem;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.*;
@@ -36,6 +33,13 @@ import java.util.function.Consumer;
 public class GolemFactoryAnimation {
 
     private final RinaEnchantsPlugin plugin;
+
+    // Niveau de détail courant (LoadGovernor), relu à chaque tick d'animation
+    private LoadGovernor.Quality quality;
+
+    // Particules et sons groupés par joueur, envoyés en fin de tick
+    private final FxDispatcher fx;
+
     private final Location centerLocation;
     private final Player owner;
     private final int golemCount;
@@ -59,43 +63,6 @@ public class GolemFactoryAnimation {
     private int totalMerges = 0;
     private boolean isFinished = false;
 
-    // Set des cultures
-    private static final Set<Material> CROPS = new HashSet<>();
-    private static final Set<Material> NO_AGE_CROPS = new HashSet<>();
-
-    static {
-        CROPS.addAll(Arrays.asList(
-                Material.WHEAT, Material.CARROTS, Material.POTATOES, Material.BEETROOTS,
-                Material.NETHER_WART, Material.COCOA, Material.SWEET_BERRY_BUSH,
-                Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE, Material.CACTUS,
-                Material.BAMBOO, Material.KELP, Material.KELP_PLANT,
-                Material.TUBE_CORAL, Material.BUBBLE_CORAL, Material.BRAIN_CORAL,
-                Material.FIRE_CORAL, Material.HORN_CORAL,
-                Material.TUBE_CORAL_BLOCK, Material.BUBBLE_CORAL_BLOCK, Material.BRAIN_CORAL_BLOCK,
-                Material.FIRE_CORAL_BLOCK, Material.HORN_CORAL_BLOCK,
-                Material.WARPED_ROOTS, Material.CRIMSON_ROOTS, Material.NETHER_SPROUTS,
-                Material.TWISTING_VINES, Material.WEEPING_VINES,
-                Material.LILAC, Material.ROSE_BUSH, Material.PEONY, Material.SUNFLOWER,
-                Material.TALL_GRASS, Material.LARGE_FERN,
-                Material.OAK_SAPLING, Material.BIRCH_SAPLING, Material.JUNGLE_SAPLING,
-                Material.SPRUCE_SAPLING, Material.CHERRY_SAPLING, Material.ACACIA_SAPLING,
-                Material.DARK_OAK_SAPLING, Material.MANGROVE_PROPAGULE,
-                Material.SEA_PICKLE, Material.CHORUS_FLOWER, Material.CHORUS_PLANT));
-
-        NO_AGE_CROPS.addAll(Arrays.asList(
-                Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE, Material.CACTUS,
-                Material.BAMBOO, Material.KELP, Material.KELP_PLANT,
-                Material.TUBE_CORAL, Material.BUBBLE_CORAL, Material.BRAIN_CORAL,
-                Material.FIRE_CORAL, Material.HORN_CORAL,
-                Material.TUBE_CORAL_BLOCK, Material.BUBBLE_CORAL_BLOCK, Material.BRAIN_CORAL_BLOCK,
-                Material.FIRE_CORAL_BLOCK, Material.HORN_CORAL_BLOCK,
-                Material.WARPED_ROOTS, Material.CRIMSON_ROOTS, Material.NETHER_SPROUTS,
-                Material.LILAC, Material.ROSE_BUSH, Material.PEONY, Material.SUNFLOWER,
-                Material.OAK_SAPLING, Material.BIRCH_SAPLING, Material.JUNGLE_SAPLING,
-                Material.SPRUCE_SAPLING, Material.CHERRY_SAPLING, Material.ACACIA_SAPLING,
-                Material.DARK_OAK_SAPLING, Material.MANGROVE_PROPAGULE,
-                Material.CHORUS_FLOWER, Material.CHORUS_PLANT, Material.SEA_PICKLE));
-    }
 
     // Couleurs pour les particules
     private static final Color IRON_GRAY = Color.fromRGB(180, 180, 180);
@@ -125,6 +92,8 @@ public class GolemFactoryAnimation {
             double mergeChance, int slamRadius,
             boolean showParticles, boolean clientSideOnly) {
         this.plugin = plugin;
+        this.quality = plugin.getLoadGovernor().getQuality();
+        this.fx = plugin.getFx();
         this.centerLocation = centerLocation.clone();
         this.owner = owner;
         this.golemCount = golemCount;
@@ -174,7 +143,8 @@ public class GolemFactoryAnimation {
                 continue;
 
             try {
-                IronGolem golem = (IronGolem) world.spawnEntity(spawnLoc, EntityType.IRON_GOLEM);
+                IronGolem golem = plugin.getEntityProvider().spawn(spawnLoc, IronGolem.class, owner, clientSideOnly,
+                    "golem-factory", duration);
                 golem.setInvulnerable(true);
                 golem.setSilent(false);
                 golem.setAI(false);
@@ -196,14 +166,6 @@ public class GolemFactoryAnimation {
                     plugin.getLogger().warning("§e[GolemFactory] Attribut SCALE non disponible");
                 }
 
-                // Marquer l'entité pour cleanup
-                plugin.markAsEnchantEntity(golem);
-
-                // Client-side
-                if (clientSideOnly) {
-                    plugin.makeEntityClientSide(golem, owner);
-                }
-
                 GolemInstance instance = new GolemInstance(golemScale);
                 instance.entity = golem;
                 instance.targetLocation = getRandomPatrolTarget();
@@ -213,8 +175,8 @@ public class GolemFactoryAnimation {
                 // Effet de spawn
                 if (showParticles) {
                     Particle.DustOptions dust = new Particle.DustOptions(IRON_GRAY, 2.0f);
-                    owner.spawnParticle(Particle.DUST, spawnLoc.clone().add(0, 0.5, 0), 8, 0.3, 0.3, 0.3, 0, dust);
-                    owner.spawnParticle(Particle.BLOCK, spawnLoc, 5, 0.3, 0.1, 0.3, 0.1,
+                    fx.particle(owner, Particle.DUST, spawnLoc.clone().add(0, 0.5, 0), quality.particles(8), 0.3, 0.3, 0.3, 0, dust);
+                    fx.particle(owner, Particle.BLOCK, spawnLoc, quality.particles(5), 0.3, 0.1, 0.3, 0.1,
                             Material.IRON_BLOCK.createBlockData());
                 }
 
@@ -228,8 +190,10 @@ public class GolemFactoryAnimation {
         }
 
         // Son de spawn
-        owner.playSound(centerLocation, Sound.ENTITY_IRON_GOLEM_REPAIR, 1.0f, 1.2f);
-        owner.playSound(centerLocation, Sound.BLOCK_ANVIL_PLACE, 0.5f, 1.5f);
+        if (quality.sounds()) {
+            fx.sound(owner, centerLocation, Sound.ENTITY_IRON_GOLEM_REPAIR, 1.0f, 1.2f);
+            fx.sound(owner, centerLocation, Sound.BLOCK_ANVIL_PLACE, 0.5f, 1.5f);
+        }
 
         // Démarrer l'animation principale
         new GolemBehaviorTask().runTaskTimer(plugin, 0L, 1L);
@@ -238,16 +202,22 @@ public class GolemFactoryAnimation {
     /**
      * Task principale qui gère le comportement des golems
      */
-    private class GolemBehaviorTask extends BukkitRunnable {
+    private class GolemBehaviorTask extends AnimationTask {
 
         private int ticksAlive = 0;
-        private final Set<String> harvestedBlocks = new HashSet<>();
+        private final BlockPosSet harvestedBlocks = acquireBlockSet();
         private static final double MOVE_SPEED = 0.30; // OPTIMISATION: Vitesse doublée car update tous les 2 ticks
         private static final double MERGE_DISTANCE = 2.5;
         private static final int HARVEST_MAX_PER_TICK = 5; // OPTIMISATION: Limite de récolte par tick
 
+        GolemBehaviorTask() {
+            super("golem-factory");
+        }
+
         @Override
         public void run() {
+            quality = plugin.getLoadGovernor().getQuality();
+
             ticksAlive++;
 
             // Fin de la durée
@@ -297,8 +267,8 @@ public class GolemFactoryAnimation {
             // Sons ambient
             if (ticksAlive % 80 == 0 && !golems.isEmpty()) {
                 GolemInstance randomGolem = golems.get(random.nextInt(golems.size()));
-                if (randomGolem.entity != null && !randomGolem.entity.isDead()) {
-                    owner.playSound(randomGolem.entity.getLocation(),
+                if (randomGolem.entity != null && !randomGolem.entity.isDead() && quality.sounds()) {
+                    fx.sound(owner, randomGolem.entity.getLocation(),
                             Sound.ENTITY_IRON_GOLEM_STEP, 0.4f, 1.2f + random.nextFloat() * 0.3f);
                 }
             }
@@ -357,11 +327,13 @@ public class GolemFactoryAnimation {
                     // Animation de swing (via particules car pas d'animation native simple)
                     if (showParticles) {
                         Location armLoc = currentLoc.clone().add(0, 1.0 * golem.personalScale, 0);
-                        owner.spawnParticle(Particle.SWEEP_ATTACK, armLoc, 1, 0.5, 0.3, 0.5, 0);
+                        fx.particle(owner, Particle.SWEEP_ATTACK, armLoc, 1, 0.5, 0.3, 0.5, 0);
                     }
 
-                    owner.playSound(currentLoc, Sound.ENTITY_IRON_GOLEM_ATTACK, 0.5f,
-                            golem.isGiant ? 0.7f : 1.3f);
+                    if (quality.sounds()) {
+                        fx.sound(owner, currentLoc, Sound.ENTITY_IRON_GOLEM_ATTACK, 0.5f,
+                                golem.isGiant ? 0.7f : 1.3f);
+                    }
                 }
             }
 
@@ -369,8 +341,8 @@ public class GolemFactoryAnimation {
             // EFFETS VISUELS DE MARCHE
             // ═══════════════════════════════════════════════════════════
 
-            if (showParticles && ticksAlive % 8 == 0) {
-                owner.spawnParticle(Particle.BLOCK, currentLoc, 1, 0.2, 0, 0.2, 0,
+            if (showParticles && quality.isVisualTick(ticksAlive, 8)) {
+                fx.particle(owner, Particle.BLOCK, currentLoc, 1, 0.2, 0, 0.2, 0,
                         Material.IRON_BLOCK.createBlockData());
             }
         }
@@ -387,13 +359,13 @@ public class GolemFactoryAnimation {
                     for (int z = -radius; z <= radius && harvestCount < HARVEST_MAX_PER_TICK; z++) {
                         // OPTIMISATION: Clé générée sans créer de Location
                         int bx = cx + x, by = cy + y, bz = cz + z;
-                        String key = bx + ":" + by + ":" + bz;
+                        long key = BlockKey.pack(bx, by, bz);
 
                         if (harvestedBlocks.contains(key))
                             continue;
 
                         Block block = world.getBlockAt(bx, by, bz);
-                        if (isMatureCrop(block)) {
+                        if (plugin.getCropRegistry().isMature(block)) {
                             harvestedBlocks.add(key);
                             totalCropsHarvested++;
                             harvestCount++;
@@ -403,8 +375,8 @@ public class GolemFactoryAnimation {
                             }
 
                             if (showParticles) {
-                                owner.spawnParticle(Particle.HAPPY_VILLAGER,
-                                        block.getLocation().add(0.5, 0.5, 0.5), 2, 0.2, 0.2, 0.2, 0);
+                                fx.particle(owner, Particle.HAPPY_VILLAGER,
+                                        block.getLocation().add(0.5, 0.5, 0.5), quality.particles(2), 0.2, 0.2, 0.2, 0);
                             }
                         }
                     }
@@ -450,16 +422,21 @@ public class GolemFactoryAnimation {
             // Effet de fusion
             if (showParticles) {
                 Particle.DustOptions goldDust = new Particle.DustOptions(MERGE_GOLD, 2.0f);
-                owner.spawnParticle(Particle.DUST, mergeLoc.clone().add(0, 1, 0), 15, 0.5, 0.5, 0.5, 0, goldDust);
-                owner.spawnParticle(Particle.TOTEM_OF_UNDYING, mergeLoc.clone().add(0, 1, 0), 10, 0.3, 0.3, 0.3, 0.2);
+                fx.particle(owner, Particle.DUST, mergeLoc.clone().add(0, 1, 0), quality.particles(15), 0.5, 0.5, 0.5, 0, goldDust);
+                fx.particle(owner, Particle.TOTEM_OF_UNDYING, mergeLoc.clone().add(0, 1, 0), quality.particles(10), 0.3, 0.3, 0.3, 0.2);
             }
 
-            owner.playSound(mergeLoc, Sound.BLOCK_ANVIL_USE, 1.0f, 0.8f);
-            owner.playSound(mergeLoc, Sound.ENTITY_IRON_GOLEM_REPAIR, 1.0f, 0.6f);
+            if (quality.sounds()) {
+                fx.sound(owner, mergeLoc, Sound.BLOCK_ANVIL_USE, 1.0f, 0.8f);
+                fx.sound(owner, mergeLoc, Sound.ENTITY_IRON_GOLEM_REPAIR, 1.0f, 0.6f);
+            }
 
             // Supprimer les deux golems
-            g1.entity.remove();
-            g2.entity.remove();
+            plugin.getEntityProvider().despawn(g1.entity, owner);
+            plugin.getEntityProvider().despawn(g2.entity, owner);
+            // Retirés tout de suite: une entité rendue au pool reste valide (pas de isDead())
+            golems.remove(g1);
+            golems.remove(g2);
 
             // Callback merge
             if (onMerge != null) {
@@ -467,7 +444,7 @@ public class GolemFactoryAnimation {
             }
 
             // Créer le golem géant après un délai
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            AnimationTask.runLater(plugin, "golem-factory", () -> {
                 if (!owner.isOnline() || isFinished)
                     return;
 
@@ -477,7 +454,8 @@ public class GolemFactoryAnimation {
 
         private void spawnGiantGolem(Location loc, World world) {
             try {
-                IronGolem giant = (IronGolem) world.spawnEntity(loc, EntityType.IRON_GOLEM);
+                IronGolem giant = plugin.getEntityProvider().spawn(loc, IronGolem.class, owner, clientSideOnly,
+                    "golem-factory", duration);
                 giant.setInvulnerable(true);
                 giant.setSilent(false);
                 giant.setAI(false);
@@ -499,11 +477,6 @@ public class GolemFactoryAnimation {
                     plugin.getLogger().warning("§e[GolemFactory] Attribut SCALE non disponible pour le géant");
                 }
 
-                plugin.markAsEnchantEntity(giant);
-                if (clientSideOnly) {
-                    plugin.makeEntityClientSide(giant, owner);
-                }
-
                 GolemInstance giantInstance = new GolemInstance(giantScale);
                 giantInstance.entity = giant;
                 giantInstance.isGiant = true;
@@ -512,15 +485,17 @@ public class GolemFactoryAnimation {
 
                 // Effet d'apparition du géant
                 if (showParticles) {
-                    owner.spawnParticle(Particle.EXPLOSION, loc.clone().add(0, 1.5, 0), 2, 0.5, 0.5, 0.5, 0);
+                    fx.particle(owner, Particle.EXPLOSION, loc.clone().add(0, 1.5, 0), quality.particles(2), 0.5, 0.5, 0.5, 0);
                     Particle.DustOptions ironDust = new Particle.DustOptions(IRON_GRAY, 3.0f);
-                    owner.spawnParticle(Particle.DUST, loc.clone().add(0, 1, 0), 20, 0.8, 0.8, 0.8, 0, ironDust);
+                    fx.particle(owner, Particle.DUST, loc.clone().add(0, 1, 0), quality.particles(20), 0.8, 0.8, 0.8, 0, ironDust);
                 }
 
-                owner.playSound(loc, Sound.ENTITY_IRON_GOLEM_HURT, 1.0f, 0.5f);
+                if (quality.sounds()) {
+                    fx.sound(owner, loc, Sound.ENTITY_IRON_GOLEM_HURT, 1.0f, 0.5f);
+                }
 
                 // Programmer le ground slam
-                Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                AnimationTask.runLater(plugin, "golem-factory", () -> {
                     if (giantInstance.entity != null && !giantInstance.entity.isDead()) {
                         performGroundSlam(giantInstance, world);
                     }
@@ -532,7 +507,7 @@ public class GolemFactoryAnimation {
         }
 
         private void performGroundSlam(GolemInstance giant, World world) {
-            if (!owner.isOnline() || isFinished)
+            if (!owner.isOnline() || isFinished || isCancelled())
                 return;
 
             Location slamLoc = giant.entity.getLocation();
@@ -546,7 +521,7 @@ public class GolemFactoryAnimation {
                 // Cercle d'impact
                 for (int r = 1; r <= slamRadius; r++) {
                     final int radius = r;
-                    Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                    AnimationTask.runLater(plugin, "golem-factory", () -> {
                         if (!owner.isOnline())
                             return;
 
@@ -555,24 +530,26 @@ public class GolemFactoryAnimation {
                             double angle = (Math.PI * 2 / points) * i;
                             Location ringLoc = slamLoc.clone().add(
                                     Math.cos(angle) * radius, 0.1, Math.sin(angle) * radius);
-                            owner.spawnParticle(Particle.BLOCK, ringLoc, 2, 0.1, 0.1, 0.1, 0.1,
+                            fx.particle(owner, Particle.BLOCK, ringLoc, quality.particles(2), 0.1, 0.1, 0.1, 0.1,
                                     Material.DIRT.createBlockData());
-                            owner.spawnParticle(Particle.DUST, ringLoc, 1, 0.1, 0.1, 0.1, 0,
+                            fx.particle(owner, Particle.DUST, ringLoc, 1, 0.1, 0.1, 0.1, 0,
                                     new Particle.DustOptions(IRON_DARK, 1.5f));
                         }
                     }, (r - 1) * 2L);
                 }
 
                 // Impact central
-                owner.spawnParticle(Particle.EXPLOSION, slamLoc, 1, 0, 0, 0, 0);
-                owner.spawnParticle(Particle.BLOCK, slamLoc, 15, 0.5, 0.2, 0.5, 0.2,
+                fx.particle(owner, Particle.EXPLOSION, slamLoc, 1, 0, 0, 0, 0);
+                fx.particle(owner, Particle.BLOCK, slamLoc, quality.particles(15), 0.5, 0.2, 0.5, 0.2,
                         Material.IRON_BLOCK.createBlockData());
             }
 
             // Sons
-            owner.playSound(slamLoc, Sound.ENTITY_IRON_GOLEM_ATTACK, 1.0f, 0.5f);
-            owner.playSound(slamLoc, Sound.ENTITY_GENERIC_EXPLODE, 0.6f, 1.2f);
-            owner.playSound(slamLoc, Sound.BLOCK_ANVIL_LAND, 0.8f, 0.8f);
+            if (quality.sounds()) {
+                fx.sound(owner, slamLoc, Sound.ENTITY_IRON_GOLEM_ATTACK, 1.0f, 0.5f);
+                fx.sound(owner, slamLoc, Sound.ENTITY_GENERIC_EXPLODE, 0.6f, 1.2f);
+                fx.sound(owner, slamLoc, Sound.BLOCK_ANVIL_LAND, 0.8f, 0.8f);
+            }
 
             // Récolter dans la zone du slam
             int cx = slamLoc.getBlockX();
@@ -586,13 +563,13 @@ public class GolemFactoryAnimation {
 
                     for (int y = -2; y <= 2; y++) {
                         Location blockLoc = new Location(world, cx + x, cy + y, cz + z);
-                        String key = blockLoc.getBlockX() + ":" + blockLoc.getBlockY() + ":" + blockLoc.getBlockZ();
+                        long key = BlockKey.of(blockLoc);
 
                         if (harvestedBlocks.contains(key))
                             continue;
 
                         Block block = blockLoc.getBlock();
-                        if (isMatureCrop(block)) {
+                        if (plugin.getCropRegistry().isMature(block)) {
                             harvestedBlocks.add(key);
                             totalCropsHarvested++;
 
@@ -605,15 +582,15 @@ public class GolemFactoryAnimation {
             }
 
             // Le géant disparaît après le slam
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            AnimationTask.runLater(plugin, "golem-factory", () -> {
                 if (giant.entity != null && !giant.entity.isDead()) {
                     if (showParticles && owner.isOnline()) {
                         Location loc = giant.entity.getLocation();
-                        owner.spawnParticle(Particle.POOF, loc.clone().add(0, 1, 0), 15, 0.5, 1, 0.5, 0.1);
-                        owner.spawnParticle(Particle.BLOCK, loc, 10, 0.5, 0.5, 0.5, 0.1,
+                        fx.particle(owner, Particle.POOF, loc.clone().add(0, 1, 0), quality.particles(15), 0.5, 1, 0.5, 0.1);
+                        fx.particle(owner, Particle.BLOCK, loc, quality.particles(10), 0.5, 0.5, 0.5, 0.1,
                                 Material.IRON_BLOCK.createBlockData());
                     }
-                    giant.entity.remove();
+                    plugin.getEntityProvider().despawn(giant.entity, owner);
                     golems.remove(giant);
                 }
             }, 30L);
@@ -625,12 +602,12 @@ public class GolemFactoryAnimation {
                     Location loc = golem.entity.getLocation();
 
                     if (showParticles && owner.isOnline()) {
-                        owner.spawnParticle(Particle.POOF, loc.clone().add(0, 0.5, 0), 8, 0.3, 0.3, 0.3, 0.1);
-                        owner.spawnParticle(Particle.BLOCK, loc, 5, 0.3, 0.3, 0.3, 0.1,
+                        fx.particle(owner, Particle.POOF, loc.clone().add(0, 0.5, 0), quality.particles(8), 0.3, 0.3, 0.3, 0.1);
+                        fx.particle(owner, Particle.BLOCK, loc, quality.particles(5), 0.3, 0.3, 0.3, 0.1,
                                 Material.IRON_BLOCK.createBlockData());
                     }
 
-                    golem.entity.remove();
+                    plugin.getEntityProvider().despawn(golem.entity, owner);
                 }
             }
             golems.clear();
@@ -675,24 +652,9 @@ public class GolemFactoryAnimation {
         return new Location(world, x, loc.getY(), z);
     }
 
-    private boolean isMatureCrop(Block block) {
-        Material type = block.getType();
-
-        if (!CROPS.contains(type))
-            return false;
-        if (NO_AGE_CROPS.contains(type))
-            return true;
-
-        if (block.getBlockData() instanceof Ageable ageable) {
-            return ageable.getAge() >= ageable.getMaximumAge();
-        }
-
-        return true;
-    }
-
     private void finishAnimation() {
-        if (owner.isOnline()) {
-            owner.playSound(owner.getLocation(), Sound.ENTITY_IRON_GOLEM_DEATH, 0.5f, 1.5f);
+        if (owner.isOnline() && quality.sounds()) {
+            fx.sound(owner, owner.getLocation(), Sound.ENTITY_IRON_GOLEM_DEATH, 0.5f, 1.5f);
         }
 
         if (onFinish != null) {
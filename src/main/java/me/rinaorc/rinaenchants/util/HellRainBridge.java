@@ -0,0 +1,236 @@
+package me.rinaorc.rinaenchants.util;
+
+import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import me.rinaorc.rinaenchants.util.EnchantMetrics.BreakPath;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Pont vers HellRainAbility de RivalHarvesterHoes.
+ *
+ * replaceWithDrops (et replaceCropsde en secours) donnent les multiplicateurs
+ * RivalHarvesterHoes SANS déclencher d'autres enchantements (comme AirStrike).
+ *
+ * OPTIMISATION: Les méthodes sont résolues une seule fois en MethodHandle
+ * typés (Player, Location, double, Material, long)void et appelées via
+ * invokeExact: pas de Method.invoke, pas de tableau d'arguments ni de
+ * boxing par culture cassée.
+ *
+ * Les handles sont re-résolus quand RivalHarvesterHoes est réactivé
+ * (nouveau classloader) et relâchés quand il est désactivé.
+ *
+ * Thread principal uniquement.
+ */
+public class HellRainBridge {
+
+    private static final String HELL_RAIN_CLASS = "me.rivaldev.harvesterhoes.abilities.HellRainAbility";
+
+    // Signature attendue: replaceWithDrops(Player, Location, double radius, Material, long level)
+    private static final MethodType BREAK_TYPE = MethodType.methodType(void.class,
+        Player.class, Location.class, double.class, Material.class, long.class);
+
+    // Rayon de 0.5 = seulement le bloc central (évite de casser les blocs adjacents)
+    public static final double SINGLE_BLOCK_RADIUS = 0.5;
+
+    private final RinaEnchantsPlugin plugin;
+
+    private MethodHandle replaceWithDrops;
+    private MethodHandle replaceCropsde;
+
+    // Compteurs de santé (affichés dans /rinaenchants info)
+    private long successes = 0;
+    private long fallbacks = 0;
+    private long failures = 0;
+    private long unavailable = 0;
+
+    // Une erreur par méthode est loggée en warning après chaque binding, le reste en debug
+    private boolean primaryErrorLogged = false;
+    private boolean backupErrorLogged = false;
+
+    public HellRainBridge(RinaEnchantsPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Résout les méthodes HellRainAbility depuis le classloader de RivalHarvesterHoes
+     *
+     * @return true si au moins replaceWithDrops est disponible
+     */
+    public boolean bind() {
+        unbind();
+
+        Plugin rivalPlugin = Bukkit.getPluginManager().getPlugin("RivalHarvesterHoes");
+        if (rivalPlugin == null || !rivalPlugin.isEnabled()) {
+            plugin.getLogger().warning("§e[HellRain] RivalHarvesterHoes non activé, cassage manuel utilisé");
+            return false;
+        }
+
+        Class<?> hellRainClass;
+        try {
+            hellRainClass = Class.forName(HELL_RAIN_CLASS, true, rivalPlugin.getClass().getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            plugin.getLogger().warning("§e[HellRain] HellRainAbility non trouvé: " + e.getMessage());
+            return false;
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        replaceWithDrops = findBreakMethod(lookup, hellRainClass, "replaceWithDrops");
+        replaceCropsde = findBreakMethod(lookup, hellRainClass, "replaceCropsde");
+
+        if (replaceWithDrops == null) {
+            // Le backup seul devient la méthode principale
+            replaceWithDrops = replaceCropsde;
+            replaceCropsde = null;
+        }
+
+        if (replaceWithDrops != null) {
+            plugin.getLogger().info("§a✓ HellRainAbility lié" + (replaceCropsde != null ? " (avec backup)" : ""));
+            return true;
+        }
+
+        plugin.getLogger().warning("§e[HellRain] Aucune méthode HellRainAbility compatible, cassage manuel utilisé");
+        return false;
+    }
+
+    private MethodHandle findBreakMethod(MethodHandles.Lookup lookup, Class<?> owner, String name) {
+        for (Class<?> returnType : new Class<?>[] {void.class, boolean.class, int.class}) {
+            try {
+                MethodHandle handle = lookup.findStatic(owner, name, BREAK_TYPE.changeReturnType(returnType));
+                // La valeur de retour éventuelle est ignorée
+                return handle.asType(BREAK_TYPE);
+            } catch (NoSuchMethodException ignored) {
+                // Essayer le type de retour suivant
+            } catch (IllegalAccessException e) {
+                plugin.getLogger().warning("§e[HellRain] " + name + " inaccessible: " + e.getMessage());
+                return null;
+            }
+        }
+        if (plugin.isDebug()) {
+            plugin.getLogger().info("§e[DEBUG] HellRain: méthode " + name + " introuvable");
+        }
+        return null;
+    }
+
+    /**
+     * Relâche les handles (RivalHarvesterHoes désactivé: libère son classloader)
+     */
+    public void unbind() {
+        replaceWithDrops = null;
+        replaceCropsde = null;
+        primaryErrorLogged = false;
+        backupErrorLogged = false;
+    }
+
+    public boolean isBound() {
+        return replaceWithDrops != null;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // CASSAGE
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Casse une culture via HellRainAbility
+     *
+     * @return true si le bloc a été cassé (méthode principale ou backup),
+     *         false si l'appelant doit casser le bloc lui-même
+     */
+    public boolean breakCrop(Player player, Location location, Material type) {
+        return breakCropPath(player, location, type) != BreakPath.FAILED;
+    }
+
+    /**
+     * Comme breakCrop, en indiquant la méthode utilisée (pour EnchantMetrics)
+     *
+     * @return HELLRAIN, BACKUP, ou FAILED si l'appelant doit casser le bloc lui-même
+     */
+    public BreakPath breakCropPath(Player player, Location location, Material type) {
+        return breakAreaPath(player, location, SINGLE_BLOCK_RADIUS, type);
+    }
+
+    /**
+     * Casse toutes les cultures du matériau donné dans un rayon autour de la location.
+     * L'appelant vérifie lui-même quels blocs ont réellement été cassés.
+     *
+     * @return true si l'appel a réussi (méthode principale ou backup)
+     */
+    public boolean breakArea(Player player, Location location, double radius, Material type) {
+        return breakAreaPath(player, location, radius, type) != BreakPath.FAILED;
+    }
+
+    /**
+     * Comme breakArea, en indiquant la méthode utilisée (pour EnchantMetrics)
+     *
+     * @return HELLRAIN, BACKUP, ou FAILED si aucun appel n'a réussi
+     */
+    public BreakPath breakAreaPath(Player player, Location location, double radius, Material type) {
+        MethodHandle primary = replaceWithDrops;
+        if (primary == null) {
+            unavailable++;
+            return BreakPath.FAILED;
+        }
+
+        try {
+            primary.invokeExact(player, location, radius, type, 1L);
+            successes++;
+            return BreakPath.HELLRAIN;
+        } catch (Throwable t) {
+            if (!primaryErrorLogged) {
+                primaryErrorLogged = true;
+                plugin.getLogger().warning("§e[HellRain] Erreur replaceWithDrops: " + t);
+            } else if (plugin.isDebug()) {
+                plugin.getLogger().warning("§e[DEBUG] HellRain: erreur replaceWithDrops: " + t);
+            }
+        }
+
+        MethodHandle backup = replaceCropsde;
+        if (backup != null) {
+            try {
+                backup.invokeExact(player, location, radius, type, 1L);
+                fallbacks++;
+                return BreakPath.BACKUP;
+            } catch (Throwable t) {
+                if (!backupErrorLogged) {
+                    backupErrorLogged = true;
+                    plugin.getLogger().warning("§e[HellRain] Erreur replaceCropsde: " + t);
+                } else if (plugin.isDebug()) {
+                    plugin.getLogger().warning("§e[DEBUG] HellRain: erreur replaceCropsde: " + t);
+                }
+            }
+        }
+
+        failures++;
+        return BreakPath.FAILED;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // STATISTIQUES
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /** Cultures cassées via replaceWithDrops */
+    public long getSuccesses() {
+        return successes;
+    }
+
+    /** Cultures cassées via replaceCropsde après un échec de replaceWithDrops */
+    public long getFallbacks() {
+        return fallbacks;
+    }
+
+    /** Appels où les deux méthodes ont échoué */
+    public long getFailures() {
+        return failures;
+    }
+
+    /** Appels sans méthode liée (RivalHarvesterHoes absent ou incompatible) */
+    public long getUnavailable() {
+        return unavailable;
+    }
+}
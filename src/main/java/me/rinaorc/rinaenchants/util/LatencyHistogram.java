@@ -0,0 +1,117 @@
+package me.rinaorc.rinaenchants.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogramme de durées (nanosecondes) à précision relative constante,
+ * dans l'esprit de HdrHistogram.
+ *
+ * Les valeurs sont rangées par puissance de 2 puis découpées en 8
+ * sous-intervalles linéaires: l'erreur sur un percentile est d'au plus
+ * 12.5%, avec 312 compteurs pour couvrir de 1 ns à ~18 minutes.
+ *
+ * OPTIMISATION: Enregistrer = quelques opérations sur les bits + un
+ * incrément atomique, sans verrou ni allocation. Les lectures (percentiles)
+ * parcourent les compteurs et peuvent être faites depuis n'importe quel thread.
+ */
+public final class LatencyHistogram {
+
+    // 2^SUB_BITS sous-intervalles par puissance de 2
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        counts.incrementAndGet(indexOf(value));
+        total.incrementAndGet();
+        sum.addAndGet(value);
+
+        long currentMax;
+        while (value > (currentMax = max.get())) {
+            if (max.compareAndSet(currentMax, value)) break;
+        }
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    /**
+     * Plus grande valeur du compteur d'index donné
+     */
+    static long upperBoundOf(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_COUNT + SUB_BITS - 1;
+        int sub = index % SUB_COUNT;
+        long base = 1L << exponent;
+        long width = base >>> SUB_BITS;
+        return base + (sub + 1) * width - 1;
+    }
+
+    public long getCount() {
+        return total.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long count = total.get();
+        return count == 0 ? 0.0 : (double) sum.get() / count;
+    }
+
+    /** Somme des valeurs enregistrées (nanosecondes) */
+    public long getSum() {
+        return sum.get();
+    }
+
+    /**
+     * @param quantile Entre 0 et 1 (ex: 0.99)
+     * @return Borne haute du compteur qui contient le percentile, 0 si vide
+     */
+    public long getValueAtQuantile(double quantile) {
+        long count = total.get();
+        if (count == 0) return 0L;
+
+        long rank = Math.max(1L, (long) Math.ceil(quantile * count));
+        long seen = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Nombre de valeurs inférieures ou égales à une limite (buckets Prometheus)
+     */
+    public long countAtOrBelow(long limitNanos) {
+        long seen = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (upperBoundOf(i) > limitNanos) break;
+            seen += counts.get(i);
+        }
+        return seen;
+    }
+}
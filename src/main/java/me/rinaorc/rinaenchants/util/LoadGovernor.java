@@ -0,0 +1,237 @@
+package me.rinaorc.rinaenchants.util;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+import java.util.Arrays;
+
+/**
+ * Niveau de détail des animations selon la charge du serveur.
+ *
+ * Le temps de chaque tick (ServerTickEndEvent de Paper) est gardé dans une
+ * fenêtre glissante. Toutes les secondes, le MSPT moyen et le p99 de la
+ * fenêtre sont comparés aux seuils de la config:
+ * - FULL: animations complètes
+ * - REDUCED / MINIMAL: moins de particules et d'entités, effets visuels
+ *   mis à jour un tick sur 2 ou 4, sons coupés (selon la config)
+ *
+ * La dégradation est immédiate, le retour se fait un niveau à la fois et
+ * seulement après recover-delay-ticks sous recover-ratio × seuil
+ * (hystérésis: pas d'oscillation autour d'un seuil).
+ *
+ * Les animations lisent getQuality() à chaque tick: une lecture volatile,
+ * aucun calcul.
+ */
+public class LoadGovernor implements Listener {
+
+    public enum Level { FULL, REDUCED, MINIMAL }
+
+    // Réévaluation du niveau toutes les secondes
+    private static final int EVALUATION_PERIOD = 20;
+
+    private final RinaEnchantsPlugin plugin;
+
+    // Configuration
+    private boolean enabled;
+    private double recoverRatio;
+    private int recoverDelayTicks;
+    private final double[] degradeMspt = new double[Level.values().length];
+    private final double[] degradeP99 = new double[Level.values().length];
+    private final Quality[] qualities = new Quality[Level.values().length];
+
+    // Fenêtre glissante des durées de tick (ms)
+    private double[] samples = new double[100];
+    private double[] sorted = new double[100];
+    private int sampleCount = 0;
+    private int sampleIndex = 0;
+    private int ticksSinceEvaluation = 0;
+
+    private double mspt = 0.0;
+    private double p99 = 0.0;
+    private int calmTicks = 0;
+    private long levelChanges = 0;
+
+    private volatile Quality quality;
+
+    public LoadGovernor(RinaEnchantsPlugin plugin) {
+        this.plugin = plugin;
+        loadConfig();
+    }
+
+    /**
+     * Charge la section performance.load-governor
+     */
+    public void loadConfig() {
+        FileConfiguration config = plugin.getConfig();
+        String base = "performance.load-governor.";
+
+        this.enabled = config.getBoolean(base + "enabled", true);
+        this.recoverRatio = Math.max(0.1, Math.min(1.0, config.getDouble(base + "recover-ratio", 0.85)));
+        this.recoverDelayTicks = Math.max(EVALUATION_PERIOD, config.getInt(base + "recover-delay-ticks", 200));
+
+        int window = Math.max(EVALUATION_PERIOD, Math.min(1200, config.getInt(base + "window-ticks", 100)));
+        if (window != samples.length) {
+            samples = new double[window];
+            sorted = new double[window];
+            sampleCount = 0;
+            sampleIndex = 0;
+        }
+
+        qualities[Level.FULL.ordinal()] = new Quality(Level.FULL, 1.0, 1.0, 1, true);
+        loadLevel(config, base + "reduced.", Level.REDUCED, 40.0, 60.0, 0.5, 0.75, 2, true);
+        loadLevel(config, base + "minimal.", Level.MINIMAL, 47.0, 80.0, 0.25, 0.5, 4, false);
+
+        Quality current = quality;
+        this.quality = enabled && current != null ? qualities[current.level().ordinal()] : qualities[Level.FULL.ordinal()];
+    }
+
+    private void loadLevel(FileConfiguration config, String path, Level level, double mspt, double p99,
+                           double particles, double entities, int interval, boolean sounds) {
+        degradeMspt[level.ordinal()] = config.getDouble(path + "mspt", mspt);
+        degradeP99[level.ordinal()] = config.getDouble(path + "p99", p99);
+        qualities[level.ordinal()] = new Quality(level,
+            Math.max(0.0, Math.min(1.0, config.getDouble(path + "particles", particles))),
+            Math.max(0.0, Math.min(1.0, config.getDouble(path + "entities", entities))),
+            Math.max(1, Math.min(20, config.getInt(path + "update-interval", interval))),
+            config.getBoolean(path + "sounds", sounds));
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // ÉCHANTILLONNAGE
+    // ═══════════════════════════════════════════════════════════════════════
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickEnd(ServerTickEndEvent event) {
+        samples[sampleIndex] = event.getTickDuration();
+        if (++sampleIndex == samples.length) sampleIndex = 0;
+        if (sampleCount < samples.length) sampleCount++;
+
+        if (++ticksSinceEvaluation >= EVALUATION_PERIOD) {
+            ticksSinceEvaluation = 0;
+            evaluate();
+        }
+    }
+
+    private void evaluate() {
+        int n = sampleCount;
+        if (n == 0) return;
+
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            sum += samples[i];
+        }
+        mspt = sum / n;
+
+        System.arraycopy(samples, 0, sorted, 0, n);
+        Arrays.sort(sorted, 0, n);
+        p99 = sorted[Math.min(n - 1, (int) Math.ceil(n * 0.99) - 1)];
+
+        if (!enabled) return;
+
+        Level current = quality.level();
+        Level target = Level.FULL;
+        for (int i = Level.values().length - 1; i > 0; i--) {
+            if (mspt >= degradeMspt[i] || p99 >= degradeP99[i]) {
+                target = Level.values()[i];
+                break;
+            }
+        }
+
+        if (target.ordinal() > current.ordinal()) {
+            // Dégradation immédiate
+            setLevel(target);
+            calmTicks = 0;
+            return;
+        }
+
+        // Retour au niveau inférieur: sous les seuils du niveau courant (avec marge) assez longtemps
+        int c = current.ordinal();
+        if (c > 0 && mspt < degradeMspt[c] * recoverRatio && p99 < degradeP99[c] * recoverRatio) {
+            calmTicks += EVALUATION_PERIOD;
+            if (calmTicks >= recoverDelayTicks) {
+                setLevel(Level.values()[c - 1]);
+                calmTicks = 0;
+            }
+        } else {
+            calmTicks = 0;
+        }
+    }
+
+    private void setLevel(Level level) {
+        Quality previous = quality;
+        if (previous.level() == level) return;
+
+        quality = qualities[level.ordinal()];
+        levelChanges++;
+        plugin.getLogger().info("§e[LOD] Animations: " + previous.level() + " → " + level +
+            String.format(" (MSPT %.1f ms, p99 %.1f ms)", mspt, p99));
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // ACCÈS
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Qualité courante (immuable, peut être gardée pendant un tick)
+     */
+    public Quality getQuality() {
+        return quality;
+    }
+
+    /** MSPT moyen sur la fenêtre (ms) */
+    public double getMspt() {
+        return mspt;
+    }
+
+    /** 99e centile du temps de tick sur la fenêtre (ms) */
+    public double getP99() {
+        return p99;
+    }
+
+    public long getLevelChanges() {
+        return levelChanges;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Paramètres de rendu d'un niveau de détail
+     *
+     * @param particleScale Facteur appliqué au nombre de particules
+     * @param entityScale Facteur appliqué au nombre d'entités par proc
+     * @param updateInterval Effets visuels mis à jour tous les N ticks
+     * @param sounds Sons des animations joués ou non
+     */
+    public record Quality(Level level, double particleScale, double entityScale, int updateInterval, boolean sounds) {
+
+        /**
+         * Nombre de particules à afficher (au moins 1 si count >= 1)
+         */
+        public int particles(int count) {
+            if (count <= 1 || particleScale >= 1.0) return count;
+            return Math.max(1, (int) Math.round(count * particleScale));
+        }
+
+        /**
+         * Nombre d'entités à faire apparaître (au moins 1 si count >= 1)
+         */
+        public int entities(int count) {
+            if (count <= 1 || entityScale >= 1.0) return count;
+            return Math.max(1, (int) Math.round(count * entityScale));
+        }
+
+        /**
+         * Un effet visuel prévu tous les basePeriod ticks doit-il être joué à ce tick?
+         * La période est multipliée par l'intervalle du niveau.
+         */
+        public boolean isVisualTick(long tick, int basePeriod) {
+            return tick % ((long) basePeriod * updateInterval) == 0;
+        }
+    }
+}
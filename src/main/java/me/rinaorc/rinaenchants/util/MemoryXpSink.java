@@ -0,0 +1,49 @@
+package me.rinaorc.rinaenchants.util;
+
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * XP gardé en mémoire au lieu d'être donné.
+ *
+ * Pour les tests et les serveurs de préproduction sans CyberLevels
+ * (cyberlevels-hook.sink: MEMORY): le débit et les montants restent
+ * visibles dans /rinaenchants info sans toucher aux niveaux des joueurs.
+ */
+public class MemoryXpSink implements XpSink {
+
+    private final Map<UUID, Long> granted = new HashMap<>();
+
+    @Override
+    public String getName() {
+        return "memory";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public boolean grant(Player player, long xp) {
+        granted.merge(player.getUniqueId(), xp, Long::sum);
+        return true;
+    }
+
+    /** XP total reçu par un joueur */
+    public long getGranted(UUID playerId) {
+        return granted.getOrDefault(playerId, 0L);
+    }
+
+    /**
+     * Retourne tout l'XP reçu depuis le dernier appel et le remet à zéro
+     */
+    public Map<UUID, Long> drain() {
+        Map<UUID, Long> copy = new HashMap<>(granted);
+        granted.clear();
+        return copy;
+    }
+}
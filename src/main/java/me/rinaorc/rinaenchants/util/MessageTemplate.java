@@ -0,0 +1,136 @@
+package me.rinaorc.rinaenchants.util;
+
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Message de config pré-compilé.
+ *
+ * Les codes couleur '&' sont traduits une seule fois au chargement et le
+ * texte est découpé en segments fixes + placeholders ({count}, {combo}...).
+ * Au proc, render() ne fait qu'un StringBuilder: pas de
+ * translateAlternateColorCodes ni de String#replace à chaque message.
+ *
+ * Immuable, partageable entre threads.
+ */
+public final class MessageTemplate {
+
+    private static final MessageTemplate EMPTY = new MessageTemplate(new String[] {""}, new String[0]);
+
+    // segments.length == tokens.length + 1 (texte, token, texte, token, ..., texte)
+    private final String[] segments;
+    private final String[] tokens;
+    private final int baseLength;
+
+    private MessageTemplate(String[] segments, String[] tokens) {
+        this.segments = segments;
+        this.tokens = tokens;
+        int length = 0;
+        for (String segment : segments) {
+            length += segment.length();
+        }
+        this.baseLength = length;
+    }
+
+    /**
+     * Compile un message brut de la config
+     *
+     * @param raw Texte avec codes '&' et placeholders {nom}
+     */
+    public static MessageTemplate compile(String raw) {
+        if (raw == null || raw.isEmpty()) {
+            return EMPTY;
+        }
+
+        String colored = ChatColor.translateAlternateColorCodes('&', raw);
+        List<String> segments = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+
+        int segmentStart = 0;
+        int search = 0;
+        while (true) {
+            int open = colored.indexOf('{', search);
+            if (open < 0) break;
+            int close = colored.indexOf('}', open + 1);
+            if (close < 0) break;
+
+            String name = colored.substring(open + 1, close);
+            // Les accolades qui ne ressemblent pas à un placeholder restent du texte
+            if (!isTokenName(name)) {
+                search = open + 1;
+                continue;
+            }
+
+            segments.add(colored.substring(segmentStart, open));
+            tokens.add(name);
+            segmentStart = close + 1;
+            search = segmentStart;
+        }
+
+        if (tokens.isEmpty()) {
+            return new MessageTemplate(new String[] {colored}, new String[0]);
+        }
+
+        segments.add(colored.substring(segmentStart));
+        return new MessageTemplate(segments.toArray(new String[0]), tokens.toArray(new String[0]));
+    }
+
+    private static boolean isTokenName(String name) {
+        if (name.isEmpty()) return false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Message sans valeur (les placeholders sont laissés tels quels)
+     */
+    public String render() {
+        if (tokens.length == 0) {
+            return segments[0];
+        }
+        return render(null, null, null, null);
+    }
+
+    public String render(String token, Object value) {
+        if (tokens.length == 0) {
+            return segments[0];
+        }
+        return render(token, value, null, null);
+    }
+
+    /**
+     * Remplace jusqu'à deux placeholders. Les placeholders inconnus
+     * sont laissés tels quels ({nom}).
+     */
+    public String render(String token1, Object value1, String token2, Object value2) {
+        if (tokens.length == 0) {
+            return segments[0];
+        }
+
+        StringBuilder sb = new StringBuilder(baseLength + 16);
+        for (int i = 0; i < tokens.length; i++) {
+            sb.append(segments[i]);
+            String token = tokens[i];
+            if (token.equals(token1)) {
+                sb.append(value1);
+            } else if (token.equals(token2)) {
+                sb.append(value2);
+            } else {
+                sb.append('{').append(token).append('}');
+            }
+        }
+        sb.append(segments[tokens.length]);
+        return sb.toString();
+    }
+
+    public boolean isEmpty() {
+        return baseLength == 0 && tokens.length == 0;
+    }
+}
@@ -0,0 +1,69 @@
+package me.rinaorc.rinaenchants.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteur d'événements avec débits moyens sur 1, 5 et 15 minutes
+ * (moyennes mobiles exponentielles, comme le load average Unix).
+ *
+ * OPTIMISATION: mark() est un LongAdder.add (sans verrou, sans allocation).
+ * Les moyennes sont recalculées par tick(), appelé toutes les
+ * TICK_SECONDS secondes par EnchantMetrics.
+ */
+public final class Meter {
+
+    static final int TICK_SECONDS = 5;
+
+    private static final double ALPHA_1 = 1.0 - Math.exp(-TICK_SECONDS / 60.0);
+    private static final double ALPHA_5 = 1.0 - Math.exp(-TICK_SECONDS / 300.0);
+    private static final double ALPHA_15 = 1.0 - Math.exp(-TICK_SECONDS / 900.0);
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder uncounted = new LongAdder();
+
+    // Débits par seconde (écrits par tick, lus par les commandes)
+    private volatile double rate1;
+    private volatile double rate5;
+    private volatile double rate15;
+    private volatile boolean initialized;
+
+    public void mark() {
+        count.increment();
+        uncounted.increment();
+    }
+
+    public void mark(long n) {
+        count.add(n);
+        uncounted.add(n);
+    }
+
+    void tick() {
+        double instant = (double) uncounted.sumThenReset() / TICK_SECONDS;
+        if (!initialized) {
+            rate1 = rate5 = rate15 = instant;
+            initialized = true;
+            return;
+        }
+        rate1 += ALPHA_1 * (instant - rate1);
+        rate5 += ALPHA_5 * (instant - rate5);
+        rate15 += ALPHA_15 * (instant - rate15);
+    }
+
+    /** Total depuis le démarrage */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /** Débit moyen par seconde sur ~1 minute */
+    public double getRate1() {
+        return rate1;
+    }
+
+    public double getRate5() {
+        return rate5;
+    }
+
+    public double getRate15() {
+        return rate15;
+    }
+}
@@ -0,0 +1,342 @@
+package me.rinaorc.rinaenchants.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import me.rinaorc.rinaenchants.listener.CyberLevelXPListener;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+/**
+ * Endpoint HTTP optionnel au format texte Prometheus (GET /metrics).
+ *
+ * Exposé:
+ * - procs, procs en cascade, cultures récoltées et chemin de cassage par enchantement
+ * - débits des procs et des cultures (1m, 5m, 15m)
+ * - histogramme du coût des exécutions d'animation, animations actives
+ * - XP CyberLevel donné, dons, fallbacks et échecs, entrées du registre d'XP
+ * - entités client-side suivies (playerClientEntities)
+ *
+ * OPTIMISATION: Un scrape ne touche jamais le thread principal. Les compteurs
+ * d'EnchantMetrics sont déjà thread-safe et lus directement; les valeurs du
+ * thread principal sont copiées dans un snapshot immuable toutes les
+ * snapshot-interval-ticks, et le serveur HTTP du JDK répond sur son propre
+ * thread à partir de ce snapshot.
+ */
+public class MetricsEndpoint {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    // Limites des buckets de l'histogramme, en secondes
+    private static final double[] BUCKET_SECONDS = {
+        0.000005, 0.00001, 0.000025, 0.00005, 0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.05
+    };
+    private static final String[] BUCKET_LABELS = new String[BUCKET_SECONDS.length];
+    private static final long[] BUCKET_NANOS = new long[BUCKET_SECONDS.length];
+
+    static {
+        for (int i = 0; i < BUCKET_SECONDS.length; i++) {
+            BUCKET_LABELS[i] = BigDecimal.valueOf(BUCKET_SECONDS[i]).toPlainString();
+            BUCKET_NANOS[i] = Math.round(BUCKET_SECONDS[i] * 1_000_000_000.0);
+        }
+    }
+
+    private final RinaEnchantsPlugin plugin;
+
+    // Configuration
+    private boolean enabled;
+    private String bindAddress;
+    private int port;
+    private int snapshotIntervalTicks;
+
+    // start() déjà appelé: un reload peut (re)démarrer le serveur
+    private boolean started = false;
+    private HttpServer server;
+    private ExecutorService executor;
+    private BukkitTask snapshotTask;
+
+    // Dernier snapshot des valeurs du thread principal (remplacé en bloc)
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    // Statistiques
+    private volatile long scrapes = 0;
+
+    public MetricsEndpoint(RinaEnchantsPlugin plugin) {
+        this.plugin = plugin;
+        loadConfig();
+    }
+
+    /**
+     * Charge la section performance.metrics.http
+     * (redémarre le serveur si l'adresse, le port ou l'activation ont changé)
+     */
+    public void loadConfig() {
+        String base = "performance.metrics.http.";
+        boolean wasEnabled = enabled;
+        String oldBind = bindAddress;
+        int oldPort = port;
+        int oldInterval = snapshotIntervalTicks;
+
+        this.enabled = plugin.getConfig().getBoolean(base + "enabled", false);
+        this.bindAddress = plugin.getConfig().getString(base + "bind", "127.0.0.1");
+        this.port = plugin.getConfig().getInt(base + "port", 9464);
+        this.snapshotIntervalTicks = Math.max(20, plugin.getConfig().getInt(base + "snapshot-interval-ticks", 100));
+
+        boolean changed = wasEnabled != enabled || !bindAddress.equals(oldBind) || port != oldPort
+            || snapshotIntervalTicks != oldInterval;
+        if (started && changed) {
+            stop();
+            start();
+        }
+    }
+
+    public void start() {
+        started = true;
+        if (!enabled || server != null) return;
+
+        try {
+            server = HttpServer.create(new InetSocketAddress(bindAddress, port), 0);
+        } catch (IOException | IllegalArgumentException e) {
+            plugin.getLogger().warning("§c[Metrics] Impossible d'ouvrir " + bindAddress + ":" + port + ": " + e.getMessage());
+            server = null;
+            return;
+        }
+
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "RinaEnchants-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handle);
+        server.start();
+
+        capture();
+        snapshotTask = Bukkit.getScheduler().runTaskTimer(plugin, this::capture, snapshotIntervalTicks, snapshotIntervalTicks);
+
+        plugin.getLogger().info("§a✓ Métriques Prometheus sur http://" + bindAddress + ":" + port + "/metrics");
+    }
+
+    public void stop() {
+        if (snapshotTask != null) {
+            snapshotTask.cancel();
+            snapshotTask = null;
+        }
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    public String getAddress() {
+        return bindAddress + ":" + port;
+    }
+
+    /** Requêtes /metrics servies */
+    public long getScrapes() {
+        return scrapes;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // SNAPSHOT (THREAD PRINCIPAL)
+    // ═══════════════════════════════════════════════════════════════════════
+
+    private void capture() {
+        Map<String, Integer> live = new HashMap<>();
+        AnimationEngine engine = plugin.getAnimationEngine();
+        if (engine != null) {
+            for (AnimationEngine.TypeStats stats : engine.getStatsByType().values()) {
+                live.put(stats.getType(), stats.getLiveCount());
+            }
+        }
+
+        CyberLevelXPListener xp = plugin.getCyberLevelListener();
+        snapshot = new Snapshot(
+            System.currentTimeMillis(),
+            Collections.unmodifiableMap(live),
+            xp != null,
+            xp != null ? xp.getXpGranted() : 0L,
+            xp != null ? xp.getGrants() : 0L,
+            xp != null ? xp.getCommandFallbacks() : 0L,
+            xp != null ? xp.getFailedGrants() : 0L,
+            xp != null ? xp.getLedger().getPendingEntries() : 0,
+            plugin.getClientEntityTotal(),
+            plugin.getClientEntityPlayers()
+        );
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // RÉPONSE (THREAD HTTP)
+    // ═══════════════════════════════════════════════════════════════════════
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body;
+            try {
+                body = render().getBytes(StandardCharsets.UTF_8);
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(Level.WARNING, "§c[Metrics] Erreur de rendu", e);
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if (method.equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            scrapes++;
+        }
+    }
+
+    private String render() {
+        StringBuilder out = new StringBuilder(8192);
+        Snapshot snap = snapshot;
+        Map<String, EnchantMetrics.EnchantStats> all = plugin.getMetrics().getStats();
+
+        header(out, "rinaenchants_procs_total", "counter", "Procs reçus par enchantement");
+        for (EnchantMetrics.EnchantStats stats : all.values()) {
+            sample(out, "rinaenchants_procs_total", stats, stats.getProcs().getCount());
+        }
+        header(out, "rinaenchants_cascade_procs_total", "counter", "Procs ignorés par l'anti-cascade");
+        for (EnchantMetrics.EnchantStats stats : all.values()) {
+            sample(out, "rinaenchants_cascade_procs_total", stats, stats.getCascadeBlocked());
+        }
+        header(out, "rinaenchants_proc_rate", "gauge", "Procs par seconde (moyenne mobile)");
+        for (EnchantMetrics.EnchantStats stats : all.values()) {
+            rates(out, "rinaenchants_proc_rate", stats, stats.getProcs());
+        }
+
+        header(out, "rinaenchants_crops_harvested_total", "counter", "Cultures récoltées par enchantement");
+        for (EnchantMetrics.EnchantStats stats : all.values()) {
+            sample(out, "rinaenchants_crops_harvested_total", stats, stats.getCrops().getCount());
+        }
+        header(out, "rinaenchants_crop_harvest_rate", "gauge", "Cultures récoltées par seconde (moyenne mobile)");
+        for (EnchantMetrics.EnchantStats stats : all.values()) {
+            rates(out, "rinaenchants_crop_harvest_rate", stats, stats.getCrops());
+        }
+        header(out, "rinaenchants_crops_broken_total", "counter", "Cultures cassées par chemin de cassage");
+        for (EnchantMetrics.EnchantStats stats : all.values()) {
+            for (EnchantMetrics.BreakPath path : EnchantMetrics.BreakPath.values()) {
+                out.append("rinaenchants_crops_broken_total{enchant=\"").append(stats.getEnchantId())
+                    .append("\",path=\"").append(path.name().toLowerCase(Locale.ROOT)).append("\"} ")
+                    .append(stats.getBreakPath(path)).append('\n');
+            }
+        }
+
+        header(out, "rinaenchants_animation_run_seconds", "histogram", "Coût d'une exécution d'animation");
+        for (EnchantMetrics.EnchantStats stats : all.values()) {
+            histogram(out, "rinaenchants_animation_run_seconds", stats);
+        }
+        header(out, "rinaenchants_animations_active", "gauge", "Animations actives par enchantement");
+        for (Map.Entry<String, Integer> live : snap.liveAnimations().entrySet()) {
+            out.append("rinaenchants_animations_active{enchant=\"").append(live.getKey()).append("\"} ")
+                .append(live.getValue()).append('\n');
+        }
+
+        if (snap.cyberLevel()) {
+            header(out, "rinaenchants_cyberlevel_xp_granted_total", "counter", "XP CyberLevel donné");
+            out.append("rinaenchants_cyberlevel_xp_granted_total ").append(snap.xpGranted()).append('\n');
+            header(out, "rinaenchants_cyberlevel_grants_total", "counter", "Dons d'XP (par joueur et par flush)");
+            out.append("rinaenchants_cyberlevel_grants_total ").append(snap.xpGrants()).append('\n');
+            header(out, "rinaenchants_cyberlevel_command_fallbacks_total", "counter", "Dons passés par la commande après un échec de l'API");
+            out.append("rinaenchants_cyberlevel_command_fallbacks_total ").append(snap.xpCommandFallbacks()).append('\n');
+            header(out, "rinaenchants_cyberlevel_failed_grants_total", "counter", "Dons échoués sur tous les sinks");
+            out.append("rinaenchants_cyberlevel_failed_grants_total ").append(snap.xpFailedGrants()).append('\n');
+            header(out, "rinaenchants_cyberlevel_ledger_pending", "gauge", "Entrées du registre d'XP pas encore données");
+            out.append("rinaenchants_cyberlevel_ledger_pending ").append(snap.ledgerPending()).append('\n');
+        }
+
+        header(out, "rinaenchants_client_entities", "gauge", "Entités client-side suivies");
+        out.append("rinaenchants_client_entities ").append(snap.clientEntities()).append('\n');
+        header(out, "rinaenchants_client_entity_players", "gauge", "Joueurs ayant des entités client-side suivies");
+        out.append("rinaenchants_client_entity_players ").append(snap.clientEntityPlayers()).append('\n');
+
+        header(out, "rinaenchants_snapshot_timestamp_seconds", "gauge", "Date du snapshot des valeurs du thread principal");
+        out.append("rinaenchants_snapshot_timestamp_seconds ").append(formatDouble(snap.takenAtMillis() / 1000.0)).append('\n');
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, EnchantMetrics.EnchantStats stats, long value) {
+        out.append(name).append("{enchant=\"").append(stats.getEnchantId()).append("\"} ").append(value).append('\n');
+    }
+
+    private static void rates(StringBuilder out, String name, EnchantMetrics.EnchantStats stats, Meter meter) {
+        rate(out, name, stats, "1m", meter.getRate1());
+        rate(out, name, stats, "5m", meter.getRate5());
+        rate(out, name, stats, "15m", meter.getRate15());
+    }
+
+    private static void rate(StringBuilder out, String name, EnchantMetrics.EnchantStats stats, String window, double value) {
+        out.append(name).append("{enchant=\"").append(stats.getEnchantId()).append("\",window=\"").append(window)
+            .append("\"} ").append(formatDouble(value)).append('\n');
+    }
+
+    private static void histogram(StringBuilder out, String name, EnchantMetrics.EnchantStats stats) {
+        LatencyHistogram histogram = stats.getTickCost();
+        String enchant = stats.getEnchantId();
+
+        // Buckets lus avant le total: le total (+Inf) n'est jamais inférieur au dernier bucket
+        long last = 0L;
+        for (int i = 0; i < BUCKET_NANOS.length; i++) {
+            last = Math.max(last, histogram.countAtOrBelow(BUCKET_NANOS[i]));
+            out.append(name).append("_bucket{enchant=\"").append(enchant).append("\",le=\"")
+                .append(BUCKET_LABELS[i]).append("\"} ").append(last).append('\n');
+        }
+        long count = Math.max(last, histogram.getCount());
+        out.append(name).append("_bucket{enchant=\"").append(enchant).append("\",le=\"+Inf\"} ").append(count).append('\n');
+        out.append(name).append("_sum{enchant=\"").append(enchant).append("\"} ")
+            .append(formatDouble(histogram.getSum() / 1_000_000_000.0)).append('\n');
+        out.append(name).append("_count{enchant=\"").append(enchant).append("\"} ").append(count).append('\n');
+    }
+
+    private static String formatDouble(double value) {
+        return Double.toString(value);
+    }
+
+    /**
+     * Valeurs du thread principal copiées pour les scrapes
+     */
+    private record Snapshot(long takenAtMillis, Map<String, Integer> liveAnimations, boolean cyberLevel,
+                            long xpGranted, long xpGrants, long xpCommandFallbacks, long xpFailedGrants,
+                            int ledgerPending, int clientEntities, int clientEntityPlayers) {
+
+        static final Snapshot EMPTY = new Snapshot(0L, Collections.emptyMap(), false, 0L, 0L, 0L, 0L, 0, 0, 0);
+    }
+}
@@ -3,11 +3,8 @@ package me.rinaorc.rinaenchants.util;
 import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
 import org.bukkit.*;
 import org.bukkit.block.Block;
-import org.bukkit.block.data.Ageable;
-import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Panda;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.*;
@@ -25,6 +22,13 @@ import java.util.function.Consumer;
 public class PandaAnimation {
 
     private final RinaEnchantsPlugin plugin;
+
+    // Niveau de détail courant (LoadGovernor), relu à chaque tick d'animation
+    private LoadGovernor.Quality quality;
+
+    // Particules et sons groupés par joueur, envoyés en fin de tick
+    private final FxDispatcher fx;
+
     private final Location startLocation;
     private final Vector direction;
     private final int rollDistance;
@@ -42,52 +46,15 @@ public class PandaAnimation {
     private int totalCropsHarvested = 0;
     private int totalCombos = 0;
     
-    // Set des cultures
-    private static final Set<Material> CROPS = new HashSet<>();
-    private static final Set<Material> NO_AGE_CROPS = new HashSet<>();
     
-    static {
-        CROPS.addAll(Arrays.asList(
-            Material.WHEAT, Material.CARROTS, Material.POTATOES, Material.BEETROOTS,
-            Material.NETHER_WART, Material.COCOA, Material.SWEET_BERRY_BUSH,
-            Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE, Material.CACTUS,
-            Material.BAMBOO, Material.KELP, Material.KELP_PLANT,
-            Material.TUBE_CORAL, Material.BUBBLE_CORAL, Material.BRAIN_CORAL,
-            Material.FIRE_CORAL, Material.HORN_CORAL,
-            Material.TUBE_CORAL_BLOCK, Material.BUBBLE_CORAL_BLOCK, Material.BRAIN_CORAL_BLOCK,
-            Material.FIRE_CORAL_BLOCK, Material.HORN_CORAL_BLOCK,
-            Material.WARPED_ROOTS, Material.CRIMSON_ROOTS, Material.NETHER_SPROUTS,
-            Material.TWISTING_VINES, Material.WEEPING_VINES,
-            Material.LILAC, Material.ROSE_BUSH, Material.PEONY, Material.SUNFLOWER,
-            Material.TALL_GRASS, Material.LARGE_FERN,
-            Material.OAK_SAPLING, Material.BIRCH_SAPLING, Material.JUNGLE_SAPLING,
-            Material.SPRUCE_SAPLING, Material.CHERRY_SAPLING, Material.ACACIA_SAPLING,
-            Material.DARK_OAK_SAPLING, Material.MANGROVE_PROPAGULE,
-            Material.SEA_PICKLE, Material.CHORUS_FLOWER, Material.CHORUS_PLANT
-        ));
-        
-        NO_AGE_CROPS.addAll(Arrays.asList(
-            Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE, Material.CACTUS,
-            Material.BAMBOO, Material.KELP, Material.KELP_PLANT,
-            Material.TUBE_CORAL, Material.BUBBLE_CORAL, Material.BRAIN_CORAL,
-            Material.FIRE_CORAL, Material.HORN_CORAL,
-            Material.TUBE_CORAL_BLOCK, Material.BUBBLE_CORAL_BLOCK, Material.BRAIN_CORAL_BLOCK,
-            Material.FIRE_CORAL_BLOCK, Material.HORN_CORAL_BLOCK,
-            Material.WARPED_ROOTS, Material.CRIMSON_ROOTS, Material.NETHER_SPROUTS,
-            Material.LILAC, Material.ROSE_BUSH, Material.PEONY, Material.SUNFLOWER,
-            Material.OAK_SAPLING, Material.BIRCH_SAPLING, Material.JUNGLE_SAPLING,
-            Material.SPRUCE_SAPLING, Material.CHERRY_SAPLING, Material.ACACIA_SAPLING,
-            Material.DARK_OAK_SAPLING, Material.MANGROVE_PROPAGULE,
-            Material.CHORUS_FLOWER, Material.CHORUS_PLANT, Material.SEA_PICKLE
-        ));
-    }
-
     private static final double ROLL_SPEED = 0.5;
 
     public PandaAnimation(RinaEnchantsPlugin plugin, Location startLocation, Vector direction, 
                          int rollDistance, double comboChance, boolean showParticles,
                          Player owner, boolean clientSideOnly) {
         this.plugin = plugin;
+        this.quality = plugin.getLoadGovernor().getQuality();
+        this.fx = plugin.getFx();
         this.startLocation = startLocation.clone();
         this.direction = direction.clone().normalize();
         this.rollDistance = rollDistance;
@@ -119,7 +86,8 @@ public class PandaAnimation {
         if (world == null) return;
 
         try {
-            pandaEntity = (Panda) world.spawnEntity(startPos, EntityType.PANDA);
+            pandaEntity = plugin.getEntityProvider().spawn(startPos, Panda.class, owner, clientSideOnly,
+                "panda-roll", 0);
             pandaEntity.setInvulnerable(true);
             pandaEntity.setSilent(false);
             pandaEntity.setAI(false);
@@ -133,11 +101,6 @@ public class PandaAnimation {
             pandaEntity.setMainGene(genes[random.nextInt(genes.length)]);
             pandaEntity.setHiddenGene(genes[random.nextInt(genes.length)]);
 
-            // ═══════════════════════════════════════════════════════════
-            // MARQUER L'ENTITÉ pour cleanup après reboot
-            // ═══════════════════════════════════════════════════════════
-            plugin.markAsEnchantEntity(pandaEntity);
-
             // ═══════════════════════════════════════════════════════════
             // ANIMATION DE ROULADE NATIVE!
             // ═══════════════════════════════════════════════════════════
@@ -148,36 +111,34 @@ public class PandaAnimation {
             oriented.setDirection(rollDirection);
             pandaEntity.teleport(oriented);
 
-            // Client-side: cacher aux autres joueurs
-            if (clientSideOnly) {
-                plugin.makeEntityClientSide(pandaEntity, owner);
-            }
-
         } catch (Exception e) {
             plugin.getLogger().warning("§e[RinaEnchants] Impossible de spawn le panda: " + e.getMessage());
             return;
         }
 
         if (showParticles) {
-            owner.spawnParticle(Particle.CLOUD, startPos, 10, 0.5, 0.3, 0.5, 0.1);
-            owner.spawnParticle(Particle.HAPPY_VILLAGER, startPos, 5, 0.3, 0.3, 0.3, 0);
+            fx.particle(owner, Particle.CLOUD, startPos, quality.particles(10), 0.5, 0.3, 0.5, 0.1);
+            fx.particle(owner, Particle.HAPPY_VILLAGER, startPos, quality.particles(5), 0.3, 0.3, 0.3, 0);
         }
         
-        owner.playSound(startPos, Sound.ENTITY_PANDA_SNEEZE, 1.0f, 0.8f);
+        if (quality.sounds()) {
+            fx.sound(owner, startPos, Sound.ENTITY_PANDA_SNEEZE, 1.0f, 0.8f);
+        }
 
         new PandaRollTask(startPos, rollDirection).runTaskTimer(plugin, 0L, 1L);
     }
 
-    private class PandaRollTask extends BukkitRunnable {
+    private class PandaRollTask extends AnimationTask {
         
         private final Location currentLocation;
         private final Vector rollDirection;
         private int ticksElapsed = 0;
         private double distanceRolled = 0;
         private final int maxTicks;
-        private final Set<String> harvestedBlocks = new HashSet<>();
+        private final BlockPosSet harvestedBlocks = acquireBlockSet();
 
         public PandaRollTask(Location start, Vector direction) {
+            super("panda-roll");
             this.currentLocation = start.clone();
             this.rollDirection = direction.clone();
             this.maxTicks = (int)(rollDistance / ROLL_SPEED) + 20;
@@ -185,6 +146,8 @@ public class PandaAnimation {
 
         @Override
         public void run() {
+            quality = plugin.getLoadGovernor().getQuality();
+
             ticksElapsed++;
 
             if (ticksElapsed > maxTicks || distanceRolled >= rollDistance) {
@@ -239,12 +202,12 @@ public class PandaAnimation {
                 for (int dy = -1; dy <= 1; dy++) {
                     for (int dz = -1; dz <= 1; dz++) {
                         Location blockLoc = new Location(world, px + dx, py + dy, pz + dz);
-                        String key = blockLoc.getBlockX() + ":" + blockLoc.getBlockY() + ":" + blockLoc.getBlockZ();
+                        long key = BlockKey.of(blockLoc);
                         
                         if (harvestedBlocks.contains(key)) continue;
                         
                         Block block = blockLoc.getBlock();
-                        if (isMatureCrop(block)) {
+                        if (plugin.getCropRegistry().isMature(block)) {
                             harvestedBlocks.add(key);
                             totalCropsHarvested++;
                             
@@ -253,8 +216,8 @@ public class PandaAnimation {
                             }
                             
                             if (showParticles) {
-                                owner.spawnParticle(Particle.BLOCK, blockLoc.clone().add(0.5, 0.5, 0.5),
-                                    5, 0.3, 0.3, 0.3, 0, block.getBlockData());
+                                fx.particle(owner, Particle.BLOCK, blockLoc.clone().add(0.5, 0.5, 0.5),
+                                    quality.particles(5), 0.3, 0.3, 0.3, 0, block.getBlockData());
                             }
                         }
                     }
@@ -265,22 +228,22 @@ public class PandaAnimation {
             // EFFETS VISUELS (uniquement pour le propriétaire)
             // ═══════════════════════════════════════════════════════════
             
-            if (showParticles) {
+            if (showParticles && quality.isVisualTick(ticksElapsed, 1)) {
                 if (ticksElapsed % 3 == 0) {
-                    owner.spawnParticle(Particle.BLOCK, currentLocation.clone().add(0, 0.2, 0),
-                        2, 0.3, 0.1, 0.3, 0.1, Material.DIRT.createBlockData());
+                    fx.particle(owner, Particle.BLOCK, currentLocation.clone().add(0, 0.2, 0),
+                        quality.particles(2), 0.3, 0.1, 0.3, 0.1, Material.DIRT.createBlockData());
                 }
 
-                owner.spawnParticle(Particle.CLOUD, currentLocation, 1, 0.2, 0.1, 0.2, 0.02);
+                fx.particle(owner, Particle.CLOUD, currentLocation, 1, 0.2, 0.1, 0.2, 0.02);
 
                 if (ticksElapsed % 8 == 0) {
-                    owner.spawnParticle(Particle.HAPPY_VILLAGER, currentLocation.clone().add(0, 0.5, 0),
-                        2, 0.2, 0.2, 0.2, 0);
+                    fx.particle(owner, Particle.HAPPY_VILLAGER, currentLocation.clone().add(0, 0.5, 0),
+                        quality.particles(2), 0.2, 0.2, 0.2, 0);
                 }
             }
             
-            if (ticksElapsed % 4 == 0) {
-                owner.playSound(currentLocation, Sound.BLOCK_GRASS_STEP, 0.5f, 0.8f);
+            if (ticksElapsed % 4 == 0 && quality.sounds()) {
+                fx.sound(owner, currentLocation, Sound.BLOCK_GRASS_STEP, 0.5f, 0.8f);
             }
         }
         
@@ -299,7 +262,7 @@ public class PandaAnimation {
             }
             
             if (showParticles) {
-                owner.spawnParticle(Particle.CLOUD, currentLocation, 8, 0.5, 0.3, 0.5, 0.1);
+                fx.particle(owner, Particle.CLOUD, currentLocation, quality.particles(8), 0.5, 0.3, 0.5, 0.1);
             }
             
             // ═══════════════════════════════════════════════════════════
@@ -316,12 +279,14 @@ public class PandaAnimation {
                 }
                 
                 if (showParticles) {
-                    owner.spawnParticle(Particle.TOTEM_OF_UNDYING, currentLocation.clone().add(0, 1, 0),
-                        15, 0.5, 0.5, 0.5, 0.3);
+                    fx.particle(owner, Particle.TOTEM_OF_UNDYING, currentLocation.clone().add(0, 1, 0),
+                        quality.particles(15), 0.5, 0.5, 0.5, 0.3);
                 }
                 
-                owner.playSound(currentLocation, Sound.ENTITY_PANDA_EAT, 1.0f, 1.5f);
-                owner.playSound(currentLocation, Sound.ENTITY_EXPERIENCE_ORB_PICKUP, 0.8f, 1.2f);
+                if (quality.sounds()) {
+                    fx.sound(owner, currentLocation, Sound.ENTITY_PANDA_EAT, 1.0f, 1.5f);
+                    fx.sound(owner, currentLocation, Sound.ENTITY_EXPERIENCE_ORB_PICKUP, 0.8f, 1.2f);
+                }
                 
                 // Nouvelle direction (90°)
                 Vector newDirection = getPerpendicularDirection(rollDirection);
@@ -330,7 +295,7 @@ public class PandaAnimation {
                 }
                 
                 // Relancer la roulade après une courte pause
-                Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                AnimationTask.runLater(plugin, "panda-roll", () -> {
                     if (pandaEntity != null && !pandaEntity.isDead() && owner.isOnline()) {
                         Location newStart = currentLocation.clone();
                         newStart.setDirection(newDirection);
@@ -357,22 +322,9 @@ public class PandaAnimation {
         }
     }
     
-    private boolean isMatureCrop(Block block) {
-        Material type = block.getType();
-        
-        if (!CROPS.contains(type)) return false;
-        if (NO_AGE_CROPS.contains(type)) return true;
-
-        if (block.getBlockData() instanceof Ageable ageable) {
-            return ageable.getAge() >= ageable.getMaximumAge();
-        }
-
-        return true;
-    }
-    
     private void cleanup() {
         if (pandaEntity != null && !pandaEntity.isDead()) {
-            pandaEntity.remove();
+            plugin.getEntityProvider().despawn(pandaEntity, owner);
         }
     }
     
@@ -381,15 +333,15 @@ public class PandaAnimation {
             Location loc = pandaEntity.getLocation();
             
             if (showParticles && owner.isOnline()) {
-                owner.spawnParticle(Particle.POOF, loc, 10, 0.5, 0.5, 0.5, 0.1);
-                owner.spawnParticle(Particle.HEART, loc.clone().add(0, 1, 0), 3, 0.3, 0.3, 0.3, 0);
+                fx.particle(owner, Particle.POOF, loc, quality.particles(10), 0.5, 0.5, 0.5, 0.1);
+                fx.particle(owner, Particle.HEART, loc.clone().add(0, 1, 0), quality.particles(3), 0.3, 0.3, 0.3, 0);
             }
             
-            if (owner.isOnline()) {
-                owner.playSound(loc, Sound.ENTITY_PANDA_AMBIENT, 1.0f, 1.2f);
+            if (owner.isOnline() && quality.sounds()) {
+                fx.sound(owner, loc, Sound.ENTITY_PANDA_AMBIENT, 1.0f, 1.2f);
             }
             
-            pandaEntity.remove();
+            plugin.getEntityProvider().despawn(pandaEntity, owner);
         }
         
         if (onFinish != null) {
@@ -0,0 +1,199 @@
+package me.rinaorc.rinaenchants.util;
+
+import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import me.rinaorc.rinaenchants.listener.CyberLevelXPListener;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.UUID;
+
+/**
+ * Cycle de vie de l'état par joueur.
+ *
+ * Chaque système garde des données par joueur (tâches du moteur d'animation,
+ * procs en attente d'admission, cultures dans la pipeline, XP CyberLevel en
+ * attente, entités du registre, entités client-side, canal d'effets). Au lieu
+ * que chacun attende de remarquer que le joueur est parti, tout est démonté
+ * en une seule passe:
+ * - PlayerQuitEvent (couvre aussi les kicks)
+ * - PlayerChangedWorldEvent (performance.player-lifecycle.purge-on-world-change)
+ *
+ * L'XP en attente est donné avant le départ du joueur. L'XP qui n'a pas pu
+ * être donné est gardé dans le registre d'XP (XpLedger) et redonné à sa
+ * prochaine connexion.
+ *
+ * Thread principal uniquement.
+ */
+public class PlayerLifecycleManager implements Listener {
+
+    // Ordre de grandeur de la mémoire retenue par élément (en octets), pour /rinaenchants info <joueur>
+    private static final long TASK_BYTES = 512L;
+    private static final long QUEUED_PROC_BYTES = 160L;
+    private static final long CROP_BYTES = 16L;
+    private static final long ENTITY_BYTES = 96L;
+    private static final long CLIENT_ENTITY_BYTES = 48L;
+    private static final long XP_ENTRY_BYTES = 64L;
+    private static final long FX_CHANNEL_BYTES = 2048L;
+
+    private final RinaEnchantsPlugin plugin;
+
+    // Configuration
+    private boolean purgeOnWorldChange;
+
+    // Statistiques
+    private long teardowns = 0;
+    private long tasksCancelled = 0;
+    private long procsDropped = 0;
+    private long cropsDropped = 0;
+    private long entitiesRemoved = 0;
+    private long xpFlushed = 0;
+
+    public PlayerLifecycleManager(RinaEnchantsPlugin plugin) {
+        this.plugin = plugin;
+        loadConfig();
+    }
+
+    /**
+     * Charge la section performance.player-lifecycle
+     */
+    public void loadConfig() {
+        this.purgeOnWorldChange = plugin.getConfig().getBoolean("performance.player-lifecycle.purge-on-world-change", true);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // ÉVÉNEMENTS
+    // ═══════════════════════════════════════════════════════════════════════
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        teardown(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangedWorld(PlayerChangedWorldEvent event) {
+        if (purgeOnWorldChange) {
+            teardown(event.getPlayer());
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // NETTOYAGE
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Démonte tout l'état d'un joueur. Le joueur doit encore être en ligne
+     * (l'XP en attente lui est donné).
+     */
+    public void teardown(Player player) {
+        UUID playerId = player.getUniqueId();
+
+        // Tâches d'abord: plus rien ne peut replanifier ni respawn pour ce joueur
+        int tasks = plugin.getAnimationEngine().cancelOwnedBy(playerId);
+        int procs = plugin.getAdmissionController().purge(playerId);
+        int crops = plugin.getCropPipeline().purge(playerId);
+
+        long xp = 0L;
+        CyberLevelXPListener xpListener = plugin.getCyberLevelListener();
+        if (xpListener != null) {
+            xp = xpListener.flushPlayer(player);
+        }
+
+        // Entités rendues au provider (pool ou suppression) avant d'oublier les IDs client-side
+        AnimationEntityProvider provider = plugin.getEntityProvider();
+        int entities = 0;
+        for (Entity entity : plugin.getEntityRegistry().ownedBy(playerId)) {
+            provider.despawn(entity, player);
+            entities++;
+        }
+        plugin.releaseClientEntities(playerId);
+        plugin.getFx().purge(playerId);
+
+        teardowns++;
+        tasksCancelled += tasks;
+        procsDropped += procs;
+        cropsDropped += crops;
+        entitiesRemoved += entities;
+        xpFlushed += xp;
+
+        if (plugin.isDebug() && (tasks > 0 || procs > 0 || crops > 0 || entities > 0 || xp > 0)) {
+            plugin.getLogger().info("§e[Lifecycle] " + player.getName() + ": " + tasks + " tâche(s), " + procs +
+                " proc(s), " + crops + " culture(s), " + entities + " entité(s), " + xp + " XP donné");
+        }
+    }
+
+    /**
+     * État actuellement retenu pour un joueur
+     */
+    public Footprint footprint(UUID playerId) {
+        int tasks = plugin.getAnimationEngine().countOwnedBy(playerId);
+        int admitted = plugin.getAdmissionController().getRunningCount(playerId);
+        int procs = plugin.getAdmissionController().getQueuedCount(playerId);
+        int crops = plugin.getCropPipeline().getPendingCount(playerId);
+        int entities = plugin.getEntityRegistry().countOwnedBy(playerId);
+        int clientEntities = plugin.getClientEntityCount(playerId);
+        CyberLevelXPListener xpListener = plugin.getCyberLevelListener();
+        long xp = xpListener != null ? xpListener.getPendingXP(playerId) : 0L;
+        boolean fxChannel = plugin.getFx().hasChannel(playerId);
+
+        long bytes = tasks * TASK_BYTES
+            + procs * QUEUED_PROC_BYTES
+            + crops * CROP_BYTES
+            + entities * ENTITY_BYTES
+            + clientEntities * CLIENT_ENTITY_BYTES
+            + (xp > 0 ? XP_ENTRY_BYTES : 0L)
+            + (fxChannel ? FX_CHANNEL_BYTES : 0L);
+
+        return new Footprint(tasks, admitted, procs, crops, entities, clientEntities, xp, bytes);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // STATISTIQUES
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /** Nombre de nettoyages (déconnexions + changements de monde) */
+    public long getTeardowns() {
+        return teardowns;
+    }
+
+    public long getTasksCancelled() {
+        return tasksCancelled;
+    }
+
+    public long getProcsDropped() {
+        return procsDropped;
+    }
+
+    public long getCropsDropped() {
+        return cropsDropped;
+    }
+
+    public long getEntitiesRemoved() {
+        return entitiesRemoved;
+    }
+
+    /** XP donné au départ des joueurs au lieu d'attendre le batch */
+    public long getXpFlushed() {
+        return xpFlushed;
+    }
+
+    /**
+     * État retenu pour un joueur
+     *
+     * @param tasks Tâches actives dans le moteur d'animation
+     * @param admitted Animations admises en cours (places d'admission)
+     * @param queuedProcs Procs en attente d'admission
+     * @param pendingCrops Cultures en attente dans la pipeline
+     * @param entities Entités enregistrées dans le registre
+     * @param clientEntities IDs d'entités client-side suivis
+     * @param pendingXp XP CyberLevel pas encore donné
+     * @param estimatedBytes Estimation de la mémoire retenue
+     */
+    public record Footprint(int tasks, int admitted, int queuedProcs, int pendingCrops, int entities,
+                            int clientEntities, long pendingXp, long estimatedBytes) {
+    }
+}
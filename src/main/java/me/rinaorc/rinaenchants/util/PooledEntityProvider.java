@@ -0,0 +1,535 @@
+package me.rinaorc.rinaenchants.util;
+
+import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.entity.Axolotl;
+import org.bukkit.entity.Bee;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Panda;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.util.Vector;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Backend avec réutilisation des mobs d'animation (abeilles, grenouilles, axolotls...).
+ *
+ * Au lieu d'être supprimée, une entité rendue par une animation est "garée":
+ * invisible et cachée à tous les joueurs, sans IA, là où elle se trouve. La
+ * prochaine animation du même type dans le même monde, à moins de
+ * reuse-radius blocs, la récupère: l'état est remis à zéro, l'entité est
+ * téléportée et rendue visible. Le spawn (création, configuration de base,
+ * marquage PDC, entité non persistante) n'est payé qu'une fois.
+ *
+ * Les entités garées sont supprimées quand leur chunk est déchargé, après
+ * max-idle-ticks, ou si le pool de leur monde est plein.
+ *
+ * Les autres entités (types non listés, projectiles) passent par le backend
+ * délégué, inchangé.
+ *
+ * Thread principal uniquement.
+ */
+public class PooledEntityProvider implements AnimationEntityProvider, Listener {
+
+    // Balayage des entités garées trop longtemps
+    private static final long SWEEP_PERIOD = 100L;
+
+    private final RinaEnchantsPlugin plugin;
+    private final AnimationEntityProvider delegate;
+
+    // Configuration
+    private boolean enabled;
+    private int maxIdlePerType;
+    private int maxIdlePerWorld;
+    private double reuseRadiusSquared;
+    private long maxIdleTicks;
+    private final EnumSet<EntityType> pooledTypes = EnumSet.noneOf(EntityType.class);
+
+    // Entités garées, par monde puis par type
+    private final Map<UUID, WorldPool> pools = new HashMap<>();
+
+    // Entités prêtées à une animation (entité -> propriétaire)
+    private final Map<Entity, UUID> leased = new IdentityHashMap<>();
+
+    // Classe demandée par les animations -> type (résolu une fois)
+    private final Map<Class<?>, EntityType> typeCache = new HashMap<>();
+
+    private BukkitTask sweepTask;
+
+    // Statistiques
+    private long spawned = 0;
+    private long reused = 0;
+    private long parked = 0;
+    private long evictedChunk = 0;
+    private long evictedIdle = 0;
+    private long rejectedFull = 0;
+
+    public PooledEntityProvider(RinaEnchantsPlugin plugin, AnimationEntityProvider delegate) {
+        this.plugin = plugin;
+        this.delegate = delegate;
+        loadConfig();
+    }
+
+    /**
+     * Charge la section performance.entity-pool
+     */
+    public void loadConfig() {
+        String base = "performance.entity-pool.";
+        this.enabled = plugin.getConfig().getBoolean(base + "enabled", true);
+        this.maxIdlePerType = Math.max(0, plugin.getConfig().getInt(base + "max-idle-per-type", 12));
+        this.maxIdlePerWorld = Math.max(0, plugin.getConfig().getInt(base + "max-idle-per-world", 48));
+        double radius = Math.max(0.0, plugin.getConfig().getDouble(base + "reuse-radius", 48.0));
+        this.reuseRadiusSquared = radius * radius;
+        this.maxIdleTicks = Math.max(SWEEP_PERIOD, plugin.getConfig().getLong(base + "max-idle-ticks", 1200L));
+
+        pooledTypes.clear();
+        List<String> types = plugin.getConfig().getStringList(base + "types");
+        if (types.isEmpty()) {
+            types = List.of("BEE", "FROG", "AXOLOTL", "IRON_GOLEM", "ALLAY");
+        }
+        for (String name : types) {
+            try {
+                EntityType type = EntityType.valueOf(name.toUpperCase());
+                if (type.getEntityClass() != null && LivingEntity.class.isAssignableFrom(type.getEntityClass())) {
+                    pooledTypes.add(type);
+                } else {
+                    plugin.getLogger().warning("§c[EntityPool] Type non poolable (pas un mob): " + name);
+                }
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("§c[EntityPool] Type d'entité inconnu: " + name);
+            }
+        }
+
+        // Types retirés ou pool désactivé: libérer les entités garées en trop
+        if (!enabled) {
+            clear();
+        } else {
+            for (WorldPool pool : pools.values()) {
+                pool.trim();
+            }
+        }
+    }
+
+    public void start() {
+        if (sweepTask == null) {
+            sweepTask = Bukkit.getScheduler().runTaskTimer(plugin, this::sweep, SWEEP_PERIOD, SWEEP_PERIOD);
+        }
+    }
+
+    /**
+     * Supprime toutes les entités garées et arrête le balayage
+     */
+    public void stop() {
+        if (sweepTask != null) {
+            sweepTask.cancel();
+            sweepTask = null;
+        }
+        clear();
+        leased.clear();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // SPAWN / DESPAWN
+    // ═══════════════════════════════════════════════════════════════════════
+
+    @Override
+    public <T extends Entity> T spawn(Location location, Class<T> type, Player owner, boolean clientSideOnly,
+                                      String animation, long lifetimeTicks) {
+        EntityType entityType = enabled ? resolve(type) : null;
+        if (entityType == null || !pooledTypes.contains(entityType)) {
+            return delegate.spawn(location, type, owner, clientSideOnly, animation, lifetimeTicks);
+        }
+
+        WorldPool pool = pools.get(location.getWorld().getUID());
+        LivingEntity idle = pool != null ? pool.acquire(entityType, location) : null;
+
+        T entity;
+        if (idle != null && type.isInstance(idle)) {
+            reuse(idle, location, owner, clientSideOnly);
+            entity = type.cast(idle);
+            plugin.getEntityRegistry().track(entity, owner, animation, lifetimeTicks);
+            reused++;
+        } else {
+            entity = delegate.spawn(location, type, owner, clientSideOnly, animation, lifetimeTicks);
+            spawned++;
+        }
+
+        leased.put(entity, owner.getUniqueId());
+        return entity;
+    }
+
+    @Override
+    public void despawn(Entity entity, Player owner) {
+        if (entity == null) return;
+
+        UUID lessee = leased.get(entity);
+        if (lessee == null) {
+            // Pas prêtée par le pool (autre type, ou déjà garée: double despawn ignoré)
+            if (!isIdle(entity)) {
+                delegate.despawn(entity, owner);
+            }
+            return;
+        }
+        if (!lessee.equals(owner.getUniqueId())) {
+            // Référence périmée: l'entité a été rendue puis prêtée à un autre joueur
+            return;
+        }
+        leased.remove(entity);
+
+        if (!enabled || !(entity instanceof LivingEntity living) || !entity.isValid() || entity.isDead()
+            || !pooledTypes.contains(entity.getType())) {
+            delegate.despawn(entity, owner);
+            return;
+        }
+
+        WorldPool pool = pools.computeIfAbsent(entity.getWorld().getUID(), id -> new WorldPool());
+        if (!pool.hasRoom(entity.getType())) {
+            rejectedFull++;
+            delegate.despawn(entity, owner);
+            return;
+        }
+
+        park(living, owner);
+        pool.add(living);
+        // Garée: le registre la supprime si le pool ne l'a pas fait après max-idle-ticks
+        // (plus de propriétaire: elle n'est pas nettoyée avec les entités du joueur)
+        plugin.getEntityRegistry().track(living, null, EnchantEntityRegistry.POOL_ANIMATION, maxIdleTicks);
+        parked++;
+    }
+
+    private EntityType resolve(Class<?> type) {
+        if (typeCache.containsKey(type)) {
+            return typeCache.get(type);
+        }
+        EntityType found = null;
+        for (EntityType candidate : EntityType.values()) {
+            if (candidate.getEntityClass() == type) {
+                found = candidate;
+                break;
+            }
+        }
+        typeCache.put(type, found);
+        return found;
+    }
+
+    /**
+     * Met l'entité de côté: invisible, cachée à tous, immobile
+     */
+    private void park(LivingEntity entity, Player owner) {
+        plugin.untrackClientEntity(owner.getUniqueId(), entity.getEntityId());
+
+        entity.eject();
+        entity.leaveVehicle();
+        entity.setVelocity(new Vector());
+        entity.setAI(false);
+        entity.setGravity(false);
+        entity.setInvulnerable(true);
+        entity.setSilent(true);
+        entity.setInvisible(true);
+
+        // Invisible par défaut pour tous, y compris le propriétaire (retire son affichage explicite)
+        entity.setVisibleByDefault(false);
+        if (owner.isOnline()) {
+            owner.hideEntity(plugin, entity);
+        }
+    }
+
+    /**
+     * Remet l'entité dans l'état d'un spawn neuf et la donne au nouveau propriétaire.
+     * Les animations appliquent ensuite leurs propres réglages (IA, gravité, taille...).
+     */
+    private void reuse(LivingEntity entity, Location location, Player owner, boolean clientSideOnly) {
+        entity.setInvisible(false);
+        entity.setGlowing(false);
+        entity.setFireTicks(0);
+        entity.setVisualFire(false);
+        entity.setCustomName(null);
+        entity.setCustomNameVisible(false);
+        entity.setNoDamageTicks(0);
+        entity.setFallDistance(0f);
+        entity.clearActivePotionEffects();
+
+        AttributeInstance scale = entity.getAttribute(Attribute.SCALE);
+        if (scale != null) {
+            scale.setBaseValue(scale.getDefaultValue());
+        }
+        AttributeInstance maxHealth = entity.getAttribute(Attribute.MAX_HEALTH);
+        if (maxHealth != null) {
+            entity.setHealth(maxHealth.getValue());
+        }
+
+        if (entity instanceof Bee bee) {
+            bee.setAnger(0);
+            bee.setHasStung(false);
+            bee.setHasNectar(false);
+        } else if (entity instanceof Axolotl axolotl) {
+            axolotl.setPlayingDead(false);
+        } else if (entity instanceof Panda panda) {
+            panda.setRolling(false);
+        }
+
+        entity.teleport(location);
+
+        if (clientSideOnly) {
+            // Reste invisible par défaut, montrée au seul nouveau propriétaire
+            plugin.makeEntityClientSide(entity, owner);
+        } else {
+            // Visible par tous (remet à zéro les affichages/masquages par joueur)
+            entity.setVisibleByDefault(true);
+        }
+    }
+
+    private boolean isIdle(Entity entity) {
+        WorldPool pool = pools.get(entity.getWorld().getUID());
+        return pool != null && pool.contains(entity);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // ÉVICTION
+    // ═══════════════════════════════════════════════════════════════════════
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        WorldPool pool = pools.get(event.getWorld().getUID());
+        if (pool == null || pool.size == 0) return;
+
+        Chunk chunk = event.getChunk();
+        evictedChunk += pool.evictChunk(Chunk.getChunkKey(chunk.getX(), chunk.getZ()));
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        WorldPool pool = pools.remove(event.getWorld().getUID());
+        if (pool != null) {
+            pool.clear();
+        }
+        leased.keySet().removeIf(entity -> entity.getWorld().equals(event.getWorld()));
+    }
+
+    private void sweep() {
+        long now = Bukkit.getCurrentTick();
+        for (WorldPool pool : pools.values()) {
+            evictedIdle += pool.evictOlderThan(now - maxIdleTicks);
+        }
+        // Entités prêtées supprimées par autre chose que despawn (mort, cleanup admin...)
+        leased.keySet().removeIf(entity -> !entity.isValid());
+    }
+
+    private void clear() {
+        for (WorldPool pool : pools.values()) {
+            pool.clear();
+        }
+        pools.clear();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // STATISTIQUES
+    // ═══════════════════════════════════════════════════════════════════════
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Entités poolables créées par un vrai spawn (pool vide ou trop loin) */
+    public long getSpawned() {
+        return spawned;
+    }
+
+    /** Spawns servis par une entité garée */
+    public long getReused() {
+        return reused;
+    }
+
+    public long getParked() {
+        return parked;
+    }
+
+    /** Entités garées supprimées au déchargement de leur chunk */
+    public long getEvictedChunk() {
+        return evictedChunk;
+    }
+
+    /** Entités garées supprimées après max-idle-ticks */
+    public long getEvictedIdle() {
+        return evictedIdle;
+    }
+
+    /** Entités supprimées au lieu d'être garées (pool du monde plein) */
+    public long getRejectedFull() {
+        return rejectedFull;
+    }
+
+    /** Entités actuellement garées, tous mondes */
+    public int getIdleCount() {
+        int total = 0;
+        for (WorldPool pool : pools.values()) {
+            total += pool.size;
+        }
+        return total;
+    }
+
+    public int getLeasedCount() {
+        return leased.size();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // POOL D'UN MONDE
+    // ═══════════════════════════════════════════════════════════════════════
+
+    private static final class Idle {
+        final LivingEntity entity;
+        final long chunkKey;
+        final long parkedTick;
+
+        Idle(LivingEntity entity, long chunkKey, long parkedTick) {
+            this.entity = entity;
+            this.chunkKey = chunkKey;
+            this.parkedTick = parkedTick;
+        }
+    }
+
+    private final class WorldPool {
+        // Du plus ancien au plus récent par type
+        final EnumMap<EntityType, ArrayDeque<Idle>> byType = new EnumMap<>(EntityType.class);
+        int size = 0;
+
+        boolean hasRoom(EntityType type) {
+            if (maxIdlePerWorld > 0 && size >= maxIdlePerWorld) return false;
+            ArrayDeque<Idle> queue = byType.get(type);
+            return maxIdlePerType <= 0 || queue == null || queue.size() < maxIdlePerType;
+        }
+
+        void add(LivingEntity entity) {
+            Location loc = entity.getLocation();
+            long chunkKey = Chunk.getChunkKey(loc.getBlockX() >> 4, loc.getBlockZ() >> 4);
+            byType.computeIfAbsent(entity.getType(), t -> new ArrayDeque<>())
+                .addLast(new Idle(entity, chunkKey, Bukkit.getCurrentTick()));
+            size++;
+        }
+
+        boolean contains(Entity entity) {
+            ArrayDeque<Idle> queue = byType.get(entity.getType());
+            if (queue == null) return false;
+            for (Idle idle : queue) {
+                if (idle.entity == entity) return true;
+            }
+            return false;
+        }
+
+        /**
+         * Retire et renvoie l'entité garée la plus proche de location (dans reuse-radius)
+         */
+        LivingEntity acquire(EntityType type, Location location) {
+            ArrayDeque<Idle> queue = byType.get(type);
+            if (queue == null || queue.isEmpty()) return null;
+
+            Idle best = null;
+            double bestDistance = reuseRadiusSquared;
+            Iterator<Idle> iterator = queue.iterator();
+            while (iterator.hasNext()) {
+                Idle idle = iterator.next();
+                if (!idle.entity.isValid()) {
+                    // Supprimée entre-temps (cleanup, chunk déchargé sans événement...)
+                    iterator.remove();
+                    size--;
+                    continue;
+                }
+                double distance = idle.entity.getLocation().distanceSquared(location);
+                if (distance <= bestDistance) {
+                    best = idle;
+                    bestDistance = distance;
+                }
+            }
+
+            if (best == null) return null;
+            queue.remove(best);
+            size--;
+            return best.entity;
+        }
+
+        int evictChunk(long chunkKey) {
+            int evicted = 0;
+            for (ArrayDeque<Idle> queue : byType.values()) {
+                Iterator<Idle> iterator = queue.iterator();
+                while (iterator.hasNext()) {
+                    Idle idle = iterator.next();
+                    if (idle.chunkKey == chunkKey) {
+                        plugin.getEntityRegistry().remove(idle.entity);
+                        iterator.remove();
+                        size--;
+                        evicted++;
+                    }
+                }
+            }
+            return evicted;
+        }
+
+        int evictOlderThan(long tick) {
+            int evicted = 0;
+            for (ArrayDeque<Idle> queue : byType.values()) {
+                // OPTIMISATION: Files triées par ancienneté, arrêt au premier récent
+                Idle idle;
+                while ((idle = queue.peekFirst()) != null && idle.parkedTick <= tick) {
+                    queue.pollFirst();
+                    plugin.getEntityRegistry().remove(idle.entity);
+                    size--;
+                    evicted++;
+                }
+            }
+            return evicted;
+        }
+
+        /**
+         * Applique les plafonds et la liste des types après un reload
+         */
+        void trim() {
+            for (Map.Entry<EntityType, ArrayDeque<Idle>> entry : byType.entrySet()) {
+                ArrayDeque<Idle> queue = entry.getValue();
+                int keep = !pooledTypes.contains(entry.getKey()) ? 0
+                    : maxIdlePerType > 0 ? maxIdlePerType : Integer.MAX_VALUE;
+                while (queue.size() > keep) {
+                    plugin.getEntityRegistry().remove(queue.pollFirst().entity);
+                    size--;
+                }
+            }
+            while (maxIdlePerWorld > 0 && size > maxIdlePerWorld) {
+                ArrayDeque<Idle> largest = null;
+                for (ArrayDeque<Idle> queue : byType.values()) {
+                    if (largest == null || queue.size() > largest.size()) largest = queue;
+                }
+                plugin.getEntityRegistry().remove(largest.pollFirst().entity);
+                size--;
+            }
+        }
+
+        void clear() {
+            for (ArrayDeque<Idle> queue : byType.values()) {
+                for (Idle idle : queue) {
+                    plugin.getEntityRegistry().remove(idle.entity);
+                }
+                queue.clear();
+            }
+            size = 0;
+        }
+    }
+}
@@ -3,11 +3,8 @@ package me.rinaorc.rinaenchants.util;
 import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
 import org.bukkit.*;
 import org.bukkit.block.Block;
-import org.bukkit.block.data.Ageable;
-import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Ravager;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.*;
@@ -27,6 +24,13 @@ import java.util.function.Consumer;
 public class RavagerAnimation {
 
     private final RinaEnchantsPlugin plugin;
+
+    // Niveau de détail courant (LoadGovernor), relu à chaque tick d'animation
+    private LoadGovernor.Quality quality;
+
+    // Particules et sons groupés par joueur, envoyés en fin de tick
+    private final FxDispatcher fx;
+
     private final Location startLocation;
     private final Vector direction;
     private final Player owner;
@@ -36,8 +40,6 @@ public class RavagerAnimation {
     private final int roarRadius;
     private final boolean showParticles;
     private final boolean clientSideOnly;
-    private final Set<Material> crops;
-    private final Set<Material> noAgeCrops;
 
     private Consumer<Location> onCropHit;
     private Runnable onStomp;
@@ -46,7 +48,7 @@ public class RavagerAnimation {
     private Ravager ravagerEntity;
     private int totalCropsHarvested = 0;
     private int totalStomps = 0;
-    private final Set<String> harvestedBlocks = new HashSet<>();
+    private BlockPosSet harvestedBlocks;
 
     // Paramètres de mouvement
     private static final double CHARGE_SPEED = 0.6; // Blocs par tick (rapide!)
@@ -54,9 +56,10 @@ public class RavagerAnimation {
 
     public RavagerAnimation(RinaEnchantsPlugin plugin, Location startLocation, Vector direction,
         Player owner, int chargeDistance, int stompInterval, int stompRadius,
-        int roarRadius, boolean showParticles, boolean clientSideOnly,
-        Set<Material> crops, Set<Material> noAgeCrops) {
+        int roarRadius, boolean showParticles, boolean clientSideOnly) {
         this.plugin = plugin;
+        this.quality = plugin.getLoadGovernor().getQuality();
+        this.fx = plugin.getFx();
         this.startLocation = startLocation.clone();
         this.direction = direction.clone().normalize();
         this.owner = owner;
@@ -66,8 +69,6 @@ public class RavagerAnimation {
         this.roarRadius = roarRadius;
         this.showParticles = showParticles;
         this.clientSideOnly = clientSideOnly;
-        this.crops = crops;
-        this.noAgeCrops = noAgeCrops;
     }
 
     public void setOnCropHit(Consumer<Location> callback) {
@@ -91,7 +92,8 @@ public class RavagerAnimation {
         // ═══════════════════════════════════════════════════════════
 
         try {
-            ravagerEntity = (Ravager) world.spawnEntity(startLocation, EntityType.RAVAGER);
+            ravagerEntity = plugin.getEntityProvider().spawn(startLocation, Ravager.class, owner, clientSideOnly,
+                "ravager-stampede", 0);
             ravagerEntity.setInvulnerable(true);
             ravagerEntity.setSilent(true); // On gère nos propres sons
             ravagerEntity.setAI(false);
@@ -99,20 +101,10 @@ public class RavagerAnimation {
             ravagerEntity.setCollidable(false);
             ravagerEntity.setRemoveWhenFarAway(false);
 
-            // ═══════════════════════════════════════════════════════════
-            // MARQUER L'ENTITÉ pour cleanup après reboot
-            // ═══════════════════════════════════════════════════════════
-            plugin.markAsEnchantEntity(ravagerEntity);
-
             // Orienter le Ravageur dans la direction de charge
             Location lookAt = startLocation.clone().add(direction);
             ravagerEntity.teleport(startLocation.setDirection(direction));
 
-            // Client-side uniquement
-            if (clientSideOnly) {
-                plugin.makeEntityClientSide(ravagerEntity, owner);
-            }
-
         } catch (Exception e) {
             plugin.getLogger().warning("§c[RinaEnchants] Impossible de spawn le Ravageur: " + e.getMessage());
             return;
@@ -124,15 +116,17 @@ public class RavagerAnimation {
 
         if (showParticles) {
             // Explosion de particules de terre au spawn
-            owner.spawnParticle(Particle.BLOCK, startLocation, 25, 1, 0.5, 1, 0.1,
+            fx.particle(owner, Particle.BLOCK, startLocation, quality.particles(25), 1, 0.5, 1, 0.1,
                 Material.DIRT.createBlockData());
-            owner.spawnParticle(Particle.CAMPFIRE_COSY_SMOKE, startLocation, 10, 0.5, 0.5, 0.5, 0.05);
-            owner.spawnParticle(Particle.EXPLOSION, startLocation, 2, 0.5, 0.5, 0.5, 0);
+            fx.particle(owner, Particle.CAMPFIRE_COSY_SMOKE, startLocation, quality.particles(10), 0.5, 0.5, 0.5, 0.05);
+            fx.particle(owner, Particle.EXPLOSION, startLocation, quality.particles(2), 0.5, 0.5, 0.5, 0);
         }
 
         // Son de spawn brutal
-        owner.playSound(startLocation, Sound.ENTITY_RAVAGER_AMBIENT, 1.5f, 0.7f);
-        owner.playSound(startLocation, Sound.ENTITY_ENDER_DRAGON_GROWL, 0.5f, 1.5f);
+        if (quality.sounds()) {
+            fx.sound(owner, startLocation, Sound.ENTITY_RAVAGER_AMBIENT, 1.5f, 0.7f);
+            fx.sound(owner, startLocation, Sound.ENTITY_ENDER_DRAGON_GROWL, 0.5f, 1.5f);
+        }
 
         // Démarrer l'animation de charge
         new RavagerChargeTask().runTaskTimer(plugin, 5L, 1L);
@@ -141,18 +135,22 @@ public class RavagerAnimation {
     /**
      * Task principale de la charge du Ravageur
      */
-    private class RavagerChargeTask extends BukkitRunnable {
+    private class RavagerChargeTask extends AnimationTask {
 
         private double distanceTraveled = 0;
         private int ticksSinceLastStomp = 0;
         private Location currentPos;
 
         public RavagerChargeTask() {
+            super("ravager-stampede");
             this.currentPos = startLocation.clone();
+            harvestedBlocks = acquireBlockSet();
         }
 
         @Override
         public void run() {
+            quality = plugin.getLoadGovernor().getQuality();
+
             // Vérifier si le propriétaire est toujours en ligne
             if (!owner.isOnline()) {
                 cleanup(false);
@@ -215,20 +213,20 @@ public class RavagerAnimation {
             if (showParticles) {
                 // Particules de poussière derrière le Ravageur
                 Location dustLoc = groundPos.clone().subtract(direction.clone().multiply(1.5));
-                owner.spawnParticle(Particle.BLOCK, dustLoc, 4, 0.5, 0.2, 0.5, 0.1,
+                fx.particle(owner, Particle.BLOCK, dustLoc, quality.particles(4), 0.5, 0.2, 0.5, 0.1,
                     Material.DIRT.createBlockData());
-                owner.spawnParticle(Particle.CAMPFIRE_COSY_SMOKE, dustLoc, 1, 0.3, 0.1, 0.3, 0.02);
+                fx.particle(owner, Particle.CAMPFIRE_COSY_SMOKE, dustLoc, 1, 0.3, 0.1, 0.3, 0.02);
 
                 // Particules de rage autour du Ravageur
                 if (distanceTraveled % 5 < CHARGE_SPEED) {
-                    owner.spawnParticle(Particle.ANGRY_VILLAGER, groundPos.clone().add(0, 1.5, 0),
+                    fx.particle(owner, Particle.ANGRY_VILLAGER, groundPos.clone().add(0, 1.5, 0),
                         1, 0.5, 0.3, 0.5, 0);
                 }
             }
 
             // Son de pas lourds
-            if (distanceTraveled % 2 < CHARGE_SPEED) {
-                owner.playSound(groundPos, Sound.ENTITY_RAVAGER_STEP, 0.8f, 0.9f);
+            if (distanceTraveled % 2 < CHARGE_SPEED && quality.sounds()) {
+                fx.sound(owner, groundPos, Sound.ENTITY_RAVAGER_STEP, 0.8f, 0.9f);
             }
 
             // ═══════════════════════════════════════════════════════════
@@ -273,16 +271,18 @@ public class RavagerAnimation {
                     double x = Math.cos(angle) * stompRadius;
                     double z = Math.sin(angle) * stompRadius;
                     Location particleLoc = center.clone().add(x, 0.1, z);
-                    owner.spawnParticle(Particle.BLOCK, particleLoc, 3, 0.3, 0.1, 0.3, 0,
+                    fx.particle(owner, Particle.BLOCK, particleLoc, quality.particles(3), 0.3, 0.1, 0.3, 0,
                         Material.DIRT.createBlockData());
                 }
 
                 // Effet de shockwave
-                owner.spawnParticle(Particle.EXPLOSION, center, 1, 0.3, 0.1, 0.3, 0);
+                fx.particle(owner, Particle.EXPLOSION, center, 1, 0.3, 0.1, 0.3, 0);
             }
 
             // Sons de stomp
-            owner.playSound(center, Sound.ENTITY_RAVAGER_STUNNED, 0.8f, 0.6f);
+            if (quality.sounds()) {
+                fx.sound(owner, center, Sound.ENTITY_RAVAGER_STUNNED, 0.8f, 0.6f);
+            }
 
             // Récolter en cercle (avec limite)
             int harvested = 0;
@@ -314,19 +314,19 @@ public class RavagerAnimation {
         private void performRoar(Location center, World world) {
             if (showParticles) {
                 // Effet visuel simplifié mais toujours épique
-                owner.spawnParticle(Particle.EXPLOSION_EMITTER, center, 1, 0, 0, 0, 0);
-                owner.spawnParticle(Particle.SONIC_BOOM, center, 1, 0, 0, 0, 0);
+                fx.particle(owner, Particle.EXPLOSION_EMITTER, center, 1, 0, 0, 0, 0);
+                fx.particle(owner, Particle.SONIC_BOOM, center, 1, 0, 0, 0, 0);
 
                 // Cercle de particules (simplifié)
                 for (double angle = 0; angle < Math.PI * 2; angle += Math.PI / 8) {
                     double x = Math.cos(angle) * roarRadius;
                     double z = Math.sin(angle) * roarRadius;
                     Location particleLoc = center.clone().add(x, 0.5, z);
-                    owner.spawnParticle(Particle.SWEEP_ATTACK, particleLoc, 2, 0.2, 0.2, 0.2, 0);
+                    fx.particle(owner, Particle.SWEEP_ATTACK, particleLoc, quality.particles(2), 0.2, 0.2, 0.2, 0);
                 }
 
                 // Quelques particules de rage
-                for (int i = 0; i < 5; i++) {
+                for (int i = 0; i < quality.particles(5); i++) {
                     double angle = Math.random() * Math.PI * 2;
                     double dist = Math.random() * roarRadius;
                     Location rageLoc = center.clone().add(
@@ -334,13 +334,15 @@ public class RavagerAnimation {
                         0.5 + Math.random(),
                         Math.sin(angle) * dist
                     );
-                    owner.spawnParticle(Particle.ANGRY_VILLAGER, rageLoc, 1, 0, 0, 0, 0);
+                    fx.particle(owner, Particle.ANGRY_VILLAGER, rageLoc, 1, 0, 0, 0, 0);
                 }
             }
 
             // Sons du rugissement
-            owner.playSound(center, Sound.ENTITY_RAVAGER_ROAR, 1.5f, 0.8f);
-            owner.playSound(center, Sound.ENTITY_GENERIC_EXPLODE, 0.6f, 0.8f);
+            if (quality.sounds()) {
+                fx.sound(owner, center, Sound.ENTITY_RAVAGER_ROAR, 1.5f, 0.8f);
+                fx.sound(owner, center, Sound.ENTITY_GENERIC_EXPLODE, 0.6f, 0.8f);
+            }
 
             // Récolte en cercle (avec limite pour éviter le lag)
             int harvested = 0;
@@ -366,11 +368,11 @@ public class RavagerAnimation {
          * @return true si une culture a été récoltée
          */
         private boolean harvestAt(Location loc) {
-            String key = loc.getBlockX() + ":" + loc.getBlockY() + ":" + loc.getBlockZ();
+            long key = BlockKey.of(loc);
             if (harvestedBlocks.contains(key)) return false;
 
             Block block = loc.getBlock();
-            if (!isMatureCrop(block)) return false;
+            if (!plugin.getCropRegistry().isMature(block)) return false;
 
             harvestedBlocks.add(key);
             totalCropsHarvested++;
@@ -409,39 +411,23 @@ public class RavagerAnimation {
             return loc;
         }
 
-        /**
-         * Vérifie si un bloc est une culture mature
-         */
-        private boolean isMatureCrop(Block block) {
-            Material type = block.getType();
-
-            if (!crops.contains(type)) return false;
-            if (noAgeCrops.contains(type)) return true;
-
-            if (block.getBlockData() instanceof Ageable ageable) {
-                return ageable.getAge() >= ageable.getMaximumAge();
-            }
-
-            return true;
-        }
-
         private void cleanup(boolean withEffects) {
             if (ravagerEntity != null && !ravagerEntity.isDead()) {
                 Location loc = ravagerEntity.getLocation();
 
                 if (withEffects && showParticles && owner.isOnline()) {
                     // Effet de disparition épique
-                    owner.spawnParticle(Particle.CAMPFIRE_COSY_SMOKE, loc, 15, 1, 1, 1, 0.1);
-                    owner.spawnParticle(Particle.BLOCK, loc, 20, 1, 0.5, 1, 0.1,
+                    fx.particle(owner, Particle.CAMPFIRE_COSY_SMOKE, loc, quality.particles(15), 1, 1, 1, 0.1);
+                    fx.particle(owner, Particle.BLOCK, loc, quality.particles(20), 1, 0.5, 1, 0.1,
                         Material.DIRT.createBlockData());
-                    owner.spawnParticle(Particle.LARGE_SMOKE, loc, 8, 0.5, 0.5, 0.5, 0.05);
+                    fx.particle(owner, Particle.LARGE_SMOKE, loc, quality.particles(8), 0.5, 0.5, 0.5, 0.05);
                 }
 
-                if (owner.isOnline()) {
-                    owner.playSound(loc, Sound.ENTITY_RAVAGER_HURT, 1.0f, 0.5f);
+                if (owner.isOnline() && quality.sounds()) {
+                    fx.sound(owner, loc, Sound.ENTITY_RAVAGER_HURT, 1.0f, 0.5f);
                 }
 
-                ravagerEntity.remove();
+                plugin.getEntityProvider().despawn(ravagerEntity, owner);
             }
 
             if (onFinish != null) {
@@ -0,0 +1,64 @@
+package me.rinaorc.rinaenchants.util;
+
+import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+
+/**
+ * Backend par défaut: vraies entités serveur, réduites au strict minimum.
+ *
+ * L'API Paper n'expose pas d'entités purement "paquets" et le plugin ne dépend
+ * d'aucune librairie de protocole. On s'en approche au maximum:
+ * - Configuration faite AVANT l'ajout au monde (World#spawn avec callback),
+ *   donc les autres joueurs ne reçoivent jamais le paquet de spawn
+ * - Entité non persistante: jamais sauvegardée dans le chunk
+ * - Pas de collision
+ */
+public class ServerEntityProvider implements AnimationEntityProvider {
+
+    private final RinaEnchantsPlugin plugin;
+
+    public ServerEntityProvider(RinaEnchantsPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public <T extends Entity> T spawn(Location location, Class<T> type, Player owner, boolean clientSideOnly,
+                                      String animation, long lifetimeTicks) {
+        World world = location.getWorld();
+        if (world == null) {
+            throw new IllegalArgumentException("Location sans monde");
+        }
+
+        T spawned = world.spawn(location, type, entity -> {
+            // OPTIMISATION: Jamais écrite sur le disque (pas de coût de sauvegarde de chunk)
+            entity.setPersistent(false);
+
+            if (entity instanceof LivingEntity living) {
+                living.setCollidable(false);
+            }
+
+            // Marquer l'entité pour cleanup après reboot
+            plugin.markAsEnchantEntity(entity);
+
+            // OPTIMISATION: Caché avant d'être tracké, aucun paquet ne part vers les autres joueurs
+            if (clientSideOnly) {
+                plugin.makeEntityClientSide(entity, owner);
+            }
+        });
+
+        plugin.getEntityRegistry().track(spawned, owner, animation, lifetimeTicks);
+        return spawned;
+    }
+
+    @Override
+    public void despawn(Entity entity, Player owner) {
+        if (entity == null) return;
+
+        plugin.untrackClientEntity(owner.getUniqueId(), entity.getEntityId());
+        plugin.getEntityRegistry().remove(entity);
+    }
+}
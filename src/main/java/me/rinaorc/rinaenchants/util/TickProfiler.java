@@ -0,0 +1,425 @@
+package me.rinaorc.rinaenchants.util;
+
+import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Profiler en jeu (/rinaenchants profile start|stop|top).
+ *
+ * Pendant une fenêtre bornée (max-duration-seconds), mesure au nanoTime:
+ * - chaque exécution d'animation, par instance (ex: un Warden Pulse précis),
+ *   avec les blocs scannés et les particules demandées pendant l'exécution
+ * - chaque proc d'enchantement (scans de cultures faits au proc compris)
+ * - chaque lot de cultures cassé par la pipeline (CropBreakPipeline)
+ * puis agrège par instance, par joueur et par enchantement.
+ *
+ * OPTIMISATION: Hors fenêtre, le coût est un test de booléen par tick du
+ * moteur et par proc. Le nombre d'instances suivies est plafonné
+ * (max-instances); au-delà, les exécutions ne comptent que par joueur et
+ * par enchantement.
+ *
+ * Une tâche est relâchée dès qu'elle quitte le moteur: le rapport ne garde
+ * aucune référence vers les tâches terminées (ni leurs entités).
+ *
+ * Thread principal uniquement.
+ */
+public class TickProfiler {
+
+    private final RinaEnchantsPlugin plugin;
+
+    // Configuration
+    private int defaultDurationSeconds;
+    private int maxDurationSeconds;
+    private int maxInstances;
+
+    // Fenêtre en cours (ou dernière fenêtre)
+    private boolean running = false;
+    private int startTick;
+    private int stopTick;
+    private BukkitTask stopTask;
+
+    // Instances en cours de mesure (clé: la tâche, relâchée quand elle quitte le moteur)
+    private final Map<AnimationTask, InstanceStats> liveInstances = new IdentityHashMap<>();
+    private final List<InstanceStats> instances = new ArrayList<>();
+    private long nextInstanceId = 1;
+    private long untrackedRuns = 0;
+
+    private final Map<UUID, PlayerStats> players = new HashMap<>();
+    private final Map<String, EnchantStats> enchants = new HashMap<>();
+
+    public TickProfiler(RinaEnchantsPlugin plugin) {
+        this.plugin = plugin;
+        loadConfig();
+    }
+
+    /**
+     * Charge la section performance.profiler
+     */
+    public void loadConfig() {
+        String base = "performance.profiler.";
+        this.maxDurationSeconds = Math.max(5, plugin.getConfig().getInt(base + "max-duration-seconds", 300));
+        this.defaultDurationSeconds = Math.max(1, Math.min(maxDurationSeconds,
+            plugin.getConfig().getInt(base + "default-duration-seconds", 30)));
+        this.maxInstances = Math.max(16, plugin.getConfig().getInt(base + "max-instances", 2048));
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // FENÊTRE
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Démarre une fenêtre de mesure (efface la précédente)
+     *
+     * @param seconds Durée en secondes, 0 = default-duration-seconds (plafonnée à max-duration-seconds)
+     * @return Durée effective en secondes
+     */
+    public int start(int seconds) {
+        stop();
+        liveInstances.clear();
+        instances.clear();
+        players.clear();
+        enchants.clear();
+        nextInstanceId = 1;
+        untrackedRuns = 0;
+
+        int duration = seconds > 0 ? Math.min(seconds, maxDurationSeconds) : defaultDurationSeconds;
+        startTick = Bukkit.getCurrentTick();
+        stopTick = startTick;
+        running = true;
+        stopTask = Bukkit.getScheduler().runTaskLater(plugin, this::stop, duration * 20L);
+        return duration;
+    }
+
+    /**
+     * Arrête la fenêtre (sans effet si aucune mesure en cours)
+     */
+    public void stop() {
+        if (stopTask != null) {
+            stopTask.cancel();
+            stopTask = null;
+        }
+        if (!running) return;
+        running = false;
+        stopTick = Bukkit.getCurrentTick();
+        liveInstances.clear();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Durée de la fenêtre en ticks (en cours ou terminée) */
+    public int getWindowTicks() {
+        int end = running ? Bukkit.getCurrentTick() : stopTick;
+        return Math.max(1, end - startTick);
+    }
+
+    public int getMaxDurationSeconds() {
+        return maxDurationSeconds;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // MESURES
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Exécution d'une animation (appelé par AnimationEngine)
+     */
+    void recordRun(AnimationTask task, long nanos, long blocks, long particles) {
+        UUID owner = task.getOwner();
+        InstanceStats instance = liveInstances.get(task);
+        if (instance == null && instances.size() < maxInstances) {
+            instance = new InstanceStats(nextInstanceId++, task.getType(), nameOf(owner));
+            liveInstances.put(task, instance);
+            instances.add(instance);
+        }
+        if (instance != null) {
+            instance.runs++;
+            instance.nanos += nanos;
+            instance.maxNanos = Math.max(instance.maxNanos, nanos);
+            instance.blocks += blocks;
+            instance.particles += particles;
+        } else {
+            untrackedRuns++;
+        }
+
+        EnchantStats enchant = enchant(task.getType());
+        enchant.animationRuns++;
+        enchant.animationNanos += nanos;
+        enchant.blocks += blocks;
+        enchant.particles += particles;
+
+        if (owner != null) {
+            PlayerStats player = player(owner);
+            player.animationRuns++;
+            player.animationNanos += nanos;
+            player.blocks += blocks;
+            player.particles += particles;
+        }
+    }
+
+    /**
+     * Tâche retirée du moteur: son instance reste dans le rapport, la tâche est relâchée
+     */
+    void forget(AnimationTask task) {
+        if (running) {
+            liveInstances.remove(task);
+        }
+    }
+
+    /**
+     * Proc d'un enchantement (scans de cultures faits au proc compris)
+     */
+    public void recordProc(Player player, String enchantId, long nanos, long blocks) {
+        EnchantStats enchant = enchant(enchantId);
+        enchant.procs++;
+        enchant.procNanos += nanos;
+        enchant.blocks += blocks;
+
+        PlayerStats stats = player(player.getUniqueId());
+        stats.procs++;
+        stats.procNanos += nanos;
+        stats.blocks += blocks;
+    }
+
+    /**
+     * Lot de cultures cassé par la pipeline
+     */
+    public void recordBreak(UUID playerId, String enchantId, long nanos, int crops) {
+        EnchantStats enchant = enchant(enchantId);
+        enchant.breakNanos += nanos;
+        enchant.crops += crops;
+
+        PlayerStats stats = player(playerId);
+        stats.breakNanos += nanos;
+        stats.crops += crops;
+    }
+
+    private EnchantStats enchant(String enchantId) {
+        String id = enchantId != null ? enchantId : "unknown";
+        EnchantStats stats = enchants.get(id);
+        if (stats == null) {
+            stats = new EnchantStats(id);
+            enchants.put(id, stats);
+        }
+        return stats;
+    }
+
+    private PlayerStats player(UUID playerId) {
+        PlayerStats stats = players.get(playerId);
+        if (stats == null) {
+            stats = new PlayerStats(nameOf(playerId));
+            players.put(playerId, stats);
+        }
+        return stats;
+    }
+
+    private static String nameOf(UUID playerId) {
+        if (playerId == null) return "-";
+        Player player = Bukkit.getPlayer(playerId);
+        return player != null ? player.getName() : playerId.toString().substring(0, 8);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // RAPPORT
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /** Instances d'animation les plus coûteuses (temps total) */
+    public List<InstanceStats> topInstances(int limit) {
+        return top(instances, Comparator.comparingLong(InstanceStats::getNanos), limit);
+    }
+
+    /** Joueurs les plus coûteux (animations + procs + cassage) */
+    public List<PlayerStats> topPlayers(int limit) {
+        return top(players.values(), Comparator.comparingLong(PlayerStats::getTotalNanos), limit);
+    }
+
+    /** Enchantements les plus coûteux (animations + procs + cassage) */
+    public List<EnchantStats> topEnchants(int limit) {
+        return top(enchants.values(), Comparator.comparingLong(EnchantStats::getTotalNanos), limit);
+    }
+
+    private static <T> List<T> top(Iterable<T> values, Comparator<T> cost, int limit) {
+        List<T> sorted = new ArrayList<>();
+        for (T value : values) {
+            sorted.add(value);
+        }
+        sorted.sort(cost.reversed());
+        return sorted.size() > limit ? new ArrayList<>(sorted.subList(0, limit)) : sorted;
+    }
+
+    /** Instances mesurées */
+    public int getInstanceCount() {
+        return instances.size();
+    }
+
+    /** Exécutions hors plafond max-instances (comptées par joueur et enchantement seulement) */
+    public long getUntrackedRuns() {
+        return untrackedRuns;
+    }
+
+    /**
+     * Une instance d'animation (une tâche du moteur)
+     */
+    public static final class InstanceStats {
+        private final long id;
+        private final String type;
+        private final String owner;
+        long runs;
+        long nanos;
+        long maxNanos;
+        long blocks;
+        long particles;
+
+        InstanceStats(long id, String type, String owner) {
+            this.id = id;
+            this.type = type;
+            this.owner = owner;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public long getRuns() {
+            return runs;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /** Blocs scannés par exécution (≈ par tick) */
+        public double getBlocksPerRun() {
+            return runs == 0 ? 0.0 : (double) blocks / runs;
+        }
+
+        public long getParticles() {
+            return particles;
+        }
+    }
+
+    /**
+     * Un joueur (toutes ses animations, procs et cassages)
+     */
+    public static final class PlayerStats {
+        private final String name;
+        long animationRuns;
+        long animationNanos;
+        long procs;
+        long procNanos;
+        long breakNanos;
+        long crops;
+        long blocks;
+        long particles;
+
+        PlayerStats(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getTotalNanos() {
+            return animationNanos + procNanos + breakNanos;
+        }
+
+        public long getAnimationNanos() {
+            return animationNanos;
+        }
+
+        public long getProcs() {
+            return procs;
+        }
+
+        public long getCrops() {
+            return crops;
+        }
+
+        public long getBlocks() {
+            return blocks;
+        }
+
+        public long getParticles() {
+            return particles;
+        }
+    }
+
+    /**
+     * Un enchantement (animations, procs et cassages)
+     */
+    public static final class EnchantStats {
+        private final String enchantId;
+        long animationRuns;
+        long animationNanos;
+        long procs;
+        long procNanos;
+        long breakNanos;
+        long crops;
+        long blocks;
+        long particles;
+
+        EnchantStats(String enchantId) {
+            this.enchantId = enchantId;
+        }
+
+        public String getEnchantId() {
+            return enchantId;
+        }
+
+        public long getTotalNanos() {
+            return animationNanos + procNanos + breakNanos;
+        }
+
+        public long getAnimationNanos() {
+            return animationNanos;
+        }
+
+        public long getProcs() {
+            return procs;
+        }
+
+        public long getProcNanos() {
+            return procNanos;
+        }
+
+        public long getBreakNanos() {
+            return breakNanos;
+        }
+
+        public long getCrops() {
+            return crops;
+        }
+
+        public long getBlocks() {
+            return blocks;
+        }
+
+        public long getParticles() {
+            return particles;
+        }
+    }
+}
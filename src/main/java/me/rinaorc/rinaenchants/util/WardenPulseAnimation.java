@@ -3,11 +3,8 @@ package me.rinaorc.rinaenchants.util;
 import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
 import org.bukkit.*;
 import org.bukkit.block.Block;
-import org.bukkit.block.data.Ageable;
-import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Warden;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scoreboard.Scoreboard;
 import org.bukkit.scoreboard.Team;
 
@@ -33,6 +30,13 @@ import java.util.function.Consumer;
 public class WardenPulseAnimation {
 
     private final RinaEnchantsPlugin plugin;
+
+    // Niveau de détail courant (LoadGovernor), relu à chaque tick d'animation
+    private LoadGovernor.Quality quality;
+
+    // Particules et sons groupés par joueur, envoyés en fin de tick
+    private final FxDispatcher fx;
+
     private final Location centerLocation;
     private final Player owner;
     private final int maxPulseRadius;
@@ -51,45 +55,6 @@ public class WardenPulseAnimation {
     private Warden wardenEntity;
     private int totalCropsHarvested = 0;
 
-    // Set des cultures
-    private static final Set<Material> CROPS = new HashSet<>();
-    private static final Set<Material> NO_AGE_CROPS = new HashSet<>();
-
-    static {
-        CROPS.addAll(Arrays.asList(
-            Material.WHEAT, Material.CARROTS, Material.POTATOES, Material.BEETROOTS,
-            Material.NETHER_WART, Material.COCOA, Material.SWEET_BERRY_BUSH,
-            Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE, Material.CACTUS,
-            Material.BAMBOO, Material.KELP, Material.KELP_PLANT,
-            Material.TUBE_CORAL, Material.BUBBLE_CORAL, Material.BRAIN_CORAL,
-            Material.FIRE_CORAL, Material.HORN_CORAL,
-            Material.TUBE_CORAL_BLOCK, Material.BUBBLE_CORAL_BLOCK, Material.BRAIN_CORAL_BLOCK,
-            Material.FIRE_CORAL_BLOCK, Material.HORN_CORAL_BLOCK,
-            Material.WARPED_ROOTS, Material.CRIMSON_ROOTS, Material.NETHER_SPROUTS,
-            Material.TWISTING_VINES, Material.WEEPING_VINES,
-            Material.LILAC, Material.ROSE_BUSH, Material.PEONY, Material.SUNFLOWER,
-            Material.TALL_GRASS, Material.LARGE_FERN,
-            Material.OAK_SAPLING, Material.BIRCH_SAPLING, Material.JUNGLE_SAPLING,
-            Material.SPRUCE_SAPLING, Material.CHERRY_SAPLING, Material.ACACIA_SAPLING,
-            Material.DARK_OAK_SAPLING, Material.MANGROVE_PROPAGULE,
-            Material.SEA_PICKLE, Material.CHORUS_FLOWER, Material.CHORUS_PLANT
-        ));
-
-        NO_AGE_CROPS.addAll(Arrays.asList(
-            Material.MELON, Material.PUMPKIN, Material.SUGAR_CANE, Material.CACTUS,
-            Material.BAMBOO, Material.KELP, Material.KELP_PLANT,
-            Material.TUBE_CORAL, Material.BUBBLE_CORAL, Material.BRAIN_CORAL,
-            Material.FIRE_CORAL, Material.HORN_CORAL,
-            Material.TUBE_CORAL_BLOCK, Material.BUBBLE_CORAL_BLOCK, Material.BRAIN_CORAL_BLOCK,
-            Material.FIRE_CORAL_BLOCK, Material.HORN_CORAL_BLOCK,
-            Material.WARPED_ROOTS, Material.CRIMSON_ROOTS, Material.NETHER_SPROUTS,
-            Material.LILAC, Material.ROSE_BUSH, Material.PEONY, Material.SUNFLOWER,
-            Material.OAK_SAPLING, Material.BIRCH_SAPLING, Material.JUNGLE_SAPLING,
-            Material.SPRUCE_SAPLING, Material.CHERRY_SAPLING, Material.ACACIA_SAPLING,
-            Material.DARK_OAK_SAPLING, Material.MANGROVE_PROPAGULE,
-            Material.CHORUS_FLOWER, Material.CHORUS_PLANT, Material.SEA_PICKLE
-        ));
-    }
 
     // Couleurs pour les particules de pulse
     private static final Color SCULK_BLUE = Color.fromRGB(0, 150, 180);
@@ -100,6 +65,8 @@ public class WardenPulseAnimation {
                                 int maxPulseRadius, int pulseExpandSpeed,
                                 boolean showParticles, boolean clientSideOnly) {
         this.plugin = plugin;
+        this.quality = plugin.getLoadGovernor().getQuality();
+        this.fx = plugin.getFx();
         this.centerLocation = centerLocation.clone();
         this.owner = owner;
         this.maxPulseRadius = maxPulseRadius;
@@ -133,7 +100,7 @@ public class WardenPulseAnimation {
 
         // Effet d'émergence (particules sculk remontant du sol)
         if (showParticles) {
-            for (int i = 0; i < 15; i++) {
+            for (int i = 0; i < quality.particles(15); i++) {
                 double angle = random.nextDouble() * Math.PI * 2;
                 double dist = random.nextDouble() * 1.5;
                 Location particleLoc = spawnLoc.clone().add(
@@ -141,16 +108,19 @@ public class WardenPulseAnimation {
                     -0.5 + random.nextDouble() * 2,
                     Math.sin(angle) * dist
                 );
-                owner.spawnParticle(Particle.SCULK_SOUL, particleLoc, 1, 0, 0.5, 0, 0.05);
+                fx.particle(owner, Particle.SCULK_SOUL, particleLoc, 1, 0, 0.5, 0, 0.05);
             }
-            owner.spawnParticle(Particle.SCULK_CHARGE_POP, spawnLoc, 10, 0.5, 0.5, 0.5, 0.1);
+            fx.particle(owner, Particle.SCULK_CHARGE_POP, spawnLoc, quality.particles(10), 0.5, 0.5, 0.5, 0.1);
         }
 
         // Son d'émergence
-        owner.playSound(spawnLoc, Sound.ENTITY_WARDEN_EMERGE, 0.8f, 1.0f);
+        if (quality.sounds()) {
+            fx.sound(owner, spawnLoc, Sound.ENTITY_WARDEN_EMERGE, 0.8f, 1.0f);
+        }
 
         try {
-            wardenEntity = (Warden) world.spawnEntity(spawnLoc, EntityType.WARDEN);
+            wardenEntity = plugin.getEntityProvider().spawn(spawnLoc, Warden.class, owner, clientSideOnly,
+                "warden-pulse", 0);
             wardenEntity.setInvulnerable(true);
             wardenEntity.setSilent(false);
             wardenEntity.setAI(false);
@@ -172,14 +142,6 @@ public class WardenPulseAnimation {
             glowTeam.setColor(ChatColor.AQUA);
             glowTeam.addEntry(wardenEntity.getUniqueId().toString());
 
-            // Marquer l'entité pour cleanup
-            plugin.markAsEnchantEntity(wardenEntity);
-
-            // Client-side
-            if (clientSideOnly) {
-                plugin.makeEntityClientSide(wardenEntity, owner);
-            }
-
         } catch (Exception e) {
             plugin.getLogger().warning("§e[RinaEnchants] Impossible de spawn le Warden: " + e.getMessage());
             return;
@@ -189,7 +151,7 @@ public class WardenPulseAnimation {
         // PHASE 2: DÉMARRER L'ONDE UNIQUE APRÈS L'ÉMERGENCE
         // ═══════════════════════════════════════════════════════════
 
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        AnimationTask.runLater(plugin, "warden-pulse", () -> {
             if (wardenEntity == null || wardenEntity.isDead()) {
                 cleanupGlowTeam();
                 finishAnimation();
@@ -217,15 +179,21 @@ public class WardenPulseAnimation {
     /**
      * Task qui gère l'onde unique
      */
-    private class SinglePulseTask extends BukkitRunnable {
+    private class SinglePulseTask extends AnimationTask {
 
         private int ticksAlive = 0;
         private double currentRadius = 0;
         private boolean pulseStarted = false;
-        private final Set<String> harvestedBlocks = new HashSet<>();
+        private final BlockPosSet harvestedBlocks = acquireBlockSet();
+
+        SinglePulseTask() {
+            super("warden-pulse");
+        }
 
         @Override
         public void run() {
+            quality = plugin.getLoadGovernor().getQuality();
+
             ticksAlive++;
 
             // Vérifier si le propriétaire est toujours en ligne
@@ -259,11 +227,13 @@ public class WardenPulseAnimation {
                 // Effet de sonic boom du Warden
                 if (showParticles) {
                     Location wardenLoc = wardenEntity.getLocation();
-                    owner.spawnParticle(Particle.SONIC_BOOM, wardenLoc.clone().add(0, 1.5, 0), 1, 0, 0, 0, 0);
-                    owner.spawnParticle(Particle.SCULK_SOUL, wardenLoc, 8, 0.5, 1, 0.5, 0.1);
+                    fx.particle(owner, Particle.SONIC_BOOM, wardenLoc.clone().add(0, 1.5, 0), 1, 0, 0, 0, 0);
+                    fx.particle(owner, Particle.SCULK_SOUL, wardenLoc, quality.particles(8), 0.5, 1, 0.5, 0.1);
                 }
 
-                owner.playSound(wardenEntity.getLocation(), Sound.ENTITY_WARDEN_SONIC_BOOM, 0.6f, 1.2f);
+                if (quality.sounds()) {
+                    fx.sound(owner, wardenEntity.getLocation(), Sound.ENTITY_WARDEN_SONIC_BOOM, 0.6f, 1.2f);
+                }
             }
 
             // ═══════════════════════════════════════════════════════════
@@ -284,9 +254,9 @@ public class WardenPulseAnimation {
             // DESSINER LE CERCLE DE L'ONDE
             // ═══════════════════════════════════════════════════════════
 
-            if (showParticles) {
+            if (showParticles && quality.isVisualTick(ticksAlive, 1)) {
                 int points = (int) (currentRadius * 4);
-                points = Math.max(6, Math.min(points, 32));
+                points = quality.particles(Math.max(6, Math.min(points, 32)));
 
                 Particle.DustOptions pulseDust = new Particle.DustOptions(SCULK_BLUE, 1.0f);
                 Particle.DustOptions pulseGlow = new Particle.DustOptions(SCULK_DARK, 1.5f);
@@ -301,11 +271,11 @@ public class WardenPulseAnimation {
 
                     if (circleLoc != null) {
                         circleLoc.add(0, 0.1, 0);
-                        owner.spawnParticle(Particle.DUST, circleLoc, 1, 0, 0, 0, 0, pulseDust);
+                        fx.particle(owner, Particle.DUST, circleLoc, 1, 0, 0, 0, 0, pulseDust);
 
                         if (i % 4 == 0) {
-                            owner.spawnParticle(Particle.DUST, circleLoc, 1, 0.1, 0.1, 0.1, 0, pulseGlow);
-                            owner.spawnParticle(Particle.SCULK_SOUL, circleLoc, 1, 0.1, 0.2, 0.1, 0.01);
+                            fx.particle(owner, Particle.DUST, circleLoc, 1, 0.1, 0.1, 0.1, 0, pulseGlow);
+                            fx.particle(owner, Particle.SCULK_SOUL, circleLoc, 1, 0.1, 0.2, 0.1, 0.01);
                         }
                     }
                 }
@@ -329,12 +299,12 @@ public class WardenPulseAnimation {
 
                     for (int y = -2; y <= 2; y++) {
                         Location blockLoc = new Location(world, cx + x, cy + y, cz + z);
-                        String key = blockLoc.getBlockX() + ":" + blockLoc.getBlockY() + ":" + blockLoc.getBlockZ();
+                        long key = BlockKey.of(blockLoc);
 
                         if (harvestedBlocks.contains(key)) continue;
 
                         Block block = blockLoc.getBlock();
-                        if (isMatureCrop(block)) {
+                        if (plugin.getCropRegistry().isMature(block)) {
                             harvestedBlocks.add(key);
                             totalCropsHarvested++;
 
@@ -345,8 +315,8 @@ public class WardenPulseAnimation {
 
                             // Effet de récolte
                             if (showParticles) {
-                                owner.spawnParticle(Particle.SCULK_CHARGE_POP, blockLoc.clone().add(0.5, 0.5, 0.5),
-                                    2, 0.2, 0.2, 0.2, 0.05);
+                                fx.particle(owner, Particle.SCULK_CHARGE_POP, blockLoc.clone().add(0.5, 0.5, 0.5),
+                                    quality.particles(2), 0.2, 0.2, 0.2, 0.05);
                             }
                         }
                     }
@@ -354,8 +324,8 @@ public class WardenPulseAnimation {
             }
 
             // Heartbeat du Warden
-            if (ticksAlive % 40 == 0) {
-                owner.playSound(wardenEntity.getLocation(), Sound.ENTITY_WARDEN_HEARTBEAT, 0.4f, 1.0f);
+            if (ticksAlive % 40 == 0 && quality.sounds()) {
+                fx.sound(owner, wardenEntity.getLocation(), Sound.ENTITY_WARDEN_HEARTBEAT, 0.4f, 1.0f);
             }
         }
 
@@ -385,23 +355,23 @@ public class WardenPulseAnimation {
 
                 // Effet de disparition (retourne dans le sol)
                 if (showParticles && owner.isOnline()) {
-                    owner.spawnParticle(Particle.SCULK_SOUL, loc, 15, 0.5, 1, 0.5, 0.1);
-                    owner.spawnParticle(Particle.SCULK_CHARGE_POP, loc, 12, 0.5, 0.5, 0.5, 0.1);
+                    fx.particle(owner, Particle.SCULK_SOUL, loc, quality.particles(15), 0.5, 1, 0.5, 0.1);
+                    fx.particle(owner, Particle.SCULK_CHARGE_POP, loc, quality.particles(12), 0.5, 0.5, 0.5, 0.1);
 
                     // Cercle de disparition
                     for (int i = 0; i < 8; i++) {
                         double angle = (Math.PI * 2 / 8) * i;
                         Location ringLoc = loc.clone().add(Math.cos(angle) * 1.5, 0.1, Math.sin(angle) * 1.5);
                         Particle.DustOptions dust = new Particle.DustOptions(SCULK_DARK, 2.0f);
-                        owner.spawnParticle(Particle.DUST, ringLoc, 2, 0.1, 0, 0.1, 0, dust);
+                        fx.particle(owner, Particle.DUST, ringLoc, quality.particles(2), 0.1, 0, 0.1, 0, dust);
                     }
                 }
 
-                if (owner.isOnline()) {
-                    owner.playSound(loc, Sound.ENTITY_WARDEN_DIG, 0.8f, 1.0f);
+                if (owner.isOnline() && quality.sounds()) {
+                    fx.sound(owner, loc, Sound.ENTITY_WARDEN_DIG, 0.8f, 1.0f);
                 }
 
-                wardenEntity.remove();
+                plugin.getEntityProvider().despawn(wardenEntity, owner);
             }
 
             cleanupGlowTeam();
@@ -409,22 +379,9 @@ public class WardenPulseAnimation {
         }
     }
 
-    private boolean isMatureCrop(Block block) {
-        Material type = block.getType();
-
-        if (!CROPS.contains(type)) return false;
-        if (NO_AGE_CROPS.contains(type)) return true;
-
-        if (block.getBlockData() instanceof Ageable ageable) {
-            return ageable.getAge() >= ageable.getMaximumAge();
-        }
-
-        return true;
-    }
-
     private void finishAnimation() {
-        if (owner.isOnline()) {
-            owner.playSound(owner.getLocation(), Sound.BLOCK_SCULK_SHRIEKER_SHRIEK, 0.3f, 1.5f);
+        if (owner.isOnline() && quality.sounds()) {
+            fx.sound(owner, owner.getLocation(), Sound.BLOCK_SCULK_SHRIEKER_SHRIEK, 0.3f, 1.5f);
         }
 
         if (onFinish != null) {
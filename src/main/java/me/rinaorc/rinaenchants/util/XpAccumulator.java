@@ -0,0 +1,82 @@
+package me.rinaorc.rinaenchants.util;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * XP en attente par joueur, sans allocation par culture.
+ *
+ * Chaque joueur a un LongAdder (compteur réparti en cellules, sans verrou):
+ * ajouter de l'XP ne crée aucun objet une fois le compteur du joueur créé.
+ * Le flush lit et remet à zéro chaque compteur en une passe (sumThenReset
+ * échange chaque cellule avec 0): un ajout concurrent est compté soit dans
+ * ce flush soit dans le suivant, jamais deux fois ni perdu.
+ *
+ * Remplace l'ancien chemin queue -> task async -> map -> copie: une entrée
+ * allouée par culture, trois passages, et un clear() qui pouvait effacer
+ * un merge concurrent.
+ *
+ * Les compteurs restent en place entre deux flushs et ne sont retirés qu'au
+ * départ du joueur (remove), la mémoire est bornée par les joueurs actifs.
+ */
+public class XpAccumulator {
+
+    /**
+     * Reçoit l'XP d'un joueur pendant un drain
+     */
+    @FunctionalInterface
+    public interface Drain {
+        void accept(UUID playerId, long xp);
+    }
+
+    private final ConcurrentHashMap<UUID, LongAdder> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Ajoute de l'XP en attente (thread-safe)
+     */
+    public void add(UUID playerId, long xp) {
+        LongAdder adder = pending.get(playerId);
+        if (adder == null) {
+            adder = pending.computeIfAbsent(playerId, id -> new LongAdder());
+        }
+        adder.add(xp);
+    }
+
+    /**
+     * Remet à zéro tous les compteurs et passe les montants non nuls à drain
+     */
+    public void drain(Drain drain) {
+        pending.forEach((playerId, adder) -> {
+            long xp = adder.sumThenReset();
+            if (xp != 0) {
+                drain.accept(playerId, xp);
+            }
+        });
+    }
+
+    /**
+     * Retire le compteur d'un joueur
+     *
+     * @return XP qui était en attente
+     */
+    public long remove(UUID playerId) {
+        LongAdder adder = pending.remove(playerId);
+        return adder != null ? adder.sumThenReset() : 0L;
+    }
+
+    /** XP en attente pour un joueur */
+    public long get(UUID playerId) {
+        LongAdder adder = pending.get(playerId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /** Joueurs ayant un compteur */
+    public int size() {
+        return pending.size();
+    }
+}
@@ -0,0 +1,291 @@
+package me.rinaorc.rinaenchants.util;
+
+import me.rinaorc.rinaenchants.RinaEnchantsPlugin;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Registre sur disque de l'XP CyberLevel dû mais pas encore donné.
+ *
+ * L'XP qui ne peut pas être donné au flush (joueur parti, CyberLevels
+ * indisponible, arrêt du serveur) devient une entrée "+ id uuid xp". Quand
+ * l'XP d'un joueur est donné, chacune de ses entrées est marquée "- id",
+ * une seule fois: au rejeu, une entrée marquée n'est jamais redonnée.
+ *
+ * Les lignes sont écrites par lots (group commit) à la fin de chaque flush
+ * de CyberLevelXPListener, puis synchronisées sur disque (fsync) sur un
+ * thread dédié. Le registre est rejoué au démarrage, et compacté (entrées
+ * non marquées seulement, fichier temporaire + renommage atomique) au
+ * démarrage, à l'arrêt et après compact-after-records lignes. Écriture et
+ * compaction: voir AppendOnlyLog.
+ *
+ * Limite: après un crash, un don dont la marque "- id" n'était pas encore
+ * sur disque (au plus une période de flush) est redonné au rejeu.
+ *
+ * Thread principal uniquement (sauf l'écriture).
+ */
+public class XpLedger {
+
+    private static final String FILE_NAME = "xp-ledger.log";
+
+    private final RinaEnchantsPlugin plugin;
+    private final AppendOnlyLog log;
+
+    // Configuration
+    private boolean enabled;
+    private int compactAfterRecords;
+
+    // Entrées non marquées, par joueur (ordre d'arrivée)
+    private final Map<UUID, List<Entry>> pending = new LinkedHashMap<>();
+    private long nextId = 1;
+
+    // Lignes en attente d'écriture
+    private StringBuilder buffer = new StringBuilder();
+    private int recordsSinceCompaction = 0;
+
+    // Statistiques
+    private long recorded = 0;
+    private long settled = 0;
+    private long replayed = 0;
+    private long compactions = 0;
+
+    public XpLedger(RinaEnchantsPlugin plugin) {
+        this.plugin = plugin;
+        this.log = new AppendOnlyLog(new File(plugin.getDataFolder(), FILE_NAME).toPath(), plugin.getLogger(), "Ledger");
+        loadConfig();
+    }
+
+    /**
+     * Charge la section cyberlevels-hook.ledger
+     */
+    public void loadConfig() {
+        String base = "cyberlevels-hook.ledger.";
+        boolean wasEnabled = enabled;
+        this.enabled = plugin.getConfig().getBoolean(base + "enabled", true);
+        this.compactAfterRecords = Math.max(100, plugin.getConfig().getInt(base + "compact-after-records", 5000));
+
+        // Réactivé au reload: repartir d'un fichier à jour
+        if (!wasEnabled && enabled && log.isOpen()) {
+            compact();
+        }
+    }
+
+    /**
+     * Rejoue le registre de la session précédente et démarre l'écriture
+     */
+    public void start() {
+        log.open("XpLedger");
+        if (!enabled) return;
+
+        if (log.exists()) {
+            replay();
+        }
+        compact();
+    }
+
+    /**
+     * Arrêt: écrit les dernières lignes, compacte et attend la fin des écritures
+     */
+    public void stop() {
+        if (!log.isOpen()) return;
+
+        if (enabled) {
+            compact();
+        }
+        log.close();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // ENTRÉES
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Enregistre de l'XP dû à un joueur (écrit au prochain commit)
+     */
+    public void record(UUID playerId, long xp) {
+        if (xp <= 0) return;
+
+        Entry entry = new Entry(nextId++, xp);
+        pending.computeIfAbsent(playerId, id -> new ArrayList<>(2)).add(entry);
+        buffer.append("+ ").append(entry.id).append(' ').append(playerId).append(' ').append(xp).append('\n');
+        recordsSinceCompaction++;
+        recorded++;
+    }
+
+    /**
+     * XP dû à un joueur (somme de ses entrées non marquées)
+     */
+    public long pendingFor(UUID playerId) {
+        List<Entry> entries = pending.get(playerId);
+        if (entries == null) return 0L;
+        long total = 0L;
+        for (Entry entry : entries) {
+            total += entry.xp;
+        }
+        return total;
+    }
+
+    /**
+     * Marque toutes les entrées d'un joueur comme données (après un don réussi)
+     */
+    public void settle(UUID playerId) {
+        List<Entry> entries = pending.remove(playerId);
+        if (entries == null) return;
+        for (Entry entry : entries) {
+            buffer.append("- ").append(entry.id).append('\n');
+            recordsSinceCompaction++;
+            settled++;
+        }
+    }
+
+    /**
+     * Joueurs ayant de l'XP dû (vue non modifiable, ne pas appeler settle pendant le parcours)
+     */
+    public Iterable<UUID> pendingPlayers() {
+        return Collections.unmodifiableSet(pending.keySet());
+    }
+
+    public boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // ÉCRITURE
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Envoie les lignes du flush au thread d'écriture (un lot, un fsync)
+     */
+    public void commit() {
+        if (!enabled || !log.isOpen()) {
+            // Registre désactivé: les entrées restent en mémoire seulement
+            buffer.setLength(0);
+            return;
+        }
+
+        if (recordsSinceCompaction >= compactAfterRecords) {
+            compact();
+            return;
+        }
+        if (buffer.length() == 0) return;
+
+        log.append(buffer);
+        buffer = new StringBuilder();
+    }
+
+    /**
+     * Réécrit le registre avec les seules entrées non marquées
+     */
+    private void compact() {
+        StringBuilder snapshot = new StringBuilder();
+        for (Map.Entry<UUID, List<Entry>> player : pending.entrySet()) {
+            for (Entry entry : player.getValue()) {
+                snapshot.append("+ ").append(entry.id).append(' ').append(player.getKey())
+                    .append(' ').append(entry.xp).append('\n');
+            }
+        }
+        buffer = new StringBuilder();
+        recordsSinceCompaction = 0;
+        compactions++;
+
+        log.rewrite(snapshot);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // REJEU AU DÉMARRAGE
+    // ═══════════════════════════════════════════════════════════════════════
+
+    private void replay() {
+        // id -> (joueur, entrée), dans l'ordre du fichier
+        Map<Long, UUID> owners = new LinkedHashMap<>();
+        Map<Long, Entry> entries = new HashMap<>();
+        for (String line : log.readLines()) {
+            // Dernière ligne éventuellement tronquée par le crash: ignorée
+            String[] parts = line.split(" ");
+            try {
+                if (parts.length == 4 && parts[0].equals("+")) {
+                    long id = Long.parseLong(parts[1]);
+                    long xp = Long.parseLong(parts[3]);
+                    if (xp > 0) {
+                        owners.put(id, UUID.fromString(parts[2]));
+                        entries.put(id, new Entry(id, xp));
+                    }
+                    nextId = Math.max(nextId, id + 1);
+                } else if (parts.length == 2 && parts[0].equals("-")) {
+                    long id = Long.parseLong(parts[1]);
+                    owners.remove(id);
+                    entries.remove(id);
+                }
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+
+        long total = 0L;
+        for (Map.Entry<Long, UUID> owner : owners.entrySet()) {
+            Entry entry = entries.get(owner.getKey());
+            pending.computeIfAbsent(owner.getValue(), id -> new ArrayList<>(2)).add(entry);
+            total += entry.xp;
+        }
+        replayed = owners.size();
+
+        if (replayed > 0) {
+            plugin.getLogger().info("§a✓ Registre d'XP: " + replayed + " entrée(s) à donner (" + total +
+                " XP, " + pending.size() + " joueur(s))");
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // STATISTIQUES
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /** Entrées non marquées */
+    public int getPendingEntries() {
+        int count = 0;
+        for (List<Entry> entries : pending.values()) {
+            count += entries.size();
+        }
+        return count;
+    }
+
+    /** Joueurs ayant de l'XP dû */
+    public int getPendingPlayers() {
+        return pending.size();
+    }
+
+    public long getRecorded() {
+        return recorded;
+    }
+
+    /** Entrées marquées comme données */
+    public long getSettled() {
+        return settled;
+    }
+
+    /** Entrées non marquées retrouvées au démarrage */
+    public long getReplayed() {
+        return replayed;
+    }
+
+    /** Lots écrits et synchronisés sur disque */
+    public long getCommits() {
+        return log.getBatchesWritten();
+    }
+
+    public long getCompactions() {
+        return compactions;
+    }
+
+    private record Entry(long id, long xp) {
+    }
+}
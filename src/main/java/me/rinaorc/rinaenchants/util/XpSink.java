@@ -0,0 +1,47 @@
+package me.rinaorc.rinaenchants.util;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Destination de l'XP CyberLevel accumulé par les enchantements.
+ *
+ * CyberLevelXPListener accumule l'XP par joueur et remet un lot complet au
+ * sink à chaque flush (thread principal). Implémentations:
+ * - CyberLevelsApiSink: appel direct de l'API CyberLevels (par défaut)
+ * - CommandXpSink: /cyberlevel addExp (secours, API introuvable)
+ * - MemoryXpSink: garde l'XP en mémoire (tests, serveur de préproduction)
+ */
+public interface XpSink {
+
+    /**
+     * Nom affiché dans /rinaenchants info
+     */
+    String getName();
+
+    /**
+     * @return true si le sink peut donner de l'XP (API liée, plugin présent...)
+     */
+    boolean isAvailable();
+
+    /**
+     * Donne de l'XP à un joueur en ligne
+     *
+     * @param xp Quantité à donner (toujours positive)
+     * @return true si l'XP a été donné, false si l'appelant doit essayer un autre sink
+     */
+    boolean grant(Player player, long xp);
+
+    /**
+     * Donne un lot d'XP. Par défaut un appel à grant par joueur; un sink peut
+     * regrouper le travail commun à tout le lot (résolution du cache...).
+     *
+     * @param players Joueurs du lot (les count premiers)
+     * @param amounts XP de chaque joueur, même index
+     * @param granted Rempli par le sink: true si l'XP du joueur a été donné
+     */
+    default void grantBatch(Player[] players, long[] amounts, boolean[] granted, int count) {
+        for (int i = 0; i < count; i++) {
+            granted[i] = grant(players[i], amounts[i]);
+        }
+    }
+}